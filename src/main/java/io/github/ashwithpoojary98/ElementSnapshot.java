@@ -0,0 +1,230 @@
+package io.github.ashwithpoojary98;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Column-oriented capture of every element matching a locator, taken by
+ * {@link WebDriver#snapshotElements(By, Set)} in a single page-side call.
+ *
+ * <p>Each requested {@link Field} is one column holding a value per matched element, in
+ * document order. Rows are lightweight {@link Row} views over those columns — no
+ * {@link WebElement} is created and reading a snapshot never talks to the browser. Values
+ * reflect the page at capture time.
+ */
+public final class ElementSnapshot implements Iterable<ElementSnapshot.Row> {
+
+    /** A column of a snapshot: a fixed element property or a named attribute. */
+    public static final class Field {
+
+        /** Lower-case tag name, as {@link WebElement#getTagName()}. */
+        public static final Field TAG     = new Field("tag", false);
+        /** Text content, as {@link WebElement#getText()}. */
+        public static final Field TEXT    = new Field("text", false);
+        /** Border box in CSS pixels relative to the viewport, rounded to whole pixels. */
+        public static final Field RECT    = new Field("rect", false);
+        /** Computed {@code display}, {@code visibility} and {@code opacity}, as {@link WebElement#isDisplayed()}. */
+        public static final Field VISIBLE = new Field("visible", false);
+
+        private final String  name;
+        private final boolean attribute;
+
+        private Field(String name, boolean attribute) {
+            this.name      = name;
+            this.attribute = attribute;
+        }
+
+        /**
+         * Returns the column of attribute {@code name}; elements without it hold {@code null}.
+         *
+         * @param name attribute name
+         * @return attribute field
+         */
+        public static Field attribute(String name) {
+            return new Field(Objects.requireNonNull(name, "name"), true);
+        }
+
+        /** Returns the attribute name, or the column name for fixed fields. */
+        public String getName() {
+            return name;
+        }
+
+        /** Returns {@code true} for fields created by {@link #attribute(String)}. */
+        public boolean isAttribute() {
+            return attribute;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Field other && attribute == other.attribute && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, attribute);
+        }
+
+        @Override
+        public String toString() {
+            return attribute ? "attribute(" + name + ")" : name.toUpperCase();
+        }
+    }
+
+    /**
+     * View of one matched element.
+     *
+     * @param snapshot snapshot the row belongs to
+     * @param index    position of the element among the matches
+     */
+    public record Row(ElementSnapshot snapshot, int index) {
+
+        public String getTag() {
+            return snapshot.getTag(index);
+        }
+
+        public String getText() {
+            return snapshot.getText(index);
+        }
+
+        public Rectangle getRect() {
+            return snapshot.getRect(index);
+        }
+
+        public boolean isVisible() {
+            return snapshot.isVisible(index);
+        }
+
+        public String getAttribute(String name) {
+            return snapshot.getAttribute(index, name);
+        }
+    }
+
+    /** Values per element of {@link Field#RECT}: x, y, width, height. */
+    private static final int RECT_STRIDE = 4;
+
+    private final Set<Field>            fields;
+    private final int                   size;
+    private final String[]              tags;
+    private final String[]              texts;
+    private final int[]                 rects;
+    private final boolean[]             visible;
+    private final Map<String, String[]> attributes;
+
+    /**
+     * Creates a snapshot from its columns. Columns of fields not in {@code fields} are
+     * {@code null}; the others hold {@code size} values ({@code 4 * size} for rects).
+     *
+     * @param fields     captured fields
+     * @param size       number of matched elements
+     * @param tags       {@link Field#TAG} column
+     * @param texts      {@link Field#TEXT} column
+     * @param rects      {@link Field#RECT} column as x, y, width, height per element
+     * @param visible    {@link Field#VISIBLE} column
+     * @param attributes attribute columns by attribute name
+     */
+    public ElementSnapshot(Set<Field> fields, int size, String[] tags, String[] texts,
+                           int[] rects, boolean[] visible, Map<String, String[]> attributes) {
+        this.fields     = Collections.unmodifiableSet(new LinkedHashSet<>(fields));
+        this.size       = size;
+        this.tags       = tags;
+        this.texts      = texts;
+        this.rects      = rects;
+        this.visible    = visible;
+        this.attributes = Map.copyOf(attributes);
+    }
+
+    /** Returns the number of matched elements. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Returns the fields captured by this snapshot. */
+    public Set<Field> getFields() {
+        return fields;
+    }
+
+    public String getTag(int index) {
+        return column(tags, Field.TAG)[checkIndex(index)];
+    }
+
+    public String getText(int index) {
+        return column(texts, Field.TEXT)[checkIndex(index)];
+    }
+
+    public Rectangle getRect(int index) {
+        int base = checkIndex(index) * RECT_STRIDE;
+        int[] column = column(rects, Field.RECT);
+        return new Rectangle(column[base], column[base + 1], column[base + 3], column[base + 2]);
+    }
+
+    public boolean isVisible(int index) {
+        return column(visible, Field.VISIBLE)[checkIndex(index)];
+    }
+
+    /**
+     * Returns attribute {@code name} of the element at {@code index}.
+     *
+     * @return the value, or {@code null} if the element has no such attribute
+     * @throws IllegalStateException if the attribute was not captured
+     */
+    public String getAttribute(int index, String name) {
+        return column(attributes.get(name), Field.attribute(name))[checkIndex(index)];
+    }
+
+    /** Returns the row of the element at {@code index}. */
+    public Row get(int index) {
+        return new Row(this, checkIndex(index));
+    }
+
+    /** Returns the rows as a list view. */
+    public List<Row> rows() {
+        return new AbstractList<>() {
+            @Override
+            public Row get(int index) {
+                return ElementSnapshot.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public Stream<Row> stream() {
+        return IntStream.range(0, size).mapToObj(index -> new Row(this, index));
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return rows().iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "ElementSnapshot{size=" + size + ", fields=" + fields + "}";
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    private static <T> T column(T column, Field field) {
+        if (column == null) {
+            throw new IllegalStateException("Field not captured in snapshot: " + field);
+        }
+        return column;
+    }
+}
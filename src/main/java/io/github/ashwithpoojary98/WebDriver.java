@@ -32,6 +32,20 @@ public interface WebDriver {
         return findElements(By.cssSelector(cssSelector));
     }
 
+    /**
+     * Captures {@code fields} of every element matching {@code by} in one page-side call.
+     *
+     * <p>Use it instead of {@link #findElements(By)} followed by per-element getters when
+     * reading many elements, e.g. scraping table rows: the cost no longer grows with the
+     * number of matches, and no {@link WebElement} is created.
+     *
+     * @param by     element locator
+     * @param fields columns to capture, e.g. {@link ElementSnapshot.Field#TEXT} or
+     *               {@link ElementSnapshot.Field#attribute(String)}
+     * @return snapshot of the matches in document order; empty if nothing matches
+     */
+    ElementSnapshot snapshotElements(By by, Set<ElementSnapshot.Field> fields);
+
     String getPageSource();
 
     void close();
@@ -1,23 +1,20 @@
 package io.github.ashwithpoojary98.browser;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.exception.BrowserLaunchException;
+import io.github.ashwithpoojary98.pipe.PipeTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.ServerSocket;
-import java.net.URL;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * Manages the lifecycle of a Chrome/Chromium browser process.
@@ -26,7 +23,10 @@ import java.util.concurrent.TimeUnit;
  * <ul>
  *   <li>Resolving the browser binary (explicit path → env var → system install → auto-download)</li>
  *   <li>Launching the process with the correct CDP flags</li>
- *   <li>Polling the CDP JSON endpoint until a page target is available</li>
+ *   <li>Detecting the DevTools endpoint from the browser's own announcement
+ *       ({@link DevToolsEndpointDetector}), or — with
+ *       {@link BrowserOptions#isDebuggingPipe()} — connecting a {@link PipeTransport}
+ *       to the process's descriptors 3/4</li>
  *   <li>Graceful (and forceful) shutdown</li>
  * </ul>
  */
@@ -37,6 +37,7 @@ public class BrowserLauncher {
     // ── Chrome CLI flags ──────────────────────────────────────────────────────
 
     private static final String FLAG_REMOTE_DEBUGGING_PORT = "--remote-debugging-port=";
+    private static final String FLAG_REMOTE_DEBUGGING_PIPE = "--remote-debugging-pipe";
     private static final String FLAG_HEADLESS              = "--headless=new";
     private static final String FLAG_WINDOW_SIZE           = "--window-size=";
     private static final String FLAG_USER_DATA_DIR         = "--user-data-dir=";
@@ -45,27 +46,28 @@ public class BrowserLauncher {
     private static final String INITIAL_PAGE               = "about:blank";
     private static final String TEMP_PROFILE_PREFIX        = "nihonium-chrome-profile-";
 
-    // ── CDP endpoint ──────────────────────────────────────────────────────────
+    // ── Pipe launch ───────────────────────────────────────────────────────────
 
-    private static final String CDP_JSON_PATH             = "/json";
-    private static final String CDP_HOST                  = "http://localhost:";
-    private static final int    CDP_CONNECT_TIMEOUT_MILLIS = 1_000;
-    private static final int    CDP_READ_TIMEOUT_MILLIS    = 1_000;
-    private static final int    HTTP_OK                    = 200;
+    private static final String POSIX_SHELL = "/bin/sh";
+    private static final String SHELL_COMMAND_FLAG = "-c";
 
-    // ── CDP JSON field names ──────────────────────────────────────────────────
+    /**
+     * Re-maps the shell's stdin/stdout onto descriptors 3/4 for Chrome and then execs the
+     * browser ({@code $0}) with its arguments ({@code $@}). Chrome's own stdout is sent to
+     * stderr so that only CDP messages arrive on the Java side of the pipe.
+     */
+    private static final String PIPE_FD_REDIRECT = "exec \"$0\" \"$@\" 3<&0 4>&1 0</dev/null 1>&2";
 
-    private static final String TARGET_KEY_TYPE        = "type";
-    private static final String TARGET_TYPE_PAGE       = "page";
-    private static final String TARGET_KEY_WS_URL      = "webSocketDebuggerUrl";
+    /** Command answered once DevTools is up; used as the pipe's readiness check. */
+    private static final String CMD_GET_VERSION = "Browser.getVersion";
 
-    // ── Retry / timing ────────────────────────────────────────────────────────
+    // ── Timing ────────────────────────────────────────────────────────────────
 
-    /** How many times to retry the CDP JSON endpoint before giving up. */
-    private static final int  CDP_MAX_RETRIES           = 10;
+    /** Maximum time for the browser to start listening for DevTools connections. */
+    private static final long DEVTOOLS_READY_TIMEOUT_MILLIS = 30_000L;
 
-    /** Sleep between retry attempts while waiting for the browser to start. */
-    private static final long CDP_RETRY_DELAY_MILLIS    = 500L;
+    /** Time allowed for a failed browser to exit and for its last output to be read. */
+    private static final long OUTPUT_SETTLE_MILLIS = 1_000L;
 
     /** Seconds to wait for the browser to exit gracefully before forcing it. */
     private static final long SHUTDOWN_GRACE_SECONDS    = 5L;
@@ -81,8 +83,10 @@ public class BrowserLauncher {
     // ─────────────────────────────────────────────────────────────────────────
 
     private Process browserProcess;
+
+    /** Profile directory created for this launch, deleted on {@link #shutdown()}. */
+    private Path tempProfileDir;
     private final BrowserOptions options;
-    private final Gson gson;
 
     // ── Construction ──────────────────────────────────────────────────────────
 
@@ -98,38 +102,112 @@ public class BrowserLauncher {
      */
     public BrowserLauncher(BrowserOptions options) {
         this.options = options;
-        this.gson    = new Gson();
     }
 
     // ── Public API ────────────────────────────────────────────────────────────
 
     /**
      * Launches the browser and returns the result containing the process handle
-     * and the WebSocket debugger URL.
+     * and the browser-level WebSocket debugger URL (or pipe transport).
      *
      * @return {@link LaunchResult}
      * @throws IOException if the binary cannot be found or the process fails to start
      */
     public LaunchResult launch() throws IOException {
         String binaryPath = findChromePath();
-        int    port       = options.getDebuggingPort() != 0
-                            ? options.getDebuggingPort()
-                            : findAvailablePort();
+        if (options.isDebuggingPipe()) {
+            return launchWithPipe(binaryPath);
+        }
+
+        // 0 (the default) lets Chrome have the OS pick a free port, announced on stderr
+        int port = options.getDebuggingPort();
 
-        List<String> command = buildCommandLine(binaryPath, port);
+        List<String> command = buildCommandLine(binaryPath, FLAG_REMOTE_DEBUGGING_PORT + port);
+        Path profileDir = options.getUserDataDir() != null
+                ? Paths.get(options.getUserDataDir())
+                : tempProfileDir;
+        // A file left by an earlier run of a persistent profile must not be mistaken for ours
+        Files.deleteIfExists(profileDir.resolve(DevToolsEndpointDetector.ACTIVE_PORT_FILE));
         log.debug("Launching browser: {}", command);
 
         ProcessBuilder pb = new ProcessBuilder(command);
         pb.redirectErrorStream(true);
         browserProcess = pb.start();
 
-        if (!browserProcess.isAlive()) {
-            throw new IOException("Browser process failed to start immediately after launch");
+        String browserWebSocketUrl =
+                new DevToolsEndpointDetector(browserProcess.getInputStream(), profileDir)
+                        .start()
+                        .await(browserProcess, DEVTOOLS_READY_TIMEOUT_MILLIS);
+        int actualPort = URI.create(browserWebSocketUrl).getPort();
+        log.info("Browser started on port {} (WS: {})", actualPort, browserWebSocketUrl);
+        return new LaunchResult(browserProcess, browserWebSocketUrl);
+    }
+
+    /**
+     * Launches the browser with {@code --remote-debugging-pipe} through {@code /bin/sh},
+     * which maps the process's stdin/stdout onto Chrome's descriptors 3/4.
+     *
+     * @param binaryPath absolute path to the browser executable
+     * @return result holding the started browser-level {@link PipeTransport}
+     * @throws IOException if the platform has no POSIX shell or the process fails to start
+     * @throws BrowserLaunchException if the browser exits or does not answer on the pipe
+     */
+    private LaunchResult launchWithPipe(String binaryPath) throws IOException {
+        if (System.getProperty("os.name", "").toLowerCase().contains("win")) {
+            throw new IOException("--remote-debugging-pipe is only supported on POSIX platforms;"
+                    + " use a debugging port on Windows");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(POSIX_SHELL);
+        command.add(SHELL_COMMAND_FLAG);
+        command.add(PIPE_FD_REDIRECT);
+        command.addAll(buildCommandLine(binaryPath, FLAG_REMOTE_DEBUGGING_PIPE));
+        log.debug("Launching browser: {}", command);
+
+        ProcessBuilder pb = new ProcessBuilder(command);
+        browserProcess = pb.start();
+        BrowserOutput output = new BrowserOutput(browserProcess.getErrorStream(), line -> { }).start();
+
+        PipeTransport transport =
+                new PipeTransport(browserProcess.getInputStream(), browserProcess.getOutputStream())
+                        .start();
+        awaitPipeReady(transport, output);
+        log.info("Browser started with CDP pipe (pid {})", browserProcess.pid());
+        return new LaunchResult(browserProcess, null, transport);
+    }
+
+    /**
+     * Blocks until the browser answers a command on the pipe, which it only does once
+     * DevTools is up. The pipe fails the command as soon as the browser exits.
+     *
+     * @throws BrowserLaunchException with the last lines of browser output if the browser
+     *                                exits or does not answer in time
+     */
+    private void awaitPipeReady(PipeTransport transport, BrowserOutput output) {
+        try {
+            transport.sendCommand(CMD_GET_VERSION, null, DEVTOOLS_READY_TIMEOUT_MILLIS).join();
+        } catch (RuntimeException e) {
+            transport.close();
+            String reason;
+            if (exitedWithin(OUTPUT_SETTLE_MILLIS)) {
+                // Let the reader catch up with the last words of the exited browser
+                output.closed().completeOnTimeout(null, OUTPUT_SETTLE_MILLIS, TimeUnit.MILLISECONDS).join();
+                reason = "exited with code " + browserProcess.exitValue() + " before DevTools was ready";
+            } else {
+                reason = "did not answer on the CDP pipe within " + DEVTOOLS_READY_TIMEOUT_MILLIS + " ms";
+            }
+            throw new BrowserLaunchException("Browser " + reason + ". Output:\n" + output.tail(), e);
         }
+    }
 
-        String webSocketUrl = waitForWebSocketUrl(port);
-        log.info("Browser started on port {} (WS: {})", port, webSocketUrl);
-        return new LaunchResult(browserProcess, webSocketUrl);
+    private boolean exitedWithin(long millis) {
+        try {
+            return browserProcess.waitFor(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return !browserProcess.isAlive();
+        }
     }
 
     /** Returns {@code true} if the browser process is currently running. */
@@ -143,9 +221,18 @@ public class BrowserLauncher {
     }
 
     /**
-     * Shuts down the browser process gracefully, then forcefully if needed.
+     * Shuts down the browser process gracefully, then forcefully if needed, and deletes
+     * the temporary profile directory if one was created.
      */
     public void shutdown() {
+        try {
+            stopProcess();
+        } finally {
+            deleteTempProfile();
+        }
+    }
+
+    private void stopProcess() {
         if (browserProcess == null || !browserProcess.isAlive()) {
             return;
         }
@@ -164,6 +251,25 @@ public class BrowserLauncher {
         }
     }
 
+    private void deleteTempProfile() {
+        Path dir = tempProfileDir;
+        if (dir == null || browserProcess == null || browserProcess.isAlive()) {
+            return;
+        }
+        tempProfileDir = null;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.debug("Could not delete {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Could not delete temporary profile {}: {}", dir, e.getMessage());
+        }
+    }
+
     // ── Binary resolution ─────────────────────────────────────────────────────
 
     /**
@@ -262,14 +368,14 @@ public class BrowserLauncher {
     /**
      * Builds the command-line argument list for the browser process.
      *
-     * @param binaryPath absolute path to the Chrome/Chromium binary
-     * @param port       remote-debugging port
+     * @param binaryPath     absolute path to the Chrome/Chromium binary
+     * @param debuggingFlag  {@code --remote-debugging-port=N} or {@code --remote-debugging-pipe}
      * @return ordered list of arguments ready for {@link ProcessBuilder}
      */
-    private List<String> buildCommandLine(String binaryPath, int port) throws IOException {
+    private List<String> buildCommandLine(String binaryPath, String debuggingFlag) throws IOException {
         List<String> cmd = new ArrayList<>();
         cmd.add(binaryPath);
-        cmd.add(FLAG_REMOTE_DEBUGGING_PORT + port);
+        cmd.add(debuggingFlag);
 
         if (options.isHeadless()) {
             cmd.add(FLAG_HEADLESS);
@@ -281,8 +387,8 @@ public class BrowserLauncher {
         if (userDataDir != null) {
             cmd.add(FLAG_USER_DATA_DIR + userDataDir);
         } else {
-            Path tempDir = Files.createTempDirectory(TEMP_PROFILE_PREFIX);
-            cmd.add(FLAG_USER_DATA_DIR + tempDir.toAbsolutePath());
+            tempProfileDir = Files.createTempDirectory(TEMP_PROFILE_PREFIX);
+            cmd.add(FLAG_USER_DATA_DIR + tempProfileDir.toAbsolutePath());
         }
 
         cmd.add(FLAG_NO_FIRST_RUN);
@@ -292,100 +398,4 @@ public class BrowserLauncher {
 
         return cmd;
     }
-
-    // ── CDP handshake ─────────────────────────────────────────────────────────
-
-    /**
-     * Polls the CDP JSON endpoint until a {@code page} target appears, then returns
-     * its {@code webSocketDebuggerUrl}.
-     *
-     * <p>Uses {@link Thread#sleep} between retries — never a spin-wait.
-     *
-     * @param port remote-debugging port
-     * @return WebSocket URL of the first page target
-     * @throws IOException if no page target is found within {@link #CDP_MAX_RETRIES} attempts
-     */
-    private String waitForWebSocketUrl(int port) throws IOException {
-        String endpointUrl = CDP_HOST + port + CDP_JSON_PATH;
-
-        for (int attempt = 1; attempt <= CDP_MAX_RETRIES; attempt++) {
-            try {
-                String wsUrl = fetchPageWebSocketUrl(endpointUrl);
-                log.debug("CDP page target found on attempt {}", attempt);
-                return wsUrl;
-            } catch (IOException e) {
-                if (attempt == CDP_MAX_RETRIES) {
-                    throw new IOException(
-                            "CDP endpoint not ready after " + CDP_MAX_RETRIES + " attempts: "
-                            + endpointUrl, e);
-                }
-                log.debug("CDP endpoint not ready (attempt {}/{}), retrying in {} ms",
-                        attempt, CDP_MAX_RETRIES, CDP_RETRY_DELAY_MILLIS);
-                try {
-                    Thread.sleep(CDP_RETRY_DELAY_MILLIS);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new IOException("Interrupted while waiting for browser to start", ie);
-                }
-            }
-        }
-
-        // Unreachable, but satisfies the compiler
-        throw new IOException("Failed to obtain WebSocket debugger URL from " + endpointUrl);
-    }
-
-    /**
-     * Makes a single HTTP GET to the CDP JSON endpoint and returns the WebSocket URL
-     * of the first {@code page} target found.
-     *
-     * @param endpointUrl full URL of the CDP JSON endpoint
-     * @return WebSocket debugger URL
-     * @throws IOException if the HTTP request fails or no page target is present
-     */
-    private String fetchPageWebSocketUrl(String endpointUrl) throws IOException {
-        URL url = new URL(endpointUrl);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("GET");
-        conn.setConnectTimeout(CDP_CONNECT_TIMEOUT_MILLIS);
-        conn.setReadTimeout(CDP_READ_TIMEOUT_MILLIS);
-
-        if (conn.getResponseCode() != HTTP_OK) {
-            throw new IOException("CDP endpoint returned HTTP " + conn.getResponseCode());
-        }
-
-        StringBuilder body = new StringBuilder();
-        try (BufferedReader reader =
-                     new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                body.append(line);
-            }
-        }
-
-        JsonArray targets = gson.fromJson(body.toString(), JsonArray.class);
-        for (int i = 0; i < targets.size(); i++) {
-            JsonObject target = targets.get(i).getAsJsonObject();
-            if (TARGET_TYPE_PAGE.equals(target.get(TARGET_KEY_TYPE).getAsString())) {
-                return target.get(TARGET_KEY_WS_URL).getAsString();
-            }
-        }
-
-        throw new IOException("CDP endpoint is up but no '" + TARGET_TYPE_PAGE
-                + "' target found yet");
-    }
-
-    // ── Port utility ──────────────────────────────────────────────────────────
-
-    /**
-     * Finds a free ephemeral port by binding to port 0 and reading the assigned port.
-     *
-     * @return available port number
-     * @throws IOException if no port is available
-     */
-    private int findAvailablePort() throws IOException {
-        try (ServerSocket socket = new ServerSocket(0)) {
-            socket.setReuseAddress(true);
-            return socket.getLocalPort();
-        }
-    }
 }
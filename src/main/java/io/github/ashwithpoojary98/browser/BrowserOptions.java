@@ -35,6 +35,7 @@ public class BrowserOptions {
     private final List<String> arguments;
     private final Map<String, String> preferences;
     private final int debuggingPort;
+    private final boolean debuggingPipe;
     private final String userDataDir;
     private final int windowWidth;
     private final int windowHeight;
@@ -48,6 +49,7 @@ public class BrowserOptions {
         this.arguments      = new ArrayList<>(builder.arguments);
         this.preferences    = new HashMap<>(builder.preferences);
         this.debuggingPort  = builder.debuggingPort;
+        this.debuggingPipe  = builder.debuggingPipe;
         this.userDataDir    = builder.userDataDir;
         this.windowWidth    = builder.windowWidth;
         this.windowHeight   = builder.windowHeight;
@@ -85,6 +87,10 @@ public class BrowserOptions {
         return debuggingPort;
     }
 
+    public boolean isDebuggingPipe() {
+        return debuggingPipe;
+    }
+
     public String getUserDataDir() {
         return userDataDir;
     }
@@ -118,6 +124,7 @@ public class BrowserOptions {
         private List<String> arguments     = new ArrayList<>();
         private Map<String, String> preferences = new HashMap<>();
         private int debuggingPort          = 0; // 0 means auto-select
+        private boolean debuggingPipe      = false;
         private String userDataDir;
         private int windowWidth            = 1280;
         private int windowHeight           = 720;
@@ -236,6 +243,22 @@ public class BrowserOptions {
             return this;
         }
 
+        /**
+         * Connects over {@code --remote-debugging-pipe} instead of a debugging port.
+         *
+         * <p>CDP messages travel over file descriptors 3 and 4 of the browser process, so
+         * no port is allocated and no HTTP discovery or WebSocket handshake is needed.
+         * Requires a POSIX {@code /bin/sh}; not supported on Windows.
+         * {@link #debuggingPort} is ignored when enabled.
+         *
+         * @param debuggingPipe true to use the pipe transport
+         * @return This builder
+         */
+        public Builder debuggingPipe(boolean debuggingPipe) {
+            this.debuggingPipe = debuggingPipe;
+            return this;
+        }
+
         /**
          * Sets the user data directory for the browser profile.
          * If not specified, a temporary directory will be used.
@@ -0,0 +1,92 @@
+package io.github.ashwithpoojary98.browser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Drains a browser's output on a daemon thread so the browser never blocks on a full
+ * pipe. Every line is logged at debug level and handed to a listener, and the most
+ * recent lines are kept for launch-failure messages.
+ */
+class BrowserOutput {
+
+    private static final Logger log = LoggerFactory.getLogger(BrowserOutput.class);
+
+    /** Number of recent output lines kept for launch-failure messages. */
+    private static final int TAIL_LINES = 20;
+
+    private static final String READER_THREAD_NAME = "nihonium-browser-output";
+
+    private final InputStream             output;
+    private final Consumer<String>        listener;
+    private final Deque<String>           tail   = new ArrayDeque<>(TAIL_LINES);
+    private final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+    /**
+     * @param output   the browser's stderr (or merged stdout/stderr)
+     * @param listener called on the reader thread with every line
+     */
+    BrowserOutput(InputStream output, Consumer<String> listener) {
+        this.output   = output;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts draining the output on a daemon thread.
+     *
+     * @return this output
+     */
+    BrowserOutput start() {
+        Thread reader = new Thread(this::read, READER_THREAD_NAME);
+        reader.setDaemon(true);
+        reader.start();
+        return this;
+    }
+
+    /** Returns a future completing once the output has been read to its end. */
+    CompletableFuture<Void> closed() {
+        return closed;
+    }
+
+    /** Returns the most recent output lines, oldest first, joined by newlines. */
+    String tail() {
+        synchronized (tail) {
+            return String.join("\n", tail);
+        }
+    }
+
+    private void read() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(output, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                log.debug("browser: {}", line);
+                remember(line);
+                listener.accept(line);
+            }
+        } catch (IOException e) {
+            log.debug("Browser output closed: {}", e.getMessage());
+        } finally {
+            closed.complete(null);
+        }
+    }
+
+    private void remember(String line) {
+        synchronized (tail) {
+            if (tail.size() == TAIL_LINES) {
+                tail.removeFirst();
+            }
+            tail.addLast(line);
+        }
+    }
+}
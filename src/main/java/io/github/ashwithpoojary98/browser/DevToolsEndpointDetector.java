@@ -0,0 +1,166 @@
+package io.github.ashwithpoojary98.browser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Detects the browser-level DevTools WebSocket URL of a starting browser without polling
+ * its HTTP endpoint.
+ *
+ * <p>Chrome announces its endpoint in two ways as soon as it is listening:
+ * <ul>
+ *   <li>a {@code DevTools listening on ws://…} line on stderr — read by a
+ *       {@link BrowserOutput} that keeps draining the output afterwards so Chrome never
+ *       blocks on a full pipe</li>
+ *   <li>a {@code DevToolsActivePort} file in the profile directory holding the port and
+ *       the browser path — checked as a fallback while waiting for the line</li>
+ * </ul>
+ *
+ * <p>Both work with {@code --remote-debugging-port=0}, so the OS picks a free port and
+ * there is no bind-then-release race between parallel launches.
+ */
+class DevToolsEndpointDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DevToolsEndpointDetector.class);
+
+    static final String LISTENING_PREFIX = "DevTools listening on ";
+    static final String ACTIVE_PORT_FILE = "DevToolsActivePort";
+
+    private static final String WS_URL_PREFIX = "ws://";
+    private static final String LOOPBACK_HOST = "127.0.0.1";
+
+    /** How often the {@code DevToolsActivePort} file and process liveness are checked. */
+    private static final long FALLBACK_CHECK_INTERVAL_MILLIS = 25L;
+
+    private final BrowserOutput             output;
+    private final Path                      profileDir;
+    private final CompletableFuture<String> endpoint = new CompletableFuture<>();
+
+    /**
+     * @param output     the browser's stderr (or merged stdout/stderr)
+     * @param profileDir the browser's {@code --user-data-dir}
+     */
+    DevToolsEndpointDetector(InputStream output, Path profileDir) {
+        this.output     = new BrowserOutput(output, this::onLine);
+        this.profileDir = profileDir;
+    }
+
+    /**
+     * Starts draining the browser output on a daemon thread.
+     *
+     * @return this detector
+     */
+    DevToolsEndpointDetector start() {
+        output.closed().thenRun(
+                () -> endpoint.completeExceptionally(new IOException("Browser output closed")));
+        output.start();
+        return this;
+    }
+
+    /**
+     * Blocks until the endpoint is known, the process exits, or the timeout elapses.
+     *
+     * @param process       the starting browser
+     * @param timeoutMillis maximum time to wait
+     * @return browser-level WebSocket debugger URL
+     * @throws IOException if the browser exits or does not announce an endpoint in time
+     */
+    String await(Process process, long timeoutMillis) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            try {
+                return endpoint.get(FALLBACK_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Not announced on stderr yet — fall through to the fallbacks
+            } catch (ExecutionException e) {
+                // Output closed without the line; the port file may still appear
+                pause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for browser to start", e);
+            }
+
+            String fromFile = readActivePortFile(profileDir);
+            if (fromFile != null) {
+                log.debug("DevTools endpoint read from {}", ACTIVE_PORT_FILE);
+                return fromFile;
+            }
+            if (!process.isAlive()) {
+                throw new IOException("Browser exited with code " + process.exitValue()
+                        + " before DevTools was listening. Output:\n" + output.tail());
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IOException("Browser did not start DevTools within " + timeoutMillis
+                        + " ms. Output:\n" + output.tail());
+            }
+        }
+    }
+
+    private static void pause() throws IOException {
+        try {
+            Thread.sleep(FALLBACK_CHECK_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for browser to start", e);
+        }
+    }
+
+    // ── Output listener ───────────────────────────────────────────────────────
+
+    private void onLine(String line) {
+        if (!endpoint.isDone()) {
+            String url = parseListeningLine(line);
+            if (url != null) {
+                endpoint.complete(url);
+            }
+        }
+    }
+
+    // ── Parsing ───────────────────────────────────────────────────────────────
+
+    /**
+     * Returns the WebSocket URL announced by a {@code DevTools listening on ws://…} line,
+     * or {@code null} if {@code line} is anything else.
+     */
+    static String parseListeningLine(String line) {
+        int start = line.indexOf(LISTENING_PREFIX);
+        if (start < 0) {
+            return null;
+        }
+        String url = line.substring(start + LISTENING_PREFIX.length()).trim();
+        return url.startsWith(WS_URL_PREFIX) ? url : null;
+    }
+
+    /**
+     * Returns the WebSocket URL described by {@code DevToolsActivePort} in
+     * {@code profileDir} (first line: port, second line: browser path), or {@code null}
+     * if the file is absent or not completely written yet.
+     */
+    static String readActivePortFile(Path profileDir) {
+        if (profileDir == null) {
+            return null;
+        }
+        Path file = profileDir.resolve(ACTIVE_PORT_FILE);
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.size() < 2 || lines.get(1).isBlank()) {
+                return null;
+            }
+            int port = Integer.parseInt(lines.get(0).trim());
+            return WS_URL_PREFIX + LOOPBACK_HOST + ":" + port + lines.get(1).trim();
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+}
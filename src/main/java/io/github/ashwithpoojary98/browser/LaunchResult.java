@@ -1,10 +1,32 @@
 package io.github.ashwithpoojary98.browser;
 
+import io.github.ashwithpoojary98.pipe.PipeTransport;
+
 /**
  * Result of launching a browser process.
  *
+ * <p>In port mode {@code browserWebSocketUrl} is set; in pipe mode only {@code pipeTransport} is.
+ * Page targets are reached as sessions over the browser-level connection, so no page-level
+ * WebSocket URL is looked up.
+ *
  * @param process The browser process
- * @param webSocketUrl The WebSocket debugger URL for CDP connection
+ * @param browserWebSocketUrl The browser-level WebSocket debugger URL, or {@code null} in pipe mode
+ * @param pipeTransport The started browser-level pipe transport, or {@code null} in port mode
  */
-public record LaunchResult(Process process, String webSocketUrl) {
+public record LaunchResult(Process process, String browserWebSocketUrl, PipeTransport pipeTransport) {
+
+    /**
+     * Creates a result for a browser reached over a WebSocket.
+     *
+     * @param process The browser process
+     * @param browserWebSocketUrl The browser-level WebSocket debugger URL
+     */
+    public LaunchResult(Process process, String browserWebSocketUrl) {
+        this(process, browserWebSocketUrl, null);
+    }
+
+    /** Returns {@code true} if the browser was started with {@code --remote-debugging-pipe}. */
+    public boolean isPipe() {
+        return pipeTransport != null;
+    }
 }
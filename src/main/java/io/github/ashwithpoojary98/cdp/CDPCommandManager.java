@@ -1,16 +1,23 @@
 package io.github.ashwithpoojary98.cdp;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 import io.github.ashwithpoojary98.exception.CDPException;
+import io.github.ashwithpoojary98.exception.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
@@ -19,8 +26,16 @@ import java.util.function.Consumer;
  * <p>Responsibilities:
  * <ul>
  *   <li>Generating unique, monotonically-increasing command IDs</li>
- *   <li>Correlating asynchronous CDP responses with their originating commands</li>
- *   <li>Routing CDP events to registered subscribers</li>
+ *   <li>Correlating asynchronous CDP responses with their originating commands through an
+ *       allocation-free {@link PendingCommandTable}, reading
+ *       only the {@code id} and leaving the {@code result} payload undecoded
+ *       ({@link CDPResponse})</li>
+ *   <li>Routing CDP events to registered subscribers through an ordered
+ *       {@link EventDispatcher}, per flattened session ({@code sessionId}), so one
+ *       connection can serve many tabs and workers</li>
+ *   <li>Dropping events nobody subscribed to before a JSON tree is built for them</li>
+ *   <li>Failing commands that receive no response in time, using a shared
+ *       {@link TimeoutWheel} rather than one scheduled task per command</li>
  *   <li>Failing pending futures cleanly when the connection is closed</li>
  * </ul>
  *
@@ -40,18 +55,31 @@ public class CDPCommandManager {
     private static final String CDP_KEY_PARAMS  = "params";
     private static final String CDP_KEY_MESSAGE = "message";
     private static final String CDP_KEY_CODE    = "code";
+    private static final String CDP_KEY_SESSION = "sessionId";
+
+    /** Subscription key of the connection's own target (messages without a {@code sessionId}). */
+    private static final String ROOT_SESSION = "";
 
     private static final String ERROR_UNKNOWN      = "Unknown CDP error";
     private static final String ERROR_CLOSED       = "CDP connection closed";
     private static final int    ERROR_CODE_UNKNOWN = -1;
 
     private final AtomicLong commandIdGenerator = new AtomicLong(0);
-    private final ConcurrentHashMap<Long, CompletableFuture<JsonObject>> pendingCommands =
-            new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, List<Consumer<JsonObject>>> eventSubscribers =
-            new ConcurrentHashMap<>();
+    private final PendingCommandTable<PendingCommand> pendingCommands = new PendingCommandTable<>();
+
+    /** Handlers by session key, then event name. Mutated under {@link #subscriptionLock}. */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, List<Consumer<JsonObject>>>>
+            eventSubscribers = new ConcurrentHashMap<>();
+
+    /** Number of sessions subscribed to each event — lets unobserved events be dropped early. */
+    private final ConcurrentHashMap<String, Integer> subscribedEvents = new ConcurrentHashMap<>();
+    private final Object subscriptionLock = new Object();
 
-    private final long defaultTimeoutSeconds;
+    private final LongAdder skippedEvents = new LongAdder();
+
+    private final long            defaultTimeoutSeconds;
+    private final EventDispatcher eventDispatcher;
+    private final TimeoutWheel    timeoutWheel;
 
     // ── Construction ──────────────────────────────────────────────────────────
 
@@ -68,7 +96,32 @@ public class CDPCommandManager {
      * @param defaultTimeoutSeconds seconds before a pending command future is failed
      */
     public CDPCommandManager(long defaultTimeoutSeconds) {
+        this(defaultTimeoutSeconds, new EventDispatcher());
+    }
+
+    /**
+     * Creates a {@code CDPCommandManager} with a custom command timeout and event dispatcher.
+     *
+     * @param defaultTimeoutSeconds seconds before a pending command future is failed
+     * @param eventDispatcher       dispatcher that runs event handlers in per-domain order
+     */
+    public CDPCommandManager(long defaultTimeoutSeconds, EventDispatcher eventDispatcher) {
+        this(defaultTimeoutSeconds, eventDispatcher, TimeoutWheel.shared());
+    }
+
+    /**
+     * Creates a {@code CDPCommandManager} with a custom command timeout, event dispatcher
+     * and timeout scheduler.
+     *
+     * @param defaultTimeoutSeconds seconds before a pending command future is failed
+     * @param eventDispatcher       dispatcher that runs event handlers in per-domain order
+     * @param timeoutWheel          scheduler that expires commands with no response
+     */
+    public CDPCommandManager(long defaultTimeoutSeconds, EventDispatcher eventDispatcher,
+                             TimeoutWheel timeoutWheel) {
         this.defaultTimeoutSeconds = defaultTimeoutSeconds;
+        this.eventDispatcher       = eventDispatcher;
+        this.timeoutWheel          = timeoutWheel;
     }
 
     // ── Command lifecycle ─────────────────────────────────────────────────────
@@ -86,28 +139,177 @@ public class CDPCommandManager {
      * Registers a pending command and returns a {@link CompletableFuture} that will
      * be completed (or exceptionally) when the matching CDP response arrives.
      *
-     * <p>The future automatically times out after {@link #defaultTimeoutSeconds} seconds,
-     * removing the entry from the pending map to prevent memory leaks.
+     * <p>The future fails with a {@link TimeoutException} after {@link #defaultTimeoutSeconds}
+     * seconds, removing the entry from the pending map to prevent memory leaks.
      *
      * @param id command ID as returned by {@link #nextCommandId()}
      * @return future that completes with the {@code result} object from the CDP response
      */
     public CompletableFuture<JsonObject> registerCommand(long id) {
-        CompletableFuture<JsonObject> future = new CompletableFuture<>();
-        pendingCommands.put(id, future);
+        return registerRawCommand(id).thenApply(CDPResponse::asJsonObject);
+    }
 
-        future.orTimeout(defaultTimeoutSeconds, TimeUnit.SECONDS)
-                .exceptionally(ex -> {
-                    pendingCommands.remove(id);
-                    log.warn("CDP command {} timed out after {} s", id, defaultTimeoutSeconds);
-                    return null;
-                });
+    /**
+     * Registers a pending command with its own timeout.
+     *
+     * @param id            command ID as returned by {@link #nextCommandId()}
+     * @param timeoutMillis milliseconds before the future fails with a {@link TimeoutException}
+     * @return future that completes with the {@code result} object from the CDP response
+     */
+    public CompletableFuture<JsonObject> registerCommand(long id, long timeoutMillis) {
+        return registerRawCommand(id, timeoutMillis).thenApply(CDPResponse::asJsonObject);
+    }
 
-        return future;
+    /**
+     * Registers a pending command whose future completes with the undecoded
+     * {@link CDPResponse}, so the caller chooses how (and whether) to decode the result.
+     *
+     * <p>The future fails with a {@link TimeoutException} after {@link #defaultTimeoutSeconds}
+     * seconds, removing the entry from the pending map to prevent memory leaks.
+     *
+     * @param id command ID as returned by {@link #nextCommandId()}
+     * @return future that completes with the lazily-decoded response
+     */
+    public CompletableFuture<CDPResponse> registerRawCommand(long id) {
+        return registerRawCommand(id, TimeUnit.SECONDS.toMillis(defaultTimeoutSeconds));
+    }
+
+    /**
+     * Registers a pending command with its own timeout whose future completes with the
+     * undecoded {@link CDPResponse}.
+     *
+     * <p>The timeout is held on the shared {@link TimeoutWheel} and cancelled as soon as
+     * the response arrives, so no completion stage is attached to the future.
+     *
+     * @param id            command ID as returned by {@link #nextCommandId()}
+     * @param timeoutMillis milliseconds before the future fails with a {@link TimeoutException}
+     * @return future that completes with the lazily-decoded response
+     */
+    public CompletableFuture<CDPResponse> registerRawCommand(long id, long timeoutMillis) {
+        PendingCommand pending = new PendingCommand();
+        pendingCommands.put(id, pending);
+        pending.timeout = timeoutWheel.schedule(
+                () -> expireCommand(id, pending, timeoutMillis), timeoutMillis, TimeUnit.MILLISECONDS);
+        return pending.future;
+    }
+
+    private void expireCommand(long id, PendingCommand pending, long timeoutMillis) {
+        if (pendingCommands.remove(id, pending)) {
+            log.warn("CDP command {} timed out after {} ms", id, timeoutMillis);
+            pending.future.completeExceptionally(new TimeoutException(
+                    "CDP command " + id + " timed out after " + timeoutMillis + " ms"));
+        }
+    }
+
+    /**
+     * Fails a registered command whose message could not be written. The entry is removed
+     * and its timeout cancelled, so it does not linger until it expires as a timeout.
+     *
+     * @param id    command ID
+     * @param cause failure to complete the command's future with
+     */
+    public void failCommand(long id, Throwable cause) {
+        CompletableFuture<CDPResponse> future = takePending(id);
+        if (future != null) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    /** Removes a pending command and cancels its timeout; {@code null} if none is pending. */
+    private CompletableFuture<CDPResponse> takePending(long id) {
+        PendingCommand pending = pendingCommands.remove(id);
+        if (pending == null) {
+            log.trace("No pending command for response id={}", id);
+            return null;
+        }
+        TimeoutWheel.Timeout timeout = pending.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        return pending.future;
     }
 
     // ── Message routing ───────────────────────────────────────────────────────
 
+    /**
+     * Routes a raw CDP message as received from the wire.
+     *
+     * <p>The top-level fields are streamed with a {@link JsonReader} instead of being
+     * parsed into a tree up front. Events whose {@code method} has no subscriber are
+     * dropped as soon as the method name has been read, so floods of unobserved
+     * {@code Network.*}, {@code DOM.*} or {@code Page.*} events never allocate a
+     * {@link JsonObject}. For subscribed events only the {@code params} value is
+     * materialised.
+     *
+     * <p>Flattened sessions tag their events with a top-level {@code sessionId}, which
+     * Chrome writes after {@code params}; the event is dispatched to that session's
+     * subscribers and lane only.
+     *
+     * <p>Responses are correlated by streaming up to the {@code id} field; the pending
+     * future is completed with a lazy {@link CDPResponse} that still holds the raw text,
+     * so large {@code result} payloads are never parsed unless a caller asks for them.
+     *
+     * @param message raw JSON text of one CDP message
+     * @throws IOException if the message is not a well-formed JSON object
+     */
+    public void handleRawMessage(String message) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            reader.beginObject();
+
+            String method = null;
+            String sessionId = null;
+            JsonObject params = null;
+            boolean paramsSkipped = false;
+            boolean payloadBeforeId = false;
+
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case CDP_KEY_ID -> {
+                        if (payloadBeforeId) {
+                            handleResponse(JsonParser.parseString(message).getAsJsonObject());
+                        } else {
+                            handleRawResponse(reader.nextLong(), reader, message);
+                        }
+                        return;
+                    }
+                    case CDP_KEY_RESULT, CDP_KEY_ERROR -> {
+                        payloadBeforeId = true;
+                        reader.skipValue();
+                    }
+                    case CDP_KEY_METHOD -> {
+                        method = reader.nextString();
+                        if (!hasSubscribers(method)) {
+                            skippedEvents.increment();
+                            return;
+                        }
+                    }
+                    case CDP_KEY_PARAMS -> {
+                        if (method != null) {
+                            params = JsonParser.parseReader(reader).getAsJsonObject();
+                        } else {
+                            // Chrome writes "method" first; tolerate other orders without
+                            // parsing params for an event that may turn out to be unobserved
+                            reader.skipValue();
+                            paramsSkipped = true;
+                        }
+                    }
+                    case CDP_KEY_SESSION -> sessionId = reader.nextString();
+                    default -> reader.skipValue();
+                }
+            }
+
+            if (method == null) {
+                log.trace("Received unrecognised CDP message (no id or method field)");
+                return;
+            }
+            if (paramsSkipped) {
+                handleEvent(JsonParser.parseString(message).getAsJsonObject());
+                return;
+            }
+            dispatchEvent(sessionId, method, params != null ? params : new JsonObject());
+        }
+    }
+
     /**
      * Routes an incoming CDP message to either {@link #handleResponse} or
      * {@link #handleEvent} based on the presence of an {@code id} or {@code method} key.
@@ -135,36 +337,70 @@ public class CDPCommandManager {
         }
 
         long id = message.get(CDP_KEY_ID).getAsLong();
-        CompletableFuture<JsonObject> future = pendingCommands.remove(id);
+        CompletableFuture<CDPResponse> future = takePending(id);
         if (future == null) {
-            log.trace("No pending command for response id={}", id);
             return;
         }
 
         if (message.has(CDP_KEY_ERROR)) {
-            JsonObject error = message.getAsJsonObject(CDP_KEY_ERROR);
-            String errorMsg  = error.has(CDP_KEY_MESSAGE)
-                    ? error.get(CDP_KEY_MESSAGE).getAsString()
-                    : ERROR_UNKNOWN;
-            int errorCode    = error.has(CDP_KEY_CODE)
-                    ? error.get(CDP_KEY_CODE).getAsInt()
-                    : ERROR_CODE_UNKNOWN;
-
-            log.debug("CDP error response for command {}: [{}] {}", id, errorCode, errorMsg);
-            future.completeExceptionally(
-                    new CDPException("CDP error (code: " + errorCode + "): " + errorMsg));
+            failCommand(id, future, message.getAsJsonObject(CDP_KEY_ERROR));
         } else {
             JsonObject result = message.has(CDP_KEY_RESULT)
                     ? message.getAsJsonObject(CDP_KEY_RESULT)
                     : new JsonObject();
-            future.complete(result);
+            future.complete(CDPResponse.of(id, result));
         }
     }
 
     /**
-     * Dispatches a CDP event to all registered subscribers for its method name.
-     * Each subscriber is invoked asynchronously to avoid blocking the WebSocket
-     * receive thread.
+     * Completes the pending future for {@code id} from a reader positioned just after
+     * the {@code id} value. Only an {@code error} object is ever parsed here; a
+     * {@code result} is left in {@code message} for the caller to decode.
+     */
+    private void handleRawResponse(long id, JsonReader reader, String message) throws IOException {
+        CompletableFuture<CDPResponse> future = takePending(id);
+        if (future == null) {
+            return;
+        }
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case CDP_KEY_RESULT -> {
+                    future.complete(CDPResponse.lazy(id, message));
+                    return;
+                }
+                case CDP_KEY_ERROR -> {
+                    failCommand(id, future, JsonParser.parseReader(reader).getAsJsonObject());
+                    return;
+                }
+                default -> reader.skipValue();
+            }
+        }
+        future.complete(CDPResponse.of(id, new JsonObject()));
+    }
+
+    private void failCommand(long id, CompletableFuture<CDPResponse> future, JsonObject error) {
+        String errorMsg = error.has(CDP_KEY_MESSAGE)
+                ? error.get(CDP_KEY_MESSAGE).getAsString()
+                : ERROR_UNKNOWN;
+        int errorCode   = error.has(CDP_KEY_CODE)
+                ? error.get(CDP_KEY_CODE).getAsInt()
+                : ERROR_CODE_UNKNOWN;
+
+        log.debug("CDP error response for command {}: [{}] {}", id, errorCode, errorMsg);
+        future.completeExceptionally(
+                new CDPException("CDP error (code: " + errorCode + "): " + errorMsg));
+    }
+
+    /**
+     * Dispatches a CDP event to all subscribers registered for its method name in its
+     * session.
+     *
+     * <p>Handlers run on the {@link EventDispatcher} lane for the event's session and
+     * domain, so they
+     * never block the WebSocket receive thread and events of one domain are observed in
+     * the order Chrome sent them. Handlers of a single event run one after another in
+     * subscription order.
      *
      * @param message CDP event message
      */
@@ -173,65 +409,168 @@ public class CDPCommandManager {
             return;
         }
 
-        String method     = message.get(CDP_KEY_METHOD).getAsString();
+        String method = message.get(CDP_KEY_METHOD).getAsString();
+        if (!hasSubscribers(method)) {
+            skippedEvents.increment();
+            return;
+        }
+
         JsonObject params = message.has(CDP_KEY_PARAMS)
                 ? message.getAsJsonObject(CDP_KEY_PARAMS)
                 : new JsonObject();
+        String sessionId = message.has(CDP_KEY_SESSION)
+                ? message.get(CDP_KEY_SESSION).getAsString()
+                : null;
+        dispatchEvent(sessionId, method, params);
+    }
 
-        List<Consumer<JsonObject>> handlers = eventSubscribers.get(method);
-        if (handlers == null || handlers.isEmpty()) {
+    /** Returns {@code true} if any session has a handler for {@code method}. */
+    private boolean hasSubscribers(String method) {
+        return subscribedEvents.containsKey(method);
+    }
+
+    private void dispatchEvent(String sessionId, String method, JsonObject params) {
+        Map<String, List<Consumer<JsonObject>>> sessionHandlers =
+                eventSubscribers.get(sessionKey(sessionId));
+        List<Consumer<JsonObject>> handlers =
+                sessionHandlers == null ? null : sessionHandlers.get(method);
+        if (handlers == null) {
+            // Observed in another session only
+            skippedEvents.increment();
             return;
         }
 
-        handlers.forEach(handler ->
-                CompletableFuture.runAsync(() -> {
-                    try {
-                        handler.accept(params);
-                    } catch (Exception e) {
-                        log.error("Unhandled exception in event handler for '{}': {}",
-                                method, e.getMessage(), e);
-                    }
-                })
-        );
+        eventDispatcher.dispatch(sessionId, method, () -> {
+            for (Consumer<JsonObject> handler : handlers) {
+                try {
+                    handler.accept(params);
+                } catch (Exception e) {
+                    log.error("Unhandled exception in event handler for '{}': {}",
+                            method, e.getMessage(), e);
+                }
+            }
+        });
     }
 
     // ── Event subscriptions ───────────────────────────────────────────────────
 
     /**
-     * Subscribes to a CDP event by method name.
+     * Subscribes to a CDP event of the connection's own target.
      *
      * @param eventName fully-qualified event name (e.g. {@code "Page.frameNavigated"})
      * @param handler   consumer called with the event {@code params} object
      */
     public void subscribe(String eventName, Consumer<JsonObject> handler) {
-        eventSubscribers
-                .computeIfAbsent(eventName, k -> new CopyOnWriteArrayList<>())
-                .add(handler);
+        subscribe(null, eventName, handler);
     }
 
     /**
-     * Removes a specific handler for the given event.
+     * Subscribes to a CDP event of one flattened session.
+     *
+     * @param sessionId session ID, or {@code null} for the connection's own target
+     * @param eventName fully-qualified event name (e.g. {@code "Page.frameNavigated"})
+     * @param handler   consumer called with the event {@code params} object
+     */
+    public void subscribe(String sessionId, String eventName, Consumer<JsonObject> handler) {
+        synchronized (subscriptionLock) {
+            List<Consumer<JsonObject>> handlers = eventSubscribers
+                    .computeIfAbsent(sessionKey(sessionId), k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(eventName, k -> {
+                        subscribedEvents.merge(eventName, 1, Integer::sum);
+                        return new CopyOnWriteArrayList<>();
+                    });
+            handlers.add(handler);
+        }
+    }
+
+    /**
+     * Removes a specific handler for the given event of the connection's own target.
      *
      * @param eventName CDP event name
      * @param handler   the exact handler instance to remove
      */
     public void unsubscribe(String eventName, Consumer<JsonObject> handler) {
-        List<Consumer<JsonObject>> handlers = eventSubscribers.get(eventName);
-        if (handlers != null) {
-            handlers.remove(handler);
-            if (handlers.isEmpty()) {
-                eventSubscribers.remove(eventName);
+        unsubscribe(null, eventName, handler);
+    }
+
+    /**
+     * Removes a specific handler for the given event of one session.
+     *
+     * @param sessionId session ID, or {@code null} for the connection's own target
+     * @param eventName CDP event name
+     * @param handler   the exact handler instance to remove
+     */
+    public void unsubscribe(String sessionId, String eventName, Consumer<JsonObject> handler) {
+        synchronized (subscriptionLock) {
+            Map<String, List<Consumer<JsonObject>>> sessionHandlers =
+                    eventSubscribers.get(sessionKey(sessionId));
+            List<Consumer<JsonObject>> handlers =
+                    sessionHandlers == null ? null : sessionHandlers.get(eventName);
+            if (handlers != null) {
+                handlers.remove(handler);
+                if (handlers.isEmpty()) {
+                    removeHandlers(sessionId, eventName);
+                }
             }
         }
     }
 
     /**
-     * Removes all handlers for the given event.
+     * Removes all handlers for the given event of the connection's own target.
      *
      * @param eventName CDP event name
      */
     public void unsubscribeAll(String eventName) {
-        eventSubscribers.remove(eventName);
+        unsubscribeAll(null, eventName);
+    }
+
+    /**
+     * Removes all handlers for the given event of one session.
+     *
+     * @param sessionId session ID, or {@code null} for the connection's own target
+     * @param eventName CDP event name
+     */
+    public void unsubscribeAll(String sessionId, String eventName) {
+        synchronized (subscriptionLock) {
+            removeHandlers(sessionId, eventName);
+        }
+    }
+
+    /**
+     * Forgets a detached session: drops all of its subscriptions and event lanes.
+     *
+     * @param sessionId session ID as returned by {@code Target.attachToTarget}
+     */
+    public void removeSession(String sessionId) {
+        synchronized (subscriptionLock) {
+            Map<String, List<Consumer<JsonObject>>> sessionHandlers =
+                    eventSubscribers.remove(sessionKey(sessionId));
+            if (sessionHandlers != null) {
+                sessionHandlers.keySet().forEach(this::releaseEvent);
+            }
+        }
+        if (sessionId != null) {
+            eventDispatcher.removeSession(sessionId);
+        }
+    }
+
+    private void removeHandlers(String sessionId, String eventName) {
+        String key = sessionKey(sessionId);
+        Map<String, List<Consumer<JsonObject>>> sessionHandlers = eventSubscribers.get(key);
+        if (sessionHandlers != null && sessionHandlers.remove(eventName) != null) {
+            releaseEvent(eventName);
+            if (sessionHandlers.isEmpty()) {
+                eventSubscribers.remove(key);
+            }
+        }
+    }
+
+    private void releaseEvent(String eventName) {
+        subscribedEvents.computeIfPresent(eventName, (k, sessions) -> sessions == 1 ? null : sessions - 1);
+    }
+
+    private static String sessionKey(String sessionId) {
+        return sessionId == null ? ROOT_SESSION : sessionId;
     }
 
     // ── Lifecycle ─────────────────────────────────────────────────────────────
@@ -241,10 +580,17 @@ public class CDPCommandManager {
      * Must be called when the underlying WebSocket connection is closed.
      */
     public void clear() {
-        pendingCommands.values().forEach(future ->
-                future.completeExceptionally(new CDPException(ERROR_CLOSED)));
-        pendingCommands.clear();
-        eventSubscribers.clear();
+        pendingCommands.drain(pending -> {
+            TimeoutWheel.Timeout timeout = pending.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            pending.future.completeExceptionally(new CDPException(ERROR_CLOSED));
+        });
+        synchronized (subscriptionLock) {
+            eventSubscribers.clear();
+            subscribedEvents.clear();
+        }
     }
 
     // ── Diagnostics ───────────────────────────────────────────────────────────
@@ -254,8 +600,36 @@ public class CDPCommandManager {
         return pendingCommands.size();
     }
 
-    /** Returns the number of distinct events that have at least one subscriber. */
+    /** Returns the number of distinct events that have at least one subscriber in any session. */
     public int getEventSubscriptionCount() {
+        return subscribedEvents.size();
+    }
+
+    /** Returns the number of sessions (including the connection's own target) with subscriptions. */
+    public int getSubscribedSessionCount() {
         return eventSubscribers.size();
     }
+
+    /** Returns the number of events dropped because nobody was subscribed to them. */
+    public long getSkippedEventCount() {
+        return skippedEvents.sum();
+    }
+
+    /** Returns the timeout applied to commands registered without an explicit timeout. */
+    public long getDefaultTimeoutSeconds() {
+        return defaultTimeoutSeconds;
+    }
+
+    /** Returns the dispatcher used to run event handlers (queue depths, drop counts). */
+    public EventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
+
+    // ── PendingCommand ────────────────────────────────────────────────────────
+
+    /** A command awaiting its response, together with its scheduled timeout. */
+    private static final class PendingCommand {
+        final CompletableFuture<CDPResponse> future = new CompletableFuture<>();
+        volatile TimeoutWheel.Timeout        timeout;
+    }
 }
@@ -0,0 +1,47 @@
+package io.github.ashwithpoojary98.cdp;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serialisation of outgoing CDP command messages, shared by every {@link CDPTransport}.
+ */
+final class CDPMessages {
+
+    private static final Logger log = LoggerFactory.getLogger(CDPMessages.class);
+
+    private static final String KEY_ID         = "id";
+    private static final String KEY_METHOD     = "method";
+    private static final String KEY_PARAMS     = "params";
+    private static final String KEY_SESSION_ID = "sessionId";
+
+    private static final Gson GSON = new Gson();
+
+    private CDPMessages() {
+    }
+
+    /**
+     * Returns the JSON text of a command message.
+     *
+     * @param id        command ID
+     * @param method    CDP method name
+     * @param params    command parameters, or {@code null} if none
+     * @param sessionId flattened session the command targets, or {@code null}
+     * @return serialised message
+     */
+    static String command(long id, String method, JsonObject params, String sessionId) {
+        log.trace("→ CDP {} (id={})", method, id);
+        JsonObject command = new JsonObject();
+        command.addProperty(KEY_ID,     id);
+        command.addProperty(KEY_METHOD, method);
+        if (params != null) {
+            command.add(KEY_PARAMS, params);
+        }
+        if (sessionId != null) {
+            command.addProperty(KEY_SESSION_ID, sessionId);
+        }
+        return GSON.toJson(command);
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.ashwithpoojary98.cdp;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.github.ashwithpoojary98.exception.CDPException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+
+/**
+ * The successful result of a CDP command, decoded on demand.
+ *
+ * <p>When a response arrives over the wire only its {@code id} is read; the
+ * {@code result} payload is left as raw text until a caller asks for it. Callers can
+ * then either materialise a {@link JsonObject} ({@link #asJsonObject()}) or stream the
+ * payload — or a nested field of it — straight into a target type with
+ * {@link #decode(Type, String...)}, skipping the intermediate tree entirely. This matters
+ * for multi-megabyte responses such as {@code DOM.getDocument},
+ * {@code Page.captureScreenshot} or {@code Runtime.evaluate} on {@code outerHTML}.
+ *
+ * <pre>{@code
+ * String html = client.sendCommandRaw("Runtime.evaluate", params).join()
+ *         .decode(String.class, "result", "value");
+ * }</pre>
+ *
+ * <p>Instances are immutable apart from an internal cache and are safe to share.
+ */
+public final class CDPResponse {
+
+    private static final Gson   GSON            = new Gson();
+    private static final String CDP_KEY_RESULT  = "result";
+
+    private final long   id;
+    private final String rawMessage;
+    private volatile JsonObject result;
+
+    private CDPResponse(long id, String rawMessage, JsonObject result) {
+        this.id         = id;
+        this.rawMessage = rawMessage;
+        this.result     = result;
+    }
+
+    /**
+     * Creates a response whose {@code result} is decoded lazily from {@code rawMessage}.
+     *
+     * @param id         command ID
+     * @param rawMessage complete JSON text of the CDP response message
+     * @return lazy response
+     */
+    static CDPResponse lazy(long id, String rawMessage) {
+        return new CDPResponse(id, rawMessage, null);
+    }
+
+    /**
+     * Creates a response around an already-parsed {@code result} object.
+     *
+     * @param id     command ID
+     * @param result parsed {@code result} object
+     * @return eager response
+     */
+    static CDPResponse of(long id, JsonObject result) {
+        return new CDPResponse(id, null, result);
+    }
+
+    /** Returns the ID of the command this response answers. */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the complete JSON text of the response message, or {@code null} if the
+     * response was built from an already-parsed tree.
+     *
+     * @return raw message text, or {@code null}
+     */
+    public String getRawMessage() {
+        return rawMessage;
+    }
+
+    /**
+     * Returns the {@code result} object, parsing it on first access.
+     *
+     * @return the {@code result} object (empty if the response carried none)
+     * @throws CDPException if the raw message cannot be parsed
+     */
+    public JsonObject asJsonObject() {
+        JsonObject parsed = result;
+        if (parsed == null) {
+            try (JsonReader reader = seek()) {
+                parsed = reader == null ? new JsonObject()
+                        : JsonParser.parseReader(reader).getAsJsonObject();
+            } catch (IOException | RuntimeException e) {
+                throw new CDPException("Failed to parse result of CDP command " + id, e);
+            }
+            result = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * Decodes the {@code result} object directly into {@code type}.
+     *
+     * @param type target class
+     * @param <T>  target type
+     * @return decoded value, or {@code null} if the response carried no result
+     */
+    public <T> T decode(Class<T> type) {
+        return decode((Type) type);
+    }
+
+    /**
+     * Decodes a value nested inside the {@code result} object directly into {@code type}.
+     *
+     * <p>For example {@code decode(String.class, "result", "value")} returns the string
+     * value of a {@code Runtime.evaluate} response without building any tree.
+     *
+     * @param type target class
+     * @param path field names to descend through, starting inside {@code result}
+     * @param <T>  target type
+     * @return decoded value, or {@code null} if any field on the path is absent
+     */
+    public <T> T decode(Class<T> type, String... path) {
+        return decode((Type) type, path);
+    }
+
+    /**
+     * Decodes a value nested inside the {@code result} object directly into a generic type.
+     *
+     * @param type target type (e.g. from a {@code TypeToken})
+     * @param path field names to descend through, starting inside {@code result}
+     * @param <T>  target type
+     * @return decoded value, or {@code null} if any field on the path is absent
+     * @throws CDPException if the payload cannot be decoded into {@code type}
+     */
+    public <T> T decode(Type type, String... path) {
+        try {
+            JsonObject parsed = result;
+            if (parsed != null || rawMessage == null) {
+                JsonElement element = descend(parsed, path);
+                return element == null ? null : GSON.fromJson(element, type);
+            }
+
+            try (JsonReader reader = seek(path)) {
+                return reader == null ? null : GSON.fromJson(reader, type);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new CDPException("Failed to decode result of CDP command " + id, e);
+        }
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    private static JsonElement descend(JsonObject root, String... path) {
+        JsonElement current = root;
+        for (String field : path) {
+            if (current == null || !current.isJsonObject()) {
+                return null;
+            }
+            current = current.getAsJsonObject().get(field);
+        }
+        return current;
+    }
+
+    /**
+     * Opens a reader on {@link #rawMessage} positioned at the value of
+     * {@code result.path[0].path[1]…}.
+     *
+     * @return positioned reader, or {@code null} (already closed) if the path is absent
+     */
+    private JsonReader seek(String... path) throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(rawMessage));
+        if (!seekField(reader, CDP_KEY_RESULT)) {
+            reader.close();
+            return null;
+        }
+        for (String field : path) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT || !seekField(reader, field)) {
+                reader.close();
+                return null;
+            }
+        }
+        return reader;
+    }
+
+    private static boolean seekField(JsonReader reader, String field) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (field.equals(reader.nextName())) {
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "CDPResponse[id=" + id + (rawMessage != null ? ", lazy" : "") + "]";
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.ashwithpoojary98.cdp;
+
+import com.google.gson.JsonObject;
+
+import java.util.List;
+
+/**
+ * A flattened CDP target session multiplexed over another {@link CDPTransport}.
+ *
+ * <p>After {@code Target.attachToTarget} with {@code flatten=true}, commands for the
+ * attached target are sent on the parent connection with a top-level {@code sessionId}
+ * and responses come back on the same connection. This class adds that
+ * {@code sessionId} to every command it sends and otherwise delegates to the parent,
+ * including the shared {@link CDPCommandManager} — command IDs are unique per
+ * connection, so responses need no extra routing. Events carry the same
+ * {@code sessionId} and are only delivered to handlers subscribed through this session.
+ *
+ * <p>Closing a session detaches it; the parent transport stays open.
+ */
+public class CDPSession implements CDPTransport {
+
+    private static final String CMD_DETACH_FROM_TARGET = "Target.detachFromTarget";
+    private static final String PARAM_SESSION_ID       = "sessionId";
+
+    private final CDPTransport parent;
+    private final String       sessionId;
+
+    /**
+     * Creates a session view over {@code parent}.
+     *
+     * @param parent    connection the session is multiplexed over
+     * @param sessionId session ID returned by {@code Target.attachToTarget}
+     */
+    public CDPSession(CDPTransport parent, String sessionId) {
+        this.parent    = parent;
+        this.sessionId = sessionId;
+    }
+
+    @Override
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /** Returns the connection this session is multiplexed over. */
+    public CDPTransport getParent() {
+        return parent;
+    }
+
+    @Override
+    public CDPCommandManager getCommandManager() {
+        return parent.getCommandManager();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return parent.isConnected();
+    }
+
+    @Override
+    public void sendMessages(List<String> messages) {
+        parent.sendMessages(messages);
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        parent.sendMessage(message);
+    }
+
+    /**
+     * Detaches the session and drops its subscriptions. The parent connection and the
+     * target itself stay open.
+     */
+    @Override
+    public void close() {
+        getCommandManager().removeSession(sessionId);
+        if (parent.isConnected()) {
+            JsonObject params = new JsonObject();
+            params.addProperty(PARAM_SESSION_ID, sessionId);
+            parent.sendCommand(CMD_DETACH_FROM_TARGET, params);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CDPSession[" + sessionId + "]";
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.ashwithpoojary98.cdp;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.exception.CDPException;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A connection that carries CDP messages to and from a browser.
+ *
+ * <p>Implementations only move serialised messages — {@link #sendMessages(List)} out,
+ * and every inbound message into {@link #getCommandManager()}. Command building,
+ * correlation and event subscription are provided here as default methods, so the
+ * domain wrappers work unchanged over any transport:
+ * <ul>
+ *   <li>{@link io.github.ashwithpoojary98.websocket.NihoniumWebSocketClient} —
+ *       WebSocket to {@code --remote-debugging-port}</li>
+ *   <li>{@link io.github.ashwithpoojary98.pipe.PipeTransport} — file descriptors 3/4
+ *       of a browser started with {@code --remote-debugging-pipe}</li>
+ *   <li>{@link CDPSession} — a flattened target session multiplexed over another
+ *       transport</li>
+ * </ul>
+ */
+public interface CDPTransport extends AutoCloseable {
+
+    // ── Implemented by each transport ─────────────────────────────────────────
+
+    /**
+     * Returns the manager that correlates this transport's responses and routes its events.
+     *
+     * @return command manager
+     */
+    CDPCommandManager getCommandManager();
+
+    /**
+     * Returns {@code true} while messages can be sent.
+     *
+     * @return connection state
+     */
+    boolean isConnected();
+
+    /**
+     * Writes pre-serialised CDP messages, in order, with as few writes as the transport
+     * allows. Callers are responsible for registering their command IDs first.
+     *
+     * @param messages JSON text of each message
+     */
+    void sendMessages(List<String> messages);
+
+    /**
+     * Closes the transport and fails all pending command futures.
+     */
+    @Override
+    void close();
+
+    // ── Defaults ──────────────────────────────────────────────────────────────
+
+    /**
+     * Returns the flattened session ID added to every command sent through this
+     * transport, or {@code null} for the connection's own target.
+     *
+     * @return session ID, or {@code null}
+     */
+    default String getSessionId() {
+        return null;
+    }
+
+    /**
+     * Writes one pre-serialised CDP message.
+     *
+     * @param message JSON text of the message
+     */
+    default void sendMessage(String message) {
+        sendMessages(List.of(message));
+    }
+
+    /**
+     * Sends a CDP command and returns a {@link CompletableFuture} that completes
+     * with the {@code result} object from the response.
+     *
+     * @param method CDP method name (e.g. {@code "Page.navigate"})
+     * @param params command parameters, or {@code null} if none
+     * @return future completing with the CDP response result
+     */
+    default CompletableFuture<JsonObject> sendCommand(String method, JsonObject params) {
+        return sendCommandRaw(method, params).thenApply(CDPResponse::asJsonObject);
+    }
+
+    /**
+     * Sends a CDP command with no parameters.
+     *
+     * @param method CDP method name
+     * @return future completing with the CDP response result
+     */
+    default CompletableFuture<JsonObject> sendCommand(String method) {
+        return sendCommand(method, null);
+    }
+
+    /**
+     * Sends a CDP command with its own timeout instead of the manager's default.
+     * Useful for commands that are expected to be slow (navigation, large screenshots)
+     * or that should fail fast.
+     *
+     * @param method        CDP method name
+     * @param params        command parameters, or {@code null} if none
+     * @param timeoutMillis milliseconds before the future fails with a
+     *                      {@link io.github.ashwithpoojary98.exception.TimeoutException}
+     * @return future completing with the CDP response result
+     */
+    default CompletableFuture<JsonObject> sendCommand(
+            String method, JsonObject params, long timeoutMillis) {
+        return sendCommandRaw(method, params, timeoutMillis).thenApply(CDPResponse::asJsonObject);
+    }
+
+    /**
+     * Sends a CDP command and decodes a value inside its {@code result} straight into
+     * {@code type}, without building an intermediate JSON tree.
+     *
+     * <pre>{@code
+     * String data = transport.sendCommand("Page.captureScreenshot", params, String.class, "data").join();
+     * }</pre>
+     *
+     * @param method CDP method name
+     * @param params command parameters, or {@code null} if none
+     * @param type   target type of the decoded value
+     * @param path   field names to descend through inside {@code result}; empty for
+     *               the whole {@code result} object
+     * @param <T>    target type
+     * @return future completing with the decoded value ({@code null} if the path is absent)
+     */
+    default <T> CompletableFuture<T> sendCommand(
+            String method, JsonObject params, Type type, String... path) {
+        return sendCommandRaw(method, params).thenApply(response -> response.decode(type, path));
+    }
+
+    /**
+     * Sends a CDP command and returns a future completing with the undecoded
+     * {@link CDPResponse}. Use this for large responses that should be streamed into a
+     * target type, or inspected as raw text, rather than parsed into a {@link JsonObject}.
+     *
+     * @param method CDP method name
+     * @param params command parameters, or {@code null} if none
+     * @return future completing with the lazily-decoded response
+     */
+    default CompletableFuture<CDPResponse> sendCommandRaw(String method, JsonObject params) {
+        return sendCommandRaw(method, params,
+                TimeUnit.SECONDS.toMillis(getCommandManager().getDefaultTimeoutSeconds()));
+    }
+
+    /**
+     * Sends a CDP command with its own timeout and returns a future completing with the
+     * undecoded {@link CDPResponse}.
+     *
+     * @param method        CDP method name
+     * @param params        command parameters, or {@code null} if none
+     * @param timeoutMillis milliseconds before the future fails with a
+     *                      {@link io.github.ashwithpoojary98.exception.TimeoutException}
+     * @return future completing with the lazily-decoded response
+     */
+    default CompletableFuture<CDPResponse> sendCommandRaw(
+            String method, JsonObject params, long timeoutMillis) {
+        if (!isConnected()) {
+            return CompletableFuture.failedFuture(
+                    new CDPException("Cannot send command — CDP transport is not connected"));
+        }
+
+        CDPCommandManager manager = getCommandManager();
+        long commandId = manager.nextCommandId();
+        CompletableFuture<CDPResponse> future = manager.registerRawCommand(commandId, timeoutMillis);
+
+        try {
+            sendMessage(CDPMessages.command(commandId, method, params, getSessionId()));
+        } catch (RuntimeException e) {
+            manager.failCommand(commandId, new CDPException("Failed to send CDP command " + method, e));
+        }
+        return future;
+    }
+
+    /**
+     * Creates an empty {@link CommandBatch} that writes its commands to this transport
+     * in one burst.
+     *
+     * @return new batch
+     */
+    default CommandBatch batch() {
+        return new CommandBatch(this);
+    }
+
+    /**
+     * Subscribes to a CDP event by method name. Only events of this transport's session
+     * are delivered.
+     *
+     * @param eventName fully-qualified event name (e.g. {@code "Page.frameNavigated"})
+     * @param handler   consumer invoked with the event {@code params} object
+     */
+    default void subscribeToEvent(String eventName, Consumer<JsonObject> handler) {
+        getCommandManager().subscribe(getSessionId(), eventName, handler);
+    }
+
+    /**
+     * Removes a specific event handler.
+     *
+     * @param eventName CDP event name
+     * @param handler   the exact handler instance to remove
+     */
+    default void unsubscribeFromEvent(String eventName, Consumer<JsonObject> handler) {
+        getCommandManager().unsubscribe(getSessionId(), eventName, handler);
+    }
+
+    /**
+     * Removes all handlers for an event.
+     *
+     * @param eventName CDP event name
+     */
+    default void unsubscribeAllFromEvent(String eventName) {
+        getCommandManager().unsubscribeAll(getSessionId(), eventName);
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.ashwithpoojary98.cdp;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.exception.CDPException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Queues several CDP commands and writes them to a {@link CDPTransport} in one burst.
+ *
+ * <p>Independent commands added with {@link #add} are serialised up front and handed to
+ * the transport as a single write by {@link #sendAll()}, so Chrome receives them
+ * back-to-back and the caller waits for one round trip instead of one per command.
+ *
+ * <p>CDP has no server-side pipelining — a command cannot reference the result of
+ * another. Commands added with {@link #addAfter} are therefore sent by the client the
+ * moment their dependency's response arrives, on the receiving thread, without waking
+ * the caller in between. A chain such as {@code resolveNode → callFunctionOn →
+ * releaseObject} then costs the caller a single {@code join()}.
+ *
+ * <pre>{@code
+ * CommandBatch batch = transport.batch();
+ * CompletableFuture<JsonObject> node = batch.add("DOM.resolveNode", params);
+ * CompletableFuture<JsonObject> call = batch.addAfter(node, "Runtime.callFunctionOn",
+ *         resolved -> callParams(resolved));
+ * batch.sendAll();
+ * call.join();
+ * }</pre>
+ *
+ * <p>A batch is single-use and not thread-safe; build and send it from one thread.
+ */
+public class CommandBatch {
+
+    private static final Logger log = LoggerFactory.getLogger(CommandBatch.class);
+
+    private final CDPTransport              transport;
+    private final List<QueuedCommand>       queued  = new ArrayList<>();
+    private final CompletableFuture<Void>   flushed = new CompletableFuture<>();
+
+    private boolean sent;
+
+    /**
+     * Creates an empty batch for the given transport. Prefer {@link CDPTransport#batch()}.
+     *
+     * @param transport connection the batch is written to
+     */
+    public CommandBatch(CDPTransport transport) {
+        this.transport = transport;
+    }
+
+    // ── Building ──────────────────────────────────────────────────────────────
+
+    /**
+     * Queues a command for the next {@link #sendAll()}.
+     *
+     * @param method CDP method name
+     * @param params command parameters, or {@code null} if none
+     * @return future completing with the {@code result} object once {@link #sendAll()}
+     *         has been called and the response arrives
+     */
+    public CompletableFuture<JsonObject> add(String method, JsonObject params) {
+        return addRaw(method, params).thenApply(CDPResponse::asJsonObject);
+    }
+
+    /**
+     * Queues a command whose future completes with the undecoded {@link CDPResponse}.
+     *
+     * @param method CDP method name
+     * @param params command parameters, or {@code null} if none
+     * @return future completing with the lazily-decoded response
+     */
+    public CompletableFuture<CDPResponse> addRaw(String method, JsonObject params) {
+        ensureNotSent();
+        QueuedCommand command = new QueuedCommand(method, params);
+        queued.add(command);
+        return command.future;
+    }
+
+    /**
+     * Queues a command built from the result of another.
+     *
+     * <p>The command is sent as soon as {@code dependency} completes, with parameters
+     * produced by {@code paramsFromResult}; it is never sent before {@link #sendAll()}.
+     * If {@code dependency} fails, the returned future fails with the same cause and the
+     * command is not sent.
+     *
+     * @param dependency       future of an earlier command (from this or any batch)
+     * @param method           CDP method name
+     * @param paramsFromResult builds the parameters from the dependency's result
+     * @return future completing with the dependent command's {@code result} object
+     */
+    public CompletableFuture<JsonObject> addAfter(
+            CompletableFuture<JsonObject> dependency,
+            String method,
+            Function<JsonObject, JsonObject> paramsFromResult) {
+        ensureNotSent();
+        return flushed
+                .thenCompose(ignored -> dependency)
+                .thenCompose(result -> transport.sendCommand(method, paramsFromResult.apply(result)));
+    }
+
+    /** Returns the number of independent commands queued for {@link #sendAll()}. */
+    public int size() {
+        return queued.size();
+    }
+
+    // ── Sending ───────────────────────────────────────────────────────────────
+
+    /**
+     * Registers every queued command and writes them to the transport in one call, then
+     * releases any commands added with {@link #addAfter}.
+     *
+     * <p>If the connection is closed, every queued future fails with a {@link CDPException}.
+     *
+     * @throws IllegalStateException if the batch has already been sent
+     */
+    public void sendAll() {
+        ensureNotSent();
+        sent = true;
+
+        if (!transport.isConnected()) {
+            failAll(new CDPException("Cannot send batch — CDP transport is not connected"));
+            return;
+        }
+
+        CDPCommandManager manager = transport.getCommandManager();
+        String sessionId = transport.getSessionId();
+        List<String> messages = new ArrayList<>(queued.size());
+        long[] ids = new long[queued.size()];
+        for (int i = 0; i < ids.length; i++) {
+            QueuedCommand command = queued.get(i);
+            long id = manager.nextCommandId();
+            ids[i] = id;
+            manager.registerRawCommand(id).whenComplete((response, error) -> {
+                if (error != null) {
+                    command.future.completeExceptionally(error);
+                } else {
+                    command.future.complete(response);
+                }
+            });
+            messages.add(CDPMessages.command(id, command.method, command.params, sessionId));
+        }
+
+        try {
+            if (!messages.isEmpty()) {
+                log.trace("→ CDP batch of {} commands", messages.size());
+                transport.sendMessages(messages);
+            }
+            flushed.complete(null);
+        } catch (RuntimeException e) {
+            CDPException error = new CDPException("Failed to send CDP command batch", e);
+            for (long id : ids) {
+                manager.failCommand(id, error);
+            }
+            failAll(error);
+        }
+    }
+
+    private void failAll(CDPException error) {
+        queued.forEach(command -> command.future.completeExceptionally(error));
+        flushed.completeExceptionally(error);
+    }
+
+    private void ensureNotSent() {
+        if (sent) {
+            throw new IllegalStateException("CommandBatch has already been sent");
+        }
+    }
+
+    // ── QueuedCommand ─────────────────────────────────────────────────────────
+
+    private static final class QueuedCommand {
+
+        final String     method;
+        final JsonObject params;
+        final CompletableFuture<CDPResponse> future = new CompletableFuture<>();
+
+        QueuedCommand(String method, JsonObject params) {
+            this.method = method;
+            this.params = params;
+        }
+    }
+}
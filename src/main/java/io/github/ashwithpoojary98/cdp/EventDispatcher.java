@@ -0,0 +1,337 @@
+package io.github.ashwithpoojary98.cdp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ordered, isolated dispatcher for CDP event handlers.
+ *
+ * <p>Events are partitioned into <em>lanes</em> keyed by session and CDP domain
+ * (e.g. {@code "Network"} or {@code "<sessionId>/Page"}). Each lane is a FIFO queue
+ * drained by at most one task at a time, so:
+ * <ul>
+ *   <li>events of the same domain and session are handled strictly in arrival order
+ *       ({@code Network.requestWillBeSent} always before its {@code loadingFinished})</li>
+ *   <li>different lanes are drained concurrently and never block each other</li>
+ *   <li>handlers never run on the WebSocket receive thread or the common ForkJoin pool</li>
+ * </ul>
+ *
+ * <p>By default lanes are drained on virtual threads owned by this dispatcher. A custom
+ * {@link Executor} can be supplied instead; it is never shut down by the dispatcher.
+ *
+ * <p>By default lanes are unbounded and no event is ever lost. With a bounded
+ * {@link OverflowPolicy} the policy decides what happens to an event arriving at a full
+ * lane — except on the {@linkplain #LOSSLESS_DOMAINS lossless domains}, whose lanes grow
+ * instead, since losing one of their events leaves client state wrong for good. Queue
+ * depths and counters are exposed for diagnostics.
+ *
+ * <p>All public methods are thread-safe.
+ */
+public class EventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EventDispatcher.class);
+
+    /**
+     * Default maximum number of queued events per bounded lane; unbounded lanes log a
+     * warning once they grow past it.
+     */
+    public static final int DEFAULT_LANE_CAPACITY = 4_096;
+
+    /** Default behaviour when a lane is full: never drop. */
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.UNBOUNDED;
+
+    /**
+     * CDP domains whose lanes never drop events whatever the policy. A lost
+     * {@code Network.loadingFinished} keeps a request in flight forever, a lost
+     * {@code Fetch.requestPaused} leaves the request paused, a lost
+     * {@code Runtime.bindingCalled} hides a DOM mutation and a lost
+     * {@code Page.lifecycleEvent} stalls a navigation wait.
+     */
+    public static final Set<String> LOSSLESS_DOMAINS = Set.of("Fetch", "Network", "Page", "Runtime");
+
+    /** Events drained per scheduling turn before a lane yields its thread. */
+    private static final int MAX_EVENTS_PER_TURN = 256;
+
+    private static final String THREAD_NAME_PREFIX = "nihonium-cdp-event-";
+    private static final char   LANE_SEPARATOR     = '/';
+    private static final char   DOMAIN_SEPARATOR   = '.';
+
+    /**
+     * What to do with an event that arrives while its lane is full.
+     */
+    public enum OverflowPolicy {
+        /** Never full: the lane grows as needed and no event is dropped. */
+        UNBOUNDED,
+        /**
+         * Block the receiving thread until the lane has room. Preserves every event but
+         * applies back-pressure to the connection — handlers must not block on CDP
+         * responses when this policy is used, or the connection can deadlock.
+         */
+        BLOCK,
+        /** Discard the incoming event. */
+        DROP_NEWEST,
+        /** Discard the oldest queued event to make room for the incoming one. */
+        DROP_OLDEST
+    }
+
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final int            laneCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor       executor;
+
+    private final LongAdder     dispatchedEvents = new LongAdder();
+    private final LongAdder     droppedEvents    = new LongAdder();
+    private final AtomicInteger peakQueueDepth   = new AtomicInteger();
+
+    // ── Construction ──────────────────────────────────────────────────────────
+
+    /**
+     * Creates a dispatcher with {@link #DEFAULT_LANE_CAPACITY}, {@link #DEFAULT_OVERFLOW_POLICY}
+     * and lanes drained on virtual threads.
+     */
+    public EventDispatcher() {
+        this(DEFAULT_LANE_CAPACITY, DEFAULT_OVERFLOW_POLICY);
+    }
+
+    /**
+     * Creates a dispatcher whose lanes are drained on virtual threads.
+     *
+     * @param laneCapacity   maximum queued events per bounded lane (must be positive)
+     * @param overflowPolicy behaviour when a lane is full
+     */
+    public EventDispatcher(int laneCapacity, OverflowPolicy overflowPolicy) {
+        this(laneCapacity, overflowPolicy, Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory()));
+    }
+
+    /**
+     * Creates a dispatcher that drains lanes on the given executor.
+     *
+     * @param laneCapacity   maximum queued events per bounded lane (must be positive)
+     * @param overflowPolicy behaviour when a lane is full
+     * @param executor       executor used to drain lanes; not shut down by this class
+     */
+    public EventDispatcher(int laneCapacity, OverflowPolicy overflowPolicy, Executor executor) {
+        if (laneCapacity <= 0) {
+            throw new IllegalArgumentException("laneCapacity must be positive: " + laneCapacity);
+        }
+        this.laneCapacity   = laneCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.executor       = executor;
+    }
+
+    // ── Dispatch ──────────────────────────────────────────────────────────────
+
+    /**
+     * Queues {@code task} on the lane for the given session and event method.
+     *
+     * @param sessionId CDP session ID, or {@code null} for the connection's own target
+     * @param method    fully-qualified event name (e.g. {@code "Network.loadingFinished"})
+     * @param task      handler invocation to run in lane order
+     * @return {@code true} if the event was queued, {@code false} if it was dropped
+     */
+    public boolean dispatch(String sessionId, String method, Runnable task) {
+        Lane lane = lanes.computeIfAbsent(laneKey(sessionId, method), Lane::new);
+        return lane.enqueue(task);
+    }
+
+    /**
+     * Returns the lane key for an event: the CDP domain of {@code method}, prefixed by
+     * {@code sessionId} when present.
+     *
+     * @param sessionId CDP session ID, or {@code null}
+     * @param method    fully-qualified event name
+     * @return lane key
+     */
+    public static String laneKey(String sessionId, String method) {
+        int dot = method.indexOf(DOMAIN_SEPARATOR);
+        String domain = dot < 0 ? method : method.substring(0, dot);
+        return sessionId == null ? domain : sessionId + LANE_SEPARATOR + domain;
+    }
+
+    /**
+     * Drops the lanes of a detached session. Events already queued on them still run.
+     *
+     * @param sessionId CDP session ID
+     */
+    public void removeSession(String sessionId) {
+        String prefix = sessionId + LANE_SEPARATOR;
+        lanes.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    // ── Diagnostics ───────────────────────────────────────────────────────────
+
+    /** Returns the total number of events currently queued across all lanes. */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes.values()) {
+            depth += lane.queue.size();
+        }
+        return depth;
+    }
+
+    /**
+     * Returns the number of events queued on a single lane.
+     *
+     * @param laneKey lane key as produced by {@link #laneKey(String, String)}
+     * @return queued event count, or {@code 0} if the lane does not exist
+     */
+    public int getQueueDepth(String laneKey) {
+        Lane lane = lanes.get(laneKey);
+        return lane == null ? 0 : lane.queue.size();
+    }
+
+    /** Returns a sorted snapshot of the queue depth of every lane. */
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new TreeMap<>();
+        lanes.forEach((key, lane) -> depths.put(key, lane.queue.size()));
+        return depths;
+    }
+
+    /** Returns the highest single-lane queue depth observed since creation. */
+    public int getPeakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    /** Returns the number of events whose handlers have been run. */
+    public long getDispatchedEventCount() {
+        return dispatchedEvents.sum();
+    }
+
+    /** Returns the number of events discarded because their lane was full. */
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    /** Returns the number of lanes created so far. */
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    public int getLaneCapacity() {
+        return laneCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    // ── Lane ──────────────────────────────────────────────────────────────────
+
+    /**
+     * A FIFO drained by at most one executor task at a time; bounded unless the policy is
+     * {@link OverflowPolicy#UNBOUNDED} or the lane carries a {@linkplain #LOSSLESS_DOMAINS
+     * lossless domain}.
+     */
+    private final class Lane implements Runnable {
+
+        private final String                   key;
+        private final OverflowPolicy           policy;
+        private final BlockingQueue<Runnable>  queue;
+        private final AtomicBoolean            scheduled = new AtomicBoolean();
+        private volatile boolean               overflowLogged;
+
+        Lane(String key) {
+            this.key    = key;
+            this.policy = LOSSLESS_DOMAINS.contains(key.substring(key.lastIndexOf(LANE_SEPARATOR) + 1))
+                    ? OverflowPolicy.UNBOUNDED : overflowPolicy;
+            this.queue  = policy == OverflowPolicy.UNBOUNDED
+                    ? new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(laneCapacity);
+        }
+
+        boolean enqueue(Runnable task) {
+            boolean queued = switch (policy) {
+                case UNBOUNDED   -> offerGrowing(task);
+                case BLOCK       -> putBlocking(task);
+                case DROP_NEWEST -> queue.offer(task);
+                case DROP_OLDEST -> offerEvictingOldest(task);
+            };
+            if (!queued) {
+                onDropped();
+            }
+            peakQueueDepth.accumulateAndGet(queue.size(), Math::max);
+            schedule();
+            return queued;
+        }
+
+        private boolean offerGrowing(Runnable task) {
+            queue.add(task);
+            if (!overflowLogged && queue.size() > laneCapacity) {
+                overflowLogged = true;
+                log.warn("CDP event lane '{}' holds more than {} events — handlers are falling behind",
+                        key, laneCapacity);
+            }
+            return true;
+        }
+
+        private boolean putBlocking(Runnable task) {
+            try {
+                queue.put(task);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private boolean offerEvictingOldest(Runnable task) {
+            while (!queue.offer(task)) {
+                if (queue.poll() != null) {
+                    onDropped();
+                }
+            }
+            return true;
+        }
+
+        private void onDropped() {
+            droppedEvents.increment();
+            if (!overflowLogged) {
+                overflowLogged = true;
+                log.warn("CDP event lane '{}' is full ({} events) — applying {}",
+                        key, laneCapacity, policy);
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Runnable task;
+                int drained = 0;
+                while (drained < MAX_EVENTS_PER_TURN && (task = queue.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        log.error("Unhandled exception on CDP event lane '{}': {}",
+                                key, e.getMessage(), e);
+                    }
+                    dispatchedEvents.increment();
+                    drained++;
+                }
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.ashwithpoojary98.cdp;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free table of in-flight commands keyed by primitive {@code long} command ID.
+ *
+ * <p>CDP command IDs come from a monotonically increasing counter, so consecutive IDs map
+ * to consecutive slots of a power-of-two ring ({@code id & mask}) and never collide
+ * unless more than {@code capacity} commands are outstanding at once. In that rare case
+ * the entry spills into a {@link ConcurrentHashMap}. The common path — put on send,
+ * remove on response — is two CAS operations and allocates nothing (no boxed
+ * {@code Long}, no map node).
+ *
+ * <p>Each slot holds an ID and a value. A slot is claimed by CAS-ing its value from
+ * {@code null}, then publishing the ID; it is released by CAS-ing the ID back to
+ * {@link #EMPTY_ID} and then clearing the value. ID {@code 0} is reserved as the empty
+ * marker and cannot be stored.
+ *
+ * <p>All public methods are thread-safe.
+ *
+ * @param <V> value type
+ */
+public class PendingCommandTable<V> {
+
+    /** Default number of ring slots. */
+    public static final int DEFAULT_CAPACITY = 1_024;
+
+    /** Slot ID meaning "no entry". */
+    private static final long EMPTY_ID = 0L;
+
+    private final AtomicLongArray         ids;
+    private final AtomicReferenceArray<V> values;
+    private final int                     mask;
+
+    private final ConcurrentHashMap<Long, V> overflow = new ConcurrentHashMap<>();
+    private final LongAdder size          = new LongAdder();
+    private final LongAdder overflowPuts  = new LongAdder();
+
+    // ── Construction ──────────────────────────────────────────────────────────
+
+    /** Creates a table with {@link #DEFAULT_CAPACITY} ring slots. */
+    public PendingCommandTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a table with the given number of ring slots.
+     *
+     * @param capacity ring size; rounded up to a power of two
+     */
+    public PendingCommandTable(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int slots = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ids    = new AtomicLongArray(slots);
+        this.values = new AtomicReferenceArray<>(slots);
+        this.mask   = slots - 1;
+    }
+
+    // ── Operations ────────────────────────────────────────────────────────────
+
+    /**
+     * Stores {@code value} under {@code id}. IDs are expected to be unique; storing an ID
+     * that is already present leaves two entries, only one of which is reachable.
+     *
+     * @param id    command ID (must not be {@code 0})
+     * @param value value to store (must not be {@code null})
+     */
+    public void put(long id, V value) {
+        if (id == EMPTY_ID) {
+            throw new IllegalArgumentException("id 0 is reserved");
+        }
+        int slot = slot(id);
+        if (values.compareAndSet(slot, null, value)) {
+            ids.set(slot, id);
+        } else {
+            overflow.put(id, value);
+            overflowPuts.increment();
+        }
+        size.increment();
+    }
+
+    /**
+     * Removes and returns the value stored under {@code id}.
+     *
+     * @param id command ID
+     * @return the removed value, or {@code null} if none was stored
+     */
+    public V remove(long id) {
+        int slot = slot(id);
+        if (id != EMPTY_ID && ids.compareAndSet(slot, id, EMPTY_ID)) {
+            size.decrement();
+            return values.getAndSet(slot, null);
+        }
+        if (overflow.isEmpty()) {
+            return null;
+        }
+        V value = overflow.remove(id);
+        if (value != null) {
+            size.decrement();
+        }
+        return value;
+    }
+
+    /**
+     * Removes the entry for {@code id} only if it is currently mapped to {@code value}.
+     *
+     * @param id    command ID
+     * @param value expected value (compared by identity)
+     * @return {@code true} if the entry was removed
+     */
+    public boolean remove(long id, V value) {
+        int slot = slot(id);
+        if (id != EMPTY_ID && ids.get(slot) == id && values.get(slot) == value
+                && ids.compareAndSet(slot, id, EMPTY_ID)) {
+            values.set(slot, null);
+            size.decrement();
+            return true;
+        }
+        if (!overflow.isEmpty() && overflow.remove(id, value)) {
+            size.decrement();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes every entry, passing each removed value to {@code action}. Entries added
+     * concurrently may or may not be visited.
+     *
+     * @param action consumer of removed values
+     */
+    public void drain(Consumer<? super V> action) {
+        for (int slot = 0; slot <= mask; slot++) {
+            long id = ids.get(slot);
+            if (id != EMPTY_ID && ids.compareAndSet(slot, id, EMPTY_ID)) {
+                V value = values.getAndSet(slot, null);
+                size.decrement();
+                if (value != null) {
+                    action.accept(value);
+                }
+            }
+        }
+        overflow.keySet().forEach(id -> {
+            V value = overflow.remove(id);
+            if (value != null) {
+                size.decrement();
+                action.accept(value);
+            }
+        });
+    }
+
+    // ── Diagnostics ───────────────────────────────────────────────────────────
+
+    /** Returns the number of stored entries. */
+    public int size() {
+        return size.intValue();
+    }
+
+    /** Returns the number of ring slots. */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /** Returns how many puts found their slot busy and fell back to the overflow map. */
+    public long getOverflowCount() {
+        return overflowPuts.sum();
+    }
+
+    private int slot(long id) {
+        return (int) (id & mask);
+    }
+}
@@ -0,0 +1,309 @@
+package io.github.ashwithpoojary98.cdp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel for command timeouts.
+ *
+ * <p>Time is divided into fixed ticks and timeouts are hashed into a ring of buckets by
+ * their deadline tick; a single daemon thread advances one bucket per tick and expires
+ * whatever is due. Compared with a per-future {@code orTimeout} (one delayed task on the
+ * JDK's shared delayer, plus a completion stage that also runs on success) this gives:
+ * <ul>
+ *   <li>O(1) {@link #schedule} — a lock-free enqueue, picked up on the next tick</li>
+ *   <li>O(1) {@link Timeout#cancel()} — a CAS and a lock-free enqueue; the entry is
+ *       unlinked by the worker</li>
+ *   <li>one thread, and a small fixed allocation per command: the {@link Timeout} with
+ *       its state cell, plus one queue node when scheduled and another when cancelled</li>
+ * </ul>
+ *
+ * <p>Deadlines are accurate to one tick ({@link #DEFAULT_TICK_MILLIS} by default), which
+ * is ample for CDP command timeouts measured in seconds.
+ *
+ * <p>Expiry tasks run on the wheel thread and must be short and non-blocking — typically
+ * completing a future exceptionally.
+ *
+ * <p>The worker thread starts on the first {@link #schedule} call. All public methods are
+ * thread-safe.
+ */
+public class TimeoutWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeoutWheel.class);
+
+    /** Default duration of one wheel tick. */
+    public static final long DEFAULT_TICK_MILLIS = 100L;
+
+    /** Default number of buckets; one full turn of the wheel covers about 51 seconds. */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final String THREAD_NAME = "nihonium-cdp-timeout";
+
+    /** Upper bound on newly scheduled timeouts moved into buckets per tick. */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final TimeoutWheel SHARED = new TimeoutWheel();
+
+    private static final int STATE_PENDING   = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED   = 2;
+
+    private final long     tickNanos;
+    private final Bucket[] wheel;
+    private final int      mask;
+
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean started      = new AtomicBoolean();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final LongAdder     expiredCount = new LongAdder();
+
+    private final long startNanos = System.nanoTime();
+    private long       tick;
+
+    // ── Construction ──────────────────────────────────────────────────────────
+
+    /**
+     * Creates a wheel with {@link #DEFAULT_TICK_MILLIS} ticks and {@link #DEFAULT_WHEEL_SIZE}
+     * buckets. Most callers should use {@link #shared()} instead.
+     */
+    public TimeoutWheel() {
+        this(DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a wheel with a custom resolution.
+     *
+     * @param tickMillis duration of one tick (must be positive)
+     * @param wheelSize  number of buckets; rounded up to a power of two
+     */
+    public TimeoutWheel(long tickMillis, int wheelSize) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize out of range: " + wheelSize);
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        if (size == 0) {
+            size = 1;
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel     = new Bucket[size];
+        this.mask      = size - 1;
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+    }
+
+    /** Returns the process-wide wheel shared by all {@link CDPCommandManager}s. */
+    public static TimeoutWheel shared() {
+        return SHARED;
+    }
+
+    // ── Scheduling ────────────────────────────────────────────────────────────
+
+    /**
+     * Schedules {@code task} to run once after {@code delay}, unless cancelled first.
+     *
+     * @param task  expiry action; runs on the wheel thread
+     * @param delay delay before expiry
+     * @param unit  unit of {@code delay}
+     * @return handle that can cancel the timeout
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        start();
+        long deadline = System.nanoTime() - startNanos + unit.toNanos(Math.max(0, delay));
+        Timeout timeout = new Timeout(task, deadline);
+        pendingCount.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            Thread worker = new Thread(this::run, THREAD_NAME);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    // ── Diagnostics ───────────────────────────────────────────────────────────
+
+    /** Returns the number of timeouts scheduled and neither expired nor cancelled. */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /** Returns the number of timeouts that have fired since creation. */
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    // ── Worker ────────────────────────────────────────────────────────────────
+
+    private void run() {
+        tick = (System.nanoTime() - startNanos) / tickNanos;
+        while (true) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleep;
+            while ((sleep = deadline - (System.nanoTime() - startNanos)) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+
+            removeCancelled();
+            transferScheduled();
+            wheel[(int) (tick & mask)].expire(tick);
+            tick++;
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == STATE_CANCELLED) {
+                continue;
+            }
+            // Anything already due goes into the current bucket and fires this tick
+            long dueTick = Math.max(tick, timeout.deadlineNanos / tickNanos);
+            timeout.dueTick = dueTick;
+            wheel[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    // ── Timeout ───────────────────────────────────────────────────────────────
+
+    /**
+     * Handle to a scheduled timeout.
+     */
+    public final class Timeout {
+
+        private final Runnable      task;
+        private final long          deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        // Owned by the wheel thread
+        private long    dueTick;
+        private Bucket  bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task          = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels the timeout so its task never runs.
+         *
+         * @return {@code true} if this call cancelled it, {@code false} if it had
+         *         already expired or been cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrementAndGet();
+            cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                return;
+            }
+            pendingCount.decrementAndGet();
+            expiredCount.increment();
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Unhandled exception in CDP timeout task: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // ── Bucket ────────────────────────────────────────────────────────────────
+
+    /**
+     * Doubly-linked list of timeouts hashed to one slot. Only touched by the wheel thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next    = timeout;
+                timeout.prev = tail;
+                tail         = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev   = null;
+            timeout.next   = null;
+            timeout.bucket = null;
+        }
+
+        /** Fires every timeout due at or before {@code tick}; later rounds stay queued. */
+        void expire(long tick) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.dueTick <= tick) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                }
+                timeout = next;
+            }
+        }
+    }
+}
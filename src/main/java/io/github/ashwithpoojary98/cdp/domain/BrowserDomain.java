@@ -1,7 +1,7 @@
 package io.github.ashwithpoojary98.cdp.domain;
 
 import com.google.gson.JsonObject;
-import io.github.ashwithpoojary98.websocket.NihoniumWebSocketClient;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -12,6 +12,8 @@ import java.util.concurrent.CompletableFuture;
  * <ul>
  *   <li>Window bounds (size, position, state) via {@code Browser.*}</li>
  *   <li>Tab/window enumeration and activation via {@code Target.*}</li>
+ *   <li>Flattened session attach/detach for multiplexing targets over one connection</li>
+ *   <li>Incognito-like browser contexts for isolating sessions inside one browser</li>
  *   <li>Browser version metadata</li>
  * </ul>
  *
@@ -31,6 +33,11 @@ public class BrowserDomain {
     private static final String CMD_TARGET_ACTIVATE       = "Target.activateTarget";
     private static final String CMD_TARGET_CREATE         = "Target.createTarget";
     private static final String CMD_TARGET_GET_INFO       = "Target.getTargetInfo";
+    private static final String CMD_TARGET_ATTACH         = "Target.attachToTarget";
+    private static final String CMD_TARGET_DETACH         = "Target.detachFromTarget";
+    private static final String CMD_TARGET_CLOSE          = "Target.closeTarget";
+    private static final String CMD_CREATE_CONTEXT        = "Target.createBrowserContext";
+    private static final String CMD_DISPOSE_CONTEXT       = "Target.disposeBrowserContext";
 
     // ── CDP parameter / field names ───────────────────────────────────────────
 
@@ -38,9 +45,15 @@ public class BrowserDomain {
     private static final String PARAM_WINDOW_ID  = "windowId";
     private static final String PARAM_BOUNDS     = "bounds";
     private static final String PARAM_URL        = "url";
+    private static final String PARAM_FLATTEN    = "flatten";
+    private static final String PARAM_SESSION_ID = "sessionId";
+    private static final String PARAM_CONTEXT_ID = "browserContextId";
+    private static final String PARAM_DISPOSE_ON_DETACH = "disposeOnDetach";
 
     private static final String FIELD_WINDOW_ID  = "windowId";
     private static final String FIELD_BOUNDS     = "bounds";
+    private static final String FIELD_SESSION_ID = "sessionId";
+    private static final String FIELD_CONTEXT_ID = "browserContextId";
 
     // ── Window state values ───────────────────────────────────────────────────
 
@@ -60,10 +73,10 @@ public class BrowserDomain {
 
     // ─────────────────────────────────────────────────────────────────────────
 
-    private final NihoniumWebSocketClient wsClient;
+    private final CDPTransport transport;
 
-    public BrowserDomain(NihoniumWebSocketClient wsClient) {
-        this.wsClient = wsClient;
+    public BrowserDomain(CDPTransport transport) {
+        this.transport = transport;
     }
 
     // ── Window resolution helpers ─────────────────────────────────────────────
@@ -77,7 +90,7 @@ public class BrowserDomain {
     public CompletableFuture<Integer> getWindowId(String targetId) {
         JsonObject params = new JsonObject();
         params.addProperty(PARAM_TARGET_ID, targetId);
-        return wsClient.sendCommand(CMD_GET_WINDOW_FOR_TARGET, params)
+        return transport.sendCommand(CMD_GET_WINDOW_FOR_TARGET, params)
                 .thenApply(result -> result.get(FIELD_WINDOW_ID).getAsInt());
     }
 
@@ -94,7 +107,7 @@ public class BrowserDomain {
         return getWindowId(targetId).thenCompose(windowId -> {
             JsonObject params = new JsonObject();
             params.addProperty(PARAM_WINDOW_ID, windowId);
-            return wsClient.sendCommand(CMD_GET_WINDOW_BOUNDS, params)
+            return transport.sendCommand(CMD_GET_WINDOW_BOUNDS, params)
                     .thenApply(r -> r.getAsJsonObject(FIELD_BOUNDS));
         });
     }
@@ -112,7 +125,7 @@ public class BrowserDomain {
             JsonObject params = new JsonObject();
             params.addProperty(PARAM_WINDOW_ID, windowId);
             params.add(PARAM_BOUNDS, bounds);
-            return wsClient.sendCommand(CMD_SET_WINDOW_BOUNDS, params);
+            return transport.sendCommand(CMD_SET_WINDOW_BOUNDS, params);
         });
     }
 
@@ -198,7 +211,7 @@ public class BrowserDomain {
      * @return future completing with the CDP response
      */
     public CompletableFuture<JsonObject> getTargets() {
-        return wsClient.sendCommand(CMD_TARGET_GET_TARGETS);
+        return transport.sendCommand(CMD_TARGET_GET_TARGETS);
     }
 
     /**
@@ -210,7 +223,7 @@ public class BrowserDomain {
     public CompletableFuture<JsonObject> getTargetInfo(String targetId) {
         JsonObject params = new JsonObject();
         params.addProperty(PARAM_TARGET_ID, targetId);
-        return wsClient.sendCommand(CMD_TARGET_GET_INFO, params);
+        return transport.sendCommand(CMD_TARGET_GET_INFO, params);
     }
 
     /**
@@ -222,7 +235,7 @@ public class BrowserDomain {
     public CompletableFuture<JsonObject> activateTarget(String targetId) {
         JsonObject params = new JsonObject();
         params.addProperty(PARAM_TARGET_ID, targetId);
-        return wsClient.sendCommand(CMD_TARGET_ACTIVATE, params);
+        return transport.sendCommand(CMD_TARGET_ACTIVATE, params);
     }
 
     /**
@@ -231,9 +244,87 @@ public class BrowserDomain {
      * @return future completing with the CDP response (contains {@code targetId})
      */
     public CompletableFuture<JsonObject> createTarget() {
+        return createTarget(null);
+    }
+
+    /**
+     * Creates a new tab navigated to {@code about:blank} inside a browser context.
+     *
+     * @param browserContextId context from {@link #createBrowserContext()}, or {@code null}
+     *                         for the default context
+     * @return future completing with the CDP response (contains {@code targetId})
+     */
+    public CompletableFuture<JsonObject> createTarget(String browserContextId) {
         JsonObject params = new JsonObject();
         params.addProperty(PARAM_URL, INITIAL_PAGE_URL);
-        return wsClient.sendCommand(CMD_TARGET_CREATE, params);
+        if (browserContextId != null) {
+            params.addProperty(PARAM_CONTEXT_ID, browserContextId);
+        }
+        return transport.sendCommand(CMD_TARGET_CREATE, params);
+    }
+
+    // ── Browser contexts ──────────────────────────────────────────────────────
+
+    /**
+     * Creates an isolated, incognito-like browser context. Cookies, storage and cache of
+     * targets inside it are not shared with any other context.
+     *
+     * @return future completing with the {@code browserContextId}
+     */
+    public CompletableFuture<String> createBrowserContext() {
+        JsonObject params = new JsonObject();
+        params.addProperty(PARAM_DISPOSE_ON_DETACH, true);
+        return transport.sendCommand(CMD_CREATE_CONTEXT, params, String.class, FIELD_CONTEXT_ID);
+    }
+
+    /**
+     * Closes every target of a browser context and discards its data.
+     *
+     * @param browserContextId context to dispose
+     * @return future completing when the context is gone
+     */
+    public CompletableFuture<JsonObject> disposeBrowserContext(String browserContextId) {
+        JsonObject params = new JsonObject();
+        params.addProperty(PARAM_CONTEXT_ID, browserContextId);
+        return transport.sendCommand(CMD_DISPOSE_CONTEXT, params);
+    }
+
+    /**
+     * Attaches to a target in flattened mode, so its commands and events share this
+     * connection tagged with the returned {@code sessionId}.
+     *
+     * @param targetId the CDP target ID to attach to
+     * @return future completing with the session ID
+     */
+    public CompletableFuture<String> attachToTarget(String targetId) {
+        JsonObject params = new JsonObject();
+        params.addProperty(PARAM_TARGET_ID, targetId);
+        params.addProperty(PARAM_FLATTEN, true);
+        return transport.sendCommand(CMD_TARGET_ATTACH, params, String.class, FIELD_SESSION_ID);
+    }
+
+    /**
+     * Detaches a flattened session. The target keeps running.
+     *
+     * @param sessionId session ID returned by {@link #attachToTarget(String)}
+     * @return future completing when the session is detached
+     */
+    public CompletableFuture<JsonObject> detachFromTarget(String sessionId) {
+        JsonObject params = new JsonObject();
+        params.addProperty(PARAM_SESSION_ID, sessionId);
+        return transport.sendCommand(CMD_TARGET_DETACH, params);
+    }
+
+    /**
+     * Closes a target (tab/window).
+     *
+     * @param targetId the CDP target ID to close
+     * @return future completing when the close has been initiated
+     */
+    public CompletableFuture<JsonObject> closeTarget(String targetId) {
+        JsonObject params = new JsonObject();
+        params.addProperty(PARAM_TARGET_ID, targetId);
+        return transport.sendCommand(CMD_TARGET_CLOSE, params);
     }
 
     // ── Browser metadata ──────────────────────────────────────────────────────
@@ -244,7 +335,7 @@ public class BrowserDomain {
      * @return future completing with the CDP response
      */
     public CompletableFuture<JsonObject> getVersion() {
-        return wsClient.sendCommand(CMD_GET_VERSION);
+        return transport.sendCommand(CMD_GET_VERSION);
     }
 
     // ── Legacy compatibility (kept for any callers using the old API) ──────────
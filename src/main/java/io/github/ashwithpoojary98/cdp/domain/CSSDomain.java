@@ -1,7 +1,7 @@
 package io.github.ashwithpoojary98.cdp.domain;
 
 import com.google.gson.JsonObject;
-import io.github.ashwithpoojary98.websocket.NihoniumWebSocketClient;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -11,10 +11,10 @@ import java.util.concurrent.CompletableFuture;
  */
 public class CSSDomain {
 
-    private final NihoniumWebSocketClient wsClient;
+    private final CDPTransport transport;
 
-    public CSSDomain(NihoniumWebSocketClient wsClient) {
-        this.wsClient = wsClient;
+    public CSSDomain(CDPTransport transport) {
+        this.transport = transport;
     }
 
     /**
@@ -23,7 +23,7 @@ public class CSSDomain {
      * @return CompletableFuture that completes when the domain is enabled
      */
     public CompletableFuture<JsonObject> enable() {
-        return wsClient.sendCommand("CSS.enable");
+        return transport.sendCommand("CSS.enable");
     }
 
     /**
@@ -32,7 +32,7 @@ public class CSSDomain {
      * @return CompletableFuture that completes when the domain is disabled
      */
     public CompletableFuture<JsonObject> disable() {
-        return wsClient.sendCommand("CSS.disable");
+        return transport.sendCommand("CSS.disable");
     }
 
     /**
@@ -44,7 +44,7 @@ public class CSSDomain {
     public CompletableFuture<JsonObject> getComputedStyleForNode(int nodeId) {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
-        return wsClient.sendCommand("CSS.getComputedStyleForNode", params);
+        return transport.sendCommand("CSS.getComputedStyleForNode", params);
     }
 
     /**
@@ -56,7 +56,7 @@ public class CSSDomain {
     public CompletableFuture<JsonObject> getInlineStylesForNode(int nodeId) {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
-        return wsClient.sendCommand("CSS.getInlineStylesForNode", params);
+        return transport.sendCommand("CSS.getInlineStylesForNode", params);
     }
 
     /**
@@ -68,6 +68,6 @@ public class CSSDomain {
     public CompletableFuture<JsonObject> getMatchedStylesForNode(int nodeId) {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
-        return wsClient.sendCommand("CSS.getMatchedStylesForNode", params);
+        return transport.sendCommand("CSS.getMatchedStylesForNode", params);
     }
 }
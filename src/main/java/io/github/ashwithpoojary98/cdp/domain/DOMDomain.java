@@ -1,20 +1,53 @@
 package io.github.ashwithpoojary98.cdp.domain;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import io.github.ashwithpoojary98.websocket.NihoniumWebSocketClient;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Wrapper for the CDP DOM domain.
  * Provides methods for querying and manipulating the DOM.
+ *
+ * <p>The document root's node ID is cached by {@link #getDocumentNodeId()} and dropped on
+ * {@code DOM.documentUpdated} or a main-frame {@code Page.frameNavigated}, so locating an
+ * element costs one {@code querySelector} round trip instead of two. Re-issuing
+ * {@code DOM.getDocument} also resets the backend's node-ID mapping, which the cache
+ * avoids between navigations.
+ *
+ * <p>Two generation counters let callers that keep node IDs detect staleness without a
+ * CDP call: {@link #getDocumentGeneration()} moves whenever the cached root is dropped
+ * (every node ID is then invalid), {@link #getRemovalGeneration()} whenever a node is
+ * removed from the document.
  */
 public class DOMDomain {
 
-    private final NihoniumWebSocketClient wsClient;
+    private static final String EVENT_DOCUMENT_UPDATED = "DOM.documentUpdated";
+    private static final String EVENT_FRAME_NAVIGATED  = "Page.frameNavigated";
+    private static final String EVENT_CHILD_REMOVED    = "DOM.childNodeRemoved";
+    private static final String KEY_ROOT      = "root";
+    private static final String KEY_NODE_ID   = "nodeId";
+    private static final String KEY_FRAME     = "frame";
+    private static final String KEY_PARENT_ID = "parentId";
 
-    public DOMDomain(NihoniumWebSocketClient wsClient) {
-        this.wsClient = wsClient;
+    private final CDPTransport transport;
+
+    /** Pending or completed root node ID; {@code null} when it must be fetched again. */
+    private final AtomicReference<CompletableFuture<Integer>> documentNodeId = new AtomicReference<>();
+    private final AtomicBoolean invalidationSubscribed = new AtomicBoolean();
+    private final AtomicLong    documentGeneration     = new AtomicLong();
+    private final AtomicLong    removalGeneration      = new AtomicLong();
+    private final Consumer<JsonObject> documentUpdatedHandler = event -> invalidateDocument();
+    private final Consumer<JsonObject> frameNavigatedHandler  = this::onFrameNavigated;
+    private final Consumer<JsonObject> childRemovedHandler    = event -> removalGeneration.incrementAndGet();
+
+    public DOMDomain(CDPTransport transport) {
+        this.transport = transport;
     }
 
     /**
@@ -23,7 +56,7 @@ public class DOMDomain {
      * @return CompletableFuture that completes when the domain is enabled
      */
     public CompletableFuture<JsonObject> enable() {
-        return wsClient.sendCommand("DOM.enable");
+        return transport.sendCommand("DOM.enable");
     }
 
     /**
@@ -32,7 +65,7 @@ public class DOMDomain {
      * @return CompletableFuture that completes when the domain is disabled
      */
     public CompletableFuture<JsonObject> disable() {
-        return wsClient.sendCommand("DOM.disable");
+        return transport.sendCommand("DOM.disable");
     }
 
     /**
@@ -41,7 +74,79 @@ public class DOMDomain {
      * @return CompletableFuture with the document node (contains nodeId in "root")
      */
     public CompletableFuture<JsonObject> getDocument() {
-        return wsClient.sendCommand("DOM.getDocument");
+        return transport.sendCommand("DOM.getDocument");
+    }
+
+    // ── Document cache ────────────────────────────────────────────────────────
+
+    /**
+     * Returns the node ID of the document root, issuing {@code DOM.getDocument} only when
+     * no valid ID is cached. Concurrent callers share one in-flight request.
+     *
+     * @return CompletableFuture with the root node ID
+     */
+    public CompletableFuture<Integer> getDocumentNodeId() {
+        subscribeInvalidation();
+        while (true) {
+            CompletableFuture<Integer> cached = documentNodeId.get();
+            if (cached != null && !cached.isCompletedExceptionally()) {
+                return cached;
+            }
+            CompletableFuture<Integer> fresh = new CompletableFuture<>();
+            if (documentNodeId.compareAndSet(cached, fresh)) {
+                getDocument().whenComplete((result, error) -> {
+                    if (error != null) {
+                        documentNodeId.compareAndSet(fresh, null);
+                        fresh.completeExceptionally(error);
+                    } else {
+                        fresh.complete(result.getAsJsonObject(KEY_ROOT).get(KEY_NODE_ID).getAsInt());
+                    }
+                });
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * Drops the cached document root so the next {@link #getDocumentNodeId()} fetches it
+     * again. Called automatically on document updates and main-frame navigations.
+     */
+    public void invalidateDocument() {
+        documentNodeId.set(null);
+        documentGeneration.incrementAndGet();
+    }
+
+    /**
+     * Returns a counter that changes whenever the cached document is dropped, i.e. when
+     * every node ID handed out before may be invalid. No CDP call.
+     */
+    public long getDocumentGeneration() {
+        subscribeInvalidation();
+        return documentGeneration.get();
+    }
+
+    /**
+     * Returns a counter that changes on every {@code DOM.childNodeRemoved}. A node ID
+     * obtained before the counter moved may belong to a detached subtree. No CDP call.
+     */
+    public long getRemovalGeneration() {
+        subscribeInvalidation();
+        return removalGeneration.get();
+    }
+
+    private void subscribeInvalidation() {
+        if (invalidationSubscribed.compareAndSet(false, true)) {
+            transport.subscribeToEvent(EVENT_DOCUMENT_UPDATED, documentUpdatedHandler);
+            transport.subscribeToEvent(EVENT_FRAME_NAVIGATED, frameNavigatedHandler);
+            transport.subscribeToEvent(EVENT_CHILD_REMOVED, childRemovedHandler);
+        }
+    }
+
+    private void onFrameNavigated(JsonObject event) {
+        JsonObject frame = event.getAsJsonObject(KEY_FRAME);
+        if (frame == null || !frame.has(KEY_PARENT_ID)) {
+            invalidateDocument();
+        }
     }
 
     /**
@@ -55,7 +160,7 @@ public class DOMDomain {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
         params.addProperty("selector", selector);
-        return wsClient.sendCommand("DOM.querySelector", params);
+        return transport.sendCommand("DOM.querySelector", params);
     }
 
     /**
@@ -69,7 +174,7 @@ public class DOMDomain {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
         params.addProperty("selector", selector);
-        return wsClient.sendCommand("DOM.querySelectorAll", params);
+        return transport.sendCommand("DOM.querySelectorAll", params);
     }
 
     /**
@@ -81,7 +186,7 @@ public class DOMDomain {
     public CompletableFuture<JsonObject> getBoxModel(int nodeId) {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
-        return wsClient.sendCommand("DOM.getBoxModel", params);
+        return transport.sendCommand("DOM.getBoxModel", params);
     }
 
     /**
@@ -93,7 +198,7 @@ public class DOMDomain {
     public CompletableFuture<JsonObject> getAttributes(int nodeId) {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
-        return wsClient.sendCommand("DOM.getAttributes", params);
+        return transport.sendCommand("DOM.getAttributes", params);
     }
 
     /**
@@ -109,7 +214,7 @@ public class DOMDomain {
         params.addProperty("nodeId", nodeId);
         params.addProperty("name", name);
         params.addProperty("value", value);
-        return wsClient.sendCommand("DOM.setAttributeValue", params);
+        return transport.sendCommand("DOM.setAttributeValue", params);
     }
 
     /**
@@ -121,7 +226,7 @@ public class DOMDomain {
     public CompletableFuture<JsonObject> focus(int nodeId) {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
-        return wsClient.sendCommand("DOM.focus", params);
+        return transport.sendCommand("DOM.focus", params);
     }
 
     /**
@@ -133,7 +238,7 @@ public class DOMDomain {
     public CompletableFuture<JsonObject> resolveNode(int nodeId) {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
-        return wsClient.sendCommand("DOM.resolveNode", params);
+        return transport.sendCommand("DOM.resolveNode", params);
     }
 
     /**
@@ -145,7 +250,23 @@ public class DOMDomain {
     public CompletableFuture<JsonObject> requestNode(String objectId) {
         JsonObject params = new JsonObject();
         params.addProperty("objectId", objectId);
-        return wsClient.sendCommand("DOM.requestNode", params);
+        return transport.sendCommand("DOM.requestNode", params);
+    }
+
+    /**
+     * Maps a backend node ID to a node ID of the current document. Requires the document
+     * to have been requested, see {@link #getDocumentNodeId()}.
+     *
+     * @param backendNodeId backend node ID, stable for the node's lifetime
+     * @return CompletableFuture with the node ID, {@code 0} if the node no longer exists
+     */
+    public CompletableFuture<Integer> pushNodeByBackendId(int backendNodeId) {
+        JsonObject params = new JsonObject();
+        JsonArray ids = new JsonArray();
+        ids.add(backendNodeId);
+        params.add("backendNodeIds", ids);
+        return transport.sendCommand("DOM.pushNodesByBackendIdsToFrontend", params)
+                .thenApply(result -> result.getAsJsonArray("nodeIds").get(0).getAsInt());
     }
 
     /**
@@ -157,7 +278,7 @@ public class DOMDomain {
     public CompletableFuture<JsonObject> getOuterHTML(int nodeId) {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
-        return wsClient.sendCommand("DOM.getOuterHTML", params);
+        return transport.sendCommand("DOM.getOuterHTML", params);
     }
 
     /**
@@ -169,7 +290,7 @@ public class DOMDomain {
     public CompletableFuture<JsonObject> scrollIntoViewIfNeeded(int nodeId) {
         JsonObject params = new JsonObject();
         params.addProperty("nodeId", nodeId);
-        return wsClient.sendCommand("DOM.scrollIntoViewIfNeeded", params);
+        return transport.sendCommand("DOM.scrollIntoViewIfNeeded", params);
     }
 
     /**
@@ -185,6 +306,6 @@ public class DOMDomain {
         if (depth != null) {
             params.addProperty("depth", depth);
         }
-        return wsClient.sendCommand("DOM.describeNode", params);
+        return transport.sendCommand("DOM.describeNode", params);
     }
 }
@@ -0,0 +1,54 @@
+package io.github.ashwithpoojary98.cdp.domain;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Wrapper for the CDP DOMSnapshot domain.
+ * Provides whole-document captures of the DOM, layout and computed styles.
+ */
+public class DOMSnapshotDomain {
+
+    private final CDPTransport transport;
+
+    public DOMSnapshotDomain(CDPTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Enables the DOMSnapshot agent.
+     *
+     * @return CompletableFuture that completes when the domain is enabled
+     */
+    public CompletableFuture<JsonObject> enable() {
+        return transport.sendCommand("DOMSnapshot.enable");
+    }
+
+    /**
+     * Disables the DOMSnapshot agent.
+     *
+     * @return CompletableFuture that completes when the domain is disabled
+     */
+    public CompletableFuture<JsonObject> disable() {
+        return transport.sendCommand("DOMSnapshot.disable");
+    }
+
+    /**
+     * Captures the document of every frame — node tree, layout bounds and the given
+     * computed style properties — as flat, string-table-indexed arrays.
+     *
+     * @param computedStyles computed style properties to capture for every laid-out node
+     * @return CompletableFuture with {@code documents} and the shared {@code strings} table
+     */
+    public CompletableFuture<JsonObject> captureSnapshot(List<String> computedStyles) {
+        JsonArray styles = new JsonArray();
+        computedStyles.forEach(styles::add);
+        JsonObject params = new JsonObject();
+        params.add("computedStyles", styles);
+        return transport.sendCommand("DOMSnapshot.captureSnapshot", params);
+    }
+}
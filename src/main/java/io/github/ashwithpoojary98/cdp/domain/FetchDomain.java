@@ -0,0 +1,189 @@
+package io.github.ashwithpoojary98.cdp.domain;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Wrapper for the CDP {@code Fetch} domain.
+ *
+ * <p>While enabled, every request matching one of the enable patterns is paused with a
+ * {@code Fetch.requestPaused} event and waits until it is continued, failed or fulfilled.
+ *
+ * @see <a href="https://chromedevtools.github.io/devtools-protocol/tot/Fetch/">CDP Fetch domain</a>
+ */
+public class FetchDomain {
+
+    // ── CDP method names ──────────────────────────────────────────────────────
+
+    private static final String CMD_ENABLE           = "Fetch.enable";
+    private static final String CMD_DISABLE          = "Fetch.disable";
+    private static final String CMD_CONTINUE_REQUEST = "Fetch.continueRequest";
+    private static final String CMD_FAIL_REQUEST     = "Fetch.failRequest";
+    private static final String CMD_FULFILL_REQUEST  = "Fetch.fulfillRequest";
+    private static final String CMD_GET_RESPONSE_BODY = "Fetch.getResponseBody";
+
+    private static final String EVENT_REQUEST_PAUSED = "Fetch.requestPaused";
+
+    // ── CDP parameter names ───────────────────────────────────────────────────
+
+    private static final String PARAM_PATTERNS         = "patterns";
+    private static final String PARAM_REQUEST_ID       = "requestId";
+    private static final String PARAM_ERROR_REASON     = "errorReason";
+    private static final String PARAM_RESPONSE_CODE    = "responseCode";
+    private static final String PARAM_RESPONSE_HEADERS = "responseHeaders";
+    private static final String PARAM_BODY             = "body";
+    private static final String PARAM_NAME             = "name";
+    private static final String PARAM_VALUE            = "value";
+
+    // ── Error reasons ─────────────────────────────────────────────────────────
+
+    /** Error reason reported to the page for requests blocked by the client. */
+    public static final String ERROR_BLOCKED_BY_CLIENT = "BlockedByClient";
+
+    /** Error reason reported to the page for requests that must not reach the network. */
+    public static final String ERROR_INTERNET_DISCONNECTED = "InternetDisconnected";
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private final CDPTransport transport;
+
+    public FetchDomain(CDPTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Starts pausing requests that match any of {@code patterns}.
+     *
+     * @param patterns array of {@code RequestPattern} objects ({@code urlPattern},
+     *                 {@code resourceType}, {@code requestStage}); calling again replaces them
+     * @return future completing when interception is active
+     */
+    public CompletableFuture<JsonObject> enable(JsonArray patterns) {
+        JsonObject params = new JsonObject();
+        params.add(PARAM_PATTERNS, patterns);
+        return transport.sendCommand(CMD_ENABLE, params);
+    }
+
+    /** Stops pausing requests. */
+    public CompletableFuture<JsonObject> disable() {
+        return transport.sendCommand(CMD_DISABLE);
+    }
+
+    /**
+     * Lets a paused request proceed unchanged.
+     *
+     * @param requestId {@code requestId} of the {@code Fetch.requestPaused} event
+     * @return future completing when the request was released
+     */
+    public CompletableFuture<JsonObject> continueRequest(String requestId) {
+        JsonObject params = new JsonObject();
+        params.addProperty(PARAM_REQUEST_ID, requestId);
+        return transport.sendCommand(CMD_CONTINUE_REQUEST, params);
+    }
+
+    /**
+     * Fails a paused request without sending it.
+     *
+     * @param requestId   {@code requestId} of the {@code Fetch.requestPaused} event
+     * @param errorReason CDP {@code Network.ErrorReason}, e.g. {@link #ERROR_BLOCKED_BY_CLIENT}
+     * @return future completing when the request was failed
+     */
+    public CompletableFuture<JsonObject> failRequest(String requestId, String errorReason) {
+        JsonObject params = new JsonObject();
+        params.addProperty(PARAM_REQUEST_ID, requestId);
+        params.addProperty(PARAM_ERROR_REASON, errorReason);
+        return transport.sendCommand(CMD_FAIL_REQUEST, params);
+    }
+
+    /**
+     * Answers a paused request with a locally built response; nothing is sent to the network.
+     *
+     * @param requestId    {@code requestId} of the {@code Fetch.requestPaused} event
+     * @param responseCode HTTP status code
+     * @param headers      response headers
+     * @param body         response body (may be empty)
+     * @return future completing when the response was delivered
+     */
+    public CompletableFuture<JsonObject> fulfillRequest(
+            String requestId, int responseCode, Map<String, String> headers, byte[] body) {
+        JsonArray responseHeaders = new JsonArray();
+        headers.forEach((name, value) -> responseHeaders.add(header(name, value)));
+        return fulfillRequest(requestId, responseCode, responseHeaders,
+                Base64.getEncoder().encodeToString(body));
+    }
+
+    /**
+     * Answers a paused request with a response whose body is already Base64-encoded.
+     *
+     * @param requestId       {@code requestId} of the {@code Fetch.requestPaused} event
+     * @param responseCode    HTTP status code
+     * @param responseHeaders array of {@code {name, value}} objects; names may repeat
+     * @param base64Body      Base64-encoded response body
+     * @return future completing when the response was delivered
+     */
+    public CompletableFuture<JsonObject> fulfillRequest(
+            String requestId, int responseCode, JsonArray responseHeaders, String base64Body) {
+        JsonObject params = new JsonObject();
+        params.addProperty(PARAM_REQUEST_ID, requestId);
+        params.addProperty(PARAM_RESPONSE_CODE, responseCode);
+        params.add(PARAM_RESPONSE_HEADERS, responseHeaders);
+        params.addProperty(PARAM_BODY, base64Body);
+        return transport.sendCommand(CMD_FULFILL_REQUEST, params);
+    }
+
+    /**
+     * Returns the body of a request paused at the response stage.
+     *
+     * @param requestId {@code requestId} of the {@code Fetch.requestPaused} event
+     * @return future completing with the body
+     */
+    public CompletableFuture<ResponseBody> getResponseBody(String requestId) {
+        JsonObject params = new JsonObject();
+        params.addProperty(PARAM_REQUEST_ID, requestId);
+        return transport.sendCommand(CMD_GET_RESPONSE_BODY, params, ResponseBody.class);
+    }
+
+    /**
+     * Builds one {@code HeaderEntry}.
+     *
+     * @param name  header name
+     * @param value header value
+     * @return {@code {name, value}} object
+     */
+    public static JsonObject header(String name, String value) {
+        JsonObject header = new JsonObject();
+        header.addProperty(PARAM_NAME, name);
+        header.addProperty(PARAM_VALUE, value);
+        return header;
+    }
+
+    // ── Event subscriptions ───────────────────────────────────────────────────
+
+    /** Subscribes to {@code Fetch.requestPaused} events. */
+    public void subscribeToRequestPaused(Consumer<JsonObject> handler) {
+        transport.subscribeToEvent(EVENT_REQUEST_PAUSED, handler);
+    }
+
+    /**
+     * Result of {@code Fetch.getResponseBody}.
+     *
+     * @param body          body text, or Base64 if {@code base64Encoded}
+     * @param base64Encoded whether {@code body} is Base64
+     */
+    public record ResponseBody(String body, boolean base64Encoded) {
+
+        /** Returns the decoded body bytes. */
+        public byte[] bytes() {
+            return base64Encoded
+                    ? Base64.getDecoder().decode(body)
+                    : body.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package io.github.ashwithpoojary98.cdp.domain;
 
 import com.google.gson.JsonObject;
-import io.github.ashwithpoojary98.websocket.NihoniumWebSocketClient;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -68,10 +68,10 @@ public class InputDomain {
 
     // ─────────────────────────────────────────────────────────────────────────
 
-    private final NihoniumWebSocketClient wsClient;
+    private final CDPTransport transport;
 
-    public InputDomain(NihoniumWebSocketClient wsClient) {
-        this.wsClient = wsClient;
+    public InputDomain(CDPTransport transport) {
+        this.transport = transport;
     }
 
     // ── Mouse ─────────────────────────────────────────────────────────────────
@@ -101,7 +101,7 @@ public class InputDomain {
             params.addProperty(PARAM_CLICK_COUNT, clickCount);
         }
 
-        return wsClient.sendCommand(CMD_DISPATCH_MOUSE_EVENT, params);
+        return transport.sendCommand(CMD_DISPATCH_MOUSE_EVENT, params);
     }
 
     /**
@@ -183,7 +183,7 @@ public class InputDomain {
             params.addProperty(PARAM_MODIFIERS, modifiers);
         }
 
-        return wsClient.sendCommand(CMD_DISPATCH_KEY_EVENT, params);
+        return transport.sendCommand(CMD_DISPATCH_KEY_EVENT, params);
     }
 
     /**
@@ -209,7 +209,7 @@ public class InputDomain {
     public CompletableFuture<JsonObject> insertText(String text) {
         JsonObject params = new JsonObject();
         params.addProperty(PARAM_TEXT, text);
-        return wsClient.sendCommand(CMD_INSERT_TEXT, params);
+        return transport.sendCommand(CMD_INSERT_TEXT, params);
     }
 
     /**
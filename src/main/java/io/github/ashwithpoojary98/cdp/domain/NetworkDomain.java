@@ -1,8 +1,10 @@
 package io.github.ashwithpoojary98.cdp.domain;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import io.github.ashwithpoojary98.websocket.NihoniumWebSocketClient;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
@@ -28,8 +30,10 @@ public class NetworkDomain {
     private static final String CMD_SET_CACHE_DISABLED     = "Network.setCacheDisabled";
     private static final String CMD_SET_EXTRA_HTTP_HEADERS = "Network.setExtraHTTPHeaders";
     private static final String CMD_GET_RESPONSE_BODY      = "Network.getResponseBody";
+    private static final String CMD_SET_BLOCKED_URLS       = "Network.setBlockedURLs";
 
     private static final String EVENT_REQUEST_WILL_BE_SENT = "Network.requestWillBeSent";
+    private static final String EVENT_RESPONSE_RECEIVED    = "Network.responseReceived";
     private static final String EVENT_LOADING_FINISHED     = "Network.loadingFinished";
     private static final String EVENT_LOADING_FAILED       = "Network.loadingFailed";
 
@@ -38,6 +42,7 @@ public class NetworkDomain {
     private static final String PARAM_USER_AGENT      = "userAgent";
     private static final String PARAM_CACHE_DISABLED  = "cacheDisabled";
     private static final String PARAM_HEADERS         = "headers";
+    private static final String PARAM_URLS            = "urls";
     private static final String PARAM_REQUEST_ID      = "requestId";
     private static final String PARAM_NAME            = "name";
     private static final String PARAM_VALUE           = "value";
@@ -49,22 +54,22 @@ public class NetworkDomain {
 
     // ─────────────────────────────────────────────────────────────────────────
 
-    private final NihoniumWebSocketClient wsClient;
+    private final CDPTransport transport;
 
-    public NetworkDomain(NihoniumWebSocketClient wsClient) {
-        this.wsClient = wsClient;
+    public NetworkDomain(CDPTransport transport) {
+        this.transport = transport;
     }
 
     // ── Domain lifecycle ──────────────────────────────────────────────────────
 
     /** Enables network tracking so events and cookie APIs become available. */
     public CompletableFuture<JsonObject> enable() {
-        return wsClient.sendCommand(CMD_ENABLE);
+        return transport.sendCommand(CMD_ENABLE);
     }
 
     /** Disables network tracking. */
     public CompletableFuture<JsonObject> disable() {
-        return wsClient.sendCommand(CMD_DISABLE);
+        return transport.sendCommand(CMD_DISABLE);
     }
 
     // ── Cookie management ─────────────────────────────────────────────────────
@@ -80,7 +85,7 @@ public class NetworkDomain {
      * @return future completing with the CDP response
      */
     public CompletableFuture<JsonObject> getCookies() {
-        return wsClient.sendCommand(CMD_GET_COOKIES);
+        return transport.sendCommand(CMD_GET_COOKIES);
     }
 
     /**
@@ -117,7 +122,7 @@ public class NetworkDomain {
             params.addProperty(PARAM_EXPIRES, expires);
         }
 
-        return wsClient.sendCommand(CMD_SET_COOKIE, params);
+        return transport.sendCommand(CMD_SET_COOKIE, params);
     }
 
     /**
@@ -133,7 +138,7 @@ public class NetworkDomain {
         if (domain != null) {
             params.addProperty(PARAM_DOMAIN, domain);
         }
-        return wsClient.sendCommand(CMD_DELETE_COOKIES, params);
+        return transport.sendCommand(CMD_DELETE_COOKIES, params);
     }
 
     /**
@@ -142,7 +147,7 @@ public class NetworkDomain {
      * @return future completing when all cookies have been cleared
      */
     public CompletableFuture<JsonObject> clearBrowserCookies() {
-        return wsClient.sendCommand(CMD_CLEAR_BROWSER_COOKIES);
+        return transport.sendCommand(CMD_CLEAR_BROWSER_COOKIES);
     }
 
     // ── Network overrides ─────────────────────────────────────────────────────
@@ -156,7 +161,7 @@ public class NetworkDomain {
     public CompletableFuture<JsonObject> setUserAgentOverride(String userAgent) {
         JsonObject params = new JsonObject();
         params.addProperty(PARAM_USER_AGENT, userAgent);
-        return wsClient.sendCommand(CMD_SET_USER_AGENT, params);
+        return transport.sendCommand(CMD_SET_USER_AGENT, params);
     }
 
     /**
@@ -168,7 +173,7 @@ public class NetworkDomain {
     public CompletableFuture<JsonObject> setCacheDisabled(boolean cacheDisabled) {
         JsonObject params = new JsonObject();
         params.addProperty(PARAM_CACHE_DISABLED, cacheDisabled);
-        return wsClient.sendCommand(CMD_SET_CACHE_DISABLED, params);
+        return transport.sendCommand(CMD_SET_CACHE_DISABLED, params);
     }
 
     /**
@@ -180,7 +185,23 @@ public class NetworkDomain {
     public CompletableFuture<JsonObject> setExtraHTTPHeaders(JsonObject headers) {
         JsonObject params = new JsonObject();
         params.add(PARAM_HEADERS, headers);
-        return wsClient.sendCommand(CMD_SET_EXTRA_HTTP_HEADERS, params);
+        return transport.sendCommand(CMD_SET_EXTRA_HTTP_HEADERS, params);
+    }
+
+    /**
+     * Blocks requests whose URL matches one of {@code urlPatterns} inside the browser, with
+     * no per-request round trip. Blocked requests fail with {@code blockedReason: "inspector"}.
+     *
+     * @param urlPatterns URL patterns where {@code *} matches any characters; an empty list
+     *                    unblocks everything
+     * @return future completing when the block list is applied
+     */
+    public CompletableFuture<JsonObject> setBlockedURLs(List<String> urlPatterns) {
+        JsonArray urls = new JsonArray();
+        urlPatterns.forEach(urls::add);
+        JsonObject params = new JsonObject();
+        params.add(PARAM_URLS, urls);
+        return transport.sendCommand(CMD_SET_BLOCKED_URLS, params);
     }
 
     /**
@@ -192,23 +213,28 @@ public class NetworkDomain {
     public CompletableFuture<JsonObject> getResponseBody(String requestId) {
         JsonObject params = new JsonObject();
         params.addProperty(PARAM_REQUEST_ID, requestId);
-        return wsClient.sendCommand(CMD_GET_RESPONSE_BODY, params);
+        return transport.sendCommand(CMD_GET_RESPONSE_BODY, params);
     }
 
     // ── Event subscriptions ───────────────────────────────────────────────────
 
     /** Subscribes to {@code Network.requestWillBeSent} events. */
     public void subscribeToRequestWillBeSent(Consumer<JsonObject> handler) {
-        wsClient.subscribeToEvent(EVENT_REQUEST_WILL_BE_SENT, handler);
+        transport.subscribeToEvent(EVENT_REQUEST_WILL_BE_SENT, handler);
+    }
+
+    /** Subscribes to {@code Network.responseReceived} events. */
+    public void subscribeToResponseReceived(Consumer<JsonObject> handler) {
+        transport.subscribeToEvent(EVENT_RESPONSE_RECEIVED, handler);
     }
 
     /** Subscribes to {@code Network.loadingFinished} events. */
     public void subscribeToLoadingFinished(Consumer<JsonObject> handler) {
-        wsClient.subscribeToEvent(EVENT_LOADING_FINISHED, handler);
+        transport.subscribeToEvent(EVENT_LOADING_FINISHED, handler);
     }
 
     /** Subscribes to {@code Network.loadingFailed} events. */
     public void subscribeToLoadingFailed(Consumer<JsonObject> handler) {
-        wsClient.subscribeToEvent(EVENT_LOADING_FAILED, handler);
+        transport.subscribeToEvent(EVENT_LOADING_FAILED, handler);
     }
 }
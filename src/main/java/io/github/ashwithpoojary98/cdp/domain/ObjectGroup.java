@@ -0,0 +1,184 @@
+package io.github.ashwithpoojary98.cdp.domain;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scope for the remote objects one action creates in the renderer.
+ *
+ * <p>Every command sent through a group is tagged with its {@code objectGroup}, so the
+ * nodes it resolves and the objects its calls return are all freed by the single
+ * {@code Runtime.releaseObjectGroup} that {@link #close()} sends — also when the action
+ * failed half-way. The release is not waited for: later commands of the same session are
+ * processed after it anyway, so an action costs no extra round trip for cleanup.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * try (ObjectGroup group = runtimeDomain.openObjectGroup()) {
+ *     String objectId = group.resolveNode(nodeId).join();
+ *     group.callFunctionOn(objectId, "function() { this.value = ''; }").join();
+ * }
+ * }</pre>
+ *
+ * <p>Instances are not meant to be shared between threads.
+ */
+public final class ObjectGroup implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ObjectGroup.class);
+
+    private static final String GROUP_PREFIX = "nihonium-";
+
+    private static final String KEY_OBJECT_GROUP = "objectGroup";
+    private static final String KEY_OBJECT       = "object";
+    private static final String KEY_OBJECT_ID    = "objectId";
+    private static final String KEY_RESULT       = "result";
+
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final CDPTransport          transport;
+    private final RuntimeDomain         runtimeDomain;
+    private final ObjectGroupStatistics statistics;
+    private final String                name;
+    private final LongAdder             handles = new LongAdder();
+    private final AtomicBoolean         closed  = new AtomicBoolean();
+
+    /** Whether any command was tagged with this group, i.e. whether a release is needed. */
+    private volatile boolean used;
+
+    ObjectGroup(CDPTransport transport, RuntimeDomain runtimeDomain, ObjectGroupStatistics statistics) {
+        this.transport     = transport;
+        this.runtimeDomain = runtimeDomain;
+        this.statistics    = statistics;
+        this.name          = GROUP_PREFIX + NEXT_ID.incrementAndGet();
+        statistics.groupOpened();
+    }
+
+    /** Returns the {@code objectGroup} name sent with every command of this group. */
+    public String getName() {
+        return name;
+    }
+
+    /** Returns the number of remote objects created in this group so far. */
+    public long getHandleCount() {
+        return handles.sum();
+    }
+
+    /**
+     * Resolves a DOM node to a remote object owned by this group.
+     *
+     * @param nodeId DOM node ID
+     * @return CompletableFuture with the remote object ID
+     */
+    public CompletableFuture<String> resolveNode(int nodeId) {
+        JsonObject params = new JsonObject();
+        params.addProperty("nodeId", nodeId);
+        return send("DOM.resolveNode", params, KEY_OBJECT)
+                .thenApply(result -> result.getAsJsonObject(KEY_OBJECT).get(KEY_OBJECT_ID).getAsString());
+    }
+
+    /**
+     * Calls a function with {@code objectId} as {@code this}; a non-primitive return value
+     * is owned by this group.
+     *
+     * @param objectId            remote object to call the function on
+     * @param functionDeclaration function declaration to call
+     * @return CompletableFuture with the call result
+     */
+    public CompletableFuture<JsonObject> callFunctionOn(String objectId, String functionDeclaration) {
+        JsonObject params = new JsonObject();
+        params.addProperty("objectId", objectId);
+        params.addProperty("functionDeclaration", functionDeclaration);
+        return send("Runtime.callFunctionOn", params, KEY_RESULT);
+    }
+
+    /**
+     * Evaluates an expression; a non-primitive result is owned by this group.
+     *
+     * @param expression JavaScript expression to evaluate
+     * @return CompletableFuture with the evaluation result
+     */
+    public CompletableFuture<JsonObject> evaluate(String expression) {
+        JsonObject params = new JsonObject();
+        params.addProperty("expression", expression);
+        params.addProperty("returnByValue", false);
+        return send("Runtime.evaluate", params, KEY_RESULT);
+    }
+
+    /**
+     * Releases every remote object of this group with one {@code Runtime.releaseObjectGroup}.
+     * Idempotent; a group that never sent a command is closed without a CDP call.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (!used) {
+            statistics.groupClosed(0, true);
+            return;
+        }
+        runtimeDomain.releaseObjectGroup(name).whenComplete((ignored, error) -> {
+            long count = handles.sum();
+            statistics.groupClosed(count, error == null);
+            if (error != null) {
+                log.warn("Failed to release object group {} ({} handle(s) leaked): {}",
+                        name, count, error.getMessage());
+            }
+        });
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /**
+     * Sends {@code method} tagged with this group and counts the remote object found
+     * under {@code objectKey} in the response, if any.
+     */
+    private CompletableFuture<JsonObject> send(String method, JsonObject params, String objectKey) {
+        return transport.sendCommand(method, tag(params)).thenApply(response -> track(response, objectKey));
+    }
+
+    /**
+     * Adds this group's {@code objectGroup} to {@code params}, for commands sent outside the
+     * group such as those of a {@link io.github.ashwithpoojary98.cdp.CommandBatch}.
+     *
+     * @param params command parameters to tag
+     * @return {@code params}
+     */
+    public JsonObject tag(JsonObject params) {
+        if (closed.get()) {
+            throw new IllegalStateException("Object group " + name + " is closed");
+        }
+        params.addProperty(KEY_OBJECT_GROUP, name);
+        used = true;
+        return params;
+    }
+
+    /**
+     * Counts the remote object found under {@code objectKey} in the response of a command
+     * tagged with {@link #tag(JsonObject)}, if any.
+     *
+     * @param response  command response
+     * @param objectKey key of the remote object, e.g. {@code "result"} or {@code "object"}
+     * @return {@code response}
+     */
+    public JsonObject track(JsonObject response, String objectKey) {
+        JsonObject object = response.getAsJsonObject(objectKey);
+        if (object != null && object.has(KEY_OBJECT_ID)) {
+            handles.increment();
+            statistics.handleCreated();
+        }
+        return response;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectGroup{" + name + ", handles=" + getHandleCount() + "}";
+    }
+}
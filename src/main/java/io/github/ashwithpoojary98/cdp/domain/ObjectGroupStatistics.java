@@ -0,0 +1,98 @@
+package io.github.ashwithpoojary98.cdp.domain;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters for the remote-object groups of one {@link RuntimeDomain}.
+ *
+ * <p>A handle is every remote object the renderer created on behalf of an
+ * {@link ObjectGroup} — resolved nodes and non-primitive call or evaluation results.
+ * Handles stay alive in the renderer's heap until their group is released, so
+ * {@link #getOutstandingHandleCount()} should return to zero between actions and
+ * {@link #getLeakedHandleCount()} should stay at zero for the whole session.
+ */
+public final class ObjectGroupStatistics {
+
+    private final LongAdder groupsOpened    = new LongAdder();
+    private final LongAdder groupsReleased  = new LongAdder();
+    private final LongAdder releaseFailures = new LongAdder();
+    private final LongAdder handlesCreated  = new LongAdder();
+    private final LongAdder handlesReleased = new LongAdder();
+    private final LongAdder handlesLeaked   = new LongAdder();
+
+    void groupOpened() {
+        groupsOpened.increment();
+    }
+
+    void handleCreated() {
+        handlesCreated.increment();
+    }
+
+    /**
+     * Records the outcome of releasing a group.
+     *
+     * @param handles  handles the group held
+     * @param released {@code false} if {@code Runtime.releaseObjectGroup} failed
+     */
+    void groupClosed(long handles, boolean released) {
+        if (released) {
+            groupsReleased.increment();
+            handlesReleased.add(handles);
+        } else {
+            releaseFailures.increment();
+            handlesLeaked.add(handles);
+        }
+    }
+
+    /** Returns the number of groups opened so far. */
+    public long getGroupsOpened() {
+        return groupsOpened.sum();
+    }
+
+    /** Returns the number of groups the renderer confirmed as released. */
+    public long getGroupsReleased() {
+        return groupsReleased.sum();
+    }
+
+    /** Returns the number of {@code Runtime.releaseObjectGroup} calls that failed. */
+    public long getReleaseFailureCount() {
+        return releaseFailures.sum();
+    }
+
+    /** Returns the number of remote objects created inside groups so far. */
+    public long getHandlesCreated() {
+        return handlesCreated.sum();
+    }
+
+    /** Returns the number of remote objects freed by a successful group release. */
+    public long getHandlesReleased() {
+        return handlesReleased.sum();
+    }
+
+    /** Returns the number of remote objects whose group release failed. */
+    public long getLeakedHandleCount() {
+        return handlesLeaked.sum();
+    }
+
+    /**
+     * Returns the number of remote objects still held by the renderer on behalf of groups
+     * that are open or whose release has not been answered yet.
+     */
+    public long getOutstandingHandleCount() {
+        return handlesCreated.sum() - handlesReleased.sum() - handlesLeaked.sum();
+    }
+
+    /** Returns the number of groups that are open or whose release has not been answered yet. */
+    public long getOpenGroupCount() {
+        return groupsOpened.sum() - groupsReleased.sum() - releaseFailures.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectGroupStatistics{groups=" + getGroupsOpened()
+                + ", openGroups=" + getOpenGroupCount()
+                + ", handles=" + getHandlesCreated()
+                + ", outstandingHandles=" + getOutstandingHandleCount()
+                + ", leakedHandles=" + getLeakedHandleCount() + "}";
+    }
+}
@@ -1,9 +1,10 @@
 package io.github.ashwithpoojary98.cdp.domain;
 
 import com.google.gson.JsonObject;
-import io.github.ashwithpoojary98.websocket.NihoniumWebSocketClient;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Wrapper for the CDP Page domain.
@@ -11,10 +12,10 @@ import java.util.concurrent.CompletableFuture;
  */
 public class PageDomain {
 
-    private final NihoniumWebSocketClient wsClient;
+    private final CDPTransport transport;
 
-    public PageDomain(NihoniumWebSocketClient wsClient) {
-        this.wsClient = wsClient;
+    public PageDomain(CDPTransport transport) {
+        this.transport = transport;
     }
 
     /**
@@ -23,7 +24,7 @@ public class PageDomain {
      * @return CompletableFuture that completes when the domain is enabled
      */
     public CompletableFuture<JsonObject> enable() {
-        return wsClient.sendCommand("Page.enable");
+        return transport.sendCommand("Page.enable");
     }
 
     /**
@@ -32,7 +33,7 @@ public class PageDomain {
      * @return CompletableFuture that completes when the domain is disabled
      */
     public CompletableFuture<JsonObject> disable() {
-        return wsClient.sendCommand("Page.disable");
+        return transport.sendCommand("Page.disable");
     }
 
     /**
@@ -44,7 +45,7 @@ public class PageDomain {
     public CompletableFuture<JsonObject> navigate(String url) {
         JsonObject params = new JsonObject();
         params.addProperty("url", url);
-        return wsClient.sendCommand("Page.navigate", params);
+        return transport.sendCommand("Page.navigate", params);
     }
 
     /**
@@ -56,7 +57,7 @@ public class PageDomain {
     public CompletableFuture<JsonObject> reload(boolean ignoreCache) {
         JsonObject params = new JsonObject();
         params.addProperty("ignoreCache", ignoreCache);
-        return wsClient.sendCommand("Page.reload", params);
+        return transport.sendCommand("Page.reload", params);
     }
 
     /**
@@ -81,7 +82,26 @@ public class PageDomain {
         if (quality != null) {
             params.addProperty("quality", quality);
         }
-        return wsClient.sendCommand("Page.captureScreenshot", params);
+        return transport.sendCommand("Page.captureScreenshot", params);
+    }
+
+    /**
+     * Captures a screenshot and returns only its base64-encoded image data.
+     *
+     * <p>The {@code data} string is decoded straight from the response text, so the
+     * (often multi-megabyte) payload is never wrapped in a JSON tree.
+     *
+     * @param format Image format ("png" or "jpeg")
+     * @param quality Compression quality (0-100, only for jpeg)
+     * @return CompletableFuture with the base64-encoded image data
+     */
+    public CompletableFuture<String> captureScreenshotData(String format, Integer quality) {
+        JsonObject params = new JsonObject();
+        params.addProperty("format", format);
+        if (quality != null) {
+            params.addProperty("quality", quality);
+        }
+        return transport.sendCommand("Page.captureScreenshot", params, String.class, "data");
     }
 
     /**
@@ -102,7 +122,7 @@ public class PageDomain {
     public CompletableFuture<JsonObject> setLifecycleEventsEnabled(boolean enabled) {
         JsonObject params = new JsonObject();
         params.addProperty("enabled", enabled);
-        return wsClient.sendCommand("Page.setLifecycleEventsEnabled", params);
+        return transport.sendCommand("Page.setLifecycleEventsEnabled", params);
     }
 
     /**
@@ -111,7 +131,7 @@ public class PageDomain {
      * @return CompletableFuture with layout metrics
      */
     public CompletableFuture<JsonObject> getLayoutMetrics() {
-        return wsClient.sendCommand("Page.getLayoutMetrics");
+        return transport.sendCommand("Page.getLayoutMetrics");
     }
 
     /**
@@ -120,7 +140,7 @@ public class PageDomain {
      * @return CompletableFuture with frame tree
      */
     public CompletableFuture<JsonObject> getFrameTree() {
-        return wsClient.sendCommand("Page.getFrameTree");
+        return transport.sendCommand("Page.getFrameTree");
     }
 
     /**
@@ -129,7 +149,7 @@ public class PageDomain {
      * @return CompletableFuture with navigation history
      */
     public CompletableFuture<JsonObject> getNavigationHistory() {
-        return wsClient.sendCommand("Page.getNavigationHistory");
+        return transport.sendCommand("Page.getNavigationHistory");
     }
 
     /**
@@ -141,6 +161,47 @@ public class PageDomain {
     public CompletableFuture<JsonObject> navigateToHistoryEntry(int entryId) {
         JsonObject params = new JsonObject();
         params.addProperty("entryId", entryId);
-        return wsClient.sendCommand("Page.navigateToHistoryEntry", params);
+        return transport.sendCommand("Page.navigateToHistoryEntry", params);
+    }
+
+    /**
+     * Registers a script that runs in every new document of the page, before any of the
+     * page's own scripts.
+     *
+     * @param source    script source
+     * @param worldName isolated world to run it in, or {@code null} for the main world
+     * @return CompletableFuture with the script {@code identifier}
+     */
+    public CompletableFuture<JsonObject> addScriptToEvaluateOnNewDocument(String source, String worldName) {
+        JsonObject params = new JsonObject();
+        params.addProperty("source", source);
+        if (worldName != null) {
+            params.addProperty("worldName", worldName);
+        }
+        return transport.sendCommand("Page.addScriptToEvaluateOnNewDocument", params);
+    }
+
+    /**
+     * Creates an isolated world for a frame's current document.
+     *
+     * @param frameId   frame to create the world in
+     * @param worldName name of the world
+     * @return CompletableFuture with the world's {@code executionContextId}
+     */
+    public CompletableFuture<JsonObject> createIsolatedWorld(String frameId, String worldName) {
+        JsonObject params = new JsonObject();
+        params.addProperty("frameId", frameId);
+        params.addProperty("worldName", worldName);
+        return transport.sendCommand("Page.createIsolatedWorld", params);
+    }
+
+    /**
+     * Subscribes to {@code Page.frameNavigated} events — fired when a frame commits a
+     * new document.
+     *
+     * @param handler receives the event params ({@code frame})
+     */
+    public void subscribeToFrameNavigated(Consumer<JsonObject> handler) {
+        transport.subscribeToEvent("Page.frameNavigated", handler);
     }
 }
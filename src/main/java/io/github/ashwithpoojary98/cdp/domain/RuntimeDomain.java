@@ -2,7 +2,8 @@ package io.github.ashwithpoojary98.cdp.domain;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import io.github.ashwithpoojary98.websocket.NihoniumWebSocketClient;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
+import io.github.ashwithpoojary98.cdp.CommandBatch;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -13,10 +14,29 @@ import java.util.concurrent.CompletableFuture;
  */
 public class RuntimeDomain {
 
-    private final NihoniumWebSocketClient wsClient;
+    private final CDPTransport          transport;
+    private final ObjectGroupStatistics objectGroupStatistics = new ObjectGroupStatistics();
 
-    public RuntimeDomain(NihoniumWebSocketClient wsClient) {
-        this.wsClient = wsClient;
+    public RuntimeDomain(CDPTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Opens a scope for the remote objects of one action. Close it — ideally with
+     * try-with-resources — to release everything it created with a single command.
+     *
+     * @return a new, uniquely named object group
+     */
+    public ObjectGroup openObjectGroup() {
+        return new ObjectGroup(transport, this, objectGroupStatistics);
+    }
+
+    /**
+     * Returns the counters of every group opened through this domain, including the
+     * number of remote objects whose release failed.
+     */
+    public ObjectGroupStatistics getObjectGroupStatistics() {
+        return objectGroupStatistics;
     }
 
     /**
@@ -25,7 +45,7 @@ public class RuntimeDomain {
      * @return CompletableFuture that completes when the domain is enabled
      */
     public CompletableFuture<JsonObject> enable() {
-        return wsClient.sendCommand("Runtime.enable");
+        return transport.sendCommand("Runtime.enable");
     }
 
     /**
@@ -34,7 +54,7 @@ public class RuntimeDomain {
      * @return CompletableFuture that completes when the domain is disabled
      */
     public CompletableFuture<JsonObject> disable() {
-        return wsClient.sendCommand("Runtime.disable");
+        return transport.sendCommand("Runtime.disable");
     }
 
     /**
@@ -49,7 +69,7 @@ public class RuntimeDomain {
         params.addProperty("expression", expression);
         params.addProperty("awaitPromise", awaitPromise);
         params.addProperty("returnByValue", false);
-        return wsClient.sendCommand("Runtime.evaluate", params);
+        return transport.sendCommand("Runtime.evaluate", params);
     }
 
     /**
@@ -64,7 +84,47 @@ public class RuntimeDomain {
         params.addProperty("expression", expression);
         params.addProperty("awaitPromise", awaitPromise);
         params.addProperty("returnByValue", true);
-        return wsClient.sendCommand("Runtime.evaluate", params);
+        return transport.sendCommand("Runtime.evaluate", params);
+    }
+
+    /**
+     * Evaluates a JavaScript expression and decodes its value straight into {@code type}.
+     *
+     * <p>The response is streamed from {@code result.value} without building a JSON tree,
+     * which keeps large values such as {@code document.documentElement.outerHTML} cheap.
+     *
+     * @param expression JavaScript expression to evaluate
+     * @param type Java type of the expected value (e.g. {@code String.class})
+     * @param <T> value type
+     * @return CompletableFuture with the decoded value, or {@code null} if the expression
+     *         produced {@code undefined}
+     */
+    public <T> CompletableFuture<T> evaluateForValue(String expression, Class<T> type) {
+        return evaluateForValue(expression, type, false);
+    }
+
+    /**
+     * Evaluates a JavaScript expression, optionally awaiting the promise it returns, and
+     * decodes the settled value straight into {@code type}.
+     *
+     * @param expression JavaScript expression to evaluate
+     * @param type Java type of the expected value
+     * @param awaitPromise Whether to await for resulting value
+     * @param <T> value type
+     * @return CompletableFuture with the decoded value, or {@code null} if the expression
+     *         produced {@code undefined} or threw
+     */
+    public <T> CompletableFuture<T> evaluateForValue(String expression, Class<T> type, boolean awaitPromise) {
+        return transport.sendCommand("Runtime.evaluate", evaluateByValueParams(expression, awaitPromise),
+                type, "result", "value");
+    }
+
+    private static JsonObject evaluateByValueParams(String expression, boolean awaitPromise) {
+        JsonObject params = new JsonObject();
+        params.addProperty("expression", expression);
+        params.addProperty("awaitPromise", awaitPromise);
+        params.addProperty("returnByValue", true);
+        return params;
     }
 
     /**
@@ -96,7 +156,40 @@ public class RuntimeDomain {
             params.add("arguments", argsArray);
         }
 
-        return wsClient.sendCommand("Runtime.callFunctionOn", params);
+        return transport.sendCommand("Runtime.callFunctionOn", params);
+    }
+
+    /**
+     * Resolves a DOM node to a remote object, calls a function on it and releases the
+     * object again.
+     *
+     * <p>The commands run in their own {@link ObjectGroup} and are chained through a
+     * {@link CommandBatch}: each is sent as soon as the previous response arrives, and the
+     * group release is not waited for, so the caller blocks once instead of three times.
+     * The group is released whether the call succeeded or not.
+     *
+     * @param nodeId              DOM node ID
+     * @param functionDeclaration function declaration to call with the node as {@code this}
+     * @return CompletableFuture with call result
+     */
+    public CompletableFuture<JsonObject> callFunctionOnNode(int nodeId, String functionDeclaration) {
+        ObjectGroup group = openObjectGroup();
+        JsonObject resolveParams = new JsonObject();
+        resolveParams.addProperty("nodeId", nodeId);
+
+        CommandBatch batch = transport.batch();
+        CompletableFuture<JsonObject> resolved = batch.add("DOM.resolveNode", group.tag(resolveParams))
+                .thenApply(node -> group.track(node, "object"));
+        CompletableFuture<JsonObject> result = batch.addAfter(resolved, "Runtime.callFunctionOn", node -> {
+            JsonObject params = new JsonObject();
+            params.addProperty("objectId", remoteObjectId(node));
+            params.addProperty("functionDeclaration", functionDeclaration);
+            return group.tag(params);
+        }).thenApply(call -> group.track(call, "result"));
+        batch.sendAll();
+
+        result.whenComplete((value, error) -> group.close());
+        return result;
     }
 
     /**
@@ -119,7 +212,7 @@ public class RuntimeDomain {
     public CompletableFuture<JsonObject> getProperties(String objectId) {
         JsonObject params = new JsonObject();
         params.addProperty("objectId", objectId);
-        return wsClient.sendCommand("Runtime.getProperties", params);
+        return transport.sendCommand("Runtime.getProperties", params);
     }
 
     /**
@@ -131,17 +224,22 @@ public class RuntimeDomain {
     public CompletableFuture<JsonObject> releaseObject(String objectId) {
         JsonObject params = new JsonObject();
         params.addProperty("objectId", objectId);
-        return wsClient.sendCommand("Runtime.releaseObject", params);
+        return transport.sendCommand("Runtime.releaseObject", params);
     }
 
     /**
-     * Releases all remote objects.
+     * Releases all remote objects that belong to {@code objectGroup}.
      *
+     * @param objectGroup name of the group to release
      * @return CompletableFuture that completes when all objects are released
      */
     public CompletableFuture<JsonObject> releaseObjectGroup(String objectGroup) {
         JsonObject params = new JsonObject();
         params.addProperty("objectGroup", objectGroup);
-        return wsClient.sendCommand("Runtime.releaseObjectGroup", params);
+        return transport.sendCommand("Runtime.releaseObjectGroup", params);
+    }
+
+    private static String remoteObjectId(JsonObject resolvedNode) {
+        return resolvedNode.getAsJsonObject("object").get("objectId").getAsString();
     }
 }
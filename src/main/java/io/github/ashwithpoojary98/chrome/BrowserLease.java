@@ -0,0 +1,59 @@
+package io.github.ashwithpoojary98.chrome;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exclusive use of a pooled {@link ChromeDriver} until {@link #close()} is called.
+ *
+ * <p>The driver lives in a browser context of its own. Closing the lease returns the
+ * browser to its {@link BrowserPool}, which disposes that context; the driver must not
+ * be used afterwards. Calling {@link ChromeDriver#quit()} on a leased driver is allowed
+ * and only disposes the context early.
+ */
+public class BrowserLease implements AutoCloseable {
+
+    private final BrowserPool               pool;
+    private final BrowserPool.PooledBrowser browser;
+    private final ChromeDriver              driver;
+    private final long                      startNanos = System.nanoTime();
+    private final AtomicBoolean             returned   = new AtomicBoolean();
+
+    BrowserLease(BrowserPool pool, BrowserPool.PooledBrowser browser) {
+        this.pool    = pool;
+        this.browser = browser;
+        this.driver  = browser.driver;
+    }
+
+    /**
+     * Returns the leased driver.
+     *
+     * @throws IllegalStateException if the lease has been closed
+     */
+    public ChromeDriver getDriver() {
+        if (returned.get()) {
+            throw new IllegalStateException("BrowserLease has already been returned");
+        }
+        return driver;
+    }
+
+    /** Returns how many leases (including this one) the underlying browser has served. */
+    public int getBrowserLeaseCount() {
+        return browser.leases;
+    }
+
+    /** Returns the browser to the pool. Calling this more than once has no effect. */
+    @Override
+    public void close() {
+        if (returned.compareAndSet(false, true)) {
+            pool.release(this);
+        }
+    }
+
+    BrowserPool.PooledBrowser getBrowser() {
+        return browser;
+    }
+
+    long getDurationNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,470 @@
+package io.github.ashwithpoojary98.chrome;
+
+import io.github.ashwithpoojary98.exception.BrowserLaunchException;
+import io.github.ashwithpoojary98.exception.TimeoutException;
+import io.github.ashwithpoojary98.wait.WaitConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool of pre-warmed browsers handed out as short-lived {@link BrowserLease}s.
+ *
+ * <p>Launching a browser — resolving the binary, spawning the process, waiting for the
+ * DevTools endpoint and enabling domains — takes seconds. The pool pays that cost once
+ * per browser and then leases it to many users, each through a {@link ChromeDriver}
+ * confined to a browser context of its own (see {@link SharedBrowser}):
+ *
+ * <pre>{@code
+ * try (BrowserPool pool = BrowserPool.builder().size(4).build();
+ *      BrowserLease lease = pool.acquire()) {
+ *     lease.getDriver().get("https://example.com");
+ * }
+ * }</pre>
+ *
+ * <p>When a lease is closed the browser is reset in the background: the lease's
+ * context is disposed — taking its windows, cookies, storage and cache with it — and
+ * the driver of the next lease is opened in a fresh context before the browser returns
+ * to the idle queue. A browser is recycled (quit and replaced by a fresh launch) once it
+ * has served {@link Builder#maxLeasesPerBrowser} leases, when its resident memory
+ * exceeds {@link Builder#maxRssBytes}, when its reset fails, or when it has crashed.
+ *
+ * <p>Resident memory is read from {@code /proc} and summed over the browser and its
+ * child processes; the RSS limit is ignored on platforms without {@code /proc}.
+ *
+ * <p>All public methods are thread-safe.
+ */
+public class BrowserPool implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BrowserPool.class);
+
+    // ── Defaults ──────────────────────────────────────────────────────────────
+
+    /** Default number of browsers kept warm. */
+    public static final int  DEFAULT_SIZE = 2;
+
+    /** Default number of leases a browser serves before it is recycled. */
+    public static final int  DEFAULT_MAX_LEASES_PER_BROWSER = 100;
+
+    /** Default resident-memory limit per browser; {@code 0} disables the check. */
+    public static final long DEFAULT_MAX_RSS_BYTES = 0L;
+
+    /** Default time {@link #acquire()} waits for an idle browser. */
+    public static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 60_000L;
+
+    // ── /proc ─────────────────────────────────────────────────────────────────
+
+    private static final Path   PROC_ROOT     = Paths.get("/proc");
+    private static final String PROC_STATUS   = "status";
+    private static final String VM_RSS_PREFIX = "VmRSS:";
+    private static final long   BYTES_PER_KIB = 1_024L;
+
+    private static final String THREAD_NAME_PREFIX = "nihonium-pool-";
+
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private final Supplier<SharedBrowser> browserFactory;
+    private final int                     size;
+    private final int                     maxLeasesPerBrowser;
+    private final long                    maxRssBytes;
+    private final long                    acquireTimeoutMillis;
+
+    private final LinkedBlockingQueue<PooledBrowser> idle    = new LinkedBlockingQueue<>();
+    private final Set<PooledBrowser>                 browsers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService                    executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory());
+
+    private volatile boolean closed;
+
+    // ── Metrics ───────────────────────────────────────────────────────────────
+
+    private final LongAdder     leaseCount      = new LongAdder();
+    private final LongAdder     totalWaitNanos  = new LongAdder();
+    private final AtomicLong    maxWaitNanos    = new AtomicLong();
+    private final LongAdder     returnedLeases  = new LongAdder();
+    private final LongAdder     totalLeaseNanos = new LongAdder();
+    private final LongAdder     recycleCount    = new LongAdder();
+    private final LongAdder     launchFailures  = new LongAdder();
+    private final AtomicInteger leased          = new AtomicInteger();
+
+    // ── Construction ──────────────────────────────────────────────────────────
+
+    private BrowserPool(Builder builder) {
+        ChromeOptions chromeOptions = builder.chromeOptions;
+        WaitConfig    waitConfig    = builder.waitConfig;
+        this.browserFactory       = builder.browserFactory != null ? builder.browserFactory
+                : () -> new SharedBrowser(chromeOptions, waitConfig);
+        this.size                 = builder.size;
+        this.maxLeasesPerBrowser  = builder.maxLeasesPerBrowser;
+        this.maxRssBytes          = builder.maxRssBytes;
+        this.acquireTimeoutMillis = builder.acquireTimeoutMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Launches all browsers in parallel and waits for them to come up. */
+    private void warmUp() {
+        List<CompletableFuture<Void>> launches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            launches.add(CompletableFuture.runAsync(this::launchBrowser, executor));
+        }
+        CompletableFuture.allOf(launches.toArray(CompletableFuture[]::new)).join();
+
+        if (idle.isEmpty()) {
+            close();
+            throw new BrowserLaunchException("BrowserPool could not launch any of its "
+                    + size + " browsers");
+        }
+        log.info("BrowserPool warmed up with {}/{} browsers", idle.size(), size);
+    }
+
+    // ── Leasing ───────────────────────────────────────────────────────────────
+
+    /**
+     * Leases an idle browser, waiting up to the configured acquire timeout for one to
+     * be returned or launched.
+     *
+     * @return lease; close it to return the browser
+     * @throws TimeoutException      if no browser becomes available in time
+     * @throws IllegalStateException if the pool has been closed
+     */
+    public BrowserLease acquire() {
+        long start    = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+
+        while (true) {
+            ensureOpen();
+            PooledBrowser browser;
+            try {
+                browser = idle.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for a pooled browser", e);
+            }
+            if (browser == null) {
+                throw new TimeoutException("No pooled browser became available within "
+                        + acquireTimeoutMillis + " ms");
+            }
+            if (!browser.browser.isRunning() || !browser.driver.isOpen()) {
+                // Crashed or quit while idle — replace it and keep waiting
+                recycle(browser, "browser is no longer connected");
+                continue;
+            }
+
+            long waited = System.nanoTime() - start;
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            leaseCount.increment();
+            leased.incrementAndGet();
+            browser.leases++;
+            return new BrowserLease(this, browser);
+        }
+    }
+
+    /**
+     * Takes a browser back from a closed lease: resets it (or recycles it) in the
+     * background and makes it available to the next {@link #acquire()}.
+     */
+    void release(BrowserLease lease) {
+        PooledBrowser browser = lease.getBrowser();
+        leased.decrementAndGet();
+        returnedLeases.increment();
+        totalLeaseNanos.add(lease.getDurationNanos());
+
+        if (closed) {
+            retire(browser);
+            return;
+        }
+        submit(() -> resetOrRecycle(browser), () -> retire(browser));
+    }
+
+    /** Resets a returned browser and puts it back in the idle queue, or recycles it. */
+    private void resetOrRecycle(PooledBrowser browser) {
+        if (closed) {
+            retire(browser);
+            return;
+        }
+        String reason = recycleReason(browser);
+        if (reason == null) {
+            try {
+                browser.driver.quit();
+                browser.driver = browser.browser.newDriver();
+            } catch (Exception e) {
+                reason = "reset failed: " + e.getMessage();
+            }
+        }
+        if (reason != null) {
+            recycle(browser, reason);
+            return;
+        }
+        idle.offer(browser);
+        // close() may have drained the queue between the check above and the offer
+        if (closed && idle.remove(browser)) {
+            retire(browser);
+        }
+    }
+
+    private String recycleReason(PooledBrowser browser) {
+        if (!browser.browser.isRunning()) {
+            return "browser is no longer connected";
+        }
+        if (browser.leases >= maxLeasesPerBrowser) {
+            return "served " + browser.leases + " leases";
+        }
+        if (maxRssBytes > 0) {
+            long rss = residentMemoryBytes(browser.browser.getBrowserProcess());
+            if (rss > maxRssBytes) {
+                return "resident memory " + rss + " bytes exceeds " + maxRssBytes;
+            }
+        }
+        return null;
+    }
+
+    // ── Browser lifecycle ─────────────────────────────────────────────────────
+
+    private void launchBrowser() {
+        try {
+            SharedBrowser shared = browserFactory.get();
+            PooledBrowser browser;
+            try {
+                browser = new PooledBrowser(shared, shared.newDriver());
+            } catch (RuntimeException e) {
+                shared.close();
+                throw e;
+            }
+            browsers.add(browser);
+            if (closed) {
+                retire(browser);
+            } else {
+                idle.offer(browser);
+            }
+        } catch (RuntimeException e) {
+            launchFailures.increment();
+            log.error("BrowserPool failed to launch a browser: {}", e.getMessage(), e);
+        }
+    }
+
+    private void recycle(PooledBrowser browser, String reason) {
+        log.info("Recycling pooled browser: {}", reason);
+        recycleCount.increment();
+        retire(browser);
+        if (!closed) {
+            submit(this::launchBrowser, () -> { });
+        }
+    }
+
+    /** Quits a browser and forgets it; a browser already retired is left alone. */
+    private void retire(PooledBrowser browser) {
+        if (!browsers.remove(browser)) {
+            return;
+        }
+        try {
+            browser.browser.close();
+        } catch (Exception e) {
+            log.debug("Error quitting pooled browser: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs {@code task} on the pool's executor, or {@code onRejected} on the calling
+     * thread if the executor has already been shut down by {@link #close()}.
+     */
+    private void submit(Runnable task, Runnable onRejected) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            onRejected.run();
+        }
+    }
+
+    /**
+     * Quits every browser of the pool, idle or leased. Drivers of open leases stop
+     * working; closing those leases afterwards has no further effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        idle.clear();
+        for (PooledBrowser browser : List.copyOf(browsers)) {
+            retire(browser);
+        }
+        executor.shutdown();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("BrowserPool is closed");
+        }
+    }
+
+    // ── Metrics ───────────────────────────────────────────────────────────────
+
+    /** Returns a snapshot of the pool's counters. */
+    public PoolMetrics getMetrics() {
+        long leases   = leaseCount.sum();
+        long returned = returnedLeases.sum();
+        return new PoolMetrics(
+                browsers.size(),
+                idle.size(),
+                leased.get(),
+                leases,
+                leases == 0 ? 0 : nanosToMillis(totalWaitNanos.sum()) / leases,
+                nanosToMillis(maxWaitNanos.get()),
+                returned == 0 ? 0 : nanosToMillis(totalLeaseNanos.sum()) / returned,
+                recycleCount.sum(),
+                launchFailures.sum());
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // ── Resident memory ───────────────────────────────────────────────────────
+
+    /**
+     * Returns the resident set size of {@code process} and all of its descendants
+     * (renderers, GPU and utility processes), or {@code -1} if it cannot be read.
+     */
+    static long residentMemoryBytes(Process process) {
+        if (process == null) {
+            return -1;
+        }
+        long total = residentMemoryBytes(process.pid());
+        if (total < 0) {
+            return -1;
+        }
+        for (ProcessHandle child : process.descendants().toList()) {
+            total += Math.max(0, residentMemoryBytes(child.pid()));
+        }
+        return total;
+    }
+
+    private static long residentMemoryBytes(long pid) {
+        Path status = PROC_ROOT.resolve(Long.toString(pid)).resolve(PROC_STATUS);
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith(VM_RSS_PREFIX)) {
+                    // "VmRSS:	  123456 kB"
+                    String kib = line.substring(VM_RSS_PREFIX.length()).trim().split("\\s+")[0];
+                    return Long.parseLong(kib) * BYTES_PER_KIB;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.trace("Cannot read resident memory of pid {}: {}", pid, e.getMessage());
+        }
+        return -1;
+    }
+
+    // ── PooledBrowser ─────────────────────────────────────────────────────────
+
+    /** A pooled browser, the driver of its current or next lease, and the leases it has served. */
+    static final class PooledBrowser {
+        final SharedBrowser   browser;
+        volatile ChromeDriver driver;
+        volatile int          leases;
+
+        PooledBrowser(SharedBrowser browser, ChromeDriver driver) {
+            this.browser = browser;
+            this.driver  = driver;
+        }
+    }
+
+    // ── Builder ───────────────────────────────────────────────────────────────
+
+    public static final class Builder {
+
+        private ChromeOptions           chromeOptions        = new ChromeOptions();
+        private WaitConfig              waitConfig           = WaitConfig.defaultConfig();
+        private int                     size                 = DEFAULT_SIZE;
+        private int                     maxLeasesPerBrowser  = DEFAULT_MAX_LEASES_PER_BROWSER;
+        private long                    maxRssBytes          = DEFAULT_MAX_RSS_BYTES;
+        private long                    acquireTimeoutMillis = DEFAULT_ACQUIRE_TIMEOUT_MILLIS;
+        private Supplier<SharedBrowser> browserFactory;
+
+        /** Options every pooled browser is launched with. */
+        public Builder chromeOptions(ChromeOptions chromeOptions) {
+            this.chromeOptions = chromeOptions;
+            return this;
+        }
+
+        /** Wait configuration of every pooled driver. */
+        public Builder waitConfig(WaitConfig waitConfig) {
+            this.waitConfig = waitConfig;
+            return this;
+        }
+
+        /** Number of browsers to keep warm. */
+        public Builder size(int size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("size must be positive: " + size);
+            }
+            this.size = size;
+            return this;
+        }
+
+        /** Leases a browser serves before it is quit and replaced. */
+        public Builder maxLeasesPerBrowser(int maxLeases) {
+            if (maxLeases <= 0) {
+                throw new IllegalArgumentException("maxLeasesPerBrowser must be positive: " + maxLeases);
+            }
+            this.maxLeasesPerBrowser = maxLeases;
+            return this;
+        }
+
+        /** Resident memory (bytes, browser plus children) above which a browser is recycled; 0 disables. */
+        public Builder maxRssBytes(long bytes) {
+            this.maxRssBytes = bytes;
+            return this;
+        }
+
+        /** Maximum time {@link BrowserPool#acquire()} waits for a browser. */
+        public Builder acquireTimeout(long time, TimeUnit unit) {
+            this.acquireTimeoutMillis = unit.toMillis(time);
+            return this;
+        }
+
+        /**
+         * Source of the pooled browsers, used instead of launching them with
+         * {@link #chromeOptions} and {@link #waitConfig}. Lets tests pool browsers
+         * reached over an in-process connection.
+         */
+        Builder browserFactory(Supplier<SharedBrowser> browserFactory) {
+            this.browserFactory = browserFactory;
+            return this;
+        }
+
+        /**
+         * Creates the pool and launches its browsers, blocking until they are ready.
+         *
+         * @throws BrowserLaunchException if no browser could be launched
+         */
+        public BrowserPool build() {
+            BrowserPool pool = new BrowserPool(this);
+            pool.warmUp();
+            return pool;
+        }
+    }
+}
@@ -4,31 +4,45 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.ElementSnapshot;
 import io.github.ashwithpoojary98.WebDriver;
 import io.github.ashwithpoojary98.WebElement;
 import io.github.ashwithpoojary98.browser.BrowserLauncher;
 import io.github.ashwithpoojary98.browser.BrowserOptions;
 import io.github.ashwithpoojary98.browser.LaunchResult;
+import io.github.ashwithpoojary98.cdp.CDPSession;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
 import io.github.ashwithpoojary98.cdp.domain.BrowserDomain;
-import io.github.ashwithpoojary98.cdp.domain.CSSDomain;
 import io.github.ashwithpoojary98.cdp.domain.DOMDomain;
-import io.github.ashwithpoojary98.cdp.domain.InputDomain;
 import io.github.ashwithpoojary98.cdp.domain.NetworkDomain;
+import io.github.ashwithpoojary98.cdp.domain.ObjectGroupStatistics;
 import io.github.ashwithpoojary98.cdp.domain.PageDomain;
 import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
 import io.github.ashwithpoojary98.exception.BrowserLaunchException;
 import io.github.ashwithpoojary98.exception.CDPException;
+import io.github.ashwithpoojary98.exception.InvalidSelectorException;
 import io.github.ashwithpoojary98.exception.TimeoutException;
 import io.github.ashwithpoojary98.network.NetworkMonitor;
+import io.github.ashwithpoojary98.network.RequestInterceptor;
+import io.github.ashwithpoojary98.snapshot.DomSnapshot;
+import io.github.ashwithpoojary98.wait.LoadState;
 import io.github.ashwithpoojary98.wait.WaitConfig;
+import io.github.ashwithpoojary98.wait.WaitStatistics;
 import io.github.ashwithpoojary98.websocket.NihoniumWebSocketClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * CDP-backed implementation of {@link WebDriver}.
@@ -40,44 +54,60 @@ import java.util.concurrent.TimeUnit;
  * <p>Nihonium uses the CDP {@code targetId} as the Selenium window handle.  This is
  * a stable, unique string (e.g. {@code "3F1A2B3C4D5E6F7G"}) that corresponds to
  * exactly one browser tab or window.
+ *
+ * <h3>Session model</h3>
+ * <p>The driver holds one browser-level connection (WebSocket or pipe). Each window it
+ * drives is attached over that connection as a flattened {@link CDPSession} with its
+ * own domain wrappers; {@link TargetLocator#window(String)} and {@link #newWindow()}
+ * retarget every subsequent command to that window's session. Driving many tabs never
+ * needs more than one socket or reader thread.
+ *
+ * <h3>Browser contexts</h3>
+ * <p>Drivers created by {@link SharedBrowser#newDriver()} do not own a browser: each
+ * lives in its own incognito-like browser context on a shared connection, sees only its
+ * own windows, cookies and storage, and disposes the context on {@link #quit()}.
  */
 public class ChromeDriver implements WebDriver {
 
+    private static final Logger log = LoggerFactory.getLogger(ChromeDriver.class);
+
     // ── CDP target type filter ────────────────────────────────────────────────
 
     private static final String TARGET_TYPE_PAGE = "page";
     private static final String TARGET_FIELD_TYPE = "type";
     private static final String TARGET_FIELD_ID = "targetId";
     private static final String TARGET_INFOS_FIELD = "targetInfos";
+    private static final String TARGET_FIELD_SESSION_ID = "sessionId";
 
-    // ── WebSocket URL parsing ─────────────────────────────────────────────────
+    private static final String TARGET_FIELD_CONTEXT_ID = "browserContextId";
 
-    /**
-     * The path segment that precedes the targetId in a CDP WebSocket URL.
-     */
-    private static final String WS_TARGET_PATH_PREFIX = "/devtools/page/";
+    private static final long WS_CONNECT_TIMEOUT_SECONDS = 10L;
+
+    private static final String EVENT_DETACHED_FROM_TARGET = "Target.detachedFromTarget";
 
     // ── CDP domains ───────────────────────────────────────────────────────────
 
-    private final PageDomain pageDomain;
-    private final DOMDomain domDomain;
-    private final RuntimeDomain runtimeDomain;
-    private final InputDomain inputDomain;
-    private final NetworkDomain networkDomain;
-    private final CSSDomain cssDomain;
     private final BrowserDomain browserDomain;
 
+    /** Attached page sessions by target ID (window handle). */
+    private final Map<String, PageSession> sessions = new ConcurrentHashMap<>();
+
+    /** Session every page-level command is sent to. */
+    private volatile PageSession current;
+
     // ── Infrastructure ────────────────────────────────────────────────────────
 
+    /** Launcher of the browser this driver owns, or {@code null} for a context driver. */
     private final BrowserLauncher launcher;
-    private final NihoniumWebSocketClient wsClient;
+
+    /** Browser-level connection (WebSocket or pipe) shared by all page sessions. */
+    private final CDPTransport connection;
     private final WaitConfig waitConfig;
-    private final NetworkMonitor networkMonitor;
 
-    /**
-     * CDP target ID of the page this driver is connected to.
-     */
-    private final String currentTargetId;
+    /** Browser context this driver is confined to, or {@code null} for the default context. */
+    private final String browserContextId;
+
+    private final Consumer<JsonObject> detachedHandler = this::onDetachedFromTarget;
 
     private volatile boolean closed = false;
 
@@ -93,51 +123,18 @@ public class ChromeDriver implements WebDriver {
 
     public ChromeDriver(ChromeOptions chromeOptions, WaitConfig waitConfig) {
         this.waitConfig = waitConfig;
+        this.browserContextId = null;
 
         try {
-            BrowserOptions options = BrowserOptions.builder()
-                    .browserType(chromeOptions.getBrowserType())
-                    .browserVersion(chromeOptions.getBrowserVersion())
-                    .autoDownload(chromeOptions.isAutoDownload())
-                    .binaryPath(chromeOptions.getBinaryPath())
-                    .headless(chromeOptions.isHeadless())
-                    .windowSize(chromeOptions.getWindowWidth(), chromeOptions.getWindowHeight())
-                    .addArguments(chromeOptions.getArguments())
-                    .build();
-
-            launcher = new BrowserLauncher(options);
-            LaunchResult launchResult = launcher.launch();
-
-            // Extract the targetId from the WebSocket URL so window handles work
-            this.currentTargetId = extractTargetId(launchResult.webSocketUrl());
-
-            URI wsUri = new URI(launchResult.webSocketUrl());
-            wsClient = new NihoniumWebSocketClient(wsUri);
-            wsClient.connectBlocking();
-
-            boolean connected = wsClient.awaitConnection(10, TimeUnit.SECONDS);
-            if (!connected) {
-                throw new BrowserLaunchException("Timed out waiting for CDP WebSocket connection");
-            }
+            launcher = new BrowserLauncher(toBrowserOptions(chromeOptions));
+            connection = connect(launcher.launch());
 
-            pageDomain = new PageDomain(wsClient);
-            domDomain = new DOMDomain(wsClient);
-            runtimeDomain = new RuntimeDomain(wsClient);
-            inputDomain = new InputDomain(wsClient);
-            networkDomain = new NetworkDomain(wsClient);
-            cssDomain = new CSSDomain(wsClient);
-            browserDomain = new BrowserDomain(wsClient);
-
-            networkMonitor = new NetworkMonitor(networkDomain);
-            if (waitConfig.isWaitForNetworkIdle()) {
-                networkMonitor.enable();
-            }
-
-            pageDomain.enable().join();
-            domDomain.enable().join();
-            runtimeDomain.enable().join();
+            browserDomain = new BrowserDomain(connection);
+            connection.subscribeToEvent(EVENT_DETACHED_FROM_TARGET, detachedHandler);
+            current = attach(findOrCreatePageTarget());
 
         } catch (BrowserLaunchException e) {
+            cleanup();
             throw e;
         } catch (Exception e) {
             cleanup();
@@ -145,23 +142,97 @@ public class ChromeDriver implements WebDriver {
         }
     }
 
+    /**
+     * Creates a driver confined to {@code browserContextId} on a connection owned by a
+     * {@link SharedBrowser}, and opens its first window in that context.
+     *
+     * @param connection       shared browser-level connection
+     * @param browserContextId context created for this driver; disposed on {@link #quit()}
+     * @param waitConfig       wait configuration
+     */
+    ChromeDriver(CDPTransport connection, String browserContextId, WaitConfig waitConfig) {
+        this.waitConfig = waitConfig;
+        this.launcher = null;
+        this.connection = connection;
+        this.browserContextId = browserContextId;
+
+        try {
+            browserDomain = new BrowserDomain(connection);
+            connection.subscribeToEvent(EVENT_DETACHED_FROM_TARGET, detachedHandler);
+            current = attach(browserDomain.createTarget(browserContextId).join()
+                    .get(TARGET_FIELD_ID).getAsString());
+        } catch (Exception e) {
+            cleanup();
+            throw new BrowserLaunchException(
+                    "Failed to open a session in browser context " + browserContextId, e);
+        }
+    }
+
+    /** Maps driver-level options onto the launcher's {@link BrowserOptions}. */
+    static BrowserOptions toBrowserOptions(ChromeOptions chromeOptions) {
+        return BrowserOptions.builder()
+                .browserType(chromeOptions.getBrowserType())
+                .browserVersion(chromeOptions.getBrowserVersion())
+                .autoDownload(chromeOptions.isAutoDownload())
+                .binaryPath(chromeOptions.getBinaryPath())
+                .headless(chromeOptions.isHeadless())
+                .debuggingPipe(chromeOptions.isDebuggingPipe())
+                .windowSize(chromeOptions.getWindowWidth(), chromeOptions.getWindowHeight())
+                .addArguments(chromeOptions.getArguments())
+                .build();
+    }
+
+    /**
+     * Opens the browser-level connection of a freshly launched browser: the pipe itself,
+     * or a WebSocket to the browser endpoint.
+     *
+     * @param launchResult result of {@link BrowserLauncher#launch()}
+     * @return connected transport
+     */
+    static CDPTransport connect(LaunchResult launchResult) throws Exception {
+        if (launchResult.isPipe()) {
+            return launchResult.pipeTransport();
+        }
+        NihoniumWebSocketClient wsClient =
+                new NihoniumWebSocketClient(new URI(launchResult.browserWebSocketUrl()));
+        wsClient.connectBlocking();
+        if (!wsClient.awaitConnection(WS_CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            wsClient.close();
+            throw new BrowserLaunchException("Timed out waiting for CDP WebSocket connection");
+        }
+        return wsClient;
+    }
+
     // ── WebDriver — navigation ────────────────────────────────────────────────
 
     @Override
     public void get(String url) {
+        PageSession page = current;
+        JsonObject result;
         try {
-            pageDomain.navigate(url).join();
+            result = page.pageDomain().navigate(url).join();
         } catch (Exception e) {
             throw new CDPException("Failed to navigate to: " + url, e);
         }
+        if (result.has(NAVIGATE_ERROR_TEXT)) {
+            log.debug("Navigation to {} failed: {}", url, result.get(NAVIGATE_ERROR_TEXT).getAsString());
+        }
+        // Same-document navigations (e.g. fragment changes) carry no loaderId
+        if (result.has(NAVIGATE_LOADER_ID)) {
+            page.navigationTracker().expectNavigation(result.get(NAVIGATE_LOADER_ID).getAsString());
+            // The new document has committed; don't wait for the update event to drop the old root
+            page.domDomain().invalidateDocument();
+        }
+        page.domSnapshots().invalidate();
+        waitForPageReady();
     }
 
     @Override
     public String getCurrentUrl() {
         waitForPageReady();
         try {
-            JsonObject result = runtimeDomain.evaluate("window.location.href", false).join();
-            return result.getAsJsonObject("result").get("value").getAsString();
+            return current.runtimeDomain()
+                    .evaluateForValue("window.location.href", String.class).join();
         } catch (Exception e) {
             throw new CDPException("Failed to get current URL", e);
         }
@@ -171,8 +242,8 @@ public class ChromeDriver implements WebDriver {
     public String getTitle() {
         waitForPageReady();
         try {
-            JsonObject result = runtimeDomain.evaluate("document.title", false).join();
-            return result.getAsJsonObject("result").get("value").getAsString();
+            return current.runtimeDomain()
+                    .evaluateForValue("document.title", String.class).join();
         } catch (Exception e) {
             throw new CDPException("Failed to get page title", e);
         }
@@ -182,75 +253,96 @@ public class ChromeDriver implements WebDriver {
     public String getPageSource() {
         waitForPageReady();
         try {
-            JsonObject result =
-                    runtimeDomain.evaluate("document.documentElement.outerHTML", false).join();
-            return result.getAsJsonObject("result").get("value").getAsString();
+            return current.runtimeDomain()
+                    .evaluateForValue("document.documentElement.outerHTML", String.class).join();
         } catch (Exception e) {
             throw new CDPException("Failed to get page source", e);
         }
     }
 
+    // ── Page.navigate result keys ─────────────────────────────────────────────
+
+    private static final String NAVIGATE_LOADER_ID  = "loaderId";
+    private static final String NAVIGATE_ERROR_TEXT = "errorText";
+
     // ── DOM JSON keys (used by element-finding methods) ───────────────────────
 
-    private static final String DOM_ROOT     = "root";
-    private static final String DOM_NODE_ID  = "nodeId";
     private static final String DOM_NODE_IDS = "nodeIds";
-    private static final String RUNTIME_RESULT = "result";
-    private static final String RUNTIME_VALUE  = "value";
 
     // ── WebDriver — element finding ───────────────────────────────────────────
 
     @Override
     public WebElement findElement(By by) {
-        return new ChromeElement(by, domDomain, runtimeDomain,
-                inputDomain, cssDomain, waitConfig, networkMonitor);
+        PageSession page = current;
+        if (waitConfig.isReadFromDomSnapshot()) {
+            try {
+                WebElement local = page.domSnapshots().findElement(by);
+                if (local != null) {
+                    return local;
+                }
+            } catch (Exception e) {
+                log.debug("DOM snapshot unavailable, resolving {} live: {}", by, e.getMessage());
+            }
+        }
+        return new ChromeElement(by, page.domDomain(), page.runtimeDomain(),
+                page.inputDomain(), page.cssDomain(), waitConfig, page.networkMonitor(),
+                page.locatorEngine(), page.domSnapshots()::invalidate);
     }
 
     @Override
     public List<WebElement> findElements(By by) {
+        PageSession page = current;
+        DOMDomain domDomain = page.domDomain();
+        if (waitConfig.isReadFromDomSnapshot()) {
+            try {
+                List<WebElement> local = page.domSnapshots().findElements(by);
+                if (local != null) {
+                    return local;
+                }
+            } catch (Exception e) {
+                log.debug("DOM snapshot unavailable, resolving {} live: {}", by, e.getMessage());
+            }
+        }
         try {
+            int count;
             String cssSelector = by.toCssSelector();
             if (cssSelector != null) {
-                JsonObject docResult = domDomain.getDocument().join();
-                int documentNode = docResult.getAsJsonObject(DOM_ROOT)
-                        .get(DOM_NODE_ID).getAsInt();
+                int documentNode = domDomain.getDocumentNodeId().join();
                 JsonObject r = domDomain.querySelectorAll(documentNode, cssSelector).join();
                 JsonArray nodeIds = r.getAsJsonArray(DOM_NODE_IDS);
-                List<WebElement> elements = new ArrayList<>();
-                if (nodeIds != null) {
-                    for (int i = 0; i < nodeIds.size(); i++) {
-                        elements.add(new ChromeElement(By.index(by, i), domDomain, runtimeDomain,
-                                inputDomain, cssDomain, waitConfig, networkMonitor));
-                    }
-                }
-                return elements;
+                count = nodeIds != null ? nodeIds.size() : 0;
+            } else {
+                // XPath, link text, mixed chains and indexed locators: one count in the page
+                count = page.locatorEngine().count(by);
             }
 
-            if (by.isXPath()) {
-                return findElementsByXPath(by.getSelector());
+            List<WebElement> elements = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                elements.add(new ChromeElement(By.index(by, i), domDomain,
+                        page.runtimeDomain(), page.inputDomain(), page.cssDomain(),
+                        waitConfig, page.networkMonitor(), page.locatorEngine(),
+                        page.domSnapshots()::invalidate));
             }
-
-            return new ArrayList<>();
+            return elements;
+        } catch (InvalidSelectorException e) {
+            throw e;
         } catch (Exception e) {
             throw new CDPException("Failed to find elements: " + by, e);
         }
     }
 
-    private List<WebElement> findElementsByXPath(String xpath) {
-        String escaped = xpath.replace("\\", "\\\\").replace("'", "\\'");
-        String countScript = "document.evaluate('" + escaped + "', document, null, "
-                + "XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength";
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Runs as one by-value {@code Runtime.evaluate} in the page's {@link LocatorEngine},
+     * whatever the number of matches.
+     */
+    @Override
+    public ElementSnapshot snapshotElements(By by, Set<ElementSnapshot.Field> fields) {
         try {
-            JsonObject result = runtimeDomain.evaluate(countScript, false).join();
-            int count = result.getAsJsonObject(RUNTIME_RESULT).get(RUNTIME_VALUE).getAsInt();
-            List<WebElement> elements = new ArrayList<>();
-            for (int i = 0; i < count; i++) {
-                elements.add(new ChromeElement(By.index(By.xpath(xpath), i), domDomain,
-                        runtimeDomain, inputDomain, cssDomain, waitConfig, networkMonitor));
-            }
-            return elements;
+            return current.locatorEngine().snapshot(by, fields);
         } catch (Exception e) {
-            return new ArrayList<>();
+            throw new CDPException("Failed to snapshot elements: " + by, e);
         }
     }
 
@@ -265,14 +357,9 @@ public class ChromeDriver implements WebDriver {
     @Override
     public Set<String> getWindowHandles() {
         try {
-            JsonObject response = browserDomain.getTargets().join();
-            JsonArray targets = response.getAsJsonArray(TARGET_INFOS_FIELD);
             Set<String> handles = new HashSet<>();
-            for (JsonElement el : targets) {
-                JsonObject target = el.getAsJsonObject();
-                if (TARGET_TYPE_PAGE.equals(target.get(TARGET_FIELD_TYPE).getAsString())) {
-                    handles.add(target.get(TARGET_FIELD_ID).getAsString());
-                }
+            for (JsonObject target : pageTargets()) {
+                handles.add(target.get(TARGET_FIELD_ID).getAsString());
             }
             return handles;
         } catch (Exception e) {
@@ -287,7 +374,81 @@ public class ChromeDriver implements WebDriver {
      */
     @Override
     public String getWindowHandle() {
-        return currentTargetId;
+        return current.targetId();
+    }
+
+    /**
+     * Opens a new tab, attaches to it over the existing connection and makes it the
+     * current window.
+     *
+     * @return window handle (CDP target ID) of the new tab
+     */
+    public String newWindow() {
+        try {
+            String targetId = browserDomain.createTarget(browserContextId).join()
+                    .get(TARGET_FIELD_ID).getAsString();
+            switchToWindow(targetId);
+            return targetId;
+        } catch (Exception e) {
+            throw new CDPException("Failed to open a new window", e);
+        }
+    }
+
+    /**
+     * Returns the poll counters of this driver's waits (page readiness, network idle and
+     * every element wait of its elements).
+     *
+     * @return wait statistics of the driver's {@link WaitConfig}
+     */
+    public WaitStatistics getWaitStatistics() {
+        return waitConfig.getStatistics();
+    }
+
+    /**
+     * Returns the request interceptor of the current window, used to block, stub or
+     * exempt requests by URL and resource type. Each window has its own rules and
+     * statistics; the interceptor is inactive until {@link RequestInterceptor#enable()}.
+     *
+     * @return interceptor of the current window
+     */
+    public RequestInterceptor getRequestInterceptor() {
+        return current.requestInterceptor();
+    }
+
+    /**
+     * Returns the remote-object counters of the current window: groups opened and
+     * released, and handles still held or leaked in the renderer.
+     *
+     * @return object-group statistics of the current window's Runtime domain
+     */
+    public ObjectGroupStatistics getObjectGroupStatistics() {
+        return current.runtimeDomain().getObjectGroupStatistics();
+    }
+
+    /**
+     * Returns a local snapshot of the current window's document — nodes, attributes, text,
+     * layout boxes and a few computed styles — for querying with no round trips. The
+     * snapshot is reused until the page mutates, then captured again on the next call.
+     *
+     * @return the current document snapshot
+     * @see WaitConfig.Builder#readFromDomSnapshot(boolean)
+     */
+    public DomSnapshot getDomSnapshot() {
+        try {
+            return current.domSnapshots().current();
+        } catch (Exception e) {
+            throw new CDPException("Failed to capture DOM snapshot", e);
+        }
+    }
+
+    /**
+     * Drops the current window's DOM snapshot, so the next read captures the page again.
+     * The driver does this itself after navigating, switching windows and interacting with
+     * elements; call it only after other changes that are not DOM mutations, such as
+     * resizing the window or scrolling from a script.
+     */
+    public void invalidateDomSnapshot() {
+        current.domSnapshots().invalidate();
     }
 
     // ── WebDriver — lifecycle ─────────────────────────────────────────────────
@@ -322,7 +483,7 @@ public class ChromeDriver implements WebDriver {
     // ── Package-visible accessors (used by helper classes) ────────────────────
 
     PageDomain getPageDomain() {
-        return pageDomain;
+        return current.pageDomain();
     }
 
     BrowserDomain getBrowserDomain() {
@@ -330,128 +491,189 @@ public class ChromeDriver implements WebDriver {
     }
 
     RuntimeDomain getRuntimeDomain() {
-        return runtimeDomain;
+        return current.runtimeDomain();
     }
 
     DOMDomain getDomDomain() {
-        return domDomain;
+        return current.domDomain();
     }
 
     NetworkDomain getNetworkDomain() {
-        return networkDomain;
+        return current.networkDomain();
     }
 
     /**
      * Returns the CDP target ID of the currently connected page.
      */
     String getCurrentTargetId() {
-        return currentTargetId;
+        return current.targetId();
+    }
+
+    /**
+     * Makes {@code targetId} the current window, attaching a session to it the first
+     * time, and brings it to the foreground. The attach round trips run outside the
+     * session map; if another thread attached the same window meanwhile, its session
+     * wins and this one is detached.
+     *
+     * @param targetId CDP target ID of a page
+     */
+    void switchToWindow(String targetId) {
+        PageSession session = sessions.get(targetId);
+        if (session == null) {
+            PageSession created = PageSession.attach(browserDomain, connection, targetId, waitConfig);
+            session = sessions.putIfAbsent(targetId, created);
+            if (session == null) {
+                session = created;
+            } else {
+                String redundant = created.session().getSessionId();
+                connection.getCommandManager().removeSession(redundant);
+                browserDomain.detachFromTarget(redundant);
+            }
+        }
+        current = session;
+        // Layout may have changed while the window was in the background
+        session.domSnapshots().invalidate();
+        browserDomain.activateTarget(targetId).join();
+    }
+
+    /** Returns {@code true} until {@link #quit()} or {@link #close()} has been called. */
+    boolean isOpen() {
+        return !closed && connection.isConnected();
     }
 
     // ── Private helpers ───────────────────────────────────────────────────────
 
     /**
-     * Blocks until the page's {@code document.readyState} is {@code "complete"},
-     * meaning the DOM has been fully parsed and all sub-resources have loaded.
+     * Blocks until the current document has reached the configured
+     * {@link WaitConfig#getLoadState() load state}, as reported by
+     * {@code Page.lifecycleEvent}s. Once the milestone has fired this costs no CDP
+     * round trip, so repeated page reads are free until the next navigation.
      *
      * <p>If {@link WaitConfig#isWaitForNetworkIdle()} is enabled, a second pass
      * waits for in-flight network requests to drain before returning.
      *
-     * <p>The polling interval and maximum timeout are taken from the driver's
-     * {@link WaitConfig}, so they respect whatever the caller configured (or the
+     * <p>The maximum timeout is taken from the driver's {@link WaitConfig}, so it
+     * respects whatever the caller configured (or the
      * {@link WaitConfig#defaultConfig() defaults}).
      *
      * @throws TimeoutException if the page does not become ready within the
      *                          configured timeout
      */
     private void waitForPageReady() {
+        PageSession page = current;
         long deadline = System.currentTimeMillis() + waitConfig.getTimeoutMillis();
+        LoadState loadState = waitConfig.getLoadState();
 
-        while (System.currentTimeMillis() < deadline) {
-            try {
-                JsonObject result = runtimeDomain
-                        .evaluate("document.readyState", false).join();
-                String readyState = result.getAsJsonObject("result")
-                        .get("value").getAsString();
-                if ("complete".equals(readyState)) {
-                    // DOM is fully parsed — optionally drain in-flight network requests
-                    if (waitConfig.isWaitForNetworkIdle() && networkMonitor != null) {
-                        waitForNetworkIdleWithDeadline(deadline);
-                    }
-                    return;
-                }
-            } catch (Exception ignored) {
-                // DOM not reachable yet — keep polling
-            }
-
-            try {
-                Thread.sleep(waitConfig.getPollingIntervalMillis());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new TimeoutException(
-                        "Interrupted while waiting for page to be ready");
-            }
+        boolean ready;
+        try {
+            ready = page.navigationTracker().awaitLoadState(loadState, waitConfig.getTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException(
+                    "Interrupted while waiting for page to be ready");
+        }
+        if (!ready) {
+            throw new TimeoutException(
+                    "Page did not reach " + loadState.getEventName() + " within "
+                            + waitConfig.getTimeoutMillis() + " ms");
         }
 
-        throw new TimeoutException(
-                "Page did not reach readyState=complete within "
-                        + waitConfig.getTimeoutMillis() + " ms");
+        // Milestone reached — optionally drain in-flight network requests
+        if (waitConfig.isWaitForNetworkIdle()) {
+            waitForNetworkIdleWithDeadline(page.networkMonitor(), deadline);
+        }
     }
 
     /**
-     * Polls {@link NetworkMonitor#isNetworkIdle} until the network is idle or
-     * {@code deadline} is reached. Uses the same polling interval as the main
-     * wait loop.
+     * Waits on {@link NetworkMonitor#whenIdle} until the network is idle or
+     * {@code deadline} is reached. The monitor's quiet-period timer completes the
+     * wait, so this thread blocks without polling.
      *
-     * @param deadline absolute timestamp (ms) after which a {@link TimeoutException} is thrown
+     * @param networkMonitor monitor of the page being waited on
+     * @param deadline       absolute timestamp (ms) after which a {@link TimeoutException} is thrown
      */
-    private void waitForNetworkIdleWithDeadline(long deadline) {
-        while (System.currentTimeMillis() < deadline) {
-            if (networkMonitor.isNetworkIdle(
-                    waitConfig.getNetworkIdleMaxConnections(),
-                    waitConfig.getNetworkIdleDurationMillis())) {
-                return;
-            }
-            try {
-                Thread.sleep(waitConfig.getPollingIntervalMillis());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new TimeoutException(
-                        "Interrupted while waiting for network idle");
+    private void waitForNetworkIdleWithDeadline(NetworkMonitor networkMonitor, long deadline) {
+        CompletableFuture<Void> idle = networkMonitor.whenIdle(
+                waitConfig.getNetworkIdleMaxConnections(),
+                waitConfig.getNetworkIdleDurationMillis());
+        try {
+            idle.get(Math.max(0L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            throw new TimeoutException(
+                    "Network did not become idle within "
+                            + waitConfig.getTimeoutMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException(
+                    "Interrupted while waiting for network idle");
+        } catch (ExecutionException e) {
+            throw new TimeoutException(
+                    "Network idle wait failed: " + e.getCause().getMessage());
+        } finally {
+            idle.cancel(false);
+        }
+    }
+
+    /** Attaches a session to {@code targetId} and registers it under its window handle. */
+    private PageSession attach(String targetId) {
+        PageSession session = PageSession.attach(browserDomain, connection, targetId, waitConfig);
+        sessions.put(targetId, session);
+        return session;
+    }
+
+    /** Forgets a session that Chrome detached (tab closed or crashed). */
+    private void onDetachedFromTarget(JsonObject params) {
+        if (!params.has(TARGET_FIELD_SESSION_ID)) {
+            return;
+        }
+        String sessionId = params.get(TARGET_FIELD_SESSION_ID).getAsString();
+        sessions.values().removeIf(page -> sessionId.equals(page.session().getSessionId()));
+        connection.getCommandManager().removeSession(sessionId);
+    }
+
+    /**
+     * Returns the {@code page} targets of this driver's browser context.
+     */
+    private List<JsonObject> pageTargets() {
+        JsonArray targets = browserDomain.getTargets().join().getAsJsonArray(TARGET_INFOS_FIELD);
+        List<JsonObject> pages = new ArrayList<>();
+        for (JsonElement el : targets) {
+            JsonObject target = el.getAsJsonObject();
+            if (TARGET_TYPE_PAGE.equals(target.get(TARGET_FIELD_TYPE).getAsString())
+                    && (browserContextId == null || target.has(TARGET_FIELD_CONTEXT_ID)
+                        && browserContextId.equals(target.get(TARGET_FIELD_CONTEXT_ID).getAsString()))) {
+                pages.add(target);
             }
         }
-        throw new TimeoutException(
-                "Network did not become idle within "
-                        + waitConfig.getTimeoutMillis() + " ms");
+        return pages;
     }
 
     /**
-     * Extracts the CDP target ID from the WebSocket debugger URL.
-     *
-     * <p>The URL format is {@code ws://localhost:PORT/devtools/page/TARGET_ID}.
-     *
-     * @param webSocketUrl WebSocket URL returned by the CDP JSON endpoint
-     * @return the target ID segment
-     * @throws IllegalArgumentException if the URL does not contain the expected path
+     * Returns the ID of the first {@code page} target, creating one if the browser has
+     * not opened a tab yet.
      */
-    private static String extractTargetId(String webSocketUrl) {
-        URI uri = URI.create(webSocketUrl);
-        String path = uri.getPath();
-        int idx = path.lastIndexOf(WS_TARGET_PATH_PREFIX);
-        if (idx < 0) {
-            throw new IllegalArgumentException(
-                    "Cannot extract targetId from WebSocket URL: " + webSocketUrl);
+    private String findOrCreatePageTarget() {
+        List<JsonObject> pages = pageTargets();
+        if (!pages.isEmpty()) {
+            return pages.get(0).get(TARGET_FIELD_ID).getAsString();
         }
-        return path.substring(idx + WS_TARGET_PATH_PREFIX.length());
+        return browserDomain.createTarget(browserContextId).join().get(TARGET_FIELD_ID).getAsString();
     }
 
     private void cleanup() {
         if (closed) return;
         closed = true;
 
+        if (launcher == null) {
+            if (connection != null) {
+                releaseContext();
+            }
+            return;
+        }
+
         try {
-            if (wsClient != null && wsClient.isOpen()) {
-                wsClient.close();
+            if (connection != null && connection.isConnected()) {
+                connection.close();
             }
         } catch (Exception ignored) {
         }
@@ -463,4 +685,22 @@ public class ChromeDriver implements WebDriver {
         } catch (Exception ignored) {
         }
     }
+
+    /**
+     * Lets go of a shared connection: forgets this driver's sessions and disposes its
+     * browser context, which closes the context's windows. The connection stays open.
+     */
+    private void releaseContext() {
+        connection.unsubscribeFromEvent(EVENT_DETACHED_FROM_TARGET, detachedHandler);
+        sessions.values().forEach(page ->
+                connection.getCommandManager().removeSession(page.session().getSessionId()));
+        sessions.clear();
+
+        try {
+            if (browserContextId != null && browserDomain != null && connection.isConnected()) {
+                browserDomain.disposeBrowserContext(browserContextId).join();
+            }
+        } catch (Exception ignored) {
+        }
+    }
 }
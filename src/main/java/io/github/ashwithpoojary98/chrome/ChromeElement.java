@@ -3,6 +3,7 @@ package io.github.ashwithpoojary98.chrome;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import io.github.ashwithpoojary98.By;
 import io.github.ashwithpoojary98.Dimension;
 import io.github.ashwithpoojary98.Point;
@@ -11,8 +12,10 @@ import io.github.ashwithpoojary98.WebElement;
 import io.github.ashwithpoojary98.cdp.domain.CSSDomain;
 import io.github.ashwithpoojary98.cdp.domain.DOMDomain;
 import io.github.ashwithpoojary98.cdp.domain.InputDomain;
+import io.github.ashwithpoojary98.cdp.domain.ObjectGroup;
 import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
 import io.github.ashwithpoojary98.exception.ElementNotFoundException;
+import io.github.ashwithpoojary98.exception.InvalidSelectorException;
 import io.github.ashwithpoojary98.network.NetworkMonitor;
 import io.github.ashwithpoojary98.wait.AutoWaitEngine;
 import io.github.ashwithpoojary98.wait.ElementWaitConditions;
@@ -22,6 +25,8 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * CDP-backed implementation of {@link WebElement}.
@@ -30,6 +35,14 @@ import java.util.List;
  * reach the required state via {@link AutoWaitEngine}, then resolves the live DOM
  * node through a fresh CDP call — so stale element exceptions cannot occur.
  *
+ * <p>With {@link WaitConfig#isCacheElementHandles()} the element instead binds to the node
+ * (its node ID and {@code backendNodeId}) it first resolves to and reuses it with zero
+ * extra round trips. The binding is checked against {@link DOMDomain}'s generation
+ * counters: after a node removal somewhere in the document one {@code isConnected} call
+ * revalidates it, after a document reset the {@code backendNodeId} is mapped to the new
+ * document, and a command that fails on the cached node is retried once through the
+ * locator.
+ *
  * <h3>Design notes</h3>
  * <ul>
  *   <li>No magic numbers: all timeouts and index constants are named.</li>
@@ -37,6 +50,8 @@ import java.util.List;
  *       events ({@code input}, {@code change}), making it compatible with React,
  *       Vue, and Angular forms.</li>
  *   <li>The scroll-stability loop sleeps between polls — never a CPU spin-wait.</li>
+ *   <li>Every remote object an action creates lives in one {@link ObjectGroup},
+ *       released by a single command even when the action fails.</li>
  * </ul>
  */
 public class ChromeElement implements WebElement {
@@ -69,6 +84,12 @@ public class ChromeElement implements WebElement {
     private static final int BOX_X_BOTTOM_RIGHT = 4;
     private static final int BOX_Y_BOTTOM_RIGHT = 5;
 
+    /** Indices into the {@code [x, y, width, height]} array of {@link #SCRIPT_GET_BORDER_BOX}. */
+    private static final int RECT_X = 0;
+    private static final int RECT_Y = 1;
+    private static final int RECT_WIDTH = 2;
+    private static final int RECT_HEIGHT = 3;
+
     // ── JS scripts (constants to avoid duplication) ───────────────────────────
 
     /**
@@ -88,26 +109,27 @@ public class ChromeElement implements WebElement {
                     "}";
 
     private static final String SCRIPT_GET_TEXT = "function() { return this.textContent; }";
+    private static final String SCRIPT_IS_CONNECTED = "function() { return this.isConnected; }";
+    /** Border box relative to the document, as the JSON array {@code [x, y, width, height]}. */
+    private static final String SCRIPT_GET_BORDER_BOX =
+            "function() { var r = this.getBoundingClientRect();"
+                    + " return JSON.stringify([r.left + window.scrollX, r.top + window.scrollY, r.width, r.height]); }";
     private static final String SCRIPT_IS_VISIBLE =
             "function() { return !!(this.offsetWidth || this.offsetHeight || this.getClientRects().length); }";
 
     // ── CDP JSON keys ─────────────────────────────────────────────────────────
 
-    private static final String KEY_ROOT     = "root";
     private static final String KEY_NODE_ID  = "nodeId";
     private static final String KEY_NODE_IDS = "nodeIds";
     private static final String KEY_NODE_NAME = "nodeName";
     private static final String KEY_NODE = "node";
-    private static final String KEY_OBJECT = "object";
-    private static final String KEY_OBJECT_ID = "objectId";
+    private static final String KEY_BACKEND_NODE_ID = "backendNodeId";
     private static final String KEY_RESULT = "result";
     private static final String KEY_VALUE = "value";
-    private static final String KEY_TYPE = "type";
     private static final String KEY_MODEL = "model";
     private static final String KEY_CONTENT = "content";
     private static final String KEY_NAME = "name";
 
-    private static final String TYPE_OBJECT = "object";
     private static final String ATTR_CHECKED = "checked";
     private static final String ATTR_DISABLED = "disabled";
     private static final String CSS_DISPLAY = "display";
@@ -117,6 +139,10 @@ public class ChromeElement implements WebElement {
     private static final String CSS_VISIBILITY_HIDDEN = "hidden";
     private static final String CSS_OPACITY_ZERO = "0";
 
+    /** Protocol error texts meaning a node ID no longer refers to a node. */
+    private static final List<String> STALE_NODE_ERRORS =
+            List.of("No node with given id", "Could not find node");
+
     // ─────────────────────────────────────────────────────────────────────────
 
     private final By locator;
@@ -127,23 +153,46 @@ public class ChromeElement implements WebElement {
     private final WaitConfig waitConfig;
     private final NetworkMonitor networkMonitor;
     private final AutoWaitEngine autoWaitEngine;
+    /** Page-side runtime resolving non-CSS locators and evaluating actionability. */
+    private final LocatorEngine locatorEngine;
+    /** Run after every interaction, which may change the page without a DOM mutation. */
+    private final Runnable pageChanged;
 
-    // ── Constructors ──────────────────────────────────────────────────────────
+    /** Node this element is bound to in handle mode; {@code null} until resolved or once stale. */
+    private volatile NodeHandle handle;
 
-    public ChromeElement(By locator, DOMDomain domDomain, RuntimeDomain runtimeDomain,
-                         InputDomain inputDomain, CSSDomain cssDomain) {
-        this(locator, domDomain, runtimeDomain, inputDomain, cssDomain,
-                WaitConfig.defaultConfig(), null);
-    }
+    /**
+     * A resolved node together with the {@link DOMDomain} generations it was valid for.
+     * The {@code backendNodeId} is fetched in the background and only waited for when the
+     * document was reset.
+     */
+    private record NodeHandle(int nodeId, CompletableFuture<Integer> backendNodeId,
+                              long documentGeneration, long removalGeneration) { }
 
-    public ChromeElement(By locator, DOMDomain domDomain, RuntimeDomain runtimeDomain,
-                         InputDomain inputDomain, CSSDomain cssDomain, WaitConfig waitConfig) {
-        this(locator, domDomain, runtimeDomain, inputDomain, cssDomain, waitConfig, null);
+    /** Work on a resolved node that may be retried once if the node turns out stale. */
+    @FunctionalInterface
+    private interface NodeAction<T> {
+        T apply(int nodeId) throws Exception;
     }
 
+    // ── Constructors ──────────────────────────────────────────────────────────
+
     public ChromeElement(By locator, DOMDomain domDomain, RuntimeDomain runtimeDomain,
                          InputDomain inputDomain, CSSDomain cssDomain,
-                         WaitConfig waitConfig, NetworkMonitor networkMonitor) {
+                         WaitConfig waitConfig, NetworkMonitor networkMonitor,
+                         LocatorEngine locatorEngine) {
+        this(locator, domDomain, runtimeDomain, inputDomain, cssDomain, waitConfig, networkMonitor,
+                locatorEngine, () -> { });
+    }
+
+    /**
+     * @param pageChanged run after each click, key input, clear or submit, e.g. to drop a
+     *                    {@link DomSnapshotBackend} snapshot those may have outdated
+     */
+    ChromeElement(By locator, DOMDomain domDomain, RuntimeDomain runtimeDomain,
+                  InputDomain inputDomain, CSSDomain cssDomain,
+                  WaitConfig waitConfig, NetworkMonitor networkMonitor,
+                  LocatorEngine locatorEngine, Runnable pageChanged) {
         this.locator = locator;
         this.domDomain = domDomain;
         this.runtimeDomain = runtimeDomain;
@@ -151,9 +200,11 @@ public class ChromeElement implements WebElement {
         this.cssDomain = cssDomain;
         this.waitConfig = waitConfig;
         this.networkMonitor = networkMonitor;
+        this.locatorEngine = Objects.requireNonNull(locatorEngine, "locatorEngine");
+        this.pageChanged = pageChanged;
 
         ElementWaitConditions conditions =
-                new ElementWaitConditions(domDomain, cssDomain, runtimeDomain);
+                new ElementWaitConditions(locatorEngine);
         this.autoWaitEngine = new AutoWaitEngine(conditions, waitConfig, networkMonitor);
     }
 
@@ -163,12 +214,11 @@ public class ChromeElement implements WebElement {
     public void click() {
         autoWaitEngine.waitForElementClickable(locator);
         try {
-            int nodeId = resolveNodeId();
-            domDomain.scrollIntoViewIfNeeded(nodeId).join();
-            waitForScrollStability(nodeId);
-
-            JsonObject boxModel = domDomain.getBoxModel(nodeId).join();
-            double[] center = extractCenter(boxModel);
+            double[] center = onNode(nodeId -> {
+                domDomain.scrollIntoViewIfNeeded(nodeId).join();
+                waitForScrollStability(nodeId);
+                return extractCenter(domDomain.getBoxModel(nodeId).join());
+            });
 
             inputDomain.click(center[0], center[1]).join();
             log.debug("Clicked {} at ({}, {})", locator, center[0], center[1]);
@@ -176,6 +226,8 @@ public class ChromeElement implements WebElement {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to click element: " + locator, e);
+        } finally {
+            pageChanged.run();
         }
     }
 
@@ -196,14 +248,15 @@ public class ChromeElement implements WebElement {
                 return;
             }
 
-            int nodeId = resolveNodeId();
-            domDomain.focus(nodeId).join();
+            onNode(nodeId -> domDomain.focus(nodeId).join());
             inputDomain.insertText(text.toString()).join();
             log.debug("Sent {} char(s) to {}", text.length(), locator);
         } catch (ElementNotFoundException e) {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to send keys to element: " + locator, e);
+        } finally {
+            pageChanged.run();
         }
     }
 
@@ -211,32 +264,39 @@ public class ChromeElement implements WebElement {
     public void clear() {
         autoWaitEngine.waitForElementInteractable(locator);
         try {
-            int nodeId = resolveNodeId();
-            String objId = resolveObjectId(nodeId);
-            runtimeDomain.callFunctionOn(objId, SCRIPT_CLEAR_INPUT, null).join();
-            runtimeDomain.releaseObject(objId).join();
+            onNode(nodeId -> {
+                try (ObjectGroup group = runtimeDomain.openObjectGroup()) {
+                    String objId = group.resolveNode(nodeId).join();
+                    return group.callFunctionOn(objId, SCRIPT_CLEAR_INPUT).join();
+                }
+            });
             log.debug("Cleared {}", locator);
         } catch (ElementNotFoundException e) {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to clear element: " + locator, e);
+        } finally {
+            pageChanged.run();
         }
     }
 
     @Override
     public void submit() {
         try {
-            int nodeId = resolveNodeId();
-            String objId = resolveObjectId(nodeId);
-            runtimeDomain.callFunctionOn(
-                    objId,
-                    "function() { this.form ? this.form.submit() : this.submit(); }",
-                    null).join();
-            runtimeDomain.releaseObject(objId).join();
+            onNode(nodeId -> {
+                try (ObjectGroup group = runtimeDomain.openObjectGroup()) {
+                    String objId = group.resolveNode(nodeId).join();
+                    return group.callFunctionOn(
+                            objId,
+                            "function() { this.form ? this.form.submit() : this.submit(); }").join();
+                }
+            });
         } catch (ElementNotFoundException e) {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to submit element: " + locator, e);
+        } finally {
+            pageChanged.run();
         }
     }
 
@@ -245,8 +305,7 @@ public class ChromeElement implements WebElement {
     @Override
     public String getTagName() {
         try {
-            int nodeId = resolveNodeId();
-            JsonObject result = domDomain.describeNode(nodeId, 0).join();
+            JsonObject result = onNode(nodeId -> domDomain.describeNode(nodeId, 0).join());
             return result.getAsJsonObject(KEY_NODE).get(KEY_NODE_NAME).getAsString().toLowerCase();
         } catch (ElementNotFoundException e) {
             throw e;
@@ -258,8 +317,7 @@ public class ChromeElement implements WebElement {
     @Override
     public String getAttribute(String name) {
         try {
-            int nodeId = resolveNodeId();
-            JsonObject result = domDomain.getAttributes(nodeId).join();
+            JsonObject result = onNode(nodeId -> domDomain.getAttributes(nodeId).join());
             JsonArray attrs = result.getAsJsonArray("attributes");
 
             for (int i = 0; i < attrs.size() - 1; i += 2) {
@@ -297,11 +355,12 @@ public class ChromeElement implements WebElement {
     public String getText() {
         autoWaitEngine.waitForElementVisible(locator);
         try {
-            int nodeId = resolveNodeId();
-            String objId = resolveObjectId(nodeId);
-
-            JsonObject result = runtimeDomain.callFunctionOn(objId, SCRIPT_GET_TEXT, null).join();
-            runtimeDomain.releaseObject(objId).join();
+            JsonObject result = onNode(nodeId -> {
+                try (ObjectGroup group = runtimeDomain.openObjectGroup()) {
+                    String objId = group.resolveNode(nodeId).join();
+                    return group.callFunctionOn(objId, SCRIPT_GET_TEXT).join();
+                }
+            });
 
             JsonObject resultObj = result.getAsJsonObject(KEY_RESULT);
             return resultObj.has(KEY_VALUE) ? resultObj.get(KEY_VALUE).getAsString() : "";
@@ -329,45 +388,43 @@ public class ChromeElement implements WebElement {
 
     @Override
     public Point getLocation() {
-        try {
-            int nodeId = resolveNodeId();
-            JsonObject model = extractBoxModel(nodeId);
-            JsonArray content = model.getAsJsonArray(KEY_CONTENT);
-            return new Point(
-                    content.get(BOX_X_TOP_LEFT).getAsInt(),
-                    content.get(BOX_Y_TOP_LEFT).getAsInt());
-        } catch (Exception e) {
-            return new Point(0, 0);
-        }
+        return getRect().getPoint();
     }
 
     @Override
     public Dimension getSize() {
-        try {
-            int nodeId = resolveNodeId();
-            JsonObject model = extractBoxModel(nodeId);
-            JsonArray content = model.getAsJsonArray(KEY_CONTENT);
-
-            int width = content.get(BOX_X_BOTTOM_RIGHT).getAsInt()
-                    - content.get(BOX_X_TOP_LEFT).getAsInt();
-            int height = content.get(BOX_Y_BOTTOM_RIGHT).getAsInt()
-                    - content.get(BOX_Y_TOP_LEFT).getAsInt();
-            return new Dimension(width, height);
-        } catch (Exception e) {
-            return new Dimension(0, 0);
-        }
+        return getRect().getDimension();
     }
 
+    /**
+     * Returns the border box in CSS pixels relative to the document, rounded to whole
+     * pixels — the geometry a DOM snapshot reports for the same element.
+     */
     @Override
     public Rectangle getRect() {
-        return new Rectangle(getLocation(), getSize());
+        try {
+            JsonObject result = onNode(nodeId -> {
+                try (ObjectGroup group = runtimeDomain.openObjectGroup()) {
+                    String objId = group.resolveNode(nodeId).join();
+                    return group.callFunctionOn(objId, SCRIPT_GET_BORDER_BOX).join();
+                }
+            });
+            JsonArray box = JsonParser.parseString(
+                    result.getAsJsonObject(KEY_RESULT).get(KEY_VALUE).getAsString()).getAsJsonArray();
+            return new Rectangle(
+                    (int) Math.round(box.get(RECT_X).getAsDouble()),
+                    (int) Math.round(box.get(RECT_Y).getAsDouble()),
+                    (int) Math.round(box.get(RECT_HEIGHT).getAsDouble()),
+                    (int) Math.round(box.get(RECT_WIDTH).getAsDouble()));
+        } catch (Exception e) {
+            return new Rectangle(0, 0, 0, 0);
+        }
     }
 
     @Override
     public String getCssValue(String propertyName) {
         try {
-            int nodeId = resolveNodeId();
-            JsonObject result = cssDomain.getComputedStyleForNode(nodeId).join();
+            JsonObject result = onNode(nodeId -> cssDomain.getComputedStyleForNode(nodeId).join());
             JsonArray computedStyle = result.getAsJsonArray("computedStyle");
 
             for (JsonElement el : computedStyle) {
@@ -398,400 +455,198 @@ public class ChromeElement implements WebElement {
     @Override
     public WebElement findElement(By by) {
         return new ChromeElement(By.chained(this.locator, by), domDomain, runtimeDomain,
-                inputDomain, cssDomain, waitConfig, networkMonitor);
+                inputDomain, cssDomain, waitConfig, networkMonitor, locatorEngine, pageChanged);
     }
 
     /**
      * Finds all child elements matching {@code by} scoped within this element.
      *
-     * <p>Returns an empty list (never throws) when no matches are found.
+     * <p>Returns an empty list when no matches are found.
+     *
+     * @throws InvalidSelectorException if {@code by} is not a valid selector
      */
     @Override
     public List<WebElement> findElements(By by) {
         try {
-            int parentNodeId = resolveNodeId();
-            return findAllChildElements(parentNodeId, by);
+            return onNode(parentNodeId -> findAllChildElements(parentNodeId, by));
+        } catch (InvalidSelectorException e) {
+            throw e;
         } catch (Exception e) {
             return new ArrayList<>();
         }
     }
 
     private List<WebElement> findAllChildElements(int parentNodeId, By childBy) {
-        try {
-            String cssSelector = childBy.toCssSelector();
-            if (cssSelector != null) {
-                JsonObject r = domDomain.querySelectorAll(parentNodeId, cssSelector).join();
-                JsonArray nodeIds = r.getAsJsonArray(KEY_NODE_IDS);
-                List<WebElement> elements = new ArrayList<>();
-                if (nodeIds != null) {
-                    By scopedBy = By.chained(this.locator, childBy);
-                    for (int i = 0; i < nodeIds.size(); i++) {
-                        elements.add(new ChromeElement(By.index(scopedBy, i), domDomain,
-                                runtimeDomain, inputDomain, cssDomain, waitConfig, networkMonitor));
-                    }
-                }
-                return elements;
-            }
-
-            if (childBy.isXPath()) {
-                String objId = resolveObjectId(parentNodeId);
-                try {
-                    String escaped = childBy.getSelector()
-                            .replace("\\", "\\\\").replace("'", "\\'");
-                    String countScript = "function() { return document.evaluate('"
-                            + escaped + "', this, null, "
-                            + "XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength; }";
-                    JsonObject countResult = runtimeDomain
-                            .callFunctionOn(objId, countScript, null).join();
-                    int count = countResult.getAsJsonObject(KEY_RESULT)
-                            .get(KEY_VALUE).getAsInt();
-                    By scopedBy = By.chained(this.locator, childBy);
-                    List<WebElement> elements = new ArrayList<>();
-                    for (int i = 0; i < count; i++) {
-                        elements.add(new ChromeElement(By.index(scopedBy, i), domDomain,
-                                runtimeDomain, inputDomain, cssDomain, waitConfig, networkMonitor));
-                    }
-                    return elements;
-                } finally {
-                    try { runtimeDomain.releaseObject(objId).join(); } catch (Exception ignored) {}
-                }
-            }
+        By scopedBy = By.chained(this.locator, childBy);
+        int count;
+        String cssSelector = childBy.toCssSelector();
+        if (cssSelector != null) {
+            JsonObject r = domDomain.querySelectorAll(parentNodeId, cssSelector).join();
+            JsonArray nodeIds = r.getAsJsonArray(KEY_NODE_IDS);
+            count = nodeIds != null ? nodeIds.size() : 0;
+        } else {
+            // XPath, link text, mixed chains and indexed locators: one count in the page
+            count = locatorEngine.count(scopedBy);
+        }
 
-            return new ArrayList<>();
-        } catch (Exception e) {
-            return new ArrayList<>();
+        List<WebElement> elements = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            elements.add(new ChromeElement(By.index(scopedBy, i), domDomain,
+                    runtimeDomain, inputDomain, cssDomain, waitConfig, networkMonitor, locatorEngine,
+                    pageChanged));
         }
+        return elements;
     }
 
     // ── Private helpers ───────────────────────────────────────────────────────
 
     /**
-     * Resolves the live DOM node ID for this element's locator.
-     *
-     * <p>Dispatches to specialised helpers for {@link By.ByIndex} and
-     * non-CSS {@link By.ByChained} locators; all other locators are resolved
-     * directly via CSS ({@code DOM.querySelector}) or XPath.
-     *
-     * @return node ID (always &gt; 0)
-     * @throws ElementNotFoundException if the element cannot be found
+     * Runs {@code action} on this element's node. In handle mode, if the cached node has
+     * gone stale, the binding is dropped and the action runs once more on the node the
+     * locator resolves to now. Any other failure is rethrown, so an action that already
+     * took effect is never repeated.
      */
-    private int resolveNodeId() {
-        // ByIndex: find the nth element among all matches
-        if (locator instanceof By.ByIndex) {
-            return resolveIndexedNode((By.ByIndex) locator);
-        }
-
-        try {
-            // CSS path (also handles CSS-combinable ByChained transparently)
-            String cssSelector = locator.toCssSelector();
-            if (cssSelector != null) {
-                JsonObject docResult = domDomain.getDocument().join();
-                int documentNode = docResult.getAsJsonObject(KEY_ROOT)
-                        .get(KEY_NODE_ID).getAsInt();
-                JsonObject r = domDomain.querySelector(documentNode, cssSelector).join();
-                int nodeId = r.get(KEY_NODE_ID).getAsInt();
-                if (nodeId == 0) {
-                    throw new ElementNotFoundException("Element not found: " + locator);
+    private <T> T onNode(NodeAction<T> action) throws Exception {
+        int cached = cachedNodeId();
+        if (cached > 0) {
+            try {
+                return action.apply(cached);
+            } catch (Exception e) {
+                if (!isStaleNode(e)) {
+                    throw e;
                 }
-                return nodeId;
+                log.debug("Cached node {} of {} is stale, re-resolving: {}", cached, locator, e.getMessage());
+                handle = null;
             }
-
-            // XPath path
-            if (locator.isXPath()) {
-                return resolveNodeIdByXPath(locator.getSelector());
-            }
-
-            // Mixed ByChained (non-CSS-combinable): step-by-step resolution
-            if (locator instanceof By.ByChained) {
-                return resolveChainedNode((By.ByChained) locator);
-            }
-
-            throw new UnsupportedOperationException(
-                    "Unsupported locator type: " + locator.getClass().getSimpleName());
-        } catch (ElementNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ElementNotFoundException("Failed to locate element: " + locator, e);
         }
+        return action.apply(resolveNodeId());
     }
 
     /**
-     * Resolves a {@link By.ByIndex} locator by querying all matches for the
-     * parent locator and returning the node ID at the requested position.
+     * Returns whether {@code failure}, or any of its causes, is the protocol reporting
+     * that a node ID no longer refers to a node.
      */
-    private int resolveIndexedNode(By.ByIndex byIndex) {
-        By parent = byIndex.getParent();
-        int index  = byIndex.getIndex();
-
-        try {
-            // CSS-based parent (including CSS-combinable ByChained)
-            String cssSelector = parent.toCssSelector();
-            if (cssSelector != null) {
-                JsonObject docResult = domDomain.getDocument().join();
-                int documentNode = docResult.getAsJsonObject(KEY_ROOT)
-                        .get(KEY_NODE_ID).getAsInt();
-                JsonObject r = domDomain.querySelectorAll(documentNode, cssSelector).join();
-                JsonArray nodeIds = r.getAsJsonArray(KEY_NODE_IDS);
-                if (nodeIds == null || index >= nodeIds.size()) {
-                    throw new ElementNotFoundException("Index " + index + " out of bounds ("
-                            + (nodeIds == null ? 0 : nodeIds.size())
-                            + " matches) for: " + parent);
-                }
-                return nodeIds.get(index).getAsInt();
+    private static boolean isStaleNode(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (message != null && STALE_NODE_ERRORS.stream().anyMatch(message::contains)) {
+                return true;
             }
-
-            // XPath-based parent: use positional predicate (XPath is 1-based)
-            if (parent.isXPath()) {
-                String xpath = "(" + parent.getSelector() + ")[" + (index + 1) + "]";
-                return resolveNodeIdByXPath(xpath);
-            }
-
-            // Mixed ByChained parent: resolve context up to penultimate By, then
-            // find the nth child using the last By within that context
-            if (parent instanceof By.ByChained) {
-                By[] bys = ((By.ByChained) parent).getBys();
-                int contextNodeId = resolveChainedToContext(bys);
-                return resolveNthInContext(contextNodeId, bys[bys.length - 1], index);
-            }
-
-            throw new UnsupportedOperationException(
-                    "Unsupported parent locator type for By.index: "
-                            + parent.getClass().getSimpleName());
-        } catch (ElementNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ElementNotFoundException(
-                    "Failed to resolve indexed element: " + byIndex, e);
         }
+        return false;
     }
 
     /**
-     * Resolves a mixed (non-CSS-combinable) {@link By.ByChained} locator
-     * step-by-step: first By against the document, subsequent Bys scoped to
-     * the node found by the prior step.
+     * Resolves the live DOM node ID for this element, reusing the bound node in handle
+     * mode while it is still valid and binding to the located node otherwise.
+     *
+     * @return node ID (always &gt; 0)
+     * @throws ElementNotFoundException if the element cannot be found
      */
-    private int resolveChainedNode(By.ByChained chained) {
-        By[] bys = chained.getBys();
-        int nodeId = new ChromeElement(bys[0], domDomain, runtimeDomain,
-                inputDomain, cssDomain, waitConfig, networkMonitor).resolveNodeId();
-        for (int i = 1; i < bys.length; i++) {
-            nodeId = resolveWithContext(nodeId, bys[i]);
+    private int resolveNodeId() {
+        if (!waitConfig.isCacheElementHandles()) {
+            return locateNodeId();
         }
-        return nodeId;
-    }
-
-    /**
-     * Resolves the first {@code bys.length - 1} entries of a chain and returns
-     * the resulting node ID, which serves as context for finding the last By's
-     * matches.
-     */
-    private int resolveChainedToContext(By[] bys) {
-        int nodeId = new ChromeElement(bys[0], domDomain, runtimeDomain,
-                inputDomain, cssDomain, waitConfig, networkMonitor).resolveNodeId();
-        for (int i = 1; i < bys.length - 1; i++) {
-            nodeId = resolveWithContext(nodeId, bys[i]);
+        int cached = cachedNodeId();
+        if (cached > 0) {
+            return cached;
         }
+        // Read the generations first so a mutation during the lookup invalidates the binding
+        long documentGeneration = domDomain.getDocumentGeneration();
+        long removalGeneration  = domDomain.getRemovalGeneration();
+        int nodeId = locateNodeId();
+        CompletableFuture<Integer> backendNodeId = domDomain.describeNode(nodeId, 0)
+                .thenApply(r -> r.getAsJsonObject(KEY_NODE).get(KEY_BACKEND_NODE_ID).getAsInt());
+        handle = new NodeHandle(nodeId, backendNodeId, documentGeneration, removalGeneration);
         return nodeId;
     }
 
     /**
-     * Resolves a single {@code By} scoped to {@code contextNodeId} (i.e. the
-     * search is limited to descendants of that node).
+     * Returns the bound node's ID if it is still attached, revalidating it only when the
+     * document changed since it was bound; drops the binding and returns {@code 0} otherwise.
      */
-    private int resolveWithContext(int contextNodeId, By by) {
-        String cssSelector = by.toCssSelector();
-        if (cssSelector != null) {
-            try {
-                JsonObject r = domDomain.querySelector(contextNodeId, cssSelector).join();
-                int nodeId = r.get(KEY_NODE_ID).getAsInt();
-                if (nodeId == 0) {
-                    throw new ElementNotFoundException(
-                            "Element not found within context: " + by);
-                }
-                return nodeId;
-            } catch (ElementNotFoundException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new ElementNotFoundException(
-                        "Failed to find element in context: " + by, e);
-            }
+    private int cachedNodeId() {
+        NodeHandle bound = handle;
+        if (bound == null || !waitConfig.isCacheElementHandles()) {
+            return 0;
         }
-
-        if (by.isXPath()) {
-            String objectId = resolveObjectId(contextNodeId);
-            try {
-                return resolveNodeByXPathInContext(objectId, by.getSelector());
-            } finally {
-                try { runtimeDomain.releaseObject(objectId).join(); } catch (Exception ignored) {}
-            }
+        long documentGeneration = domDomain.getDocumentGeneration();
+        long removalGeneration  = domDomain.getRemovalGeneration();
+        if (bound.documentGeneration() == documentGeneration
+                && bound.removalGeneration() == removalGeneration) {
+            return bound.nodeId();
         }
 
-        throw new UnsupportedOperationException(
-                "Unsupported locator in chained resolution: "
-                        + by.getClass().getSimpleName());
-    }
-
-    /**
-     * Evaluates an XPath expression with {@code contextObjectId} as the context
-     * node (i.e. {@code this} in the script) and returns the first matching
-     * node's ID.
-     */
-    private int resolveNodeByXPathInContext(String contextObjectId, String xpath) {
-        String escaped = xpath.replace("\\", "\\\\").replace("'", "\\'");
-        String script = "function() { "
-                + "var r = document.evaluate('" + escaped + "', this, null, "
-                + "XPathResult.FIRST_ORDERED_NODE_TYPE, null); "
-                + "return r.singleNodeValue; }";
+        int nodeId = 0;
         try {
-            JsonObject result = runtimeDomain
-                    .callFunctionOn(contextObjectId, script, null).join();
-            JsonObject resultObj = result.getAsJsonObject(KEY_RESULT);
-            if (TYPE_OBJECT.equals(resultObj.get(KEY_TYPE).getAsString())
-                    && resultObj.has(KEY_OBJECT_ID)) {
-                String objId = resultObj.get(KEY_OBJECT_ID).getAsString();
-                JsonObject nodeRes = domDomain.requestNode(objId).join();
-                int nodeId = nodeRes.get(KEY_NODE_ID).getAsInt();
-                runtimeDomain.releaseObject(objId).join();
-                if (nodeId == 0) {
-                    throw new ElementNotFoundException(
-                            "XPath returned no node in context: " + xpath);
-                }
-                return nodeId;
+            nodeId = bound.nodeId();
+            if (bound.documentGeneration() != documentGeneration) {
+                // Node IDs of the old document are void; look the node up by its backend ID
+                domDomain.getDocumentNodeId().join();
+                nodeId = domDomain.pushNodeByBackendId(bound.backendNodeId().join()).join();
             }
-            throw new ElementNotFoundException(
-                    "XPath matched no element in context: " + xpath);
-        } catch (ElementNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ElementNotFoundException(
-                    "Failed to resolve XPath in context: " + xpath, e);
-        }
-    }
-
-    /**
-     * Returns the node ID of the {@code index}-th (0-based) element matching
-     * {@code by} within the subtree rooted at {@code contextNodeId}.
-     */
-    private int resolveNthInContext(int contextNodeId, By by, int index) {
-        String css = by.toCssSelector();
-        if (css != null) {
-            try {
-                JsonObject r = domDomain.querySelectorAll(contextNodeId, css).join();
-                JsonArray nodeIds = r.getAsJsonArray(KEY_NODE_IDS);
-                if (nodeIds == null || index >= nodeIds.size()) {
-                    throw new ElementNotFoundException("Index " + index + " out of bounds ("
-                            + (nodeIds == null ? 0 : nodeIds.size())
-                            + " matches) for: " + by);
-                }
-                return nodeIds.get(index).getAsInt();
-            } catch (ElementNotFoundException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new ElementNotFoundException(
-                        "Failed to find nth element in context: " + by, e);
+            if (nodeId != 0 && !isConnected(nodeId)) {
+                nodeId = 0;
             }
+        } catch (Exception e) {
+            nodeId = 0;
         }
-
-        if (by.isXPath()) {
-            String objId = resolveObjectId(contextNodeId);
-            try {
-                return resolveNthByXPathInContext(objId, by.getSelector(), index);
-            } finally {
-                try { runtimeDomain.releaseObject(objId).join(); } catch (Exception ignored) {}
-            }
+        handle = nodeId != 0
+                ? new NodeHandle(nodeId, bound.backendNodeId(), documentGeneration, removalGeneration)
+                : null;
+        if (nodeId == 0) {
+            log.debug("Bound node of {} is stale, falling back to the locator", locator);
         }
-
-        throw new UnsupportedOperationException(
-                "Unsupported locator in context resolution: "
-                        + by.getClass().getSimpleName());
+        return nodeId;
     }
 
-    /**
-     * Evaluates an XPath snapshot relative to {@code contextObjectId} and
-     * returns the node ID of the element at position {@code index} (0-based).
-     */
-    private int resolveNthByXPathInContext(String contextObjectId, String xpath, int index) {
-        String escaped = xpath.replace("\\", "\\\\").replace("'", "\\'");
-        String script = "function() { "
-                + "var snap = document.evaluate('" + escaped + "', this, null, "
-                + "XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null); "
-                + "return snap.snapshotLength > " + index
-                + " ? snap.snapshotItem(" + index + ") : null; }";
-        try {
-            JsonObject result = runtimeDomain
-                    .callFunctionOn(contextObjectId, script, null).join();
-            JsonObject resultObj = result.getAsJsonObject(KEY_RESULT);
-            if (TYPE_OBJECT.equals(resultObj.get(KEY_TYPE).getAsString())
-                    && resultObj.has(KEY_OBJECT_ID)) {
-                String objId = resultObj.get(KEY_OBJECT_ID).getAsString();
-                JsonObject nodeRes = domDomain.requestNode(objId).join();
-                int nodeId = nodeRes.get(KEY_NODE_ID).getAsInt();
-                runtimeDomain.releaseObject(objId).join();
-                if (nodeId == 0) {
-                    throw new ElementNotFoundException(
-                            "XPath snapshot item was null: " + xpath);
-                }
-                return nodeId;
-            }
-            throw new ElementNotFoundException(
-                    "XPath returned null at index " + index + ": " + xpath);
-        } catch (ElementNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ElementNotFoundException(
-                    "Failed to resolve XPath[" + index + "] in context: " + xpath, e);
-        }
+    private boolean isConnected(int nodeId) {
+        JsonObject result = runtimeDomain.callFunctionOnNode(nodeId, SCRIPT_IS_CONNECTED).join();
+        JsonObject resultObj = result.getAsJsonObject(KEY_RESULT);
+        return resultObj.has(KEY_VALUE) && resultObj.get(KEY_VALUE).getAsBoolean();
     }
 
     /**
-     * Resolves a DOM node ID by evaluating an XPath expression via the Runtime domain.
+     * Resolves the live DOM node ID for this element's locator.
+     *
+     * <p>CSS locators are resolved with {@code DOM.querySelector}, all others with one
+     * call into the {@link LocatorEngine}, whatever their shape. A stale cached document
+     * root is dropped and the query retried once against the current one.
      *
-     * @param xpath XPath expression
-     * @return node ID
-     * @throws ElementNotFoundException if no node matches
+     * @return node ID (always &gt; 0)
+     * @throws ElementNotFoundException if the element cannot be found
      */
-    private int resolveNodeIdByXPath(String xpath) {
+    private int locateNodeId() {
+        String cssSelector = locator.toCssSelector();
         try {
-            // Use a parameterised approach to avoid XPath-in-JS injection issues
-            String escaped = xpath.replace("\\", "\\\\").replace("'", "\\'");
-            String script = "document.evaluate('" + escaped + "', document, null, "
-                    + "XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue";
-
-            JsonObject result = runtimeDomain.evaluate(script, false).join();
-            JsonObject resultObj = result.getAsJsonObject(KEY_RESULT);
-
-            if (TYPE_OBJECT.equals(resultObj.get(KEY_TYPE).getAsString())
-                    && resultObj.has(KEY_OBJECT_ID)) {
-                String objectId = resultObj.get(KEY_OBJECT_ID).getAsString();
-                JsonObject nodeRes = domDomain.requestNode(objectId).join();
-                int nodeId = nodeRes.get(KEY_NODE_ID).getAsInt();
-                runtimeDomain.releaseObject(objectId).join();
-
-                if (nodeId == 0) {
-                    throw new ElementNotFoundException("XPath returned no node: " + xpath);
+            if (cssSelector == null) {
+                return locatorEngine.queryNodeId(locator);
+            }
+            int documentNode = domDomain.getDocumentNodeId().join();
+            JsonObject r;
+            try {
+                r = domDomain.querySelector(documentNode, cssSelector).join();
+            } catch (RuntimeException e) {
+                if (!isStaleNode(e)) {
+                    throw e;
                 }
-                return nodeId;
+                // The document was replaced before its update event reached the cache
+                log.debug("Document root {} is stale, fetching it again: {}", documentNode, e.getMessage());
+                domDomain.invalidateDocument();
+                r = domDomain.querySelector(domDomain.getDocumentNodeId().join(), cssSelector).join();
             }
-            throw new ElementNotFoundException("XPath matched no element: " + xpath);
-        } catch (ElementNotFoundException e) {
+            int nodeId = r.get(KEY_NODE_ID).getAsInt();
+            if (nodeId == 0) {
+                throw new ElementNotFoundException("Element not found: " + locator);
+            }
+            return nodeId;
+        } catch (ElementNotFoundException | InvalidSelectorException e) {
             throw e;
         } catch (Exception e) {
-            throw new ElementNotFoundException(
-                    "Failed to resolve node by XPath: " + xpath, e);
+            throw new ElementNotFoundException("Failed to locate element: " + locator, e);
         }
     }
 
-    /**
-     * Resolves a runtime object ID for a given node ID (needed for JS calls).
-     *
-     * @param nodeId DOM node ID
-     * @return runtime object ID
-     */
-    private String resolveObjectId(int nodeId) {
-        JsonObject resolved = domDomain.resolveNode(nodeId).join();
-        return resolved.getAsJsonObject(KEY_OBJECT).get(KEY_OBJECT_ID).getAsString();
-    }
-
     /**
      * Extracts the {@code model} sub-object from a {@code DOM.getBoxModel} result.
      *
@@ -14,6 +14,7 @@ class ChromeNavigation implements WebDriver.Navigation {
     public void back() {
         try {
             driver.getRuntimeDomain().evaluate("window.history.back()", false).join();
+            driver.invalidateDomSnapshot();
         } catch (Exception e) {
             throw new RuntimeException("Failed to navigate back", e);
         }
@@ -23,6 +24,7 @@ class ChromeNavigation implements WebDriver.Navigation {
     public void forward() {
         try {
             driver.getRuntimeDomain().evaluate("window.history.forward()", false).join();
+            driver.invalidateDomSnapshot();
         } catch (Exception e) {
             throw new RuntimeException("Failed to navigate forward", e);
         }
@@ -37,6 +39,7 @@ class ChromeNavigation implements WebDriver.Navigation {
     public void refresh() {
         try {
             driver.getPageDomain().reload().join();
+            driver.invalidateDomSnapshot();
         } catch (Exception e) {
             throw new RuntimeException("Failed to refresh page", e);
         }
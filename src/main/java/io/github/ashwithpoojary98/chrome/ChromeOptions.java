@@ -31,6 +31,7 @@ public class ChromeOptions {
     private static final int     DEFAULT_DEBUGGING_PORT = 0; // 0 = auto-select
     private static final boolean DEFAULT_HEADLESS      = false;
     private static final boolean DEFAULT_AUTO_DOWNLOAD = true;
+    private static final boolean DEFAULT_DEBUGGING_PIPE = false;
 
     // ── Fields ────────────────────────────────────────────────────────────────
 
@@ -42,6 +43,7 @@ public class ChromeOptions {
     private List<String>        arguments      = new ArrayList<>();
     private Map<String, Object> experimentalOptions = new HashMap<>();
     private int                 debuggingPort  = DEFAULT_DEBUGGING_PORT;
+    private boolean             debuggingPipe  = DEFAULT_DEBUGGING_PIPE;
     private String              userDataDir;
     private int                 windowWidth    = DEFAULT_WINDOW_WIDTH;
     private int                 windowHeight   = DEFAULT_WINDOW_HEIGHT;
@@ -187,6 +189,21 @@ public class ChromeOptions {
 
     public int getDebuggingPort() { return debuggingPort; }
 
+    /**
+     * Connects to Chrome over {@code --remote-debugging-pipe} (file descriptors 3/4)
+     * instead of a WebSocket on a debugging port. Avoids port allocation, HTTP target
+     * discovery and WebSocket framing. POSIX only.
+     *
+     * @param debuggingPipe {@code true} to use the pipe transport
+     * @return {@code this}
+     */
+    public ChromeOptions setDebuggingPipe(boolean debuggingPipe) {
+        this.debuggingPipe = debuggingPipe;
+        return this;
+    }
+
+    public boolean isDebuggingPipe() { return debuggingPipe; }
+
     /** No-op — kept for Selenium API compatibility. */
     public ChromeOptions setDebuggerAddress(String address) {
         return this;
@@ -4,13 +4,14 @@ import com.google.gson.JsonObject;
 import io.github.ashwithpoojary98.By;
 import io.github.ashwithpoojary98.WebDriver;
 import io.github.ashwithpoojary98.WebElement;
+import io.github.ashwithpoojary98.cdp.domain.ObjectGroup;
 
 /**
  * CDP-backed implementation of {@link WebDriver.TargetLocator}.
  *
  * <h3>Supported operations</h3>
  * <ul>
- *   <li>{@link #window(String)} — activates a tab/window by its CDP target ID</li>
+ *   <li>{@link #window(String)} — retargets the driver to a tab/window by its CDP target ID</li>
  *   <li>{@link #defaultContent()} — re-focuses the top-level document</li>
  *   <li>{@link #activeElement()} — returns the element that currently has focus</li>
  * </ul>
@@ -90,7 +91,11 @@ class ChromeTargetLocator implements WebDriver.TargetLocator {
     // ── Window switching ──────────────────────────────────────────────────────
 
     /**
-     * Activates the tab or window identified by {@code nameOrHandle}.
+     * Makes the tab or window identified by {@code nameOrHandle} the driver's current
+     * window and brings it to the foreground.
+     *
+     * <p>The first switch to a window attaches a flattened session to it over the
+     * driver's existing connection; every later command is sent to that session.
      *
      * <p>{@code nameOrHandle} must be a CDP target ID as returned by
      * {@link WebDriver#getWindowHandles()}.  Named windows (via
@@ -98,12 +103,12 @@ class ChromeTargetLocator implements WebDriver.TargetLocator {
      *
      * @param nameOrHandle CDP target ID of the window to switch to
      * @return this driver
-     * @throws RuntimeException if the target cannot be activated
+     * @throws RuntimeException if the target cannot be attached or activated
      */
     @Override
     public WebDriver window(String nameOrHandle) {
         try {
-            driver.getBrowserDomain().activateTarget(nameOrHandle).join();
+            driver.switchToWindow(nameOrHandle);
             return driver;
         } catch (Exception e) {
             throw new RuntimeException(
@@ -139,10 +144,9 @@ class ChromeTargetLocator implements WebDriver.TargetLocator {
      */
     @Override
     public WebElement activeElement() {
-        try {
+        try (ObjectGroup group = driver.getRuntimeDomain().openObjectGroup()) {
             // Evaluate document.activeElement → get objectId
-            JsonObject evalResult = driver.getRuntimeDomain()
-                    .evaluate(SCRIPT_ACTIVE_ELEMENT, false).join();
+            JsonObject evalResult = group.evaluate(SCRIPT_ACTIVE_ELEMENT).join();
             JsonObject resultObj  = evalResult.getAsJsonObject(FIELD_RESULT);
 
             if (!TYPE_OBJECT.equals(resultObj.get(FIELD_TYPE).getAsString())
@@ -155,7 +159,6 @@ class ChromeTargetLocator implements WebDriver.TargetLocator {
             String objectId = resultObj.get(FIELD_OBJECT_ID).getAsString();
             JsonObject nodeResult = driver.getDomDomain().requestNode(objectId).join();
             int nodeId = nodeResult.get("nodeId").getAsInt();
-            driver.getRuntimeDomain().releaseObject(objectId).join();
 
             // Build a unique CSS selector from the element's attributes
             String cssSelector = buildUniqueSelectorForNode(nodeId);
@@ -177,9 +180,8 @@ class ChromeTargetLocator implements WebDriver.TargetLocator {
      * @return a CSS selector string
      */
     private String buildUniqueSelectorForNode(int nodeId) {
-        try {
-            JsonObject resolved = driver.getDomDomain().resolveNode(nodeId).join();
-            String objectId     = resolved.getAsJsonObject("object").get("objectId").getAsString();
+        try (ObjectGroup group = driver.getRuntimeDomain().openObjectGroup()) {
+            String objectId = group.resolveNode(nodeId).join();
 
             // Ask JS to give us the best available selector
             String script =
@@ -196,9 +198,7 @@ class ChromeTargetLocator implements WebDriver.TargetLocator {
                     "  return path.join(' > ');" +
                     "}";
 
-            JsonObject result = driver.getRuntimeDomain()
-                    .callFunctionOn(objectId, script, null).join();
-            driver.getRuntimeDomain().releaseObject(objectId).join();
+            JsonObject result = group.callFunctionOn(objectId, script).join();
 
             JsonObject resultObj = result.getAsJsonObject("result");
             if (resultObj.has("value")) {
@@ -0,0 +1,169 @@
+package io.github.ashwithpoojary98.chrome;
+
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.WebElement;
+import io.github.ashwithpoojary98.cdp.domain.DOMSnapshotDomain;
+import io.github.ashwithpoojary98.snapshot.DomSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Element resolution backend answering reads from a local {@link DomSnapshot} of the page.
+ *
+ * <p>The snapshot is captured with one {@code DOMSnapshot.captureSnapshot} on first use and
+ * kept until the page changes: the {@link LocatorEngine}'s mutation observer is armed before
+ * each capture and reports the first later change to the document's nodes, attributes or
+ * text, and a new document invalidates it too. Until then, lookups and element reads cost
+ * no round trip. Layout-only changes such as scrolling or resizing are not mutations, so the
+ * driver calls {@link #invalidate()} after navigations, window switches and element
+ * interactions.
+ *
+ * <p>Locators the local engines cannot evaluate, elements the snapshot does not contain,
+ * interactions and reads after a mutation all go to a live {@link ChromeElement}. So do
+ * all lookups while the mutation binding is unavailable, since no snapshot could be
+ * trusted past the moment it was captured.
+ */
+final class DomSnapshotBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(DomSnapshotBackend.class);
+
+    /** Computed style properties captured for every rendered node. */
+    static final List<String> CAPTURED_STYLES = List.of(
+            "display", "visibility", "opacity", "color", "background-color", "font-size", "font-weight");
+
+    private final DOMSnapshotDomain         domSnapshotDomain;
+    private final LocatorEngine             locatorEngine;
+    private final Function<By, WebElement>  liveElements;
+    private final Object                    lock     = new Object();
+    private final LongAdder                 captures = new LongAdder();
+
+    /** Current snapshot, or {@code null}; guarded by {@link #lock}. */
+    private volatile DomSnapshot snapshot;
+    /** Mutation generation {@link #snapshot} was captured at. */
+    private volatile long generation;
+
+    /**
+     * @param domSnapshotDomain {@code DOMSnapshot} domain of the page
+     * @param locatorEngine     page-side runtime reporting DOM mutations
+     * @param liveElements      creates the live element for a locator
+     */
+    DomSnapshotBackend(DOMSnapshotDomain domSnapshotDomain, LocatorEngine locatorEngine,
+                       Function<By, WebElement> liveElements) {
+        this.domSnapshotDomain = domSnapshotDomain;
+        this.locatorEngine     = locatorEngine;
+        this.liveElements      = liveElements;
+    }
+
+    /**
+     * Returns a snapshot of the page as it is now, capturing one if the page changed since
+     * the last capture.
+     */
+    DomSnapshot current() {
+        DomSnapshot current = snapshot;
+        if (current != null && isCurrent(current)) {
+            return current;
+        }
+        synchronized (lock) {
+            current = snapshot;
+            if (current != null && isCurrent(current)) {
+                return current;
+            }
+            long observed = locatorEngine.getMutationGeneration();
+            locatorEngine.watchMutations();
+            current = DomSnapshot.parse(
+                    domSnapshotDomain.captureSnapshot(CAPTURED_STYLES).join(), CAPTURED_STYLES);
+            generation = observed;
+            snapshot   = current;
+            captures.increment();
+            log.debug("Captured DOM snapshot of {} ({} nodes)", current.getDocumentUrl(), current.size());
+            return current;
+        }
+    }
+
+    /**
+     * Returns {@code true} if {@code candidate} is the latest snapshot and the page has not
+     * changed since it was captured. Without the mutation binding no snapshot stays current.
+     */
+    boolean isCurrent(DomSnapshot candidate) {
+        return candidate == snapshot
+                && locatorEngine.isMutationWatchAvailable()
+                && locatorEngine.getMutationGeneration() == generation;
+    }
+
+    /** Drops the current snapshot; the next read captures a new one. */
+    void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Returns the first element matching {@code locator} in the current snapshot.
+     *
+     * @return the element, or {@code null} if nothing matches, the locator cannot be
+     *         evaluated locally or mutations cannot be watched — resolve it live then
+     */
+    WebElement findElement(By locator) {
+        if (!locatorEngine.isMutationWatchAvailable()) {
+            return null;
+        }
+        return findElement(current(), DomSnapshot.NONE, locator, locator);
+    }
+
+    /**
+     * Returns every element matching {@code locator} in the current snapshot.
+     *
+     * @return the elements, or {@code null} if the locator cannot be evaluated locally or
+     *         mutations cannot be watched
+     */
+    List<WebElement> findElements(By locator) {
+        if (!locatorEngine.isMutationWatchAvailable()) {
+            return null;
+        }
+        return findElements(current(), DomSnapshot.NONE, locator, locator);
+    }
+
+    /**
+     * Looks up {@code query} in {@code in} below {@code root} (the document for
+     * {@link DomSnapshot#NONE}); matches are bound to {@code liveLocator} for live fallback.
+     */
+    WebElement findElement(DomSnapshot in, int root, By query, By liveLocator) {
+        int[] matches = matches(in, root, query);
+        return matches == null || matches.length == 0
+                ? null : new SnapshotElement(this, in, matches[0], liveLocator);
+    }
+
+    List<WebElement> findElements(DomSnapshot in, int root, By query, By liveLocator) {
+        int[] matches = matches(in, root, query);
+        if (matches == null) {
+            return null;
+        }
+        List<WebElement> elements = new ArrayList<>(matches.length);
+        for (int i = 0; i < matches.length; i++) {
+            elements.add(new SnapshotElement(this, in, matches[i], By.index(liveLocator, i)));
+        }
+        return elements;
+    }
+
+    /** Returns a live element for {@code locator}. */
+    WebElement live(By locator) {
+        return liveElements.apply(locator);
+    }
+
+    /** Returns the number of snapshots captured. */
+    long getCaptureCount() {
+        return captures.sum();
+    }
+
+    private static int[] matches(DomSnapshot in, int root, By query) {
+        try {
+            return root == DomSnapshot.NONE ? in.findAll(query) : in.findAll(query, root);
+        } catch (UnsupportedOperationException e) {
+            log.debug("Resolving {} live: {}", query, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,747 @@
+package io.github.ashwithpoojary98.chrome;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.ElementSnapshot;
+import io.github.ashwithpoojary98.cdp.CDPResponse;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
+import io.github.ashwithpoojary98.cdp.CommandBatch;
+import io.github.ashwithpoojary98.cdp.domain.ObjectGroup;
+import io.github.ashwithpoojary98.cdp.domain.PageDomain;
+import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
+import io.github.ashwithpoojary98.exception.CDPException;
+import io.github.ashwithpoojary98.exception.ElementNotFoundException;
+import io.github.ashwithpoojary98.exception.InvalidSelectorException;
+import io.github.ashwithpoojary98.wait.Actionability;
+import io.github.ashwithpoojary98.wait.LocatorPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Page-side locator runtime for the locators that are not plain CSS — XPath, link text,
+ * mixed chains and indexed matches.
+ *
+ * <p>The runtime is registered once per page with {@code Page.addScriptToEvaluateOnNewDocument}
+ * in an isolated world, so every new document gets it before its own scripts run and the
+ * page cannot see or overwrite it. It evaluates the {@link LocatorPlan} of a {@code By}
+ * and caches compiled XPath expressions per document. Locating a node then costs one
+ * {@code Runtime.evaluate} chained to one {@code DOM.requestNode} — a single blocking
+ * round trip — instead of building, compiling and releasing a script per step. Bulk
+ * {@link #snapshot snapshots} of all matches, CSS included, are answered by value the same way.
+ *
+ * <p>The world's execution context is learned from {@code Runtime.executionContextCreated}.
+ * Documents that predate the registration get the world and the runtime on first use;
+ * a context that vanished or lost the runtime is recovered once per query.
+ */
+public class LocatorEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(LocatorEngine.class);
+
+    /** Isolated world the runtime lives in, out of reach of the page's scripts. */
+    static final String WORLD_NAME = "nihonium-locator";
+
+    private static final String ENGINE_GLOBAL = "globalThis.__nihoniumLocator";
+
+    /**
+     * Installs {@code __nihoniumLocator} with {@code query}, {@code queryAll}, {@code count},
+     * {@code snapshot}, which returns the requested columns of all matches, {@code watch},
+     * which arms a one-shot report of the next DOM mutation through the binding, and the
+     * actionability checks {@code actionability} and {@code await}.
+     *
+     * <p>{@code actionability} returns every flag of an {@link Actionability} for the first
+     * match, or {@code null}. Stability is measured across one animation frame; the timer
+     * fallback keeps background tabs, where {@code requestAnimationFrame} is paused, from
+     * stalling the check. {@code await} waits in the page instead: it re-checks whenever a
+     * MutationObserver, IntersectionObserver, scroll or resize event fires — and every frame
+     * while the element is moving — and settles with the first verdict that meets the
+     * requirement, or the last one after the timeout.
+     */
+    private static final String ENGINE_SOURCE = """
+        (() => {
+            if (globalThis.__nihoniumLocator) return;
+            const MAX_CACHED_XPATHS = 256;
+            const expressions = new Map();
+            const compile = xpath => {
+                let expression = expressions.get(xpath);
+                if (!expression) {
+                    if (expressions.size >= MAX_CACHED_XPATHS) expressions.clear();
+                    expression = document.createExpression(xpath, null);
+                    expressions.set(xpath, expression);
+                }
+                return expression;
+            };
+            const find = (plan, root) => {
+                if (plan.css !== undefined) {
+                    return Array.from(root.querySelectorAll(plan.css));
+                }
+                if (plan.xpath !== undefined) {
+                    const r = compile(plan.xpath).evaluate(root,
+                            XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                    const out = [];
+                    for (let i = 0; i < r.snapshotLength; i++) out.push(r.snapshotItem(i));
+                    return out;
+                }
+                if (plan.chain !== undefined) {
+                    let context = root;
+                    for (let i = 0; i < plan.chain.length - 1; i++) {
+                        context = find(plan.chain[i], context)[0];
+                        if (!context) return [];
+                    }
+                    return find(plan.chain[plan.chain.length - 1], context);
+                }
+                const matches = find(plan.parent, root);
+                return plan.index < matches.length ? [matches[plan.index]] : [];
+            };
+            const snapshot = (plan, spec) => {
+                const els = find(plan, document);
+                const out = {size: els.length};
+                if (spec.tag) out.tag = els.map(e => e.nodeName.toLowerCase());
+                if (spec.text) out.text = els.map(e => e.textContent ?? '');
+                if (spec.rect) {
+                    out.rect = [];
+                    for (const e of els) {
+                        const r = e.getBoundingClientRect();
+                        out.rect.push(Math.round(r.x), Math.round(r.y),
+                                Math.round(r.width), Math.round(r.height));
+                    }
+                }
+                if (spec.visible) out.visible = els.map(e => {
+                    const s = getComputedStyle(e);
+                    return s.display !== 'none' && s.visibility !== 'hidden' && s.opacity !== '0';
+                });
+                out.attributes = {};
+                for (const name of spec.attributes) {
+                    out.attributes[name] = els.map(e => e.getAttribute(name));
+                }
+                return out;
+            };
+            let observer = null;
+            let armed = false;
+            const watch = () => {
+                if (!observer) {
+                    observer = new MutationObserver(() => {
+                        if (!armed) return;
+                        armed = false;
+                        globalThis.__nihoniumDomMutated?.('');
+                    });
+                    observer.observe(document, {subtree: true, childList: true,
+                            attributes: true, characterData: true});
+                }
+                armed = true;
+                return true;
+            };
+            const nextFrame = () => new Promise(done => {
+                requestAnimationFrame(() => done());
+                setTimeout(done, 50);
+            });
+            const inspect = async el => {
+                const box = () => {
+                    const r = el.getBoundingClientRect();
+                    return [r.x, r.y, r.width, r.height];
+                };
+                const visible = !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length);
+                let stable = false;
+                let unobscured = false;
+                if (visible) {
+                    const before = box();
+                    await nextFrame();
+                    const after = box();
+                    const animations = el.getAnimations ? el.getAnimations({subtree: true}) : [];
+                    stable = el.isConnected
+                            && before.every((v, i) => v === after[i])
+                            && !animations.some(a => a.playState === 'running');
+                    const x = after[0] + after[2] / 2;
+                    const y = after[1] + after[3] / 2;
+                    if (x < 0 || y < 0 || x >= innerWidth || y >= innerHeight) {
+                        unobscured = after[2] > 0 && after[3] > 0;
+                    } else {
+                        const hit = document.elementFromPoint(x, y);
+                        unobscured = hit === el || el.contains(hit);
+                    }
+                }
+                const enabled = !el.disabled;
+                const tag = el.tagName.toLowerCase();
+                const editable = (tag === 'input' || tag === 'textarea' || el.isContentEditable)
+                        && !el.readOnly && enabled;
+                return {present: true, visible, stable, unobscured, enabled, editable};
+            };
+            const actionability = async plan => {
+                const el = find(plan, document)[0];
+                return el ? await inspect(el) : null;
+            };
+            const satisfies = (verdict, requirement) => verdict !== null && (
+                    requirement === 'present' ? true
+                    : requirement === 'visible' ? verdict.visible
+                    : requirement === 'clickable'
+                        ? verdict.visible && verdict.stable && verdict.unobscured && verdict.enabled
+                    : verdict.visible && verdict.editable);
+            const waitFor = async (plan, requirement, timeoutMillis) => {
+                let el = find(plan, document)[0];
+                let verdict = el ? await inspect(el) : null;
+                if (satisfies(verdict, requirement)) return verdict;
+                return new Promise(resolve => {
+                    let dirty = false;
+                    let running = false;
+                    let settled = false;
+                    let observed = null;
+                    const schedule = () => {
+                        dirty = true;
+                        if (!running && !settled) run();
+                    };
+                    const mutations = new MutationObserver(schedule);
+                    const intersections = typeof IntersectionObserver === 'function'
+                            ? new IntersectionObserver(schedule) : null;
+                    const track = () => {
+                        if (intersections && el && el !== observed) {
+                            if (observed) intersections.unobserve(observed);
+                            intersections.observe(el);
+                            observed = el;
+                        }
+                    };
+                    const finish = () => {
+                        settled = true;
+                        clearTimeout(timer);
+                        mutations.disconnect();
+                        if (intersections) intersections.disconnect();
+                        removeEventListener('scroll', schedule, true);
+                        removeEventListener('resize', schedule);
+                        resolve(verdict);
+                    };
+                    const run = async () => {
+                        running = true;
+                        while (dirty && !settled) {
+                            dirty = false;
+                            el = find(plan, document)[0];
+                            verdict = el ? await inspect(el) : null;
+                            if (settled) break;
+                            if (satisfies(verdict, requirement)) {
+                                finish();
+                                break;
+                            }
+                            track();
+                            // Animations and transitions move the element without a DOM mutation
+                            if (verdict !== null && verdict.visible && !verdict.stable) dirty = true;
+                        }
+                        running = false;
+                    };
+                    const timer = setTimeout(finish, timeoutMillis);
+                    mutations.observe(document, {
+                        childList: true, subtree: true, attributes: true, characterData: true
+                    });
+                    addEventListener('scroll', schedule, true);
+                    addEventListener('resize', schedule);
+                    track();
+                    if (verdict !== null && verdict.visible && !verdict.stable) schedule();
+                });
+            };
+            Object.defineProperty(globalThis, '__nihoniumLocator', {value: Object.freeze({
+                query: (plan, root) => find(plan, root || document)[0] || null,
+                queryAll: (plan, root) => find(plan, root || document),
+                count: (plan, root) => find(plan, root || document).length,
+                snapshot,
+                watch,
+                actionability,
+                await: waitFor
+            })});
+        })()""";
+
+    private static final String EVENT_CONTEXT_CREATED   = "Runtime.executionContextCreated";
+    private static final String EVENT_CONTEXT_DESTROYED = "Runtime.executionContextDestroyed";
+    private static final String EVENT_CONTEXTS_CLEARED  = "Runtime.executionContextsCleared";
+    private static final String EVENT_FRAME_NAVIGATED   = "Page.frameNavigated";
+    private static final String EVENT_BINDING_CALLED    = "Runtime.bindingCalled";
+
+    /** Binding the world's mutation observer reports through. */
+    private static final String MUTATION_BINDING = "__nihoniumDomMutated";
+
+    private static final String METHOD_EVALUATE     = "Runtime.evaluate";
+    private static final String METHOD_REQUEST_NODE = "DOM.requestNode";
+
+    private static final String KEY_CONTEXT       = "context";
+    private static final String KEY_CONTEXT_ID    = "executionContextId";
+    private static final String KEY_ID            = "id";
+    private static final String KEY_NAME          = "name";
+    private static final String KEY_AUX_DATA      = "auxData";
+    private static final String KEY_FRAME_ID      = "frameId";
+    private static final String KEY_FRAME         = "frame";
+    private static final String KEY_PARENT_ID     = "parentId";
+    private static final String KEY_RESULT        = "result";
+    private static final String KEY_VALUE         = "value";
+    private static final String KEY_OBJECT_ID     = "objectId";
+    private static final String KEY_NODE_ID       = "nodeId";
+    private static final String KEY_EXCEPTION     = "exceptionDetails";
+    private static final String KEY_TEXT          = "text";
+    private static final String KEY_EXCEPTION_OBJ = "exception";
+    private static final String KEY_DESCRIPTION   = "description";
+    private static final String KEY_TYPE          = "type";
+    private static final String KEY_SIZE          = "size";
+    private static final String KEY_ATTRIBUTES    = "attributes";
+    private static final String TYPE_UNDEFINED    = "undefined";
+
+    /** Prefix of the error the page throws for a malformed CSS selector or XPath expression. */
+    private static final String SYNTAX_ERROR = "SyntaxError";
+
+    /**
+     * Extra time the {@code await} command is given beyond the page-side wait, so the page
+     * settles with its last verdict before the command times out.
+     */
+    private static final long AWAIT_COMMAND_GRACE_MILLIS = 1_000L;
+
+    /** Attempts per call: a second one after the context vanished or lost the runtime. */
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final CDPTransport  transport;
+    private final PageDomain    pageDomain;
+    private final RuntimeDomain runtimeDomain;
+    private final Object        lock     = new Object();
+    private final LongAdder     queries  = new LongAdder();
+    private final LongAdder     installs = new LongAdder();
+    private final AtomicLong    mutationGeneration = new AtomicLong();
+    private volatile boolean    mutationWatchAvailable;
+
+    /** Guarded by {@link #lock}. */
+    private String  mainFrameId;
+    /** Execution context of the world in the current document; guarded by {@link #lock}. */
+    private Integer contextId;
+
+    /** Thrown when the world exists but the runtime is not defined in it. */
+    private static final class RuntimeMissingException extends RuntimeException {
+        RuntimeMissingException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /** Thrown when the runtime ran but threw; retrying in another context would not help. */
+    private static final class PageScriptException extends CDPException {
+        PageScriptException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @param transport     session of the page target
+     * @param pageDomain    {@code Page} domain of the target
+     * @param runtimeDomain {@code Runtime} domain of the target
+     * @param mainFrameId   frame ID of the main frame — the target ID for page targets
+     */
+    public LocatorEngine(CDPTransport transport, PageDomain pageDomain,
+                         RuntimeDomain runtimeDomain, String mainFrameId) {
+        this.transport     = transport;
+        this.pageDomain    = pageDomain;
+        this.runtimeDomain = runtimeDomain;
+        this.mainFrameId   = mainFrameId;
+    }
+
+    /**
+     * Subscribes to execution-context events and queues the registration of the runtime
+     * for new documents, and of the binding reporting DOM mutations, on {@code batch}. Queue it before {@code Runtime.enable} so the
+     * contexts reported on enabling are seen.
+     *
+     * @param batch batch of the page session, sent by the caller
+     * @return future completing once the script is registered
+     */
+    public CompletableFuture<JsonObject> install(CommandBatch batch) {
+        transport.subscribeToEvent(EVENT_CONTEXT_CREATED, this::onContextCreated);
+        transport.subscribeToEvent(EVENT_CONTEXT_DESTROYED, this::onContextDestroyed);
+        transport.subscribeToEvent(EVENT_CONTEXTS_CLEARED, event -> forgetContext(null));
+        transport.subscribeToEvent(EVENT_FRAME_NAVIGATED, this::onFrameNavigated);
+        transport.subscribeToEvent(EVENT_BINDING_CALLED, this::onBindingCalled);
+
+        JsonObject binding = new JsonObject();
+        binding.addProperty(KEY_NAME, MUTATION_BINDING);
+        binding.addProperty("executionContextName", WORLD_NAME);
+        batch.add("Runtime.addBinding", binding).whenComplete((result, error) -> {
+            if (error != null) {
+                log.debug("Mutation binding unavailable, DOM changes will not be reported: {}", error.getMessage());
+            } else {
+                mutationWatchAvailable = true;
+            }
+        });
+
+        JsonObject params = new JsonObject();
+        params.addProperty("source", ENGINE_SOURCE);
+        params.addProperty("worldName", WORLD_NAME);
+        return batch.add("Page.addScriptToEvaluateOnNewDocument", params);
+    }
+
+    /**
+     * Returns the node ID of the first element matching {@code locator}.
+     *
+     * @param locator element locator
+     * @return node ID (always &gt; 0)
+     * @throws ElementNotFoundException if nothing matches
+     * @throws CDPException if the page could not be queried
+     */
+    public int queryNodeId(By locator) {
+        String expression = ENGINE_GLOBAL + "?.query(" + LocatorPlan.of(locator) + ")";
+        int nodeId = call(locator, context -> {
+            ObjectGroup group = runtimeDomain.openObjectGroup();
+            CommandBatch batch = transport.batch();
+            CompletableFuture<JsonObject> found = batch
+                    .add(METHOD_EVALUATE, group.tag(evaluateParams(expression, context, false)))
+                    .thenApply(response -> group.track(response, KEY_RESULT));
+            CompletableFuture<JsonObject> node = batch.addAfter(found, METHOD_REQUEST_NODE, response -> {
+                JsonObject result = checked(response, locator).getAsJsonObject(KEY_RESULT);
+                if (!result.has(KEY_OBJECT_ID)) {
+                    throw new ElementNotFoundException("Element not found: " + locator);
+                }
+                JsonObject params = new JsonObject();
+                params.addProperty(KEY_OBJECT_ID, result.get(KEY_OBJECT_ID).getAsString());
+                return params;
+            });
+            batch.sendAll();
+            node.whenComplete((value, error) -> group.close());
+            return node.thenApply(response -> response.get(KEY_NODE_ID).getAsInt());
+        });
+        if (nodeId == 0) {
+            throw new ElementNotFoundException("Element not found: " + locator);
+        }
+        return nodeId;
+    }
+
+    /**
+     * Returns the number of elements matching {@code locator}, by value — no remote objects.
+     *
+     * @param locator element locator
+     * @return number of matches
+     * @throws CDPException if the page could not be queried
+     */
+    public int count(By locator) {
+        String expression = ENGINE_GLOBAL + "?.count(" + LocatorPlan.of(locator) + ")";
+        return call(locator, context -> transport
+                .sendCommand(METHOD_EVALUATE, evaluateParams(expression, context, true))
+                .thenApply(response -> checked(response, locator).getAsJsonObject(KEY_RESULT).get(KEY_VALUE).getAsInt()));
+    }
+
+    /**
+     * Captures {@code fields} of every element matching {@code locator} by value, in one
+     * {@code Runtime.evaluate} — no remote objects and no per-element commands.
+     *
+     * @param locator element locator
+     * @param fields  columns to capture
+     * @return snapshot of the matches in document order
+     * @throws CDPException if the page could not be queried
+     */
+    public ElementSnapshot snapshot(By locator, Set<ElementSnapshot.Field> fields) {
+        String expression = ENGINE_GLOBAL + "?.snapshot(" + LocatorPlan.of(locator) + ", "
+                + snapshotSpec(fields) + ")";
+        return call(locator, context -> transport
+                .sendCommand(METHOD_EVALUATE, evaluateParams(expression, context, true))
+                .thenApply(response -> toSnapshot(
+                        checked(response, locator).getAsJsonObject(KEY_RESULT).getAsJsonObject(KEY_VALUE),
+                        fields)));
+    }
+
+    /**
+     * Evaluates every actionability state of the first element matching {@code locator}
+     * in one awaited {@code Runtime.evaluate}, by value.
+     *
+     * @param locator element locator
+     * @return the verdict; {@link Actionability#ABSENT} if nothing matches
+     * @throws InvalidSelectorException if the locator is malformed
+     * @throws CDPException if the page could not be queried
+     */
+    public Actionability actionability(By locator) {
+        String expression = ENGINE_GLOBAL + "?.actionability(" + LocatorPlan.of(locator) + ")";
+        return call(locator, context -> transport
+                .sendCommandRaw(METHOD_EVALUATE, awaitedParams(expression, context))
+                .thenApply(response -> verdict(response, locator)));
+    }
+
+    /**
+     * Waits in the page until the first element matching {@code locator} meets
+     * {@code requirement}, with one awaited {@code Runtime.evaluate} that settles on DOM,
+     * layout and animation changes rather than being re-sent on an interval. If the
+     * document is replaced meanwhile, the wait resumes in the new one for the time left.
+     *
+     * @param locator       element locator
+     * @param requirement   state to wait for
+     * @param timeoutMillis how long the page-side waiter runs
+     * @return the first verdict meeting {@code requirement}, or the last verdict seen
+     *         when {@code timeoutMillis} elapsed ({@link Actionability#ABSENT} if the
+     *         element never appeared)
+     * @throws InvalidSelectorException if the locator is malformed
+     * @throws CDPException if the waiter could not complete or threw in the page
+     */
+    public Actionability awaitActionability(By locator, Actionability.Requirement requirement,
+                                            long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        String call = ENGINE_GLOBAL + "?.await(" + LocatorPlan.of(locator) + ", '"
+                + requirement.name().toLowerCase(Locale.ROOT) + "', ";
+        return call(locator, context -> {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            return transport.sendCommandRaw(METHOD_EVALUATE,
+                            awaitedParams(call + remaining + ")", context),
+                            remaining + AWAIT_COMMAND_GRACE_MILLIS)
+                    .thenApply(response -> verdict(response, locator));
+        });
+    }
+
+    /**
+     * Arms the world's mutation observer: the next change to the document's nodes,
+     * attributes or text bumps the {@linkplain #getMutationGeneration() mutation generation}
+     * once. Read the generation before arming, then capture whatever the generation guards.
+     *
+     * @throws CDPException if the page could not be reached
+     */
+    public void watchMutations() {
+        String expression = ENGINE_GLOBAL + "?.watch()";
+        call("mutation watch", context -> transport
+                .sendCommand(METHOD_EVALUATE, evaluateParams(expression, context, true))
+                .thenApply(response -> checked(response, "mutation watch")));
+    }
+
+    /**
+     * Returns a counter bumped when an armed mutation observer reports a change and when
+     * the main frame's document is replaced. An unchanged value means the document has not
+     * changed since {@link #watchMutations()} was last called.
+     */
+    public long getMutationGeneration() {
+        return mutationGeneration.get();
+    }
+
+    /** Returns {@code true} once the binding that reports DOM mutations is registered. */
+    public boolean isMutationWatchAvailable() {
+        return mutationWatchAvailable;
+    }
+
+    /** Returns the number of queries answered by the page-side runtime. */
+    public long getQueryCount() {
+        return queries.sum();
+    }
+
+    /** Returns how often the runtime had to be installed by hand into an existing document. */
+    public long getInstallCount() {
+        return installs.sum();
+    }
+
+    // ── Event handlers ────────────────────────────────────────────────────────
+
+    private void onContextCreated(JsonObject event) {
+        JsonObject context = event.getAsJsonObject(KEY_CONTEXT);
+        if (context == null || !context.has(KEY_NAME)
+                || !WORLD_NAME.equals(context.get(KEY_NAME).getAsString())) {
+            return;
+        }
+        JsonObject auxData = context.getAsJsonObject(KEY_AUX_DATA);
+        String frameId = auxData != null && auxData.has(KEY_FRAME_ID)
+                ? auxData.get(KEY_FRAME_ID).getAsString() : null;
+        synchronized (lock) {
+            if (frameId != null && frameId.equals(mainFrameId)) {
+                contextId = context.get(KEY_ID).getAsInt();
+            }
+        }
+    }
+
+    private void onContextDestroyed(JsonObject event) {
+        forgetContext(event.get(KEY_CONTEXT_ID).getAsInt());
+    }
+
+    private void onFrameNavigated(JsonObject event) {
+        JsonObject frame = event.getAsJsonObject(KEY_FRAME);
+        if (frame == null || frame.has(KEY_PARENT_ID)) {
+            return;
+        }
+        synchronized (lock) {
+            mainFrameId = frame.get(KEY_ID).getAsString();
+        }
+        mutationGeneration.incrementAndGet();
+    }
+
+    private void onBindingCalled(JsonObject event) {
+        if (MUTATION_BINDING.equals(event.get(KEY_NAME).getAsString())) {
+            mutationGeneration.incrementAndGet();
+        }
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /**
+     * Runs {@code query} against the world's context, recovering once if the context is
+     * gone (it is forgotten and looked up again) or lacks the runtime (it is installed).
+     */
+    private <T> T call(Object subject, IntFunction<CompletableFuture<T>> query) {
+        for (int attempt = 1; ; attempt++) {
+            int context = -1;
+            try {
+                context = contextId();
+                T result = query.apply(context).join();
+                queries.increment();
+                return result;
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof ElementNotFoundException || cause instanceof InvalidSelectorException
+                        || cause instanceof PageScriptException) {
+                    queries.increment();
+                    throw (RuntimeException) cause;
+                }
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new CDPException("Locator engine failed for " + subject, cause);
+                }
+                log.debug("Locator engine context {} unusable, recovering: {}", context, cause.getMessage());
+                if (cause instanceof RuntimeMissingException && context > 0) {
+                    installInto(context);
+                } else {
+                    forgetContext(context > 0 ? context : null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the world's context in the current document, creating the world and
+     * installing the runtime if the document predates the registered script.
+     */
+    private int contextId() {
+        String frameId;
+        synchronized (lock) {
+            if (contextId != null) {
+                return contextId;
+            }
+            frameId = mainFrameId;
+        }
+        int created = pageDomain.createIsolatedWorld(frameId, WORLD_NAME).join()
+                .get(KEY_CONTEXT_ID).getAsInt();
+        installInto(created);
+        synchronized (lock) {
+            contextId = created;
+            return created;
+        }
+    }
+
+    private void installInto(int context) {
+        transport.sendCommand(METHOD_EVALUATE, evaluateParams(ENGINE_SOURCE, context, true)).join();
+        installs.increment();
+        log.debug("Installed locator engine into context {}", context);
+    }
+
+    /** Forgets {@code context}, or whatever context is known when {@code null}. */
+    private void forgetContext(Integer context) {
+        synchronized (lock) {
+            if (contextId != null && (context == null || context.equals(contextId))) {
+                contextId = null;
+                mutationGeneration.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns {@code evaluateResponse} if the runtime answered it. A malformed selector or
+     * XPath fails with {@link InvalidSelectorException}, any other script error with a
+     * {@link CDPException}; an {@code undefined} result means the runtime is missing from
+     * the context.
+     */
+    private static JsonObject checked(JsonObject evaluateResponse, Object subject) {
+        if (evaluateResponse.has(KEY_EXCEPTION)) {
+            String error = describe(evaluateResponse.getAsJsonObject(KEY_EXCEPTION));
+            if (error.startsWith(SYNTAX_ERROR)) {
+                throw new InvalidSelectorException("Invalid selector " + subject + ": " + error);
+            }
+            throw new PageScriptException("Locator engine threw for " + subject + ": " + error);
+        }
+        if (TYPE_UNDEFINED.equals(evaluateResponse.getAsJsonObject(KEY_RESULT).get(KEY_TYPE).getAsString())) {
+            throw new RuntimeMissingException("Locator engine is not installed in the context");
+        }
+        return evaluateResponse;
+    }
+
+    /** Returns the thrown error's description ({@code "SyntaxError: ..."}), else the details' text. */
+    private static String describe(JsonObject exceptionDetails) {
+        JsonObject exception = exceptionDetails.getAsJsonObject(KEY_EXCEPTION_OBJ);
+        if (exception != null && exception.has(KEY_DESCRIPTION)) {
+            return exception.get(KEY_DESCRIPTION).getAsString();
+        }
+        return exceptionDetails.has(KEY_TEXT) ? exceptionDetails.get(KEY_TEXT).getAsString() : "script error";
+    }
+
+    /** Decodes the verdict of {@code actionability} or {@code await}. */
+    private static Actionability verdict(CDPResponse response, By locator) {
+        checked(response.asJsonObject(), locator);
+        Actionability verdict = response.decode(Actionability.class, KEY_RESULT, KEY_VALUE);
+        return verdict != null ? verdict : Actionability.ABSENT;
+    }
+
+    /** Builds the {@code spec} argument of the page-side {@code snapshot}. */
+    private static JsonObject snapshotSpec(Set<ElementSnapshot.Field> fields) {
+        JsonObject spec = new JsonObject();
+        JsonArray attributes = new JsonArray();
+        for (ElementSnapshot.Field field : fields) {
+            if (field.isAttribute()) {
+                attributes.add(field.getName());
+            } else {
+                spec.addProperty(field.getName(), true);
+            }
+        }
+        spec.add(KEY_ATTRIBUTES, attributes);
+        return spec;
+    }
+
+    /** Copies the columns returned by the page-side {@code snapshot} into arrays. */
+    private static ElementSnapshot toSnapshot(JsonObject value, Set<ElementSnapshot.Field> fields) {
+        int size = value.get(KEY_SIZE).getAsInt();
+        String[] tags = fields.contains(ElementSnapshot.Field.TAG)
+                ? strings(value.getAsJsonArray(ElementSnapshot.Field.TAG.getName())) : null;
+        String[] texts = fields.contains(ElementSnapshot.Field.TEXT)
+                ? strings(value.getAsJsonArray(ElementSnapshot.Field.TEXT.getName())) : null;
+
+        int[] rects = null;
+        if (fields.contains(ElementSnapshot.Field.RECT)) {
+            JsonArray column = value.getAsJsonArray(ElementSnapshot.Field.RECT.getName());
+            rects = new int[column.size()];
+            for (int i = 0; i < rects.length; i++) {
+                rects[i] = column.get(i).getAsInt();
+            }
+        }
+
+        boolean[] visible = null;
+        if (fields.contains(ElementSnapshot.Field.VISIBLE)) {
+            JsonArray column = value.getAsJsonArray(ElementSnapshot.Field.VISIBLE.getName());
+            visible = new boolean[column.size()];
+            for (int i = 0; i < visible.length; i++) {
+                visible[i] = column.get(i).getAsBoolean();
+            }
+        }
+
+        Map<String, String[]> attributes = new HashMap<>();
+        JsonObject attributeColumns = value.getAsJsonObject(KEY_ATTRIBUTES);
+        for (Map.Entry<String, JsonElement> column : attributeColumns.entrySet()) {
+            attributes.put(column.getKey(), strings(column.getValue().getAsJsonArray()));
+        }
+        return new ElementSnapshot(fields, size, tags, texts, rects, visible, attributes);
+    }
+
+    private static String[] strings(JsonArray column) {
+        String[] values = new String[column.size()];
+        for (int i = 0; i < values.length; i++) {
+            JsonElement element = column.get(i);
+            values[i] = element.isJsonNull() ? null : element.getAsString();
+        }
+        return values;
+    }
+
+    private static JsonObject evaluateParams(String expression, int context, boolean returnByValue) {
+        JsonObject params = new JsonObject();
+        params.addProperty("expression", expression);
+        params.addProperty("contextId", context);
+        params.addProperty("returnByValue", returnByValue);
+        return params;
+    }
+
+    private static JsonObject awaitedParams(String expression, int context) {
+        JsonObject params = evaluateParams(expression, context, true);
+        params.addProperty("awaitPromise", true);
+        return params;
+    }
+}
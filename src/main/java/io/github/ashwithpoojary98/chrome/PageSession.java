@@ -0,0 +1,121 @@
+package io.github.ashwithpoojary98.chrome;
+
+import io.github.ashwithpoojary98.cdp.CDPSession;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
+import io.github.ashwithpoojary98.cdp.CommandBatch;
+import io.github.ashwithpoojary98.cdp.domain.BrowserDomain;
+import io.github.ashwithpoojary98.cdp.domain.CSSDomain;
+import io.github.ashwithpoojary98.cdp.domain.DOMDomain;
+import io.github.ashwithpoojary98.cdp.domain.DOMSnapshotDomain;
+import io.github.ashwithpoojary98.cdp.domain.FetchDomain;
+import io.github.ashwithpoojary98.cdp.domain.InputDomain;
+import io.github.ashwithpoojary98.cdp.domain.NetworkDomain;
+import io.github.ashwithpoojary98.cdp.domain.PageDomain;
+import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
+import io.github.ashwithpoojary98.network.NetworkMonitor;
+import io.github.ashwithpoojary98.network.RequestInterceptor;
+import io.github.ashwithpoojary98.wait.NavigationTracker;
+import io.github.ashwithpoojary98.wait.WaitConfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One page target attached as a flattened session, with its own set of domain wrappers.
+ *
+ * <p>{@link ChromeDriver} keeps one of these per window handle; all of them share the
+ * driver's single browser connection.
+ *
+ * @param targetId          CDP target ID (the window handle)
+ * @param session           flattened session the domains send through
+ * @param pageDomain        {@code Page} domain of the target
+ * @param domDomain         {@code DOM} domain of the target
+ * @param runtimeDomain     {@code Runtime} domain of the target
+ * @param inputDomain       {@code Input} domain of the target
+ * @param networkDomain     {@code Network} domain of the target
+ * @param cssDomain         {@code CSS} domain of the target
+ * @param networkMonitor    in-flight request tracker of the target
+ * @param navigationTracker load-milestone tracker of the target's main frame
+ * @param requestInterceptor request block/stub rules of the target (disabled until used)
+ * @param locatorEngine     page-side runtime resolving non-CSS locators of the target
+ * @param domSnapshots      local document snapshot backend of the target (idle unless enabled)
+ */
+record PageSession(
+        String targetId,
+        CDPSession session,
+        PageDomain pageDomain,
+        DOMDomain domDomain,
+        RuntimeDomain runtimeDomain,
+        InputDomain inputDomain,
+        NetworkDomain networkDomain,
+        CSSDomain cssDomain,
+        NetworkMonitor networkMonitor,
+        NavigationTracker navigationTracker,
+        RequestInterceptor requestInterceptor,
+        LocatorEngine locatorEngine,
+        DomSnapshotBackend domSnapshots) {
+
+    /**
+     * Attaches to {@code targetId} over {@code connection} and enables the domains the
+     * driver relies on.
+     *
+     * @param browser    browser-level domain on {@code connection}
+     * @param connection browser-level connection to multiplex the session over
+     * @param targetId   page target to attach to
+     * @param waitConfig driver wait configuration (decides whether and how network requests are tracked)
+     * @return the attached session
+     */
+    static PageSession attach(BrowserDomain browser, CDPTransport connection,
+                              String targetId, WaitConfig waitConfig) {
+        CDPSession session = new CDPSession(connection, browser.attachToTarget(targetId).join());
+
+        NetworkDomain networkDomain = new NetworkDomain(session);
+        PageDomain pageDomain = new PageDomain(session);
+        NetworkMonitor networkMonitor = new NetworkMonitor(networkDomain, pageDomain, waitConfig);
+        if (waitConfig.isWaitForNetworkIdle()) {
+            networkMonitor.enable();
+        }
+
+        // One write, one round trip for the domain enables, the lifecycle tracker set-up and
+        // the locator engine registration (queued before Runtime.enable to see its contexts)
+        RuntimeDomain runtimeDomain = new RuntimeDomain(session);
+        NavigationTracker navigationTracker = new NavigationTracker(session, targetId);
+        LocatorEngine locatorEngine = new LocatorEngine(session, pageDomain, runtimeDomain, targetId);
+        CommandBatch enableBatch = session.batch();
+        CompletableFuture<?>[] enabled = {
+                enableBatch.add("Page.enable", null),
+                locatorEngine.install(enableBatch),
+                enableBatch.add("DOM.enable", null),
+                enableBatch.add("Runtime.enable", null),
+                navigationTracker.enable(enableBatch)
+        };
+        enableBatch.sendAll();
+        CompletableFuture.allOf(enabled).join();
+
+        DOMDomain domDomain = new DOMDomain(session);
+        InputDomain inputDomain = new InputDomain(session);
+        CSSDomain cssDomain = new CSSDomain(session);
+        // Live elements the backend hands out drop its snapshot when they interact, but the
+        // factory has to exist before the backend does
+        AtomicReference<DomSnapshotBackend> backend = new AtomicReference<>();
+        DomSnapshotBackend domSnapshots = new DomSnapshotBackend(new DOMSnapshotDomain(session), locatorEngine,
+                by -> new ChromeElement(by, domDomain, runtimeDomain, inputDomain, cssDomain,
+                        waitConfig, networkMonitor, locatorEngine, () -> backend.get().invalidate()));
+        backend.set(domSnapshots);
+
+        return new PageSession(
+                targetId,
+                session,
+                pageDomain,
+                domDomain,
+                runtimeDomain,
+                inputDomain,
+                networkDomain,
+                cssDomain,
+                networkMonitor,
+                navigationTracker,
+                new RequestInterceptor(new FetchDomain(session), networkDomain),
+                locatorEngine,
+                domSnapshots);
+    }
+}
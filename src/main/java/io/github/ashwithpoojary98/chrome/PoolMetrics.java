@@ -0,0 +1,26 @@
+package io.github.ashwithpoojary98.chrome;
+
+/**
+ * Point-in-time snapshot of {@link BrowserPool} counters.
+ *
+ * @param browsers            browsers currently alive (idle, leased or resetting)
+ * @param idle                browsers ready to be leased
+ * @param leased              leases currently open
+ * @param leaseCount          leases handed out since the pool was created
+ * @param averageWaitMillis   mean time {@link BrowserPool#acquire()} waited
+ * @param maxWaitMillis       longest time {@link BrowserPool#acquire()} waited
+ * @param averageLeaseMillis  mean time between acquire and close of returned leases
+ * @param recycleCount        browsers quit and replaced (lease limit, RSS, failed reset, crash)
+ * @param launchFailureCount  browser launches that failed
+ */
+public record PoolMetrics(
+        int browsers,
+        int idle,
+        int leased,
+        long leaseCount,
+        double averageWaitMillis,
+        double maxWaitMillis,
+        double averageLeaseMillis,
+        long recycleCount,
+        long launchFailureCount) {
+}
@@ -0,0 +1,161 @@
+package io.github.ashwithpoojary98.chrome;
+
+import io.github.ashwithpoojary98.browser.BrowserLauncher;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
+import io.github.ashwithpoojary98.cdp.domain.BrowserDomain;
+import io.github.ashwithpoojary98.exception.BrowserLaunchException;
+import io.github.ashwithpoojary98.wait.WaitConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One browser process that hands out isolated {@link ChromeDriver}s.
+ *
+ * <p>Each {@link #newDriver()} call creates a fresh browser context with
+ * {@code Target.createBrowserContext} — the same mechanism as an incognito window — and
+ * opens the driver's first tab inside it. Contexts share the browser process and its
+ * single CDP connection but not cookies, storage or cache, so dozens of independent
+ * sessions can run in parallel for roughly the cost of opening a tab each:
+ *
+ * <pre>{@code
+ * try (SharedBrowser browser = new SharedBrowser(new ChromeOptions().setHeadless(true))) {
+ *     ChromeDriver alice = browser.newDriver();
+ *     ChromeDriver bob   = browser.newDriver();   // cannot see alice's cookies
+ *     ...
+ *     alice.quit();                               // disposes alice's context only
+ * }
+ * }</pre>
+ *
+ * <p>{@link ChromeDriver#quit()} on a driver from this class disposes its context and
+ * closes its windows; the browser keeps running until {@link #close()}.
+ *
+ * <p>All public methods are thread-safe.
+ */
+public class SharedBrowser implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedBrowser.class);
+
+    /** Launcher of the browser, or {@code null} when wrapping an existing connection. */
+    private final BrowserLauncher launcher;
+    private final CDPTransport    connection;
+    private final BrowserDomain   browserDomain;
+    private final WaitConfig      waitConfig;
+
+    private final Set<ChromeDriver> drivers = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean closed;
+
+    // ── Construction ──────────────────────────────────────────────────────────
+
+    public SharedBrowser() {
+        this(new ChromeOptions(), WaitConfig.defaultConfig());
+    }
+
+    public SharedBrowser(ChromeOptions chromeOptions) {
+        this(chromeOptions, WaitConfig.defaultConfig());
+    }
+
+    /**
+     * Launches the browser and connects to it.
+     *
+     * @param chromeOptions launch options of the shared browser
+     * @param waitConfig    wait configuration given to every driver
+     * @throws BrowserLaunchException if the browser cannot be launched or reached
+     */
+    public SharedBrowser(ChromeOptions chromeOptions, WaitConfig waitConfig) {
+        this.waitConfig = waitConfig;
+        this.launcher   = new BrowserLauncher(ChromeDriver.toBrowserOptions(chromeOptions));
+        try {
+            this.connection = ChromeDriver.connect(launcher.launch());
+        } catch (BrowserLaunchException e) {
+            launcher.shutdown();
+            throw e;
+        } catch (Exception e) {
+            launcher.shutdown();
+            throw new BrowserLaunchException("Failed to launch shared browser", e);
+        }
+        this.browserDomain = new BrowserDomain(connection);
+    }
+
+    /**
+     * Wraps a browser reached over {@code connection} that this instance did not launch;
+     * {@link #close()} closes the connection only.
+     *
+     * @param connection browser-level connection
+     * @param waitConfig wait configuration given to every driver
+     */
+    SharedBrowser(CDPTransport connection, WaitConfig waitConfig) {
+        this.waitConfig    = waitConfig;
+        this.launcher      = null;
+        this.connection    = connection;
+        this.browserDomain = new BrowserDomain(connection);
+    }
+
+    // ── Drivers ───────────────────────────────────────────────────────────────
+
+    /**
+     * Creates a driver in a new, isolated browser context.
+     *
+     * @return driver whose first window is already open
+     * @throws IllegalStateException  if this browser has been closed
+     * @throws BrowserLaunchException if the context or its first tab cannot be created
+     */
+    public ChromeDriver newDriver() {
+        if (closed) {
+            throw new IllegalStateException("SharedBrowser is closed");
+        }
+        String contextId;
+        try {
+            contextId = browserDomain.createBrowserContext().join();
+        } catch (Exception e) {
+            throw new BrowserLaunchException("Failed to create browser context", e);
+        }
+        ChromeDriver driver = new ChromeDriver(connection, contextId, waitConfig);
+        drivers.removeIf(existing -> !existing.isOpen());
+        drivers.add(driver);
+        log.debug("Opened driver in browser context {}", contextId);
+        return driver;
+    }
+
+    /** Returns the number of drivers from this browser that have not been quit. */
+    public int getOpenDriverCount() {
+        drivers.removeIf(driver -> !driver.isOpen());
+        return drivers.size();
+    }
+
+    /** Returns {@code true} while the browser process is running and connected. */
+    public boolean isRunning() {
+        return !closed && (launcher == null || launcher.isRunning()) && connection.isConnected();
+    }
+
+    /** Returns the browser process, or {@code null} if this instance did not launch it. */
+    Process getBrowserProcess() {
+        return launcher == null ? null : launcher.getProcess();
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    /**
+     * Quits every driver, closes the connection and shuts the browser down.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        drivers.forEach(ChromeDriver::quit);
+        drivers.clear();
+        try {
+            connection.close();
+        } catch (Exception e) {
+            log.debug("Error closing shared browser connection: {}", e.getMessage());
+        }
+        if (launcher != null) {
+            launcher.shutdown();
+        }
+    }
+}
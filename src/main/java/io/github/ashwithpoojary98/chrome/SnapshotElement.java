@@ -0,0 +1,183 @@
+package io.github.ashwithpoojary98.chrome;
+
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.Dimension;
+import io.github.ashwithpoojary98.Point;
+import io.github.ashwithpoojary98.Rectangle;
+import io.github.ashwithpoojary98.WebElement;
+import io.github.ashwithpoojary98.snapshot.DomSnapshot;
+
+import java.util.List;
+
+/**
+ * {@link WebElement} read from a {@link DomSnapshot} node while the page is unchanged.
+ *
+ * <p>Tag name, attributes, text, visibility, geometry and the captured computed styles come
+ * from the snapshot with no round trip as long as it is {@linkplain DomSnapshotBackend#isCurrent
+ * current}. Interactions, reads the snapshot cannot answer and every call after the page
+ * changed go to a live {@link ChromeElement} resolved by the element's locator, as if it had
+ * been found live. Interactions also drop the snapshot, since they usually change the page.
+ *
+ * <p>Geometry is the border box relative to the document, where a live element reports its
+ * content box relative to the viewport.
+ */
+final class SnapshotElement implements WebElement {
+
+    private static final String ATTR_CHECKED  = "checked";
+    private static final String ATTR_DISABLED = "disabled";
+    private static final String CSS_DISPLAY    = "display";
+    private static final String CSS_VISIBILITY = "visibility";
+    private static final String CSS_OPACITY    = "opacity";
+    private static final String CSS_DISPLAY_NONE      = "none";
+    private static final String CSS_VISIBILITY_HIDDEN = "hidden";
+    private static final String CSS_OPACITY_ZERO      = "0";
+
+    private final DomSnapshotBackend backend;
+    private final DomSnapshot        snapshot;
+    private final int                node;
+    private final By                 locator;
+
+    /** Live element, created on first fallback. */
+    private WebElement live;
+
+    SnapshotElement(DomSnapshotBackend backend, DomSnapshot snapshot, int node, By locator) {
+        this.backend  = backend;
+        this.snapshot = snapshot;
+        this.node     = node;
+        this.locator  = locator;
+    }
+
+    // ── Interactions (always live) ────────────────────────────────────────────
+
+    @Override
+    public void click() {
+        try {
+            live().click();
+        } finally {
+            backend.invalidate();
+        }
+    }
+
+    @Override
+    public void submit() {
+        try {
+            live().submit();
+        } finally {
+            backend.invalidate();
+        }
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        try {
+            live().sendKeys(keysToSend);
+        } finally {
+            backend.invalidate();
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            live().clear();
+        } finally {
+            backend.invalidate();
+        }
+    }
+
+    // ── Reads ─────────────────────────────────────────────────────────────────
+
+    @Override
+    public String getTagName() {
+        return local() ? snapshot.getTagName(node) : live().getTagName();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return local() ? snapshot.getAttribute(node, name) : live().getAttribute(name);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return local() ? snapshot.getAttribute(node, ATTR_CHECKED) != null : live().isSelected();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return local() ? snapshot.getAttribute(node, ATTR_DISABLED) == null : live().isEnabled();
+    }
+
+    /** Read locally once visible; a live read waits for visibility like any element. */
+    @Override
+    public String getText() {
+        return local() && displayed() ? snapshot.getText(node) : live().getText();
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return local() ? displayed() : live().isDisplayed();
+    }
+
+    @Override
+    public Point getLocation() {
+        return local() && snapshot.hasLayout(node) ? snapshot.getBounds(node).getPoint() : live().getLocation();
+    }
+
+    @Override
+    public Dimension getSize() {
+        return local() && snapshot.hasLayout(node) ? snapshot.getBounds(node).getDimension() : live().getSize();
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return local() && snapshot.hasLayout(node) ? snapshot.getBounds(node) : live().getRect();
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        String value = local() ? snapshot.getComputedStyle(node, propertyName) : null;
+        return value != null ? value : live().getCssValue(propertyName);
+    }
+
+    // ── Child element search ──────────────────────────────────────────────────
+
+    @Override
+    public WebElement findElement(By by) {
+        WebElement found = local()
+                ? backend.findElement(snapshot, node, by, By.chained(locator, by)) : null;
+        return found != null ? found : live().findElement(by);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        List<WebElement> found = local()
+                ? backend.findElements(snapshot, node, by, By.chained(locator, by)) : null;
+        return found != null ? found : live().findElements(by);
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotElement{" + locator + "}";
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private boolean local() {
+        return backend.isCurrent(snapshot);
+    }
+
+    /** Same checks as {@link ChromeElement#isDisplayed()}; nodes without a box are not displayed. */
+    private boolean displayed() {
+        return snapshot.hasLayout(node)
+                && !CSS_DISPLAY_NONE.equals(snapshot.getComputedStyle(node, CSS_DISPLAY))
+                && !CSS_VISIBILITY_HIDDEN.equals(snapshot.getComputedStyle(node, CSS_VISIBILITY))
+                && !CSS_OPACITY_ZERO.equals(snapshot.getComputedStyle(node, CSS_OPACITY));
+    }
+
+    private WebElement live() {
+        if (live == null) {
+            live = backend.live(locator);
+        }
+        return live;
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.ashwithpoojary98.exception;
+
+/**
+ * Thrown when a locator's CSS selector or XPath expression is rejected by the page as
+ * syntactically invalid.
+ */
+public class InvalidSelectorException extends NihoniumException {
+
+    public InvalidSelectorException(String message) {
+        super(message);
+    }
+
+    public InvalidSelectorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
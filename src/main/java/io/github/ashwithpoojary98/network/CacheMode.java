@@ -0,0 +1,34 @@
+package io.github.ashwithpoojary98.network;
+
+/**
+ * How a {@link RequestInterceptor} uses its {@link ResponseCache}.
+ */
+public enum CacheMode {
+
+    /** Load everything from the network and store every response. */
+    RECORD(false, true),
+
+    /** Serve stored responses only; requests not in the cache fail, keeping runs hermetic. */
+    REPLAY(true, false),
+
+    /** Serve stored responses and load and store the rest. */
+    REPLAY_OR_RECORD(true, true);
+
+    private final boolean replays;
+    private final boolean records;
+
+    CacheMode(boolean replays, boolean records) {
+        this.replays = replays;
+        this.records = records;
+    }
+
+    /** Returns {@code true} if stored responses are served. */
+    public boolean replays() {
+        return replays;
+    }
+
+    /** Returns {@code true} if network responses are stored. */
+    public boolean records() {
+        return records;
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.ashwithpoojary98.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable, pre-compiled form of an ordered rule list, built once per rule change and
+ * shared by every paused request.
+ *
+ * <p>Rules are bucketed by resource type, so a request only looks at rules that can apply
+ * to its type, and the URL patterns of each bucket are joined into one alternation. Most
+ * requests match no URL rule; for them a single regex scan rejects the whole bucket instead
+ * of one scan per rule. Only on a hit are the bucket's patterns tried in order to find the
+ * first matching rule.
+ */
+final class CompiledRuleSet {
+
+    /** Back-references would change meaning once groups are renumbered by the alternation. */
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
+    private static final ResourceType[] TYPES = ResourceType.values();
+
+    static final CompiledRuleSet EMPTY = new CompiledRuleSet(List.of());
+
+    private final InterceptRule[] rules;
+    /** Compiled URL pattern per rule, {@code null} for rules matching any URL. */
+    private final Pattern[] urlPatterns;
+    /** Indices of the rules that apply to each resource type, in rule order. */
+    private final int[][] rulesByType;
+    /** Alternation of each bucket's URL patterns; {@code null} if none or not combinable. */
+    private final Pattern[] combinedByType;
+
+    CompiledRuleSet(List<InterceptRule> ruleList) {
+        int count = ruleList.size();
+        this.rules          = ruleList.toArray(new InterceptRule[0]);
+        this.urlPatterns    = new Pattern[count];
+        this.rulesByType    = new int[TYPES.length][];
+        this.combinedByType = new Pattern[TYPES.length];
+
+        String[] urlRegexes = new String[count];
+        for (int i = 0; i < count; i++) {
+            urlRegexes[i] = rules[i].matcher().toUrlRegex();
+            if (urlRegexes[i] != null) {
+                urlPatterns[i] = Pattern.compile(urlRegexes[i]);
+            }
+        }
+
+        for (ResourceType type : TYPES) {
+            List<Integer> bucket = new ArrayList<>();
+            StringBuilder combined = new StringBuilder();
+            boolean combinable = true;
+            for (int i = 0; i < count; i++) {
+                Set<ResourceType> types = rules[i].matcher().getResourceTypes();
+                if (!types.isEmpty() && !types.contains(type)) {
+                    continue;
+                }
+                bucket.add(i);
+                if (urlRegexes[i] != null) {
+                    combinable &= !BACK_REFERENCE.matcher(urlRegexes[i]).find();
+                    combined.append(combined.isEmpty() ? "" : "|").append("(?:").append(urlRegexes[i]).append(')');
+                }
+            }
+            rulesByType[type.ordinal()] = bucket.stream().mapToInt(Integer::intValue).toArray();
+            combinedByType[type.ordinal()] = combinable && !combined.isEmpty() ? compile(combined.toString()) : null;
+        }
+    }
+
+    /**
+     * Returns the first rule matching a request.
+     *
+     * @param url  request URL
+     * @param type request resource type
+     * @return the deciding rule, or {@code null} if none matches
+     */
+    InterceptRule match(String url, ResourceType type) {
+        int[] candidates = rulesByType[type.ordinal()];
+        Pattern combined = combinedByType[type.ordinal()];
+        int urlHit = -1; // -1 unknown, 0 no URL rule can match, 1 maybe
+        for (int index : candidates) {
+            Pattern pattern = urlPatterns[index];
+            if (pattern == null) {
+                return rules[index];
+            }
+            if (urlHit < 0) {
+                urlHit = combined == null || combined.matcher(url).find() ? 1 : 0;
+            }
+            if (urlHit == 1 && pattern.matcher(url).find()) {
+                return rules[index];
+            }
+        }
+        return null;
+    }
+
+    /** Returns {@code true} if there are no rules. */
+    boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    private static Pattern compile(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+}
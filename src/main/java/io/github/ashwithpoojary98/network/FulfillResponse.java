@@ -0,0 +1,49 @@
+package io.github.ashwithpoojary98.network;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Response a {@link RequestInterceptor} serves for a request without touching the network.
+ *
+ * @param status  HTTP status code
+ * @param headers response headers
+ * @param body    response body
+ */
+public record FulfillResponse(int status, Map<String, String> headers, byte[] body) {
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    public FulfillResponse {
+        headers = Map.copyOf(headers);
+        body    = body.clone();
+    }
+
+    /**
+     * Builds a text response.
+     *
+     * @param status      HTTP status code
+     * @param contentType value of the {@code Content-Type} header
+     * @param body        body, encoded as UTF-8
+     * @return the response
+     */
+    public static FulfillResponse of(int status, String contentType, String body) {
+        return new FulfillResponse(status, Map.of(CONTENT_TYPE, contentType),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds a response with no body, e.g. {@code 204} for a stubbed beacon.
+     *
+     * @param status HTTP status code
+     * @return the response
+     */
+    public static FulfillResponse empty(int status) {
+        return new FulfillResponse(status, Map.of(), new byte[0]);
+    }
+
+    @Override
+    public byte[] body() {
+        return body.clone();
+    }
+}
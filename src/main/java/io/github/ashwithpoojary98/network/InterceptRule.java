@@ -0,0 +1,47 @@
+package io.github.ashwithpoojary98.network;
+
+import java.util.Objects;
+
+/**
+ * One {@link RequestInterceptor} rule: what to do with the requests a matcher selects.
+ * Rules are evaluated in the order they were added; the first match decides.
+ *
+ * @param matcher  requests the rule applies to
+ * @param action   what to do with them
+ * @param response response to serve; required for {@link Action#FULFILL}, otherwise {@code null}
+ */
+public record InterceptRule(RequestMatcher matcher, Action action, FulfillResponse response) {
+
+    /** What happens to a matched request. */
+    public enum Action {
+        /** Fail the request without sending it. */
+        BLOCK,
+        /** Let the request through unchanged — useful to exempt requests from a later block rule. */
+        CONTINUE,
+        /** Answer the request with {@link InterceptRule#response()}. */
+        FULFILL
+    }
+
+    public InterceptRule {
+        Objects.requireNonNull(matcher, "matcher");
+        Objects.requireNonNull(action, "action");
+        if ((action == Action.FULFILL) != (response != null)) {
+            throw new IllegalArgumentException("A response is required for FULFILL rules only");
+        }
+    }
+
+    /** Rule that blocks the requests {@code matcher} selects. */
+    public static InterceptRule block(RequestMatcher matcher) {
+        return new InterceptRule(matcher, Action.BLOCK, null);
+    }
+
+    /** Rule that lets the requests {@code matcher} selects through. */
+    public static InterceptRule allow(RequestMatcher matcher) {
+        return new InterceptRule(matcher, Action.CONTINUE, null);
+    }
+
+    /** Rule that answers the requests {@code matcher} selects with {@code response}. */
+    public static InterceptRule fulfill(RequestMatcher matcher, FulfillResponse response) {
+        return new InterceptRule(matcher, Action.FULFILL, response);
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.ashwithpoojary98.network;
+
+/**
+ * Per-page counters of a {@link RequestInterceptor}.
+ *
+ * <p>A blocked request never loads, so its cost is estimated: every request of the page
+ * that did load is recorded per {@link ResourceType}, and each blocked request is credited
+ * with the average size and load time of loaded requests of its type. Types that never
+ * loaded on the page contribute nothing. The time estimate sums request durations and
+ * ignores that requests load in parallel, so it is an upper bound on the wall-clock time
+ * saved.
+ */
+public final class InterceptionStats {
+
+    private static final ResourceType[] TYPES = ResourceType.values();
+
+    // All guarded by this
+    private final long[]   blocked      = new long[TYPES.length];
+    private final long[]   loaded       = new long[TYPES.length];
+    private final long[]   loadedBytes  = new long[TYPES.length];
+    private final double[] loadedMillis = new double[TYPES.length];
+    private long fulfilled;
+    private long fulfilledBytes;
+    private long continued;
+
+    synchronized void recordBlocked(ResourceType type) {
+        blocked[type.ordinal()]++;
+    }
+
+    synchronized void recordFulfilled(long bodyBytes) {
+        fulfilled++;
+        fulfilledBytes += bodyBytes;
+    }
+
+    synchronized void recordContinued() {
+        continued++;
+    }
+
+    synchronized void recordLoaded(ResourceType type, long encodedBytes, double millis) {
+        loaded[type.ordinal()]++;
+        loadedBytes[type.ordinal()]  += encodedBytes;
+        loadedMillis[type.ordinal()] += millis;
+    }
+
+    /** Returns the number of requests blocked, by the browser or by a paused-request decision. */
+    public synchronized long getBlockedCount() {
+        long total = 0;
+        for (long count : blocked) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** Returns the number of blocked requests of {@code type}. */
+    public synchronized long getBlockedCount(ResourceType type) {
+        return blocked[type.ordinal()];
+    }
+
+    /** Returns the number of requests answered with a {@link FulfillResponse}. */
+    public synchronized long getFulfilledCount() {
+        return fulfilled;
+    }
+
+    /** Returns the number of body bytes served locally by fulfilled requests. */
+    public synchronized long getFulfilledBytes() {
+        return fulfilledBytes;
+    }
+
+    /** Returns the number of paused requests that were let through. */
+    public synchronized long getContinuedCount() {
+        return continued;
+    }
+
+    /** Returns the estimated number of encoded bytes blocked requests would have transferred. */
+    public synchronized long getEstimatedBytesSaved() {
+        long total = 0;
+        for (int i = 0; i < TYPES.length; i++) {
+            if (loaded[i] > 0) {
+                total += blocked[i] * loadedBytes[i] / loaded[i];
+            }
+        }
+        return total;
+    }
+
+    /** Returns the estimated summed load time (ms) of blocked requests. */
+    public synchronized double getEstimatedMillisSaved() {
+        double total = 0;
+        for (int i = 0; i < TYPES.length; i++) {
+            if (loaded[i] > 0) {
+                total += blocked[i] * loadedMillis[i] / loaded[i];
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "InterceptionStats{blocked=" + getBlockedCount()
+                + ", fulfilled=" + getFulfilledCount()
+                + ", continued=" + getContinuedCount()
+                + ", estimatedBytesSaved=" + getEstimatedBytesSaved()
+                + ", estimatedMillisSaved=" + Math.round(getEstimatedMillisSaved()) + "}";
+    }
+}
@@ -1,32 +1,127 @@
 package io.github.ashwithpoojary98.network;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import io.github.ashwithpoojary98.cdp.domain.NetworkDomain;
+import io.github.ashwithpoojary98.cdp.domain.PageDomain;
 import io.github.ashwithpoojary98.wait.WaitConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
+/**
+ * Tracks in-flight requests of a page from {@code Network} domain events.
+ *
+ * <p>Idle can be sampled with {@link #isNetworkIdle(int, long)} or awaited with
+ * {@link #whenIdle(int, long)}. Waiters are completed by a quiet-period timer on a shared
+ * daemon thread: the timer is armed while no more than {@code maxConnections} requests are
+ * in flight and re-armed when request activity moves the end of the quiet window, so a
+ * waiter completes as soon as the window closes and no caller thread sleeps.
+ *
+ * <p>The request table is bounded so requests that never finish cannot hold idle off or
+ * grow it for the life of the session: WebSocket and EventSource requests and URLs matching
+ * {@link WaitConfig#getNetworkIdleExcludedUrls()} are never tracked, a request older than
+ * {@link WaitConfig#getNetworkRequestTtlMillis()} is evicted, requests of the previous
+ * document are dropped when the main frame navigates, and at most
+ * {@value #MAX_TRACKED_REQUESTS} requests are held. Finished requests are timed into
+ * {@link #getRequestTimings()}.
+ */
 public class NetworkMonitor {
 
+    private static final Logger log = LoggerFactory.getLogger(NetworkMonitor.class);
+
+    private static final String TIMER_THREAD_NAME = "nihonium-network-idle";
+
+    /** Requests held at once; the oldest is evicted beyond this. */
+    public static final int MAX_TRACKED_REQUESTS = 1_000;
+
+    /** Resource types of long-lived connections, never tracked. */
+    private static final Set<String> LONG_LIVED_TYPES = Set.of("WebSocket", "EventSource");
+
+    private static final String KEY_REQUEST_ID    = "requestId";
+    private static final String KEY_LOADER_ID     = "loaderId";
+    private static final String KEY_REQUEST       = "request";
+    private static final String KEY_RESPONSE      = "response";
+    private static final String KEY_URL           = "url";
+    private static final String KEY_TYPE          = "type";
+    private static final String KEY_TIMESTAMP     = "timestamp";
+    private static final String KEY_TIMING        = "timing";
+    private static final String KEY_REQUEST_TIME  = "requestTime";
+    private static final String KEY_SEND_START    = "sendStart";
+    private static final String KEY_HEADERS_END   = "receiveHeadersEnd";
+    private static final String KEY_FRAME         = "frame";
+    private static final String KEY_PARENT_ID     = "parentId";
+
+    /** Single daemon thread shared by every monitor's quiet-period timers. */
+    private static final ScheduledThreadPoolExecutor QUIET_TIMER = createQuietTimer();
+
     private final NetworkDomain networkDomain;
-    private final ConcurrentHashMap<String, Long> activeRequests;
-    private final AtomicLong lastActivityTime;
+    private final PageDomain    pageDomain;
+    private final long          requestTtlNanos;
+    private final List<Pattern> excludedUrls;
+    private final RequestTimings timings = new RequestTimings();
+    private final AtomicLong lastActivityNanos;
     private volatile boolean enabled = false;
+    private boolean subscribed = false;
 
+    /** In-flight requests in issue order, so the oldest is always first. Guarded by itself. */
+    private final LinkedHashMap<String, TrackedRequest> activeRequests = new LinkedHashMap<>();
+    /** Requests dropped by TTL, capacity or navigation. Guarded by {@link #activeRequests}. */
+    private long evictedRequests;
+
+    /** Pending {@link #whenIdle} waiters. Guarded by itself. */
+    private final List<IdleWaiter> waiters = new ArrayList<>();
+
+    /**
+     * Creates a monitor with default limits that does not observe navigations.
+     *
+     * @param networkDomain {@code Network} domain of the page
+     */
     public NetworkMonitor(NetworkDomain networkDomain) {
-        this.networkDomain = networkDomain;
-        this.activeRequests = new ConcurrentHashMap<>();
-        this.lastActivityTime = new AtomicLong(System.currentTimeMillis());
+        this(networkDomain, null, WaitConfig.defaultConfig());
+    }
+
+    /**
+     * @param networkDomain {@code Network} domain of the page
+     * @param pageDomain    {@code Page} domain of the page, used to drop requests of the
+     *                      previous document on navigation; may be {@code null}
+     * @param config        supplies the request TTL and excluded URLs
+     */
+    public NetworkMonitor(NetworkDomain networkDomain, PageDomain pageDomain, WaitConfig config) {
+        this.networkDomain     = networkDomain;
+        this.pageDomain        = pageDomain;
+        this.requestTtlNanos   = TimeUnit.MILLISECONDS.toNanos(config.getNetworkRequestTtlMillis());
+        this.excludedUrls      = config.getNetworkIdleExcludedUrls();
+        this.lastActivityNanos = new AtomicLong(System.nanoTime());
     }
 
     public void enable() {
         if (!enabled) {
             networkDomain.enable().join();
 
-            networkDomain.subscribeToRequestWillBeSent(this::onRequestStarted);
-            networkDomain.subscribeToLoadingFinished(this::onRequestFinished);
-            networkDomain.subscribeToLoadingFailed(this::onRequestFailed);
+            if (!subscribed) {
+                networkDomain.subscribeToRequestWillBeSent(this::onRequestStarted);
+                networkDomain.subscribeToResponseReceived(this::onResponseReceived);
+                networkDomain.subscribeToLoadingFinished(this::onRequestFinished);
+                networkDomain.subscribeToLoadingFailed(this::onRequestFailed);
+                if (pageDomain != null) {
+                    pageDomain.subscribeToFrameNavigated(this::onFrameNavigated);
+                }
+                subscribed = true;
+            }
 
             enabled = true;
         }
@@ -35,41 +130,101 @@ public class NetworkMonitor {
     public void disable() {
         if (enabled) {
             networkDomain.disable().join();
-            activeRequests.clear();
+            synchronized (activeRequests) {
+                activeRequests.clear();
+            }
             enabled = false;
+            // Nothing is tracked any more — treated as idle, like isNetworkIdle()
+            completeAllWaiters();
         }
     }
 
+    // ── Event handlers ────────────────────────────────────────────────────────
+
     private void onRequestStarted(JsonObject event) {
-        String requestId = event.get("requestId").getAsString();
-        activeRequests.put(requestId, System.currentTimeMillis());
-        lastActivityTime.set(System.currentTimeMillis());
+        if (isExcluded(event)) {
+            return;
+        }
+        String requestId = event.get(KEY_REQUEST_ID).getAsString();
+        double issuedAt = event.get(KEY_TIMESTAMP).getAsDouble();
+        synchronized (activeRequests) {
+            TrackedRequest request = activeRequests.get(requestId);
+            if (request != null) {
+                // Redirect hop: same request ID, keep its place (and age) in the table
+                request.issuedAt = issuedAt;
+            } else {
+                activeRequests.put(requestId,
+                        new TrackedRequest(System.nanoTime(), issuedAt, stringOrNull(event, KEY_LOADER_ID)));
+                if (activeRequests.size() > MAX_TRACKED_REQUESTS) {
+                    evictEldest();
+                }
+            }
+        }
+        onActivity();
+    }
+
+    private void onResponseReceived(JsonObject event) {
+        String requestId = event.get(KEY_REQUEST_ID).getAsString();
+        synchronized (activeRequests) {
+            TrackedRequest request = activeRequests.get(requestId);
+            if (request != null) {
+                request.onResponse(event);
+            }
+        }
     }
 
     private void onRequestFinished(JsonObject event) {
-        String requestId = event.get("requestId").getAsString();
-        activeRequests.remove(requestId);
-        lastActivityTime.set(System.currentTimeMillis());
+        TrackedRequest request = remove(event);
+        if (request != null) {
+            request.recordInto(timings, event.get(KEY_TIMESTAMP).getAsDouble());
+            onActivity();
+        }
     }
 
     private void onRequestFailed(JsonObject event) {
-        String requestId = event.get("requestId").getAsString();
-        activeRequests.remove(requestId);
-        lastActivityTime.set(System.currentTimeMillis());
+        if (remove(event) != null) {
+            onActivity();
+        }
+    }
+
+    /** Drops the previous document's requests once the main frame commits a new one. */
+    private void onFrameNavigated(JsonObject event) {
+        JsonObject frame = event.getAsJsonObject(KEY_FRAME);
+        if (frame == null || frame.has(KEY_PARENT_ID) || !frame.has(KEY_LOADER_ID)) {
+            return;
+        }
+        String loaderId = frame.get(KEY_LOADER_ID).getAsString();
+        int dropped = 0;
+        synchronized (activeRequests) {
+            Iterator<TrackedRequest> it = activeRequests.values().iterator();
+            while (it.hasNext()) {
+                if (!loaderId.equals(it.next().loaderId)) {
+                    it.remove();
+                    dropped++;
+                }
+            }
+            evictedRequests += dropped;
+        }
+        if (dropped > 0) {
+            log.debug("Dropped {} request(s) of the previous document", dropped);
+            onActivity();
+        }
     }
 
+    // ── Idle state ────────────────────────────────────────────────────────────
+
     public boolean isNetworkIdle(int maxConnections, long idleDurationMillis) {
         if (!enabled) {
             return true;
         }
 
-        int activeCount = activeRequests.size();
+        int activeCount = getActiveRequestCount();
         if (activeCount > maxConnections) {
             return false;
         }
 
-        long timeSinceLastActivity = System.currentTimeMillis() - lastActivityTime.get();
-        return timeSinceLastActivity >= idleDurationMillis;
+        long quietNanos = System.nanoTime() - lastActivityNanos.get();
+        return quietNanos >= TimeUnit.MILLISECONDS.toNanos(idleDurationMillis);
     }
 
     public boolean isNetworkIdle() {
@@ -78,7 +233,242 @@ public class NetworkMonitor {
                 WaitConfig.DEFAULT_NETWORK_IDLE_DURATION_MILLIS);
     }
 
+    /** Returns the number of tracked in-flight requests, after evicting expired ones. */
     public int getActiveRequestCount() {
-        return activeRequests.size();
+        synchronized (activeRequests) {
+            evictExpired(System.nanoTime());
+            return activeRequests.size();
+        }
+    }
+
+    /** Returns the number of requests dropped by TTL, table capacity or navigation. */
+    public long getEvictedRequestCount() {
+        synchronized (activeRequests) {
+            return evictedRequests;
+        }
+    }
+
+    /** Returns the timing breakdown of the most recently finished requests. */
+    public RequestTimings getRequestTimings() {
+        return timings;
+    }
+
+    // ── Idle waiters ──────────────────────────────────────────────────────────
+
+    /**
+     * Returns a future that completes once no more than {@code maxConnections} requests
+     * have been in flight for {@code quietMillis}. Completes at once if the monitor is
+     * not enabled.
+     *
+     * <p>Callers that give up waiting should {@link CompletableFuture#cancel cancel} the
+     * future so its timer is released.
+     *
+     * @param maxConnections requests that may still be in flight
+     * @param quietMillis    how long the request count must stay at or below the limit
+     * @return future completing when the network is idle
+     */
+    public CompletableFuture<Void> whenIdle(int maxConnections, long quietMillis) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        IdleWaiter waiter = new IdleWaiter(maxConnections, TimeUnit.MILLISECONDS.toNanos(quietMillis));
+        synchronized (waiters) {
+            waiters.add(waiter);
+            arm(waiter);
+        }
+        waiter.future.whenComplete((ignored, error) -> release(waiter));
+        return waiter.future;
+    }
+
+    /** Returns the number of {@link #whenIdle} futures still waiting. */
+    public int getIdleWaiterCount() {
+        synchronized (waiters) {
+            return waiters.size();
+        }
+    }
+
+    private void onActivity() {
+        lastActivityNanos.set(System.nanoTime());
+        synchronized (waiters) {
+            // Armed quiet-window timers notice the moved window when they fire and re-arm
+            // themselves; a timer set for a TTL expiry is brought forward once the count drops.
+            for (IdleWaiter waiter : waiters) {
+                if (waiter.waitingForTtl && getActiveRequestCount() <= waiter.maxConnections) {
+                    waiter.timer.cancel(false);
+                    arm(waiter);
+                }
+            }
+        }
+    }
+
+    /** Schedules the waiter's check for the end of the current quiet window. Holds {@code waiters}. */
+    private void arm(IdleWaiter waiter) {
+        long now = System.nanoTime();
+        long delay;
+        synchronized (activeRequests) {
+            evictExpired(now);
+            waiter.waitingForTtl = activeRequests.size() > waiter.maxConnections;
+            if (waiter.waitingForTtl) {
+                // Too busy: without further events, only the oldest request expiring frees a slot
+                delay = activeRequests.values().iterator().next().startNanos + requestTtlNanos - now;
+            } else {
+                delay = lastActivityNanos.get() + waiter.quietNanos - now;
+            }
+        }
+        waiter.timer = QUIET_TIMER.schedule(() -> check(waiter), Math.max(0L, delay), TimeUnit.NANOSECONDS);
+    }
+
+    private void check(IdleWaiter waiter) {
+        boolean idle;
+        synchronized (waiters) {
+            waiter.timer = null;
+            if (waiter.future.isDone()) {
+                return;
+            }
+            idle = isNetworkIdle(waiter.maxConnections, TimeUnit.NANOSECONDS.toMillis(waiter.quietNanos));
+            if (!idle) {
+                arm(waiter);
+            }
+        }
+        if (idle) {
+            waiter.future.complete(null);
+        }
+    }
+
+    private void release(IdleWaiter waiter) {
+        synchronized (waiters) {
+            waiters.remove(waiter);
+            if (waiter.timer != null) {
+                waiter.timer.cancel(false);
+                waiter.timer = null;
+            }
+        }
+    }
+
+    // ── Request table ─────────────────────────────────────────────────────────
+
+    /** Removes the request named by a finish/fail event. */
+    private TrackedRequest remove(JsonObject event) {
+        String requestId = event.get(KEY_REQUEST_ID).getAsString();
+        synchronized (activeRequests) {
+            return activeRequests.remove(requestId);
+        }
+    }
+
+    /** Drops requests older than the TTL. Holds {@code activeRequests}. */
+    private void evictExpired(long now) {
+        Iterator<TrackedRequest> it = activeRequests.values().iterator();
+        while (it.hasNext() && now - it.next().startNanos >= requestTtlNanos) {
+            it.remove();
+            evictedRequests++;
+            log.debug("Request exceeded its {} ms TTL; no longer counted as in flight",
+                    TimeUnit.NANOSECONDS.toMillis(requestTtlNanos));
+        }
+    }
+
+    /** Drops the oldest request. Holds {@code activeRequests}. */
+    private void evictEldest() {
+        Iterator<Map.Entry<String, TrackedRequest>> it = activeRequests.entrySet().iterator();
+        String requestId = it.next().getKey();
+        it.remove();
+        evictedRequests++;
+        log.debug("Request table full ({}); evicted oldest request {}", MAX_TRACKED_REQUESTS, requestId);
+    }
+
+    private boolean isExcluded(JsonObject event) {
+        if (event.has(KEY_TYPE) && LONG_LIVED_TYPES.contains(event.get(KEY_TYPE).getAsString())) {
+            return true;
+        }
+        if (excludedUrls.isEmpty()) {
+            return false;
+        }
+        String url = event.getAsJsonObject(KEY_REQUEST).get(KEY_URL).getAsString();
+        for (Pattern pattern : excludedUrls) {
+            if (pattern.matcher(url).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stringOrNull(JsonObject object, String key) {
+        JsonElement value = object.get(key);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    private void completeAllWaiters() {
+        List<IdleWaiter> pending;
+        synchronized (waiters) {
+            pending = new ArrayList<>(waiters);
+        }
+        for (IdleWaiter waiter : pending) {
+            waiter.future.complete(null);
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createQuietTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName(TIMER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /** One {@link #whenIdle} call. Mutable fields are guarded by the monitor's waiter list. */
+    private static final class IdleWaiter {
+        final int                     maxConnections;
+        final long                    quietNanos;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        ScheduledFuture<?>            timer;
+        /** {@code true} while {@link #timer} targets a TTL expiry rather than the quiet window. */
+        boolean                       waitingForTtl;
+
+        IdleWaiter(int maxConnections, long quietNanos) {
+            this.maxConnections = maxConnections;
+            this.quietNanos     = quietNanos;
+        }
+    }
+
+    /**
+     * One in-flight request. CDP timestamps are monotonic seconds; mutable fields are
+     * guarded by the monitor's request table.
+     */
+    private static final class TrackedRequest {
+        final long   startNanos;
+        final String loaderId;
+        double issuedAt;
+        double respondedAt = Double.NaN;
+        double queuedMillis;
+        double ttfbMillis;
+
+        TrackedRequest(long startNanos, double issuedAt, String loaderId) {
+            this.startNanos = startNanos;
+            this.issuedAt   = issuedAt;
+            this.loaderId   = loaderId;
+        }
+
+        void onResponse(JsonObject event) {
+            respondedAt = event.get(KEY_TIMESTAMP).getAsDouble();
+            JsonObject timing = event.getAsJsonObject(KEY_RESPONSE).getAsJsonObject(KEY_TIMING);
+            if (timing != null) {
+                double sentAt = timing.get(KEY_REQUEST_TIME).getAsDouble() * 1000
+                        + timing.get(KEY_SEND_START).getAsDouble();
+                queuedMillis = Math.max(0.0, sentAt - issuedAt * 1000);
+                ttfbMillis   = Math.max(0.0, timing.get(KEY_HEADERS_END).getAsDouble()
+                        - timing.get(KEY_SEND_START).getAsDouble());
+            } else {
+                // Cached or data: responses carry no timing — attribute it all to TTFB
+                queuedMillis = 0.0;
+                ttfbMillis   = Math.max(0.0, (respondedAt - issuedAt) * 1000);
+            }
+        }
+
+        void recordInto(RequestTimings timings, double finishedAt) {
+            double downloadStart = Double.isNaN(respondedAt) ? issuedAt : respondedAt;
+            timings.record(queuedMillis, ttfbMillis, Math.max(0.0, (finishedAt - downloadStart) * 1000));
+        }
     }
 }
@@ -0,0 +1,435 @@
+package io.github.ashwithpoojary98.network;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.cdp.domain.FetchDomain;
+import io.github.ashwithpoojary98.cdp.domain.NetworkDomain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Blocks, stubs or lets through the requests of one page by rule.
+ *
+ * <p>Rules are evaluated in the order they were added and the first match decides; requests
+ * no rule matches proceed unchanged. Two mechanisms apply them:
+ * <ul>
+ *   <li>block rules with a {@code *}-only URL glob and no resource type, up to the first
+ *       allow/fulfill rule, are handed to the browser with {@code Network.setBlockedURLs} —
+ *       no round trip per request;</li>
+ *   <li>every other rule pauses the requests it could apply to with {@code Fetch.enable}
+ *       patterns (narrowed by glob and resource type), and each paused request is decided
+ *       against a {@link CompiledRuleSet} on the event thread.</li>
+ * </ul>
+ * With no rules nothing is paused. Counters and estimated savings are kept in
+ * {@link #getStats()}.
+ *
+ * <p>With a {@link #useResponseCache response cache}, requests no block or fulfill rule
+ * decides are served from the cache ({@link CacheMode#replays()}), and responses loaded
+ * from the network are paused once more at the response stage so their body can be
+ * stored ({@link CacheMode#records()}).
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * driver.getRequestInterceptor()
+ *     .block(RequestMatcher.resourceTypes(ResourceType.IMAGE, ResourceType.FONT, ResourceType.MEDIA))
+ *     .block(RequestMatcher.glob("*://*.google-analytics.com/*"))
+ *     .fulfill(RequestMatcher.regex("/api/flags$"), FulfillResponse.of(200, "application/json", "{}"))
+ *     .enable();
+ * }</pre>
+ */
+public class RequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestInterceptor.class);
+
+    /** Requests whose load is being timed at once; the oldest is forgotten beyond this. */
+    private static final int MAX_TRACKED_LOADS = 1_000;
+
+    /** {@code blockedReason} of requests blocked by {@code Network.setBlockedURLs}. */
+    private static final String BLOCKED_REASON_INSPECTOR = "inspector";
+    private static final String ANY_URL                  = "*";
+    private static final String STAGE_RESPONSE           = "Response";
+    private static final int    STATUS_NOT_MODIFIED      = 304;
+
+    private static final String KEY_REQUEST_ID      = "requestId";
+    private static final String KEY_NETWORK_ID      = "networkId";
+    private static final String KEY_REQUEST         = "request";
+    private static final String KEY_URL             = "url";
+    private static final String KEY_TYPE            = "type";
+    private static final String KEY_RESOURCE_TYPE   = "resourceType";
+    private static final String KEY_URL_PATTERN     = "urlPattern";
+    private static final String KEY_TIMESTAMP       = "timestamp";
+    private static final String KEY_ENCODED_LENGTH  = "encodedDataLength";
+    private static final String KEY_BLOCKED_REASON  = "blockedReason";
+    private static final String KEY_METHOD          = "method";
+    private static final String KEY_POST_DATA       = "postData";
+    private static final String KEY_REQUEST_STAGE   = "requestStage";
+    private static final String KEY_STATUS_CODE     = "responseStatusCode";
+    private static final String KEY_RESPONSE_ERROR  = "responseErrorReason";
+    private static final String KEY_RESPONSE_HEADERS = "responseHeaders";
+    private static final String KEY_NAME            = "name";
+    private static final String KEY_VALUE           = "value";
+
+    private final FetchDomain       fetchDomain;
+    private final NetworkDomain     networkDomain;
+    private final InterceptionStats stats = new InterceptionStats();
+
+    /** Rules in evaluation order. Guarded by {@code this}. */
+    private final List<InterceptRule> rules = new ArrayList<>();
+    private volatile CompiledRuleSet compiled = CompiledRuleSet.EMPTY;
+    private volatile CacheBinding    cache;
+    private volatile boolean enabled;
+    private boolean subscribed;
+    private boolean fetchEnabled;
+
+    /** Loads being timed for the savings estimate. Guarded by itself. */
+    private final Map<String, Load> loads = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Load> eldest) {
+            return size() > MAX_TRACKED_LOADS;
+        }
+    };
+
+    /**
+     * @param fetchDomain   {@code Fetch} domain of the page
+     * @param networkDomain {@code Network} domain of the page
+     */
+    public RequestInterceptor(FetchDomain fetchDomain, NetworkDomain networkDomain) {
+        this.fetchDomain   = fetchDomain;
+        this.networkDomain = networkDomain;
+    }
+
+    // ── Rules ─────────────────────────────────────────────────────────────────
+
+    /** Adds a rule blocking the requests {@code matcher} selects. */
+    public RequestInterceptor block(RequestMatcher matcher) {
+        return addRule(InterceptRule.block(matcher));
+    }
+
+    /** Adds a rule letting the requests {@code matcher} selects through, exempting them from later rules. */
+    public RequestInterceptor allow(RequestMatcher matcher) {
+        return addRule(InterceptRule.allow(matcher));
+    }
+
+    /** Adds a rule answering the requests {@code matcher} selects with {@code response}. */
+    public RequestInterceptor fulfill(RequestMatcher matcher, FulfillResponse response) {
+        return addRule(InterceptRule.fulfill(matcher, response));
+    }
+
+    /**
+     * Appends a rule. Takes effect at once if the interceptor is enabled.
+     *
+     * @param rule rule to evaluate after the existing ones
+     * @return this interceptor
+     */
+    public synchronized RequestInterceptor addRule(InterceptRule rule) {
+        rules.add(rule);
+        if (enabled) {
+            apply();
+        }
+        return this;
+    }
+
+    /** Removes every rule. Takes effect at once if the interceptor is enabled. */
+    public synchronized void clearRules() {
+        rules.clear();
+        if (enabled) {
+            apply();
+        }
+    }
+
+    /**
+     * Serves and/or records responses through {@code responseCache}. Takes effect at once
+     * if the interceptor is enabled.
+     *
+     * @param responseCache cache to use, or {@code null} to stop using one
+     * @param mode          whether to replay, record or both
+     * @return this interceptor
+     */
+    public synchronized RequestInterceptor useResponseCache(ResponseCache responseCache, CacheMode mode) {
+        cache = responseCache != null ? new CacheBinding(responseCache, mode) : null;
+        if (enabled) {
+            apply();
+        }
+        return this;
+    }
+
+    /** Returns the rules in evaluation order. */
+    public synchronized List<InterceptRule> getRules() {
+        return List.copyOf(rules);
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    /** Starts applying the rules to the page's requests. */
+    public synchronized void enable() {
+        if (enabled) {
+            return;
+        }
+        if (!subscribed) {
+            fetchDomain.subscribeToRequestPaused(this::onRequestPaused);
+            networkDomain.subscribeToRequestWillBeSent(this::onRequestWillBeSent);
+            networkDomain.subscribeToLoadingFinished(this::onLoadingFinished);
+            networkDomain.subscribeToLoadingFailed(this::onLoadingFailed);
+            subscribed = true;
+        }
+        networkDomain.enable().join();
+        enabled = true;
+        apply();
+    }
+
+    /** Stops intercepting; requests are no longer paused or blocked. Rules are kept. */
+    public synchronized void disable() {
+        if (!enabled) {
+            return;
+        }
+        enabled  = false;
+        compiled = CompiledRuleSet.EMPTY;
+        CompletableFuture<?> unblocked = networkDomain.setBlockedURLs(List.of());
+        if (fetchEnabled) {
+            fetchDomain.disable().join();
+            fetchEnabled = false;
+        }
+        unblocked.join();
+        synchronized (loads) {
+            loads.clear();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Returns the counters of this page's interception. */
+    public InterceptionStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Compiles the rules and pushes them to the browser: the leading browser-blockable
+     * block rules as {@code setBlockedURLs}, the rest as {@code Fetch} patterns.
+     * Holds {@code this}.
+     */
+    private void apply() {
+        compiled = new CompiledRuleSet(rules);
+
+        List<String> browserBlocked = new ArrayList<>();
+        Map<String, JsonObject> patterns = new LinkedHashMap<>();
+        boolean blocksOnly = true;
+        for (InterceptRule rule : rules) {
+            RequestMatcher matcher = rule.matcher();
+            if (blocksOnly && rule.action() == InterceptRule.Action.BLOCK && matcher.isBrowserBlockable()) {
+                browserBlocked.add(matcher.getGlob());
+                continue;
+            }
+            blocksOnly &= rule.action() == InterceptRule.Action.BLOCK;
+            addFetchPatterns(matcher, patterns);
+        }
+        CacheBinding binding = cache;
+        if (binding != null && binding.mode().replays()) {
+            // Every request may be in the cache
+            addFetchPatterns(RequestMatcher.any(), patterns);
+        }
+        // A catch-all pattern pauses everything; the narrower ones add nothing
+        JsonObject catchAll = patterns.get(ANY_URL + "|");
+        JsonArray fetchPatterns = new JsonArray();
+        if (catchAll != null) {
+            fetchPatterns.add(catchAll);
+        } else {
+            patterns.values().forEach(fetchPatterns::add);
+        }
+        if (binding != null && binding.mode().records()) {
+            JsonObject responseStage = fetchPattern(ANY_URL, null);
+            responseStage.addProperty(KEY_REQUEST_STAGE, STAGE_RESPONSE);
+            fetchPatterns.add(responseStage);
+        }
+
+        List<CompletableFuture<?>> applied = new ArrayList<>();
+        applied.add(networkDomain.setBlockedURLs(browserBlocked));
+        if (!fetchPatterns.isEmpty()) {
+            applied.add(fetchDomain.enable(fetchPatterns));
+            fetchEnabled = true;
+        } else if (fetchEnabled) {
+            applied.add(fetchDomain.disable());
+            fetchEnabled = false;
+        }
+        CompletableFuture.allOf(applied.toArray(new CompletableFuture<?>[0])).join();
+        log.debug("Applied {} interception rule(s): {} blocked in the browser, {} Fetch pattern(s)",
+                rules.size(), browserBlocked.size(), fetchPatterns.size());
+    }
+
+    private static void addFetchPatterns(RequestMatcher matcher, Map<String, JsonObject> patterns) {
+        String urlPattern = matcher.getGlob() != null ? matcher.getGlob() : ANY_URL;
+        if (matcher.getResourceTypes().isEmpty()) {
+            patterns.computeIfAbsent(urlPattern + "|", key -> fetchPattern(urlPattern, null));
+            return;
+        }
+        for (ResourceType type : matcher.getResourceTypes()) {
+            patterns.computeIfAbsent(urlPattern + "|" + type.getCdpName(), key -> fetchPattern(urlPattern, type));
+        }
+    }
+
+    private static JsonObject fetchPattern(String urlPattern, ResourceType type) {
+        JsonObject pattern = new JsonObject();
+        pattern.addProperty(KEY_URL_PATTERN, urlPattern);
+        if (type != null) {
+            pattern.addProperty(KEY_RESOURCE_TYPE, type.getCdpName());
+        }
+        return pattern;
+    }
+
+    // ── Event handlers ────────────────────────────────────────────────────────
+
+    private void onRequestPaused(JsonObject event) {
+        if (event.has(KEY_STATUS_CODE) || event.has(KEY_RESPONSE_ERROR)) {
+            onResponsePaused(event);
+            return;
+        }
+        String requestId = event.get(KEY_REQUEST_ID).getAsString();
+        JsonObject request = event.getAsJsonObject(KEY_REQUEST);
+        String url       = request.get(KEY_URL).getAsString();
+        ResourceType type = ResourceType.fromCdpName(stringOrNull(event, KEY_RESOURCE_TYPE));
+
+        InterceptRule rule = compiled.match(url, type);
+        InterceptRule.Action action = rule != null ? rule.action() : InterceptRule.Action.CONTINUE;
+        CompletableFuture<?> decided = switch (action) {
+            case BLOCK -> {
+                stats.recordBlocked(type);
+                forgetLoad(stringOrNull(event, KEY_NETWORK_ID));
+                yield fetchDomain.failRequest(requestId, FetchDomain.ERROR_BLOCKED_BY_CLIENT);
+            }
+            case FULFILL -> {
+                FulfillResponse response = rule.response();
+                stats.recordFulfilled(response.body().length);
+                yield fetchDomain.fulfillRequest(requestId, response.status(), response.headers(), response.body());
+            }
+            case CONTINUE -> replayOrContinue(requestId, request);
+        };
+        decided.whenComplete((result, error) -> {
+            if (error != null) {
+                // The page may have navigated away and taken the request with it
+                log.debug("Could not {} paused request {}: {}", action, url, error.getMessage());
+            }
+        });
+    }
+
+    /** Serves a request from the cache if it replays, otherwise lets it through. */
+    private CompletableFuture<?> replayOrContinue(String requestId, JsonObject request) {
+        CacheBinding binding = cache;
+        if (binding != null && binding.mode().replays()) {
+            String method = request.get(KEY_METHOD).getAsString();
+            String url    = request.get(KEY_URL).getAsString();
+            Optional<ResponseCache.Hit> hit = binding.cache().lookup(method, url, stringOrNull(request, KEY_POST_DATA));
+            if (hit.isPresent()) {
+                JsonArray headers = new JsonArray();
+                hit.get().headers().forEach(header -> headers.add(FetchDomain.header(header.name(), header.value())));
+                return fetchDomain.fulfillRequest(requestId, hit.get().status(), headers, hit.get().base64Body());
+            }
+            if (!binding.mode().records()) {
+                log.debug("Not in the response cache, failing: {} {}", method, url);
+                return fetchDomain.failRequest(requestId, FetchDomain.ERROR_INTERNET_DISCONNECTED);
+            }
+        }
+        stats.recordContinued();
+        return fetchDomain.continueRequest(requestId);
+    }
+
+    /** Records a network response into the cache, then lets it through. */
+    private void onResponsePaused(JsonObject event) {
+        String requestId = event.get(KEY_REQUEST_ID).getAsString();
+        CacheBinding binding = cache;
+        int status = event.has(KEY_STATUS_CODE) ? event.get(KEY_STATUS_CODE).getAsInt() : 0;
+        if (binding == null || !binding.mode().records()
+                || event.has(KEY_RESPONSE_ERROR) || status == STATUS_NOT_MODIFIED) {
+            fetchDomain.continueRequest(requestId);
+            return;
+        }
+
+        JsonObject request = event.getAsJsonObject(KEY_REQUEST);
+        String method   = request.get(KEY_METHOD).getAsString();
+        String url      = request.get(KEY_URL).getAsString();
+        String postData = stringOrNull(request, KEY_POST_DATA);
+        List<ResponseCache.Header> headers = new ArrayList<>();
+        if (event.has(KEY_RESPONSE_HEADERS)) {
+            for (JsonElement element : event.getAsJsonArray(KEY_RESPONSE_HEADERS)) {
+                JsonObject header = element.getAsJsonObject();
+                headers.add(new ResponseCache.Header(
+                        header.get(KEY_NAME).getAsString(), header.get(KEY_VALUE).getAsString()));
+            }
+        }
+
+        CompletableFuture<byte[]> body = status >= 300 && status < 400
+                ? CompletableFuture.completedFuture(new byte[0])
+                : fetchDomain.getResponseBody(requestId).thenApply(FetchDomain.ResponseBody::bytes);
+        body.whenComplete((bytes, error) -> {
+            // Release the response first — storing must not hold up the page
+            fetchDomain.continueRequest(requestId);
+            if (error != null) {
+                log.debug("Not recording {} {}: {}", method, url, error.getMessage());
+                return;
+            }
+            binding.cache().store(method, url, postData, status, headers, bytes)
+                    .whenComplete((stored, storeError) -> {
+                        if (storeError != null) {
+                            log.warn("Failed to record {} {}: {}", method, url, storeError.getMessage());
+                        }
+                    });
+        });
+    }
+
+    private void onRequestWillBeSent(JsonObject event) {
+        if (!enabled) {
+            return;
+        }
+        String requestId = event.get(KEY_REQUEST_ID).getAsString();
+        Load load = new Load(ResourceType.fromCdpName(stringOrNull(event, KEY_TYPE)),
+                event.get(KEY_TIMESTAMP).getAsDouble());
+        synchronized (loads) {
+            loads.putIfAbsent(requestId, load);
+        }
+    }
+
+    private void onLoadingFinished(JsonObject event) {
+        Load load = forgetLoad(event.get(KEY_REQUEST_ID).getAsString());
+        if (load != null) {
+            double millis = (event.get(KEY_TIMESTAMP).getAsDouble() - load.issuedAt) * 1000;
+            stats.recordLoaded(load.type, event.get(KEY_ENCODED_LENGTH).getAsLong(), Math.max(0.0, millis));
+        }
+    }
+
+    private void onLoadingFailed(JsonObject event) {
+        Load load = forgetLoad(event.get(KEY_REQUEST_ID).getAsString());
+        if (load != null && BLOCKED_REASON_INSPECTOR.equals(stringOrNull(event, KEY_BLOCKED_REASON))) {
+            stats.recordBlocked(load.type);
+        }
+    }
+
+    private Load forgetLoad(String requestId) {
+        if (requestId == null) {
+            return null;
+        }
+        synchronized (loads) {
+            return loads.remove(requestId);
+        }
+    }
+
+    private static String stringOrNull(JsonObject object, String key) {
+        JsonElement value = object.get(key);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    /** Response cache in use and how. */
+    private record CacheBinding(ResponseCache cache, CacheMode mode) {
+    }
+
+    /** Start of a load being timed; {@code issuedAt} is CDP monotonic seconds. */
+    private record Load(ResourceType type, double issuedAt) {
+    }
+}
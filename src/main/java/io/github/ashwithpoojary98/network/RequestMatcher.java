@@ -0,0 +1,171 @@
+package io.github.ashwithpoojary98.network;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Selects requests by URL and resource type for a {@link RequestInterceptor} rule.
+ *
+ * <p>A URL is matched either by a glob — {@code *} matches any characters and {@code ?}
+ * one character, against the whole URL, as in CDP {@code urlPattern}s — or by a regular
+ * expression found anywhere in the URL. Resource types narrow either; a matcher with
+ * neither URL nor types matches every request.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * RequestMatcher media = RequestMatcher.resourceTypes(ResourceType.IMAGE, ResourceType.FONT);
+ * RequestMatcher tracker = RequestMatcher.glob("*://*.google-analytics.com/*");
+ * RequestMatcher pngs = RequestMatcher.regex("\\.png(\\?|$)").withResourceTypes(ResourceType.IMAGE);
+ * }</pre>
+ */
+public final class RequestMatcher {
+
+    private static final RequestMatcher ANY = new RequestMatcher(null, null, EnumSet.noneOf(ResourceType.class));
+
+    private final String glob;
+    private final String regex;
+    private final Set<ResourceType> resourceTypes;
+
+    private RequestMatcher(String glob, String regex, Set<ResourceType> resourceTypes) {
+        this.glob          = glob;
+        this.regex         = regex;
+        this.resourceTypes = Collections.unmodifiableSet(resourceTypes);
+    }
+
+    /** Returns a matcher for every request. */
+    public static RequestMatcher any() {
+        return ANY;
+    }
+
+    /**
+     * Matches URLs against a glob.
+     *
+     * @param glob whole-URL pattern; {@code *} matches any characters, {@code ?} one
+     * @return the matcher
+     */
+    public static RequestMatcher glob(String glob) {
+        return new RequestMatcher(glob, null, EnumSet.noneOf(ResourceType.class));
+    }
+
+    /**
+     * Matches URLs containing a match of a regular expression.
+     *
+     * @param regex {@link Pattern} syntax, searched with {@code find()}
+     * @return the matcher
+     * @throws java.util.regex.PatternSyntaxException if {@code regex} is invalid
+     */
+    public static RequestMatcher regex(String regex) {
+        Pattern.compile(regex);
+        return new RequestMatcher(null, regex, EnumSet.noneOf(ResourceType.class));
+    }
+
+    /**
+     * Matches requests of the given resource types, whatever their URL.
+     *
+     * @param first first type
+     * @param rest  further types
+     * @return the matcher
+     */
+    public static RequestMatcher resourceTypes(ResourceType first, ResourceType... rest) {
+        return new RequestMatcher(null, null, EnumSet.of(first, rest));
+    }
+
+    /**
+     * Returns a copy of this matcher restricted to the given resource types.
+     *
+     * @param first first type
+     * @param rest  further types
+     * @return the narrowed matcher, replacing any types set before
+     */
+    public RequestMatcher withResourceTypes(ResourceType first, ResourceType... rest) {
+        return new RequestMatcher(glob, regex, EnumSet.of(first, rest));
+    }
+
+    /** Returns the URL glob, or {@code null}. */
+    public String getGlob() {
+        return glob;
+    }
+
+    /** Returns the URL regular expression, or {@code null}. */
+    public String getRegex() {
+        return regex;
+    }
+
+    /** Returns the resource types required, empty for any. */
+    public Set<ResourceType> getResourceTypes() {
+        return resourceTypes;
+    }
+
+    /**
+     * Tests one request. {@link RequestInterceptor} matches through a compiled rule set
+     * instead; this is the reference behaviour.
+     *
+     * @param url  request URL
+     * @param type request resource type
+     * @return whether the request is selected
+     */
+    public boolean matches(String url, ResourceType type) {
+        if (!resourceTypes.isEmpty() && !resourceTypes.contains(type)) {
+            return false;
+        }
+        String urlRegex = toUrlRegex();
+        return urlRegex == null || Pattern.compile(urlRegex).matcher(url).find();
+    }
+
+    /**
+     * Returns a regular expression equivalent to the URL part, searched with {@code find()},
+     * or {@code null} if any URL matches.
+     */
+    String toUrlRegex() {
+        if (regex != null) {
+            return regex;
+        }
+        if (glob == null) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder(glob.length() + 16).append('^');
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    out.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                out.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            out.append(Pattern.quote(literal.toString()));
+        }
+        return out.append('$').toString();
+    }
+
+    /**
+     * Returns {@code true} if the browser can apply this matcher itself through
+     * {@code Network.setBlockedURLs}: a glob using only {@code *}, with no type restriction.
+     */
+    boolean isBrowserBlockable() {
+        return glob != null && glob.indexOf('?') < 0 && resourceTypes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("RequestMatcher{");
+        if (glob != null) {
+            out.append("glob=").append(glob);
+        } else if (regex != null) {
+            out.append("regex=").append(regex);
+        } else {
+            out.append("any url");
+        }
+        if (!resourceTypes.isEmpty()) {
+            out.append(", types=").append(resourceTypes);
+        }
+        return out.append('}').toString();
+    }
+}
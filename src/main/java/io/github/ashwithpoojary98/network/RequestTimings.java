@@ -0,0 +1,144 @@
+package io.github.ashwithpoojary98.network;
+
+import java.util.Arrays;
+
+/**
+ * Timing breakdown of the most recently finished requests of a page, kept in fixed-size
+ * primitive ring buffers so recording costs no allocation.
+ *
+ * <p>Every request is split into three phases, in milliseconds:
+ * <ul>
+ *   <li>{@link Phase#QUEUED} — from issue until the request was sent (queueing, stall,
+ *       DNS, connect and TLS);</li>
+ *   <li>{@link Phase#TTFB} — from sending until the response headers arrived;</li>
+ *   <li>{@link Phase#DOWNLOAD} — from the response headers until loading finished.</li>
+ * </ul>
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * RequestTimings timings = networkMonitor.getRequestTimings();
+ * double p95 = timings.percentile(RequestTimings.Phase.TTFB, 95);
+ * }</pre>
+ */
+public final class RequestTimings {
+
+    /** Default number of requests remembered. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** Phase of a request's lifetime. */
+    public enum Phase { QUEUED, TTFB, DOWNLOAD }
+
+    private final double[] queued;
+    private final double[] ttfb;
+    private final double[] download;
+
+    /** Next slot to write. Guarded by {@code this}. */
+    private int  next;
+    /** Requests recorded since creation or the last clear. Guarded by {@code this}. */
+    private long recorded;
+
+    public RequestTimings() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of requests remembered; older ones are overwritten
+     */
+    public RequestTimings(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.queued   = new double[capacity];
+        this.ttfb     = new double[capacity];
+        this.download = new double[capacity];
+    }
+
+    /** Records one finished request, overwriting the oldest once full. */
+    synchronized void record(double queuedMillis, double ttfbMillis, double downloadMillis) {
+        queued[next]   = queuedMillis;
+        ttfb[next]     = ttfbMillis;
+        download[next] = downloadMillis;
+        next = (next + 1) % queued.length;
+        recorded++;
+    }
+
+    /** Returns the number of requests currently held (at most the capacity). */
+    public synchronized int size() {
+        return (int) Math.min(recorded, queued.length);
+    }
+
+    /** Returns the number of requests recorded since the last {@link #clear()}, including overwritten ones. */
+    public synchronized long getRecordedCount() {
+        return recorded;
+    }
+
+    /**
+     * Returns the held values of {@code phase}, oldest first.
+     *
+     * @param phase phase to copy
+     * @return a new array of {@link #size()} values in milliseconds
+     */
+    public synchronized double[] values(Phase phase) {
+        double[] source = buffer(phase);
+        int size = size();
+        double[] copy = new double[size];
+        int start = size < source.length ? 0 : next;
+        for (int i = 0; i < size; i++) {
+            copy[i] = source[(start + i) % source.length];
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the mean of {@code phase} over the held requests.
+     *
+     * @param phase phase to aggregate
+     * @return mean in milliseconds, or {@code 0} if nothing was recorded
+     */
+    public double average(Phase phase) {
+        double[] values = values(phase);
+        return values.length == 0 ? 0.0 : Arrays.stream(values).average().orElse(0.0);
+    }
+
+    /**
+     * Returns the nearest-rank percentile of {@code phase} over the held requests.
+     *
+     * @param phase      phase to aggregate
+     * @param percentile percentile between 0 and 100
+     * @return value in milliseconds, or {@code 0} if nothing was recorded
+     */
+    public double percentile(Phase phase, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        double[] values = values(phase);
+        if (values.length == 0) {
+            return 0.0;
+        }
+        Arrays.sort(values);
+        int rank = (int) Math.ceil(percentile / 100.0 * values.length);
+        return values[Math.max(0, rank - 1)];
+    }
+
+    /** Drops every held request. */
+    public synchronized void clear() {
+        next     = 0;
+        recorded = 0;
+    }
+
+    private double[] buffer(Phase phase) {
+        return switch (phase) {
+            case QUEUED   -> queued;
+            case TTFB     -> ttfb;
+            case DOWNLOAD -> download;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTimings{requests=" + size()
+                + ", avgQueuedMs=" + average(Phase.QUEUED)
+                + ", avgTtfbMs=" + average(Phase.TTFB)
+                + ", avgDownloadMs=" + average(Phase.DOWNLOAD) + "}";
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.ashwithpoojary98.network;
+
+/**
+ * Resource type of a request, matching the CDP {@code Network.ResourceType} names.
+ *
+ * @see <a href="https://chromedevtools.github.io/devtools-protocol/tot/Network/#type-ResourceType">CDP ResourceType</a>
+ */
+public enum ResourceType {
+
+    DOCUMENT("Document"),
+    STYLESHEET("Stylesheet"),
+    IMAGE("Image"),
+    MEDIA("Media"),
+    FONT("Font"),
+    SCRIPT("Script"),
+    TEXT_TRACK("TextTrack"),
+    XHR("XHR"),
+    FETCH("Fetch"),
+    PREFETCH("Prefetch"),
+    EVENT_SOURCE("EventSource"),
+    WEB_SOCKET("WebSocket"),
+    MANIFEST("Manifest"),
+    SIGNED_EXCHANGE("SignedExchange"),
+    PING("Ping"),
+    CSP_VIOLATION_REPORT("CSPViolationReport"),
+    PREFLIGHT("Preflight"),
+    OTHER("Other");
+
+    private static final ResourceType[] VALUES = values();
+
+    private final String cdpName;
+
+    ResourceType(String cdpName) {
+        this.cdpName = cdpName;
+    }
+
+    /**
+     * Returns the CDP name of this type.
+     *
+     * @return e.g. {@code "Image"}
+     */
+    public String getCdpName() {
+        return cdpName;
+    }
+
+    /**
+     * Returns the type with the given CDP name.
+     *
+     * @param cdpName CDP name, e.g. {@code "Stylesheet"}; may be {@code null}
+     * @return the matching type, or {@link #OTHER} for unknown or missing names
+     */
+    public static ResourceType fromCdpName(String cdpName) {
+        if (cdpName != null) {
+            for (ResourceType type : VALUES) {
+                if (type.cdpName.equals(cdpName)) {
+                    return type;
+                }
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,303 @@
+package io.github.ashwithpoojary98.network;
+
+import com.google.gson.Gson;
+import io.github.ashwithpoojary98.exception.NihoniumException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Disk-backed store of recorded responses, replayed by a {@link RequestInterceptor}
+ * without touching the network.
+ *
+ * <p>Layout under the cache directory:
+ * <pre>
+ *   bodies/&lt;sha-256 of body&gt;             response bodies, content-addressed
+ *   entries/&lt;sha-256 of request key&gt;.json  status, headers and body hash
+ * </pre>
+ * An entry is keyed by method, URL and the SHA-256 of the request body, so POSTs with
+ * different payloads are stored apart and identical bodies (the same asset under several
+ * URLs) are stored once. Bodies are memory-mapped when served and Base64-encoded straight
+ * from the mapping. Entries are indexed in memory when the cache is opened; files are
+ * written to a temporary name and moved into place, so a cache directory can be shared by
+ * several drivers and survives an interrupted run.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * ResponseCache cache = ResponseCache.open(Path.of("target/response-cache"));
+ * driver.getRequestInterceptor().useResponseCache(cache, CacheMode.REPLAY_OR_RECORD).enable();
+ * }</pre>
+ */
+public final class ResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+    private static final String BODIES_DIR    = "bodies";
+    private static final String ENTRIES_DIR   = "entries";
+    private static final String ENTRY_SUFFIX  = ".json";
+    private static final String WRITER_THREAD_NAME = "nihonium-response-cache";
+
+    /**
+     * Headers describing the transfer rather than the content. The browser hands the body
+     * over decoded, so replaying them would make it decode (or measure) the body again.
+     */
+    private static final Set<String> TRANSFER_HEADERS =
+            Set.of("content-encoding", "content-length", "transfer-encoding", "connection", "keep-alive");
+
+    private static final Gson GSON = new Gson();
+
+    private final Path bodiesDir;
+    private final Path entriesDir;
+    private final Executor writer;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits        = new LongAdder();
+    private final LongAdder misses      = new LongAdder();
+    private final LongAdder recorded    = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+
+    private ResponseCache(Path directory, Executor writer) throws IOException {
+        this.bodiesDir  = Files.createDirectories(directory.resolve(BODIES_DIR));
+        this.entriesDir = Files.createDirectories(directory.resolve(ENTRIES_DIR));
+        this.writer     = writer;
+        loadIndex();
+    }
+
+    /**
+     * Opens (creating if needed) the cache in {@code directory}. Recorded responses are
+     * written on a background daemon thread.
+     *
+     * @param directory cache directory
+     * @return the cache
+     * @throws NihoniumException if the directory cannot be created or read
+     */
+    public static ResponseCache open(Path directory) {
+        return open(directory, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName(WRITER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Opens (creating if needed) the cache in {@code directory}.
+     *
+     * @param directory cache directory
+     * @param writer    executor recorded responses are written on
+     * @return the cache
+     * @throws NihoniumException if the directory cannot be created or read
+     */
+    public static ResponseCache open(Path directory, Executor writer) {
+        try {
+            return new ResponseCache(directory, writer);
+        } catch (IOException e) {
+            throw new NihoniumException("Cannot open response cache in " + directory, e);
+        }
+    }
+
+    // ── Replay ────────────────────────────────────────────────────────────────
+
+    /**
+     * Looks up a stored response and counts the hit or miss.
+     *
+     * @param method   request method
+     * @param url      request URL
+     * @param postData request body, or {@code null}
+     * @return the stored response, or empty if none (or its body is unreadable)
+     */
+    public Optional<Hit> lookup(String method, String url, String postData) {
+        Entry entry = entries.get(key(method, url, postData));
+        if (entry != null) {
+            try {
+                String body = encodeBody(entry.body());
+                hits.increment();
+                bytesServed.add(Files.size(bodiesDir.resolve(entry.body())));
+                return Optional.of(new Hit(entry.status(), entry.headers(), body));
+            } catch (IOException e) {
+                log.warn("Cannot read cached body of {} {}: {}", method, url, e.getMessage());
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /** Maps a body file and Base64-encodes it straight from the mapping. */
+    private String encodeBody(String bodyHash) throws IOException {
+        try (FileChannel channel = FileChannel.open(bodiesDir.resolve(bodyHash), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return "";
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer encoded = Base64.getEncoder().encode(mapped);
+            return new String(encoded.array(), 0, encoded.limit(), StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    // ── Record ────────────────────────────────────────────────────────────────
+
+    /**
+     * Stores a response on the writer executor, replacing any earlier one for the request.
+     * Transfer headers ({@code Content-Encoding}, {@code Content-Length} …) are dropped
+     * because {@code body} is the decoded content.
+     *
+     * @param method   request method
+     * @param url      request URL
+     * @param postData request body, or {@code null}
+     * @param status   HTTP status code
+     * @param headers  response headers in wire order
+     * @param body     decoded response body
+     * @return future completing once the response is on disk
+     */
+    public CompletableFuture<Void> store(String method, String url, String postData,
+                                         int status, List<Header> headers, byte[] body) {
+        List<Header> kept = headers.stream()
+                .filter(header -> !TRANSFER_HEADERS.contains(header.name().toLowerCase(Locale.ROOT)))
+                .toList();
+        return CompletableFuture.runAsync(() -> {
+            try {
+                write(method, url, postData, status, kept, body);
+            } catch (IOException e) {
+                throw new NihoniumException("Cannot record " + method + " " + url, e);
+            }
+        }, writer);
+    }
+
+    private void write(String method, String url, String postData,
+                       int status, List<Header> headers, byte[] body) throws IOException {
+        String bodyHash = sha256(body);
+        Path bodyFile = bodiesDir.resolve(bodyHash);
+        if (!Files.exists(bodyFile)) {
+            writeAtomically(bodyFile, body);
+        }
+        String key = key(method, url, postData);
+        Entry entry = new Entry(method, url, status, headers, bodyHash);
+        writeAtomically(entriesDir.resolve(key + ENTRY_SUFFIX), GSON.toJson(entry).getBytes(StandardCharsets.UTF_8));
+        entries.put(key, entry);
+        recorded.increment();
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ── Statistics ────────────────────────────────────────────────────────────
+
+    /** Returns the number of stored responses. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** Returns the number of lookups answered from the cache. */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /** Returns the number of lookups the cache could not answer. */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /** Returns the number of responses recorded since the cache was opened. */
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    /** Returns the number of body bytes served from the cache. */
+    public long getBytesServed() {
+        return bytesServed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache{entries=" + size()
+                + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount()
+                + ", recorded=" + getRecordedCount()
+                + ", bytesServed=" + getBytesServed() + "}";
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private void loadIndex() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(entriesDir, "*" + ENTRY_SUFFIX)) {
+            for (Path file : files) {
+                try (Reader reader = Files.newBufferedReader(file)) {
+                    Entry entry = GSON.fromJson(reader, Entry.class);
+                    String name = file.getFileName().toString();
+                    entries.put(name.substring(0, name.length() - ENTRY_SUFFIX.length()), entry);
+                } catch (RuntimeException e) {
+                    log.warn("Skipping unreadable response cache entry {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        log.debug("Response cache opened with {} entries", entries.size());
+    }
+
+    static String key(String method, String url, String postData) {
+        byte[] postBody = postData == null ? new byte[0] : postData.getBytes(StandardCharsets.UTF_8);
+        return sha256((method + ' ' + url + ' ' + sha256(postBody)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+        }
+    }
+
+    /**
+     * One response header.
+     *
+     * @param name  header name
+     * @param value header value
+     */
+    public record Header(String name, String value) {
+    }
+
+    /**
+     * A stored response ready to be served.
+     *
+     * @param status     HTTP status code
+     * @param headers    response headers
+     * @param base64Body response body, Base64-encoded
+     */
+    public record Hit(int status, List<Header> headers, String base64Body) {
+    }
+
+    /** On-disk form of an entry. */
+    private record Entry(String method, String url, int status, List<Header> headers, String body) {
+    }
+}
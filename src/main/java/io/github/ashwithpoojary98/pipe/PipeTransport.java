@@ -0,0 +1,177 @@
+package io.github.ashwithpoojary98.pipe;
+
+import io.github.ashwithpoojary98.cdp.CDPCommandManager;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
+import io.github.ashwithpoojary98.exception.CDPException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * {@link CDPTransport} over the pipes of a browser started with
+ * {@code --remote-debugging-pipe}.
+ *
+ * <p>Chrome reads commands from file descriptor 3 and writes responses and events to
+ * file descriptor 4; every message is a JSON text terminated by a single NUL byte.
+ * There is no port to allocate, no HTTP discovery and no WebSocket framing or masking.
+ * The connection is to the <em>browser</em> target, so page commands must go through a
+ * {@link io.github.ashwithpoojary98.cdp.CDPSession} attached with {@code flatten=true}.
+ *
+ * <p>The streams are usually the stdin/stdout of a process whose descriptors were
+ * remapped by {@link io.github.ashwithpoojary98.browser.BrowserLauncher}. Inbound
+ * messages are read on a dedicated daemon thread and handed to the
+ * {@link CDPCommandManager}; outbound writes are serialised on the output stream.
+ */
+public class PipeTransport implements CDPTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(PipeTransport.class);
+
+    private static final byte   MESSAGE_DELIMITER   = 0;
+    private static final int    BUFFER_SIZE         = 65_536;
+    private static final String READER_THREAD_NAME  = "nihonium-cdp-pipe-reader";
+
+    private final InputStream       fromBrowser;
+    private final OutputStream      toBrowser;
+    private final CDPCommandManager commandManager;
+
+    private volatile boolean connected;
+
+    // ── Construction ──────────────────────────────────────────────────────────
+
+    /**
+     * Creates a transport over the given streams with a default {@link CDPCommandManager}.
+     *
+     * @param fromBrowser stream connected to the browser's descriptor 4
+     * @param toBrowser   stream connected to the browser's descriptor 3
+     */
+    public PipeTransport(InputStream fromBrowser, OutputStream toBrowser) {
+        this(fromBrowser, toBrowser, new CDPCommandManager());
+    }
+
+    /**
+     * Creates a transport over the given streams.
+     *
+     * @param fromBrowser    stream connected to the browser's descriptor 4
+     * @param toBrowser      stream connected to the browser's descriptor 3
+     * @param commandManager command/response correlation manager
+     */
+    public PipeTransport(InputStream fromBrowser, OutputStream toBrowser,
+                         CDPCommandManager commandManager) {
+        this.fromBrowser    = fromBrowser;
+        this.toBrowser      = new BufferedOutputStream(toBrowser, BUFFER_SIZE);
+        this.commandManager = commandManager;
+    }
+
+    /**
+     * Starts the reader thread. Messages can be sent once this returns.
+     *
+     * @return this transport
+     */
+    public PipeTransport start() {
+        connected = true;
+        Thread reader = new Thread(this::readLoop, READER_THREAD_NAME);
+        reader.setDaemon(true);
+        reader.start();
+        return this;
+    }
+
+    // ── CDPTransport ──────────────────────────────────────────────────────────
+
+    @Override
+    public CDPCommandManager getCommandManager() {
+        return commandManager;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Writes the messages NUL-terminated and flushes once.
+     *
+     * @param messages JSON text of each message, in send order
+     * @throws CDPException if the pipe is closed or the write fails
+     */
+    @Override
+    public void sendMessages(List<String> messages) {
+        if (!connected) {
+            throw new CDPException("Cannot send — CDP pipe is closed");
+        }
+        try {
+            synchronized (toBrowser) {
+                for (String message : messages) {
+                    toBrowser.write(message.getBytes(StandardCharsets.UTF_8));
+                    toBrowser.write(MESSAGE_DELIMITER);
+                }
+                toBrowser.flush();
+            }
+        } catch (IOException e) {
+            throw new CDPException("Failed to write to CDP pipe", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!connected) {
+            return;
+        }
+        connected = false;
+        commandManager.clear();
+        try {
+            toBrowser.close();
+        } catch (IOException e) {
+            log.debug("Error closing CDP pipe output: {}", e.getMessage());
+        }
+        try {
+            fromBrowser.close();
+        } catch (IOException e) {
+            log.debug("Error closing CDP pipe input: {}", e.getMessage());
+        }
+    }
+
+    // ── Reader ────────────────────────────────────────────────────────────────
+
+    private void readLoop() {
+        ByteArrayOutputStream message = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            int read;
+            while ((read = fromBrowser.read(buffer)) != -1) {
+                int start = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == MESSAGE_DELIMITER) {
+                        message.write(buffer, start, i - start);
+                        dispatch(message.toString(StandardCharsets.UTF_8));
+                        message.reset();
+                        start = i + 1;
+                    }
+                }
+                message.write(buffer, start, read - start);
+            }
+            log.info("CDP pipe closed by browser");
+        } catch (IOException e) {
+            if (connected) {
+                log.warn("CDP pipe read failed: {}", e.getMessage());
+            }
+        } finally {
+            connected = false;
+            commandManager.clear();
+        }
+    }
+
+    private void dispatch(String message) {
+        try {
+            commandManager.handleRawMessage(message);
+        } catch (Exception e) {
+            log.error("Failed to handle CDP message: {}", e.getMessage(), e);
+        }
+    }
+}
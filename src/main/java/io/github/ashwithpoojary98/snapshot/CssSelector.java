@@ -0,0 +1,507 @@
+package io.github.ashwithpoojary98.snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSS selector list compiled for matching against a {@link DomSnapshot}.
+ *
+ * <p>Supports type, universal, ID, class and attribute selectors (all six operators and the
+ * {@code i} flag), the descendant, child, next-sibling and subsequent-sibling combinators,
+ * and the structural pseudo-classes {@code :root}, {@code :empty}, {@code :first-child},
+ * {@code :last-child}, {@code :only-child}, {@code :nth-child()}, {@code :nth-last-child()}
+ * and {@code :not()}. State pseudo-classes such as {@code :checked} depend on live
+ * properties the snapshot does not hold; they, pseudo-elements and namespaces are rejected
+ * with {@link UnsupportedOperationException}.
+ */
+final class CssSelector {
+
+    /** One simple selector of a compound, e.g. {@code .item} or {@code [type=text]}. */
+    private interface Condition {
+        boolean test(DomSnapshot snapshot, int node);
+    }
+
+    private enum Combinator { DESCENDANT, CHILD, NEXT_SIBLING, SUBSEQUENT_SIBLING }
+
+    /** Simple selectors that must all match the same element. */
+    private record Compound(List<Condition> conditions) {
+        boolean test(DomSnapshot snapshot, int node) {
+            for (Condition condition : conditions) {
+                if (!condition.test(snapshot, node)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Compounds joined by combinators; {@code combinators[i]} sits between compounds {@code i} and {@code i + 1}. */
+    private record Complex(Compound[] compounds, Combinator[] combinators) {
+        boolean matches(DomSnapshot snapshot, int node) {
+            return matches(snapshot, node, compounds.length - 1);
+        }
+
+        /** Right-to-left match with backtracking over descendant and sibling combinators. */
+        private boolean matches(DomSnapshot snapshot, int node, int k) {
+            if (!compounds[k].test(snapshot, node)) {
+                return false;
+            }
+            if (k == 0) {
+                return true;
+            }
+            return switch (combinators[k - 1]) {
+                case CHILD -> {
+                    int p = parentElement(snapshot, node);
+                    yield p != DomSnapshot.NONE && matches(snapshot, p, k - 1);
+                }
+                case DESCENDANT -> {
+                    for (int p = parentElement(snapshot, node); p != DomSnapshot.NONE; p = parentElement(snapshot, p)) {
+                        if (matches(snapshot, p, k - 1)) {
+                            yield true;
+                        }
+                    }
+                    yield false;
+                }
+                case NEXT_SIBLING -> {
+                    int s = previousElement(snapshot, node);
+                    yield s != DomSnapshot.NONE && matches(snapshot, s, k - 1);
+                }
+                case SUBSEQUENT_SIBLING -> {
+                    for (int s = previousElement(snapshot, node); s != DomSnapshot.NONE; s = previousElement(snapshot, s)) {
+                        if (matches(snapshot, s, k - 1)) {
+                            yield true;
+                        }
+                    }
+                    yield false;
+                }
+            };
+        }
+    }
+
+    private final String    source;
+    private final Complex[] alternatives;
+
+    private CssSelector(String source, Complex[] alternatives) {
+        this.source       = source;
+        this.alternatives = alternatives;
+    }
+
+    /**
+     * Compiles {@code selector}.
+     *
+     * @param selector CSS selector list
+     * @return compiled selector
+     * @throws UnsupportedOperationException if the selector is invalid or uses unsupported syntax
+     */
+    static CssSelector parse(String selector) {
+        try {
+            return new CssSelector(selector, new Parser(selector).selectorList());
+        } catch (StringIndexOutOfBoundsException e) {
+            throw new UnsupportedOperationException(
+                    "Cannot match CSS selector '" + selector + "' locally: unexpected end", e);
+        }
+    }
+
+    /** Returns {@code true} if element {@code node} matches any selector of the list. */
+    boolean matches(DomSnapshot snapshot, int node) {
+        if (!snapshot.isElement(node)) {
+            return false;
+        }
+        for (Complex complex : alternatives) {
+            if (complex.matches(snapshot, node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    // ── Tree helpers ──────────────────────────────────────────────────────────
+
+    private static int parentElement(DomSnapshot snapshot, int node) {
+        int p = snapshot.getParent(node);
+        return p != DomSnapshot.NONE && snapshot.isElement(p) ? p : DomSnapshot.NONE;
+    }
+
+    private static int previousElement(DomSnapshot snapshot, int node) {
+        for (int s = snapshot.getPreviousSibling(node); s != DomSnapshot.NONE; s = snapshot.getPreviousSibling(s)) {
+            if (snapshot.isElement(s)) {
+                return s;
+            }
+        }
+        return DomSnapshot.NONE;
+    }
+
+    private static int nextElement(DomSnapshot snapshot, int node) {
+        for (int s = snapshot.getNextSibling(node); s != DomSnapshot.NONE; s = snapshot.getNextSibling(s)) {
+            if (snapshot.isElement(s)) {
+                return s;
+            }
+        }
+        return DomSnapshot.NONE;
+    }
+
+    /** 1-based position among element siblings, counted from the start or the end. */
+    private static int elementPosition(DomSnapshot snapshot, int node, boolean fromEnd) {
+        int position = 1;
+        for (int s = fromEnd ? nextElement(snapshot, node) : previousElement(snapshot, node);
+             s != DomSnapshot.NONE;
+             s = fromEnd ? nextElement(snapshot, s) : previousElement(snapshot, s)) {
+            position++;
+        }
+        return position;
+    }
+
+    /** {@code :nth-child(an+b)}: some {@code n >= 0} gives {@code an + b == position}. */
+    private static boolean nth(int a, int b, int position) {
+        if (a == 0) {
+            return position == b;
+        }
+        int diff = position - b;
+        return diff % a == 0 && diff / a >= 0;
+    }
+
+    // ── Parser ────────────────────────────────────────────────────────────────
+
+    private static final class Parser {
+
+        private final String input;
+        private int pos;
+
+        Parser(String input) {
+            this.input = input;
+        }
+
+        Complex[] selectorList() {
+            List<Complex> list = new ArrayList<>();
+            do {
+                skipWhitespace();
+                list.add(complex());
+                skipWhitespace();
+            } while (consume(','));
+            if (pos < input.length()) {
+                throw unsupported("unexpected '" + input.charAt(pos) + "'");
+            }
+            return list.toArray(new Complex[0]);
+        }
+
+        private Complex complex() {
+            List<Compound> compounds = new ArrayList<>();
+            List<Combinator> combinators = new ArrayList<>();
+            compounds.add(compound());
+            while (true) {
+                boolean whitespace = skipWhitespace();
+                if (pos >= input.length() || peek() == ',' || peek() == ')') {
+                    break;
+                }
+                Combinator combinator;
+                if (consume('>')) {
+                    combinator = Combinator.CHILD;
+                } else if (consume('+')) {
+                    combinator = Combinator.NEXT_SIBLING;
+                } else if (consume('~')) {
+                    combinator = Combinator.SUBSEQUENT_SIBLING;
+                } else if (whitespace) {
+                    combinator = Combinator.DESCENDANT;
+                } else {
+                    throw unsupported("unexpected '" + peek() + "'");
+                }
+                skipWhitespace();
+                combinators.add(combinator);
+                compounds.add(compound());
+            }
+            return new Complex(compounds.toArray(new Compound[0]), combinators.toArray(new Combinator[0]));
+        }
+
+        private Compound compound() {
+            List<Condition> conditions = new ArrayList<>();
+            boolean universal = consume('*');
+            if (universal) {
+                rejectNamespace();
+            } else if (pos < input.length() && isNameStart(peek())) {
+                String tag = identifier().toLowerCase(Locale.ROOT);
+                rejectNamespace();
+                conditions.add((snapshot, node) -> snapshot.getTagName(node).equals(tag));
+            }
+            while (pos < input.length()) {
+                char c = peek();
+                if (c == '#') {
+                    pos++;
+                    String id = identifier();
+                    conditions.add((snapshot, node) -> id.equals(snapshot.getAttribute(node, "id")));
+                } else if (c == '.') {
+                    pos++;
+                    String className = identifier();
+                    conditions.add((snapshot, node) -> hasClass(snapshot.getAttribute(node, "class"), className));
+                } else if (c == '[') {
+                    pos++;
+                    conditions.add(attribute());
+                } else if (c == ':') {
+                    pos++;
+                    conditions.add(pseudoClass());
+                } else {
+                    break;
+                }
+            }
+            if (conditions.isEmpty() && !universal) {
+                throw unsupported(pos < input.length() ? "unexpected '" + peek() + "'" : "empty selector");
+            }
+            return new Compound(conditions);
+        }
+
+        private Condition attribute() {
+            skipWhitespace();
+            String name = identifier().toLowerCase(Locale.ROOT);
+            rejectNamespace();
+            skipWhitespace();
+            if (consume(']')) {
+                return (snapshot, node) -> snapshot.getAttribute(node, name) != null;
+            }
+            char operator = peek();
+            if (operator != '=') {
+                pos++;
+                if ("~|^$*".indexOf(operator) < 0) {
+                    throw unsupported("unknown attribute operator '" + operator + "'");
+                }
+            }
+            expect('=');
+            skipWhitespace();
+            String value = peek() == '"' || peek() == '\'' ? string() : identifier();
+            skipWhitespace();
+            boolean ignoreCase = false;
+            if (pos < input.length() && (peek() == 'i' || peek() == 'I')) {
+                pos++;
+                ignoreCase = true;
+            } else if (pos < input.length() && (peek() == 's' || peek() == 'S')) {
+                pos++;
+            }
+            skipWhitespace();
+            expect(']');
+
+            String expected = ignoreCase ? value.toLowerCase(Locale.ROOT) : value;
+            boolean fold = ignoreCase;
+            return (snapshot, node) -> {
+                String actual = snapshot.getAttribute(node, name);
+                if (actual == null) {
+                    return false;
+                }
+                if (fold) {
+                    actual = actual.toLowerCase(Locale.ROOT);
+                }
+                return switch (operator) {
+                    case '=' -> actual.equals(expected);
+                    case '~' -> hasClass(actual, expected);
+                    case '|' -> actual.equals(expected) || actual.startsWith(expected + "-");
+                    case '^' -> !expected.isEmpty() && actual.startsWith(expected);
+                    case '$' -> !expected.isEmpty() && actual.endsWith(expected);
+                    default  -> !expected.isEmpty() && actual.contains(expected);
+                };
+            };
+        }
+
+        private Condition pseudoClass() {
+            if (consume(':')) {
+                throw unsupported("pseudo-elements cannot be matched");
+            }
+            String name = identifier().toLowerCase(Locale.ROOT);
+            return switch (name) {
+                case "root" -> (snapshot, node) -> {
+                    int p = snapshot.getParent(node);
+                    return p != DomSnapshot.NONE && snapshot.getNodeType(p) == DomSnapshot.DOCUMENT_NODE;
+                };
+                case "empty" -> (snapshot, node) -> {
+                    for (int c = snapshot.getFirstChild(node); c != DomSnapshot.NONE; c = snapshot.getNextSibling(c)) {
+                        int type = snapshot.getNodeType(c);
+                        if (type == DomSnapshot.ELEMENT_NODE || type == DomSnapshot.TEXT_NODE
+                                || type == DomSnapshot.CDATA_SECTION_NODE) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+                case "first-child" -> (snapshot, node) -> previousElement(snapshot, node) == DomSnapshot.NONE;
+                case "last-child" -> (snapshot, node) -> nextElement(snapshot, node) == DomSnapshot.NONE;
+                case "only-child" -> (snapshot, node) -> previousElement(snapshot, node) == DomSnapshot.NONE
+                        && nextElement(snapshot, node) == DomSnapshot.NONE;
+                case "nth-child", "nth-last-child" -> {
+                    expect('(');
+                    int[] ab = nthArguments();
+                    boolean fromEnd = name.equals("nth-last-child");
+                    yield (snapshot, node) -> nth(ab[0], ab[1], elementPosition(snapshot, node, fromEnd));
+                }
+                case "not" -> {
+                    expect('(');
+                    skipWhitespace();
+                    List<Compound> negated = new ArrayList<>();
+                    do {
+                        skipWhitespace();
+                        negated.add(compound());
+                        skipWhitespace();
+                    } while (consume(','));
+                    expect(')');
+                    yield (snapshot, node) -> negated.stream().noneMatch(c -> c.test(snapshot, node));
+                }
+                default -> throw unsupported("pseudo-class :" + name + " is not supported locally");
+            };
+        }
+
+        /** Parses {@code an+b}, {@code odd}, {@code even} or an integer up to the closing parenthesis. */
+        private int[] nthArguments() {
+            int close = input.indexOf(')', pos);
+            if (close < 0) {
+                throw unsupported("unterminated :nth-child()");
+            }
+            String argument = input.substring(pos, close).replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+            pos = close + 1;
+            if (argument.equals("odd")) {
+                return new int[] {2, 1};
+            }
+            if (argument.equals("even")) {
+                return new int[] {2, 0};
+            }
+            try {
+                int n = argument.indexOf('n');
+                if (n < 0) {
+                    return new int[] {0, Integer.parseInt(argument)};
+                }
+                String a = argument.substring(0, n);
+                String b = argument.substring(n + 1);
+                int coefficient = a.isEmpty() || a.equals("+") ? 1 : a.equals("-") ? -1 : Integer.parseInt(a);
+                int offset = b.isEmpty() ? 0 : Integer.parseInt(b.startsWith("+") ? b.substring(1) : b);
+                return new int[] {coefficient, offset};
+            } catch (NumberFormatException e) {
+                throw unsupported("invalid :nth-child(" + argument + ")");
+            }
+        }
+
+        private String identifier() {
+            StringBuilder sb = new StringBuilder();
+            if (pos < input.length() && peek() == '-') {
+                sb.append('-');
+                pos++;
+            }
+            while (pos < input.length()) {
+                char c = peek();
+                if (c == '\\') {
+                    sb.appendCodePoint(escape());
+                } else if (isNameChar(c)) {
+                    sb.append(c);
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            if (sb.isEmpty() || sb.toString().equals("-")) {
+                throw unsupported(pos < input.length() ? "unexpected '" + peek() + "'" : "unexpected end");
+            }
+            return sb.toString();
+        }
+
+        private String string() {
+            char quote = input.charAt(pos++);
+            StringBuilder sb = new StringBuilder();
+            while (pos < input.length() && peek() != quote) {
+                if (peek() == '\\') {
+                    sb.appendCodePoint(escape());
+                } else {
+                    sb.append(input.charAt(pos++));
+                }
+            }
+            expect(quote);
+            return sb.toString();
+        }
+
+        /** Consumes a backslash escape: up to six hex digits and one optional space, or one character. */
+        private int escape() {
+            pos++;
+            if (pos >= input.length()) {
+                throw unsupported("unterminated escape");
+            }
+            int start = pos;
+            while (pos < input.length() && pos - start < 6 && Character.digit(peek(), 16) >= 0) {
+                pos++;
+            }
+            if (pos > start) {
+                int codePoint = Integer.parseInt(input.substring(start, pos), 16);
+                if (pos < input.length() && Character.isWhitespace(peek())) {
+                    pos++;
+                }
+                return codePoint;
+            }
+            return input.charAt(pos++);
+        }
+
+        private void rejectNamespace() {
+            if (pos < input.length() && peek() == '|' && (pos + 1 >= input.length() || input.charAt(pos + 1) != '=')) {
+                throw unsupported("namespaces are not supported");
+            }
+        }
+
+        private boolean skipWhitespace() {
+            int start = pos;
+            while (pos < input.length() && Character.isWhitespace(peek())) {
+                pos++;
+            }
+            return pos > start;
+        }
+
+        private boolean consume(char c) {
+            if (pos < input.length() && peek() == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw unsupported("expected '" + c + "'");
+            }
+        }
+
+        private char peek() {
+            return input.charAt(pos);
+        }
+
+        private UnsupportedOperationException unsupported(String reason) {
+            return new UnsupportedOperationException(
+                    "Cannot match CSS selector '" + input + "' locally: " + reason + " at " + pos);
+        }
+
+        private static boolean isNameStart(char c) {
+            return Character.isLetter(c) || c == '_' || c == '-' || c == '\\' || c > 0x7F;
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c > 0x7F;
+        }
+    }
+
+    /** Returns {@code true} if whitespace-separated {@code list} contains {@code token}. */
+    private static boolean hasClass(String list, String token) {
+        if (list == null || token.isEmpty()) {
+            return false;
+        }
+        int from = 0;
+        int length = list.length();
+        while (from < length) {
+            while (from < length && Character.isWhitespace(list.charAt(from))) {
+                from++;
+            }
+            int to = from;
+            while (to < length && !Character.isWhitespace(list.charAt(to))) {
+                to++;
+            }
+            if (to - from == token.length() && list.startsWith(token, from)) {
+                return true;
+            }
+            from = to;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,473 @@
+package io.github.ashwithpoojary98.snapshot;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.Rectangle;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Immutable in-memory copy of a document, built from one {@code DOMSnapshot.captureSnapshot}.
+ *
+ * <p>The model keeps the snapshot's layout: nodes are indices, every per-node property is
+ * a parallel array, and names and values are indices into the shared string table — each
+ * distinct string is held once however many nodes use it. Layout bounds and the captured
+ * computed style properties are kept for rendered nodes.
+ *
+ * <p>{@link #findAll(By)} answers CSS and XPath locators, chains and indexed locators
+ * locally, so reads cost no round trip. Only the main frame's document is modelled. Shadow
+ * trees and pseudo-elements are excluded from queries and text, as they are for
+ * {@code querySelectorAll} and {@code textContent}.
+ */
+public final class DomSnapshot {
+
+    public static final int ELEMENT_NODE       = 1;
+    public static final int TEXT_NODE          = 3;
+    public static final int CDATA_SECTION_NODE = 4;
+    public static final int DOCUMENT_NODE      = 9;
+    public static final int FRAGMENT_NODE      = 11;
+
+    /** Index of a missing node or string. */
+    public static final int NONE = -1;
+
+    private static final String KEY_DOCUMENTS      = "documents";
+    private static final String KEY_STRINGS        = "strings";
+    private static final String KEY_DOCUMENT_URL   = "documentURL";
+    private static final String KEY_NODES          = "nodes";
+    private static final String KEY_LAYOUT         = "layout";
+    private static final String KEY_PARENT_INDEX   = "parentIndex";
+    private static final String KEY_NODE_TYPE      = "nodeType";
+    private static final String KEY_NODE_NAME      = "nodeName";
+    private static final String KEY_NODE_VALUE     = "nodeValue";
+    private static final String KEY_BACKEND_NODE   = "backendNodeId";
+    private static final String KEY_ATTRIBUTES     = "attributes";
+    private static final String KEY_PSEUDO_TYPE    = "pseudoType";
+    private static final String KEY_RARE_INDEX     = "index";
+    private static final String KEY_NODE_INDEX     = "nodeIndex";
+    private static final String KEY_STYLES         = "styles";
+    private static final String KEY_BOUNDS         = "bounds";
+
+    /** Values per node of {@link #bounds}: x, y, width, height. */
+    private static final int BOUNDS_STRIDE = 4;
+
+    private static final int[] NO_ATTRIBUTES = new int[0];
+
+    private final String[] strings;
+    private final String   documentUrl;
+    private final int      size;
+
+    // ── Node tree (indexed by node) ───────────────────────────────────────────
+    private final int[]   parent;
+    private final int[]   firstChild;
+    private final int[]   nextSibling;
+    private final int[]   previousSibling;
+    private final int[]   nodeType;
+    private final int[]   nodeName;
+    private final int[]   nodeValue;
+    private final int[]   backendNodeId;
+    /** Flat name/value string indices per node. */
+    private final int[][] attributes;
+    /** Nodes in shadow trees or pseudo-elements, invisible to queries and text. */
+    private final boolean[] excluded;
+    /** Position in document order. */
+    private final int[]   order;
+
+    // ── Layout (indexed by node) ──────────────────────────────────────────────
+    private final List<String> styleNames;
+    /** Layout row of a node, or {@link #NONE} if it is not rendered. */
+    private final int[]    layoutRow;
+    private final double[] bounds;
+    private final int[][]  styles;
+
+    /** Lower-cased names by string index, filled on demand. */
+    private final String[] lowerNames;
+    /** {@code textContent} by node, filled on demand. */
+    private final String[] texts;
+
+    private DomSnapshot(String[] strings, String documentUrl, JsonObject nodes, JsonObject layout,
+                        List<String> styleNames) {
+        this.strings     = strings;
+        this.documentUrl = documentUrl;
+        this.styleNames  = List.copyOf(styleNames);
+
+        this.parent        = ints(nodes.getAsJsonArray(KEY_PARENT_INDEX));
+        this.size          = parent.length;
+        this.nodeType      = ints(nodes.getAsJsonArray(KEY_NODE_TYPE));
+        this.nodeName      = ints(nodes.getAsJsonArray(KEY_NODE_NAME));
+        this.nodeValue     = nodes.has(KEY_NODE_VALUE) ? ints(nodes.getAsJsonArray(KEY_NODE_VALUE)) : filled(size);
+        this.backendNodeId = ints(nodes.getAsJsonArray(KEY_BACKEND_NODE));
+        this.attributes    = new int[size][];
+        JsonArray attributeLists = nodes.getAsJsonArray(KEY_ATTRIBUTES);
+        for (int node = 0; node < size; node++) {
+            attributes[node] = attributeLists != null && node < attributeLists.size()
+                    ? ints(attributeLists.get(node).getAsJsonArray()) : NO_ATTRIBUTES;
+        }
+
+        this.firstChild      = filled(size);
+        this.nextSibling     = filled(size);
+        this.previousSibling = filled(size);
+        int[] lastChild = filled(size);
+        for (int node = 0; node < size; node++) {
+            int p = parent[node];
+            if (p == NONE) {
+                continue;
+            }
+            if (lastChild[p] == NONE) {
+                firstChild[p] = node;
+            } else {
+                nextSibling[lastChild[p]] = node;
+                previousSibling[node] = lastChild[p];
+            }
+            lastChild[p] = node;
+        }
+
+        this.excluded = new boolean[size];
+        if (nodes.has(KEY_PSEUDO_TYPE)) {
+            for (JsonElement node : nodes.getAsJsonObject(KEY_PSEUDO_TYPE).getAsJsonArray(KEY_RARE_INDEX)) {
+                excluded[node.getAsInt()] = true;
+            }
+        }
+        this.order = new int[size];
+        int position = 0;
+        for (int node = 0; node < size; node++) {
+            if (parent[node] == NONE) {
+                position = number(node, position, false);
+            }
+        }
+
+        this.layoutRow = filled(size);
+        JsonArray layoutNodes = layout != null ? layout.getAsJsonArray(KEY_NODE_INDEX) : new JsonArray();
+        JsonArray layoutBounds = layout != null ? layout.getAsJsonArray(KEY_BOUNDS) : new JsonArray();
+        JsonArray layoutStyles = layout != null ? layout.getAsJsonArray(KEY_STYLES) : new JsonArray();
+        this.bounds = new double[layoutNodes.size() * BOUNDS_STRIDE];
+        this.styles = new int[layoutNodes.size()][];
+        for (int row = 0; row < layoutNodes.size(); row++) {
+            int node = layoutNodes.get(row).getAsInt();
+            // A node may own several layout objects (e.g. wrapped text); the first is its box
+            if (layoutRow[node] == NONE) {
+                layoutRow[node] = row;
+            }
+            JsonArray box = layoutBounds.get(row).getAsJsonArray();
+            for (int i = 0; i < BOUNDS_STRIDE && i < box.size(); i++) {
+                bounds[row * BOUNDS_STRIDE + i] = box.get(i).getAsDouble();
+            }
+            styles[row] = row < layoutStyles.size() ? ints(layoutStyles.get(row).getAsJsonArray()) : NO_ATTRIBUTES;
+        }
+
+        this.lowerNames = new String[strings.length];
+        this.texts      = new String[size];
+    }
+
+    /**
+     * Builds the model of the main frame's document from a {@code DOMSnapshot.captureSnapshot}
+     * response.
+     *
+     * @param response   command result with {@code documents} and {@code strings}
+     * @param styleNames computed style properties requested, in request order
+     * @return the model
+     * @throws IllegalArgumentException if the response holds no document
+     */
+    public static DomSnapshot parse(JsonObject response, List<String> styleNames) {
+        JsonArray documents = response.getAsJsonArray(KEY_DOCUMENTS);
+        if (documents == null || documents.isEmpty()) {
+            throw new IllegalArgumentException("Snapshot contains no document");
+        }
+        JsonArray table = response.getAsJsonArray(KEY_STRINGS);
+        String[] strings = new String[table.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = table.get(i).getAsString();
+        }
+        JsonObject document = documents.get(0).getAsJsonObject();
+        int url = document.has(KEY_DOCUMENT_URL) ? document.get(KEY_DOCUMENT_URL).getAsInt() : NONE;
+        return new DomSnapshot(strings, url >= 0 ? strings[url] : "",
+                document.getAsJsonObject(KEY_NODES), document.getAsJsonObject(KEY_LAYOUT), styleNames);
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /**
+     * Returns the elements matching {@code locator} in document order, with the same
+     * semantics as the page-side locator engine.
+     *
+     * @param locator element locator
+     * @return matching element nodes
+     * @throws UnsupportedOperationException if the locator uses syntax the local engine
+     *                                       does not implement; resolve it in the page instead
+     */
+    public int[] findAll(By locator) {
+        return SnapshotQuery.of(locator).findAll(this, documentNode());
+    }
+
+    /**
+     * Returns the elements matching {@code locator} within {@code root}, as
+     * {@code root.querySelectorAll} would for CSS and with {@code root} as the context
+     * node for XPath.
+     */
+    public int[] findAll(By locator, int root) {
+        return SnapshotQuery.of(locator).findAll(this, root);
+    }
+
+    // ── Nodes ─────────────────────────────────────────────────────────────────
+
+    /** Returns the number of nodes. */
+    public int size() {
+        return size;
+    }
+
+    public String getDocumentUrl() {
+        return documentUrl;
+    }
+
+    /** Returns the document node. */
+    public int documentNode() {
+        for (int node = 0; node < size; node++) {
+            if (parent[node] == NONE && nodeType[node] == DOCUMENT_NODE) {
+                return node;
+            }
+        }
+        return 0;
+    }
+
+    public int getNodeType(int node) {
+        return nodeType[node];
+    }
+
+    public boolean isElement(int node) {
+        return nodeType[node] == ELEMENT_NODE && !excluded[node];
+    }
+
+    public int getParent(int node) {
+        return parent[node];
+    }
+
+    public int getFirstChild(int node) {
+        return firstChild[node];
+    }
+
+    public int getNextSibling(int node) {
+        return nextSibling[node];
+    }
+
+    public int getPreviousSibling(int node) {
+        return previousSibling[node];
+    }
+
+    public int getBackendNodeId(int node) {
+        return backendNodeId[node];
+    }
+
+    /** Returns the lower-case tag name of an element, e.g. {@code "div"}. */
+    public String getTagName(int node) {
+        return lowerName(nodeName[node]);
+    }
+
+    /** Returns the value of a text, comment or attribute node, or {@code null}. */
+    public String getNodeValue(int node) {
+        return string(nodeValue[node]);
+    }
+
+    /**
+     * Returns attribute {@code name} of {@code node}.
+     *
+     * @return the value, or {@code null} if the node has no such attribute
+     */
+    public String getAttribute(int node, String name) {
+        int[] pairs = attributes[node];
+        for (int i = 0; i + 1 < pairs.length; i += 2) {
+            if (lowerName(pairs[i]).equals(name) || strings[pairs[i]].equals(name)) {
+                return strings[pairs[i + 1]];
+            }
+        }
+        return null;
+    }
+
+    /** Returns the values of all attributes of {@code node}. */
+    String[] getAttributeValues(int node) {
+        int[] pairs = attributes[node];
+        String[] values = new String[pairs.length / 2];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = strings[pairs[2 * i + 1]];
+        }
+        return values;
+    }
+
+    /** Returns the {@code textContent} of {@code node}: its descendant text, in document order. */
+    public String getText(int node) {
+        if (nodeType[node] == TEXT_NODE || nodeType[node] == CDATA_SECTION_NODE) {
+            return Objects.requireNonNullElse(getNodeValue(node), "");
+        }
+        String text = texts[node];
+        if (text == null) {
+            StringBuilder sb = new StringBuilder();
+            appendText(node, sb);
+            text = sb.toString();
+            texts[node] = text;
+        }
+        return text;
+    }
+
+    // ── Layout ────────────────────────────────────────────────────────────────
+
+    /** Returns {@code true} if {@code node} is rendered, i.e. has a layout box. */
+    public boolean hasLayout(int node) {
+        return layoutRow[node] != NONE;
+    }
+
+    /**
+     * Returns the border box of {@code node} in CSS pixels relative to the document,
+     * rounded to whole pixels.
+     *
+     * @return the box, or {@code null} if the node is not rendered
+     */
+    public Rectangle getBounds(int node) {
+        int row = layoutRow[node];
+        if (row == NONE) {
+            return null;
+        }
+        int base = row * BOUNDS_STRIDE;
+        return new Rectangle(
+                (int) Math.round(bounds[base]), (int) Math.round(bounds[base + 1]),
+                (int) Math.round(bounds[base + 3]), (int) Math.round(bounds[base + 2]));
+    }
+
+    /** Returns the computed style properties captured for rendered nodes. */
+    public List<String> getStyleNames() {
+        return styleNames;
+    }
+
+    /**
+     * Returns computed style property {@code name} of {@code node}.
+     *
+     * @return the value, or {@code null} if the node is not rendered or the property was not captured
+     */
+    public String getComputedStyle(int node, String name) {
+        int row = layoutRow[node];
+        int property = styleNames.indexOf(name);
+        if (row == NONE || property < 0 || property >= styles[row].length) {
+            return null;
+        }
+        return string(styles[row][property]);
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /** Returns {@code true} if {@code node} is invisible to queries and text. */
+    boolean isExcluded(int node) {
+        return excluded[node];
+    }
+
+    /** Returns the document-order position of {@code node}. */
+    int orderOf(int node) {
+        return order[node];
+    }
+
+    /** Returns {@code true} if {@code ancestor} is a proper ancestor of {@code node}. */
+    boolean isAncestor(int ancestor, int node) {
+        for (int p = parent[node]; p != NONE; p = parent[p]) {
+            if (p == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Sorts {@code nodes} into document order in place and returns it. */
+    int[] sortInDocumentOrder(int[] nodes) {
+        long[] keys = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            keys[i] = ((long) order[nodes[i]] << Integer.SIZE) | nodes[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = (int) keys[i];
+        }
+        return nodes;
+    }
+
+    /**
+     * Numbers the subtree of {@code node} in pre-order from {@code position}, marking
+     * shadow trees and pseudo-elements as excluded. Iterative, so deep documents cannot
+     * overflow the stack.
+     */
+    private int number(int root, int position, boolean inExcluded) {
+        int node = root;
+        while (true) {
+            boolean skip = (node == root ? inExcluded : excluded[parent[node]])
+                    || nodeType[node] == FRAGMENT_NODE;
+            excluded[node] |= skip;
+            order[node] = position++;
+            if (firstChild[node] != NONE) {
+                node = firstChild[node];
+                continue;
+            }
+            while (node != root && nextSibling[node] == NONE) {
+                node = parent[node];
+            }
+            if (node == root) {
+                return position;
+            }
+            node = nextSibling[node];
+        }
+    }
+
+    private void appendText(int root, StringBuilder sb) {
+        for (int node = firstChild[root]; node != NONE && node != root; ) {
+            if (!excluded[node]) {
+                if (nodeType[node] == TEXT_NODE || nodeType[node] == CDATA_SECTION_NODE) {
+                    String value = string(nodeValue[node]);
+                    if (value != null) {
+                        sb.append(value);
+                    }
+                } else if (firstChild[node] != NONE) {
+                    node = firstChild[node];
+                    continue;
+                }
+            }
+            while (node != root && nextSibling[node] == NONE) {
+                node = parent[node];
+            }
+            if (node == root) {
+                return;
+            }
+            node = nextSibling[node];
+        }
+    }
+
+    private String lowerName(int index) {
+        if (index < 0) {
+            return "";
+        }
+        String lower = lowerNames[index];
+        if (lower == null) {
+            lower = strings[index].toLowerCase(Locale.ROOT);
+            lowerNames[index] = lower;
+        }
+        return lower;
+    }
+
+    private String string(int index) {
+        return index >= 0 && index < strings.length ? strings[index] : null;
+    }
+
+    private static int[] ints(JsonArray array) {
+        if (array == null) {
+            return NO_ATTRIBUTES;
+        }
+        int[] values = new int[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i).getAsInt();
+        }
+        return values;
+    }
+
+    private static int[] filled(int size) {
+        int[] values = new int[size];
+        Arrays.fill(values, NONE);
+        return values;
+    }
+}
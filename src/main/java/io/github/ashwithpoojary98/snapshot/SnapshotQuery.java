@@ -0,0 +1,154 @@
+package io.github.ashwithpoojary98.snapshot;
+
+import io.github.ashwithpoojary98.By;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link By} compiled for evaluation against a {@link DomSnapshot}, mirroring the page-side
+ * locator engine: CSS matches within the root as {@code querySelectorAll} does, XPath is
+ * evaluated with the root as context node, each chain step searches within the first match
+ * of the previous one, and an indexed locator picks one match of its parent.
+ */
+abstract class SnapshotQuery {
+
+    /** Compiled queries keyed by locator identity; unsupported locators are remembered too. */
+    private static final Map<By, SnapshotQuery> COMPILED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Returns the elements matching the query within {@code root}, in document order.
+     *
+     * @throws UnsupportedOperationException if the locator cannot be evaluated locally
+     */
+    abstract int[] findAll(DomSnapshot snapshot, int root);
+
+    /** Returns the compiled form of {@code locator}, compiling it on first use. */
+    static SnapshotQuery of(By locator) {
+        return COMPILED.computeIfAbsent(locator, SnapshotQuery::compile);
+    }
+
+    private static SnapshotQuery compile(By locator) {
+        try {
+            String css = locator.toCssSelector();
+            if (css != null) {
+                return new Css(CssSelector.parse(css));
+            }
+            if (locator.isXPath()) {
+                return new XPath(XPathExpression.parse(locator.getSelector()));
+            }
+            if (locator instanceof By.ByChained chained) {
+                By[] bys = chained.getBys();
+                SnapshotQuery[] steps = new SnapshotQuery[bys.length];
+                for (int i = 0; i < bys.length; i++) {
+                    steps[i] = compile(bys[i]);
+                }
+                return new Chain(steps);
+            }
+            if (locator instanceof By.ByIndex indexed) {
+                return new Index(compile(indexed.getParent()), indexed.getIndex());
+            }
+            return new Unsupported(new UnsupportedOperationException(
+                    "Unsupported locator type: " + locator.getClass().getSimpleName()));
+        } catch (UnsupportedOperationException e) {
+            return new Unsupported(e);
+        }
+    }
+
+    private static final class Css extends SnapshotQuery {
+        private final CssSelector selector;
+
+        Css(CssSelector selector) {
+            this.selector = selector;
+        }
+
+        @Override
+        int[] findAll(DomSnapshot snapshot, int root) {
+            int[] matches = new int[16];
+            int count = 0;
+            for (int node = snapshot.getFirstChild(root); node != DomSnapshot.NONE; ) {
+                boolean excluded = snapshot.isExcluded(node);
+                if (!excluded && selector.matches(snapshot, node)) {
+                    if (count == matches.length) {
+                        matches = Arrays.copyOf(matches, count * 2);
+                    }
+                    matches[count++] = node;
+                }
+                if (!excluded && snapshot.getFirstChild(node) != DomSnapshot.NONE) {
+                    node = snapshot.getFirstChild(node);
+                    continue;
+                }
+                while (node != root && snapshot.getNextSibling(node) == DomSnapshot.NONE) {
+                    node = snapshot.getParent(node);
+                }
+                node = node == root ? DomSnapshot.NONE : snapshot.getNextSibling(node);
+            }
+            return Arrays.copyOf(matches, count);
+        }
+    }
+
+    private static final class XPath extends SnapshotQuery {
+        private final XPathExpression expression;
+
+        XPath(XPathExpression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        int[] findAll(DomSnapshot snapshot, int root) {
+            return expression.select(snapshot, root);
+        }
+    }
+
+    private static final class Chain extends SnapshotQuery {
+        private final SnapshotQuery[] steps;
+
+        Chain(SnapshotQuery[] steps) {
+            this.steps = steps;
+        }
+
+        @Override
+        int[] findAll(DomSnapshot snapshot, int root) {
+            int context = root;
+            for (int i = 0; i < steps.length - 1; i++) {
+                int[] matches = steps[i].findAll(snapshot, context);
+                if (matches.length == 0) {
+                    return matches;
+                }
+                context = matches[0];
+            }
+            return steps[steps.length - 1].findAll(snapshot, context);
+        }
+    }
+
+    private static final class Index extends SnapshotQuery {
+        private final SnapshotQuery parent;
+        private final int           index;
+
+        Index(SnapshotQuery parent, int index) {
+            this.parent = parent;
+            this.index  = index;
+        }
+
+        @Override
+        int[] findAll(DomSnapshot snapshot, int root) {
+            int[] matches = parent.findAll(snapshot, root);
+            return index < matches.length ? new int[] {matches[index]} : new int[0];
+        }
+    }
+
+    private static final class Unsupported extends SnapshotQuery {
+        private final UnsupportedOperationException reason;
+
+        Unsupported(UnsupportedOperationException reason) {
+            this.reason = reason;
+        }
+
+        @Override
+        int[] findAll(DomSnapshot snapshot, int root) {
+            throw new UnsupportedOperationException(reason.getMessage(), reason);
+        }
+    }
+}
@@ -0,0 +1,947 @@
+package io.github.ashwithpoojary98.snapshot;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * XPath 1.0 expression compiled for evaluation against a {@link DomSnapshot}.
+ *
+ * <p>Covers location paths over the child, descendant, self, parent, ancestor and sibling
+ * axes plus attributes, predicates (positional included), filter expressions such as
+ * {@code (//li)[2]}, unions, comparisons, {@code and}/{@code or}, and the string and boolean
+ * core functions — everything the generated link-text locators and typical hand-written
+ * locators use. Arithmetic, namespaces and the {@code following}/{@code preceding} axes are
+ * rejected with {@link UnsupportedOperationException}. Name tests match HTML elements
+ * case-insensitively, as {@code document.evaluate} does in HTML documents.
+ */
+final class XPathExpression {
+
+    private static final int COMMENT_NODE = 8;
+
+    /** Ordered, duplicate-free set of nodes. */
+    private record NodeSet(int[] nodes) {
+    }
+
+    /** Values selected by an attribute step. */
+    private record AttributeSet(String[] values) {
+    }
+
+    /** Evaluation context: node, its 1-based proximity position and the context size. */
+    private record Context(DomSnapshot snapshot, int node, int position, int size) {
+    }
+
+    private interface Expr {
+        Object eval(Context context);
+    }
+
+    private interface NodeTest {
+        boolean test(DomSnapshot snapshot, int node);
+    }
+
+    private enum Axis {
+        CHILD, DESCENDANT, DESCENDANT_OR_SELF, SELF, PARENT, ANCESTOR, ANCESTOR_OR_SELF,
+        FOLLOWING_SIBLING, PRECEDING_SIBLING, ATTRIBUTE;
+
+        boolean isReverse() {
+            return this == ANCESTOR || this == ANCESTOR_OR_SELF || this == PRECEDING_SIBLING;
+        }
+    }
+
+    /** One location step; {@code attributeName} is set for the attribute axis only. */
+    private record Step(Axis axis, NodeTest test, String attributeName, List<Expr> predicates) {
+    }
+
+    private final String source;
+    private final Expr   root;
+
+    private XPathExpression(String source, Expr root) {
+        this.source = source;
+        this.root   = root;
+    }
+
+    /**
+     * Compiles {@code xpath}.
+     *
+     * @param xpath XPath 1.0 expression
+     * @return compiled expression
+     * @throws UnsupportedOperationException if the expression is invalid or uses unsupported syntax
+     */
+    static XPathExpression parse(String xpath) {
+        return new XPathExpression(xpath, new Parser(xpath).parse());
+    }
+
+    /**
+     * Evaluates the expression with {@code contextNode} as context node.
+     *
+     * @return selected elements in document order
+     * @throws UnsupportedOperationException if the expression does not select elements only
+     */
+    int[] select(DomSnapshot snapshot, int contextNode) {
+        Object value = root.eval(new Context(snapshot, contextNode, 1, 1));
+        if (!(value instanceof NodeSet set)) {
+            throw new UnsupportedOperationException("XPath '" + source + "' does not select elements");
+        }
+        for (int node : set.nodes()) {
+            if (!snapshot.isElement(node)) {
+                throw new UnsupportedOperationException("XPath '" + source + "' selects non-element nodes");
+            }
+        }
+        return set.nodes();
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    // ── Location paths ────────────────────────────────────────────────────────
+
+    /** Location path, optionally starting from the root or from a filter expression. */
+    private record PathExpr(Expr filter, boolean absolute, List<Step> steps) implements Expr {
+        @Override
+        public Object eval(Context context) {
+            DomSnapshot snapshot = context.snapshot();
+            int[] current;
+            if (filter != null) {
+                current = nodeSet(filter.eval(context)).nodes();
+            } else if (absolute) {
+                int top = context.node();
+                while (snapshot.getParent(top) != DomSnapshot.NONE) {
+                    top = snapshot.getParent(top);
+                }
+                current = new int[] {top};
+            } else {
+                current = new int[] {context.node()};
+            }
+            for (Step step : steps) {
+                if (step.axis() == Axis.ATTRIBUTE) {
+                    return attributes(snapshot, current, step);
+                }
+                current = apply(snapshot, current, step);
+            }
+            return new NodeSet(current);
+        }
+    }
+
+    /** Primary expression narrowed by predicates, e.g. {@code (//li)[2]}. */
+    private record FilterExpr(Expr primary, List<Expr> predicates) implements Expr {
+        @Override
+        public Object eval(Context context) {
+            int[] nodes = nodeSet(primary.eval(context)).nodes();
+            for (Expr predicate : predicates) {
+                nodes = filter(context.snapshot(), nodes, predicate);
+            }
+            return new NodeSet(nodes);
+        }
+    }
+
+    private record UnionExpr(List<Expr> operands) implements Expr {
+        @Override
+        public Object eval(Context context) {
+            DomSnapshot snapshot = context.snapshot();
+            boolean[] seen = new boolean[snapshot.size()];
+            IntList union = new IntList();
+            for (Expr operand : operands) {
+                for (int node : nodeSet(operand.eval(context)).nodes()) {
+                    if (!seen[node]) {
+                        seen[node] = true;
+                        union.add(node);
+                    }
+                }
+            }
+            return new NodeSet(snapshot.sortInDocumentOrder(union.toArray()));
+        }
+    }
+
+    private static int[] apply(DomSnapshot snapshot, int[] contexts, Step step) {
+        boolean[] seen = new boolean[snapshot.size()];
+        IntList result = new IntList();
+        for (int context : contexts) {
+            int[] selected = axis(snapshot, context, step);
+            for (Expr predicate : step.predicates()) {
+                selected = filter(snapshot, selected, predicate);
+            }
+            for (int node : selected) {
+                if (!seen[node]) {
+                    seen[node] = true;
+                    result.add(node);
+                }
+            }
+        }
+        int[] nodes = result.toArray();
+        return contexts.length > 1 || step.axis().isReverse() ? snapshot.sortInDocumentOrder(nodes) : nodes;
+    }
+
+    /** Nodes on {@code step}'s axis of {@code node} that pass its node test, in axis order. */
+    private static int[] axis(DomSnapshot snapshot, int node, Step step) {
+        IntList out = new IntList();
+        NodeTest test = step.test();
+        switch (step.axis()) {
+            case SELF -> addIf(snapshot, test, node, out);
+            case CHILD -> {
+                for (int c = snapshot.getFirstChild(node); c != DomSnapshot.NONE; c = snapshot.getNextSibling(c)) {
+                    addIf(snapshot, test, c, out);
+                }
+            }
+            case DESCENDANT, DESCENDANT_OR_SELF -> {
+                if (step.axis() == Axis.DESCENDANT_OR_SELF) {
+                    addIf(snapshot, test, node, out);
+                }
+                descendants(snapshot, node, test, out);
+            }
+            case PARENT -> {
+                int p = snapshot.getParent(node);
+                if (p != DomSnapshot.NONE) {
+                    addIf(snapshot, test, p, out);
+                }
+            }
+            case ANCESTOR, ANCESTOR_OR_SELF -> {
+                if (step.axis() == Axis.ANCESTOR_OR_SELF) {
+                    addIf(snapshot, test, node, out);
+                }
+                for (int p = snapshot.getParent(node); p != DomSnapshot.NONE; p = snapshot.getParent(p)) {
+                    addIf(snapshot, test, p, out);
+                }
+            }
+            case FOLLOWING_SIBLING -> {
+                for (int s = snapshot.getNextSibling(node); s != DomSnapshot.NONE; s = snapshot.getNextSibling(s)) {
+                    addIf(snapshot, test, s, out);
+                }
+            }
+            case PRECEDING_SIBLING -> {
+                for (int s = snapshot.getPreviousSibling(node); s != DomSnapshot.NONE; s = snapshot.getPreviousSibling(s)) {
+                    addIf(snapshot, test, s, out);
+                }
+            }
+            case ATTRIBUTE -> throw new IllegalStateException("attribute steps select values");
+        }
+        return out.toArray();
+    }
+
+    /** Pre-order walk below {@code root}, skipping shadow trees and pseudo-elements. */
+    private static void descendants(DomSnapshot snapshot, int root, NodeTest test, IntList out) {
+        int node = snapshot.getFirstChild(root);
+        while (node != DomSnapshot.NONE) {
+            boolean excluded = snapshot.isExcluded(node);
+            if (!excluded && test.test(snapshot, node)) {
+                out.add(node);
+            }
+            if (!excluded && snapshot.getFirstChild(node) != DomSnapshot.NONE) {
+                node = snapshot.getFirstChild(node);
+                continue;
+            }
+            while (node != root && snapshot.getNextSibling(node) == DomSnapshot.NONE) {
+                node = snapshot.getParent(node);
+            }
+            node = node == root ? DomSnapshot.NONE : snapshot.getNextSibling(node);
+        }
+    }
+
+    private static void addIf(DomSnapshot snapshot, NodeTest test, int node, IntList out) {
+        if (!snapshot.isExcluded(node) && test.test(snapshot, node)) {
+            out.add(node);
+        }
+    }
+
+    private static AttributeSet attributes(DomSnapshot snapshot, int[] elements, Step step) {
+        List<String> values = new ArrayList<>();
+        for (int element : elements) {
+            if (!snapshot.isElement(element)) {
+                continue;
+            }
+            if (step.attributeName().equals("*")) {
+                values.addAll(Arrays.asList(snapshot.getAttributeValues(element)));
+            } else {
+                String value = snapshot.getAttribute(element, step.attributeName());
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        }
+        if (!step.predicates().isEmpty()) {
+            throw new UnsupportedOperationException("predicates on attribute steps are not supported");
+        }
+        return new AttributeSet(values.toArray(new String[0]));
+    }
+
+    /** Keeps the nodes of {@code nodes} for which {@code predicate} holds, by proximity position. */
+    private static int[] filter(DomSnapshot snapshot, int[] nodes, Expr predicate) {
+        IntList kept = new IntList();
+        for (int i = 0; i < nodes.length; i++) {
+            Object value = predicate.eval(new Context(snapshot, nodes[i], i + 1, nodes.length));
+            boolean keep = value instanceof Double number ? number == i + 1 : toBoolean(value);
+            if (keep) {
+                kept.add(nodes[i]);
+            }
+        }
+        return kept.toArray();
+    }
+
+    // ── Operators and functions ───────────────────────────────────────────────
+
+    private record Literal(Object value) implements Expr {
+        @Override
+        public Object eval(Context context) {
+            return value;
+        }
+    }
+
+    private record Negate(Expr operand) implements Expr {
+        @Override
+        public Object eval(Context context) {
+            return -toNumber(context.snapshot(), operand.eval(context));
+        }
+    }
+
+    private record Logical(boolean and, Expr left, Expr right) implements Expr {
+        @Override
+        public Object eval(Context context) {
+            boolean l = toBoolean(left.eval(context));
+            if (and ? !l : l) {
+                return l;
+            }
+            return toBoolean(right.eval(context));
+        }
+    }
+
+    private record Comparison(String operator, Expr left, Expr right) implements Expr {
+        @Override
+        public Object eval(Context context) {
+            return compare(context.snapshot(), operator, left.eval(context), right.eval(context));
+        }
+    }
+
+    private record Call(String name, List<Expr> args) implements Expr {
+        @Override
+        public Object eval(Context context) {
+            DomSnapshot snapshot = context.snapshot();
+            return switch (name) {
+                case "position" -> (double) context.position();
+                case "last" -> (double) context.size();
+                case "count" -> (double) nodeSet(args.get(0).eval(context)).nodes().length;
+                case "true" -> true;
+                case "false" -> false;
+                case "not" -> !toBoolean(args.get(0).eval(context));
+                case "boolean" -> toBoolean(args.get(0).eval(context));
+                case "number" -> toNumber(snapshot, argOrContext(context));
+                case "string" -> asString(snapshot, argOrContext(context));
+                case "string-length" -> (double) asString(snapshot, argOrContext(context)).length();
+                case "normalize-space" -> normalizeSpace(asString(snapshot, argOrContext(context)));
+                case "concat" -> {
+                    StringBuilder sb = new StringBuilder();
+                    for (Expr arg : args) {
+                        sb.append(asString(snapshot, arg.eval(context)));
+                    }
+                    yield sb.toString();
+                }
+                case "contains" -> string(context, 0).contains(string(context, 1));
+                case "starts-with" -> string(context, 0).startsWith(string(context, 1));
+                case "substring-before" -> {
+                    String s = string(context, 0);
+                    int at = s.indexOf(string(context, 1));
+                    yield at < 0 ? "" : s.substring(0, at);
+                }
+                case "substring-after" -> {
+                    String s = string(context, 0);
+                    String separator = string(context, 1);
+                    int at = s.indexOf(separator);
+                    yield at < 0 ? "" : s.substring(at + separator.length());
+                }
+                case "translate" -> translate(string(context, 0), string(context, 1), string(context, 2));
+                default -> throw new IllegalStateException("unchecked function " + name);
+            };
+        }
+
+        private Object argOrContext(Context context) {
+            return args.isEmpty() ? new NodeSet(new int[] {context.node()}) : args.get(0).eval(context);
+        }
+
+        private String string(Context context, int index) {
+            return asString(context.snapshot(), args.get(index).eval(context));
+        }
+    }
+
+    /** Minimum and maximum arity of the supported functions. */
+    private static int[] arity(String function) {
+        return switch (function) {
+            case "position", "last", "true", "false" -> new int[] {0, 0};
+            case "count", "not", "boolean" -> new int[] {1, 1};
+            case "number", "string", "string-length", "normalize-space" -> new int[] {0, 1};
+            case "concat" -> new int[] {2, Integer.MAX_VALUE};
+            case "contains", "starts-with", "substring-before", "substring-after" -> new int[] {2, 2};
+            case "translate" -> new int[] {3, 3};
+            default -> null;
+        };
+    }
+
+    private static Object compare(DomSnapshot snapshot, String operator, Object left, Object right) {
+        boolean leftSet = isSet(left);
+        boolean rightSet = isSet(right);
+        if (leftSet || rightSet) {
+            if (leftSet && rightSet) {
+                for (String l : values(snapshot, left)) {
+                    for (String r : values(snapshot, right)) {
+                        if (compareAtoms(snapshot, operator, l, r)) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+            Object other = leftSet ? right : left;
+            if (other instanceof Boolean b) {
+                return compareAtoms(snapshot, operator, leftSet ? toBoolean(left) : b, leftSet ? b : toBoolean(right));
+            }
+            for (String value : values(snapshot, leftSet ? left : right)) {
+                Object atom = other instanceof Double ? toNumber(snapshot, value) : value;
+                if (leftSet ? compareAtoms(snapshot, operator, atom, other) : compareAtoms(snapshot, operator, other, atom)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return compareAtoms(snapshot, operator, left, right);
+    }
+
+    private static boolean compareAtoms(DomSnapshot snapshot, String operator, Object left, Object right) {
+        if (operator.equals("=") || operator.equals("!=")) {
+            boolean equal;
+            if (left instanceof Boolean || right instanceof Boolean) {
+                equal = toBoolean(left) == toBoolean(right);
+            } else if (left instanceof Double || right instanceof Double) {
+                equal = toNumber(snapshot, left) == toNumber(snapshot, right);
+            } else {
+                equal = asString(snapshot, left).equals(asString(snapshot, right));
+            }
+            return operator.equals("=") == equal;
+        }
+        double l = toNumber(snapshot, left);
+        double r = toNumber(snapshot, right);
+        return switch (operator) {
+            case "<" -> l < r;
+            case "<=" -> l <= r;
+            case ">" -> l > r;
+            default -> l >= r;
+        };
+    }
+
+    // ── Conversions ───────────────────────────────────────────────────────────
+
+    private static boolean isSet(Object value) {
+        return value instanceof NodeSet || value instanceof AttributeSet;
+    }
+
+    private static NodeSet nodeSet(Object value) {
+        if (value instanceof NodeSet set) {
+            return set;
+        }
+        throw new UnsupportedOperationException("expression does not evaluate to a node-set");
+    }
+
+    private static String[] values(DomSnapshot snapshot, Object set) {
+        if (set instanceof AttributeSet attributes) {
+            return attributes.values();
+        }
+        int[] nodes = ((NodeSet) set).nodes();
+        String[] values = new String[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            values[i] = stringValue(snapshot, nodes[i]);
+        }
+        return values;
+    }
+
+    private static String stringValue(DomSnapshot snapshot, int node) {
+        int type = snapshot.getNodeType(node);
+        if (type == DomSnapshot.ELEMENT_NODE || type == DomSnapshot.DOCUMENT_NODE) {
+            return snapshot.getText(node);
+        }
+        String value = snapshot.getNodeValue(node);
+        return value != null ? value : "";
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        if (value instanceof Double d) {
+            return d != 0 && !d.isNaN();
+        }
+        if (value instanceof String s) {
+            return !s.isEmpty();
+        }
+        if (value instanceof AttributeSet attributes) {
+            return attributes.values().length > 0;
+        }
+        return ((NodeSet) value).nodes().length > 0;
+    }
+
+    private static double toNumber(DomSnapshot snapshot, Object value) {
+        if (value instanceof Double d) {
+            return d;
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1 : 0;
+        }
+        String s = asString(snapshot, value).strip();
+        if (!s.matches("-?(\\d+(\\.\\d*)?|\\.\\d+)")) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(s);
+    }
+
+    private static String asString(DomSnapshot snapshot, Object value) {
+        if (value instanceof String s) {
+            return s;
+        }
+        if (value instanceof Boolean b) {
+            return b.toString();
+        }
+        if (value instanceof Double d) {
+            if (d.isNaN()) {
+                return "NaN";
+            }
+            if (d.isInfinite()) {
+                return d > 0 ? "Infinity" : "-Infinity";
+            }
+            return d == Math.rint(d) && Math.abs(d) < 1e15
+                    ? Long.toString(d.longValue())
+                    : BigDecimal.valueOf(d).stripTrailingZeros().toPlainString();
+        }
+        String[] values = values(snapshot, value);
+        return values.length > 0 ? values[0] : "";
+    }
+
+    private static String normalizeSpace(String s) {
+        return s.strip().replaceAll("[ \\t\\r\\n]+", " ");
+    }
+
+    private static String translate(String s, String from, String to) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            int at = from.indexOf(c);
+            if (at < 0) {
+                sb.append(c);
+            } else if (at < to.length()) {
+                sb.append(to.charAt(at));
+            }
+        }
+        return sb.toString();
+    }
+
+    // ── Parser ────────────────────────────────────────────────────────────────
+
+    private enum TokenType {
+        SLASH, DOUBLE_SLASH, LBRACKET, RBRACKET, LPAREN, RPAREN, AT, COMMA, DOT, DOUBLE_DOT,
+        AXIS, STAR, PIPE, OPERATOR, MINUS, LITERAL, NUMBER, NAME, EOF
+    }
+
+    private record Token(TokenType type, String text) {
+    }
+
+    private static final class Parser {
+
+        private final String      source;
+        private final List<Token> tokens;
+        private int pos;
+
+        Parser(String source) {
+            this.source = source;
+            this.tokens = tokenize(source);
+        }
+
+        Expr parse() {
+            Expr expr = or();
+            expect(TokenType.EOF);
+            return expr;
+        }
+
+        private Expr or() {
+            Expr left = and();
+            while (isName("or")) {
+                pos++;
+                left = new Logical(false, left, and());
+            }
+            return left;
+        }
+
+        private Expr and() {
+            Expr left = equality();
+            while (isName("and")) {
+                pos++;
+                left = new Logical(true, left, equality());
+            }
+            return left;
+        }
+
+        private Expr equality() {
+            Expr left = relational();
+            while (peek().type() == TokenType.OPERATOR && (peek().text().equals("=") || peek().text().equals("!="))) {
+                String operator = next().text();
+                left = new Comparison(operator, left, relational());
+            }
+            return left;
+        }
+
+        private Expr relational() {
+            Expr left = unary();
+            while (peek().type() == TokenType.OPERATOR && peek().text().matches("[<>]=?")) {
+                String operator = next().text();
+                left = new Comparison(operator, left, unary());
+            }
+            return left;
+        }
+
+        private Expr unary() {
+            if (peek().type() == TokenType.MINUS) {
+                pos++;
+                return new Negate(unary());
+            }
+            Expr first = path();
+            if (peek().type() != TokenType.PIPE) {
+                return first;
+            }
+            List<Expr> operands = new ArrayList<>(List.of(first));
+            while (peek().type() == TokenType.PIPE) {
+                pos++;
+                operands.add(path());
+            }
+            return new UnionExpr(operands);
+        }
+
+        private Expr path() {
+            Token token = peek();
+            if (token.type() == TokenType.SLASH || token.type() == TokenType.DOUBLE_SLASH) {
+                List<Step> steps = new ArrayList<>();
+                if (next().type() == TokenType.DOUBLE_SLASH) {
+                    steps.add(descendantOrSelf());
+                    steps(steps);
+                } else if (startsStep()) {
+                    steps(steps);
+                }
+                return new PathExpr(null, true, steps);
+            }
+            if (startsPrimary()) {
+                Expr primary = primary();
+                List<Expr> predicates = predicates();
+                Expr filter = predicates.isEmpty() ? primary : new FilterExpr(primary, predicates);
+                if (peek().type() != TokenType.SLASH && peek().type() != TokenType.DOUBLE_SLASH) {
+                    return filter;
+                }
+                List<Step> steps = new ArrayList<>();
+                if (next().type() == TokenType.DOUBLE_SLASH) {
+                    steps.add(descendantOrSelf());
+                }
+                steps(steps);
+                return new PathExpr(filter, false, steps);
+            }
+            List<Step> steps = new ArrayList<>();
+            steps(steps);
+            return new PathExpr(null, false, steps);
+        }
+
+        /** Parses {@code step (('/' | '//') step)*} onto {@code steps}. */
+        private void steps(List<Step> steps) {
+            steps.add(step());
+            while (peek().type() == TokenType.SLASH || peek().type() == TokenType.DOUBLE_SLASH) {
+                if (next().type() == TokenType.DOUBLE_SLASH) {
+                    steps.add(descendantOrSelf());
+                }
+                steps.add(step());
+            }
+            collapseDescendantSteps(steps);
+        }
+
+        /**
+         * Rewrites {@code descendant-or-self::node()/child::x} without predicates to
+         * {@code descendant::x}, so {@code //x} walks the tree once.
+         */
+        private static void collapseDescendantSteps(List<Step> steps) {
+            for (int i = steps.size() - 2; i >= 0; i--) {
+                Step step = steps.get(i);
+                Step following = steps.get(i + 1);
+                if (step.axis() == Axis.DESCENDANT_OR_SELF && step.predicates().isEmpty()
+                        && step.test() == ANY_NODE && following.axis() == Axis.CHILD
+                        && following.predicates().isEmpty()) {
+                    steps.set(i, new Step(Axis.DESCENDANT, following.test(), null, List.of()));
+                    steps.remove(i + 1);
+                }
+            }
+        }
+
+        private Step step() {
+            Token token = next();
+            switch (token.type()) {
+                case DOT:
+                    return new Step(Axis.SELF, ANY_NODE, null, predicates());
+                case DOUBLE_DOT:
+                    return new Step(Axis.PARENT, ANY_NODE, null, predicates());
+                case AT: {
+                    String name = attributeName();
+                    return new Step(Axis.ATTRIBUTE, ANY_NODE, name, predicates());
+                }
+                case AXIS: {
+                    Axis axis = axis(token.text());
+                    if (axis == Axis.ATTRIBUTE) {
+                        return new Step(axis, ANY_NODE, attributeName(), predicates());
+                    }
+                    return new Step(axis, nodeTest(next()), null, predicates());
+                }
+                default:
+                    return new Step(Axis.CHILD, nodeTest(token), null, predicates());
+            }
+        }
+
+        private String attributeName() {
+            Token name = next();
+            if (name.type() == TokenType.STAR) {
+                return "*";
+            }
+            if (name.type() != TokenType.NAME) {
+                throw unsupported("expected an attribute name");
+            }
+            return name.text().toLowerCase(Locale.ROOT);
+        }
+
+        private NodeTest nodeTest(Token token) {
+            if (token.type() == TokenType.STAR) {
+                return (snapshot, node) -> snapshot.isElement(node);
+            }
+            if (token.type() != TokenType.NAME) {
+                throw unsupported("unexpected '" + token.text() + "'");
+            }
+            if (peek().type() == TokenType.LPAREN) {
+                pos++;
+                expect(TokenType.RPAREN);
+                return switch (token.text()) {
+                    case "node" -> ANY_NODE;
+                    case "text" -> (snapshot, node) -> snapshot.getNodeType(node) == DomSnapshot.TEXT_NODE
+                            || snapshot.getNodeType(node) == DomSnapshot.CDATA_SECTION_NODE;
+                    case "comment" -> (snapshot, node) -> snapshot.getNodeType(node) == COMMENT_NODE;
+                    default -> throw unsupported("unknown node type " + token.text() + "()");
+                };
+            }
+            String name = token.text().toLowerCase(Locale.ROOT);
+            return (snapshot, node) -> snapshot.isElement(node) && snapshot.getTagName(node).equals(name);
+        }
+
+        private List<Expr> predicates() {
+            List<Expr> predicates = new ArrayList<>();
+            while (peek().type() == TokenType.LBRACKET) {
+                pos++;
+                predicates.add(or());
+                expect(TokenType.RBRACKET);
+            }
+            return predicates.isEmpty() ? List.of() : predicates;
+        }
+
+        private Expr primary() {
+            Token token = next();
+            switch (token.type()) {
+                case LITERAL:
+                    return new Literal(token.text());
+                case NUMBER:
+                    return new Literal(Double.parseDouble(token.text()));
+                case LPAREN: {
+                    Expr inner = or();
+                    expect(TokenType.RPAREN);
+                    return inner;
+                }
+                default: {
+                    String name = token.text();
+                    int[] arity = arity(name);
+                    if (arity == null) {
+                        throw unsupported("function " + name + "() is not supported locally");
+                    }
+                    expect(TokenType.LPAREN);
+                    List<Expr> args = new ArrayList<>();
+                    if (peek().type() != TokenType.RPAREN) {
+                        do {
+                            args.add(or());
+                        } while (consume(TokenType.COMMA));
+                    }
+                    expect(TokenType.RPAREN);
+                    if (args.size() < arity[0] || args.size() > arity[1]) {
+                        throw unsupported("wrong number of arguments to " + name + "()");
+                    }
+                    return new Call(name, args);
+                }
+            }
+        }
+
+        private boolean startsPrimary() {
+            TokenType type = peek().type();
+            if (type == TokenType.LITERAL || type == TokenType.NUMBER || type == TokenType.LPAREN) {
+                return true;
+            }
+            return type == TokenType.NAME && peekAt(1).type() == TokenType.LPAREN
+                    && !List.of("node", "text", "comment", "processing-instruction").contains(peek().text());
+        }
+
+        private boolean startsStep() {
+            TokenType type = peek().type();
+            return type == TokenType.NAME || type == TokenType.STAR || type == TokenType.AT
+                    || type == TokenType.DOT || type == TokenType.DOUBLE_DOT || type == TokenType.AXIS;
+        }
+
+        private Axis axis(String name) {
+            return switch (name) {
+                case "child" -> Axis.CHILD;
+                case "descendant" -> Axis.DESCENDANT;
+                case "descendant-or-self" -> Axis.DESCENDANT_OR_SELF;
+                case "self" -> Axis.SELF;
+                case "parent" -> Axis.PARENT;
+                case "ancestor" -> Axis.ANCESTOR;
+                case "ancestor-or-self" -> Axis.ANCESTOR_OR_SELF;
+                case "following-sibling" -> Axis.FOLLOWING_SIBLING;
+                case "preceding-sibling" -> Axis.PRECEDING_SIBLING;
+                case "attribute" -> Axis.ATTRIBUTE;
+                default -> throw unsupported("axis " + name + ":: is not supported locally");
+            };
+        }
+
+        private static Step descendantOrSelf() {
+            return new Step(Axis.DESCENDANT_OR_SELF, ANY_NODE, null, List.of());
+        }
+
+        private boolean isName(String name) {
+            return peek().type() == TokenType.NAME && peek().text().equals(name);
+        }
+
+        private Token peek() {
+            return tokens.get(pos);
+        }
+
+        private Token peekAt(int offset) {
+            return tokens.get(Math.min(pos + offset, tokens.size() - 1));
+        }
+
+        private Token next() {
+            Token token = tokens.get(pos);
+            if (token.type() != TokenType.EOF) {
+                pos++;
+            }
+            return token;
+        }
+
+        private boolean consume(TokenType type) {
+            if (peek().type() == type) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(TokenType type) {
+            if (!consume(type)) {
+                throw unsupported("expected " + type + " but found '" + peek().text() + "'");
+            }
+        }
+
+        private UnsupportedOperationException unsupported(String reason) {
+            return new UnsupportedOperationException("Cannot evaluate XPath '" + source + "' locally: " + reason);
+        }
+
+        private List<Token> tokenize(String input) {
+            List<Token> out = new ArrayList<>();
+            int i = 0;
+            while (i < input.length()) {
+                char c = input.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '/') {
+                    boolean dbl = i + 1 < input.length() && input.charAt(i + 1) == '/';
+                    out.add(new Token(dbl ? TokenType.DOUBLE_SLASH : TokenType.SLASH, dbl ? "//" : "/"));
+                    i += dbl ? 2 : 1;
+                } else if (c == '.' && i + 1 < input.length() && input.charAt(i + 1) == '.') {
+                    out.add(new Token(TokenType.DOUBLE_DOT, ".."));
+                    i += 2;
+                } else if (c == '.' && !(i + 1 < input.length() && Character.isDigit(input.charAt(i + 1)))) {
+                    out.add(new Token(TokenType.DOT, "."));
+                    i++;
+                } else if (c == '\'' || c == '"') {
+                    int end = input.indexOf(c, i + 1);
+                    if (end < 0) {
+                        throw unsupported("unterminated string literal");
+                    }
+                    out.add(new Token(TokenType.LITERAL, input.substring(i + 1, end)));
+                    i = end + 1;
+                } else if (Character.isDigit(c) || c == '.') {
+                    int start = i;
+                    while (i < input.length() && (Character.isDigit(input.charAt(i)) || input.charAt(i) == '.')) {
+                        i++;
+                    }
+                    out.add(new Token(TokenType.NUMBER, input.substring(start, i)));
+                } else if (c == '!' || c == '<' || c == '>' || c == '=') {
+                    boolean withEquals = c != '=' && i + 1 < input.length() && input.charAt(i + 1) == '=';
+                    if (c == '!' && !withEquals) {
+                        throw unsupported("unexpected '!'");
+                    }
+                    out.add(new Token(TokenType.OPERATOR, withEquals ? c + "=" : String.valueOf(c)));
+                    i += withEquals ? 2 : 1;
+                } else if (isNameStart(c)) {
+                    int start = i;
+                    while (i < input.length() && isNameChar(input.charAt(i))) {
+                        i++;
+                    }
+                    String name = input.substring(start, i);
+                    if (input.startsWith("::", i)) {
+                        out.add(new Token(TokenType.AXIS, name));
+                        i += 2;
+                    } else if (i < input.length() && input.charAt(i) == ':') {
+                        throw unsupported("namespaces are not supported");
+                    } else {
+                        out.add(new Token(TokenType.NAME, name));
+                    }
+                } else {
+                    TokenType type = switch (c) {
+                        case '[' -> TokenType.LBRACKET;
+                        case ']' -> TokenType.RBRACKET;
+                        case '(' -> TokenType.LPAREN;
+                        case ')' -> TokenType.RPAREN;
+                        case '@' -> TokenType.AT;
+                        case ',' -> TokenType.COMMA;
+                        case '*' -> TokenType.STAR;
+                        case '|' -> TokenType.PIPE;
+                        case '-' -> TokenType.MINUS;
+                        default -> throw unsupported("unexpected '" + c + "'");
+                    };
+                    out.add(new Token(type, String.valueOf(c)));
+                    i++;
+                }
+            }
+            out.add(new Token(TokenType.EOF, "end of expression"));
+            return out;
+        }
+
+        private static boolean isNameStart(char c) {
+            return Character.isLetter(c) || c == '_';
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+        }
+    }
+
+    private static final NodeTest ANY_NODE = (snapshot, node) -> true;
+
+    /** Growable {@code int} array. */
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int   size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.ashwithpoojary98.wait;
+
+/**
+ * Verdict of a single page-side actionability check, as returned by
+ * {@link ElementWaitConditions#checkActionability}.
+ *
+ * <p>Every flag after {@code present} is {@code false} when the element is absent.
+ *
+ * @param present    a node matches the locator
+ * @param visible    the element has a non-empty layout box
+ * @param stable     no animation is running and the bounding box did not move between
+ *                   two animation frames
+ * @param unobscured the hit-test at the element's centre lands on the element or a
+ *                   descendant (elements outside the viewport count as unobscured — they
+ *                   are scrolled into view before the click)
+ * @param enabled    the element is not {@code disabled}
+ * @param editable   the element is an enabled, non-read-only input, textarea or
+ *                   content-editable element
+ */
+public record Actionability(
+        boolean present,
+        boolean visible,
+        boolean stable,
+        boolean unobscured,
+        boolean enabled,
+        boolean editable) {
+
+    /** State an element must reach before an interaction proceeds. */
+    public enum Requirement {
+        /** A node matches the locator. */
+        PRESENT,
+        /** The element is present and visible. */
+        VISIBLE,
+        /** The element can receive a click — see {@link #isClickable()}. */
+        CLICKABLE,
+        /** The element can receive typed text — see {@link #isInteractable()}. */
+        EDITABLE
+    }
+
+    /** Verdict for a locator that matched nothing. */
+    public static final Actionability ABSENT =
+            new Actionability(false, false, false, false, false, false);
+
+    /** Returns {@code true} if the element can receive a click. */
+    public boolean isClickable() {
+        return present && visible && stable && unobscured && enabled;
+    }
+
+    /** Returns {@code true} if the element can receive typed text. */
+    public boolean isInteractable() {
+        return present && visible && editable;
+    }
+
+    /** Returns {@code true} if this verdict meets {@code requirement}. */
+    public boolean satisfies(Requirement requirement) {
+        return switch (requirement) {
+            case PRESENT   -> present;
+            case VISIBLE   -> present && visible;
+            case CLICKABLE -> isClickable();
+            case EDITABLE  -> isInteractable();
+        };
+    }
+
+    /**
+     * Describes the first unmet click requirement, for timeout messages.
+     *
+     * @return e.g. {@code "not visible"}, or {@code "clickable"} if nothing failed
+     */
+    public String describeClickFailure() {
+        if (!present)    return "not present in DOM";
+        if (!visible)    return "not visible";
+        if (!stable)     return "not stable";
+        if (!unobscured) return "obscured by another element";
+        if (!enabled)    return "disabled";
+        return "clickable";
+    }
+
+    /**
+     * Describes the first unmet typing requirement, for timeout messages.
+     *
+     * @return e.g. {@code "not editable"}, or {@code "editable"} if nothing failed
+     */
+    public String describeInputFailure() {
+        if (!present)  return "not present in DOM";
+        if (!visible)  return "not visible";
+        if (!editable) return "not editable";
+        return "editable";
+    }
+}
@@ -1,11 +1,18 @@
 package io.github.ashwithpoojary98.wait;
 
 import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.exception.InvalidSelectorException;
 import io.github.ashwithpoojary98.exception.TimeoutException;
 import io.github.ashwithpoojary98.network.NetworkMonitor;
+import io.github.ashwithpoojary98.wait.Actionability.Requirement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -16,9 +23,13 @@ import java.util.function.Supplier;
  * before proceeding, eliminating the need for explicit {@code Thread.sleep} calls
  * in test code.
  *
- * <p>The polling loop uses {@link Thread#sleep} so it does not burn CPU while
- * waiting. Interruption is handled correctly: the thread's interrupt flag is restored
- * and a {@link TimeoutException} is thrown.
+ * <p>By default ({@link WaitMode#EVENT_DRIVEN}) element waits are a single CDP command
+ * that a page-side observer settles the moment the element reaches the required state.
+ * Otherwise, and as the fallback, waits poll through {@link Poller}, spaced by the
+ * configured {@link PollingStrategy} and counted in {@link WaitConfig#getStatistics()}, as
+ * are network-idle waits.
+ * Interruption is handled correctly: the thread's interrupt flag is restored and a
+ * {@link TimeoutException} is thrown.
  */
 public class AutoWaitEngine {
 
@@ -46,9 +57,7 @@ public class AutoWaitEngine {
      * @throws TimeoutException if the element is not present within the configured timeout
      */
     public void waitForElement(By locator) {
-        waitForCondition(
-                () -> conditions.isPresent(locator),
-                "Element not present in DOM: " + locator);
+        waitForActionability(locator, Requirement.PRESENT, Actionability::describeClickFailure);
     }
 
     /**
@@ -58,28 +67,27 @@ public class AutoWaitEngine {
      * @throws TimeoutException if the condition is not met within the configured timeout
      */
     public void waitForElementVisible(By locator) {
-        waitForElement(locator);
-        if (config.isWaitForVisibility()) {
-            waitForCondition(
-                    () -> conditions.isVisible(locator),
-                    "Element not visible: " + locator);
-        }
+        waitForActionability(locator,
+                config.isWaitForVisibility() ? Requirement.VISIBLE : Requirement.PRESENT,
+                Actionability::describeClickFailure);
     }
 
     /**
      * Waits until the element is visible and (if configured) fully clickable
      * — i.e. stable, not obscured, and not disabled.
      *
+     * <p>Each check is a single page-side evaluation
+     * ({@link ElementWaitConditions#checkActionability}) covering presence, visibility
+     * and clickability together.
+     *
      * @param locator element locator
      * @throws TimeoutException if the condition is not met within the configured timeout
      */
     public void waitForElementClickable(By locator) {
-        waitForElementVisible(locator);
-        if (config.isWaitForClickability()) {
-            waitForCondition(
-                    () -> conditions.isClickable(locator),
-                    "Element not clickable: " + locator);
-        }
+        waitForActionability(locator,
+                config.isWaitForClickability() ? Requirement.CLICKABLE
+                        : config.isWaitForVisibility() ? Requirement.VISIBLE : Requirement.PRESENT,
+                Actionability::describeClickFailure);
         if (config.isWaitForNetworkIdle()) {
             waitForNetworkIdle();
         }
@@ -92,12 +100,10 @@ public class AutoWaitEngine {
      * @throws TimeoutException if the condition is not met within the configured timeout
      */
     public void waitForElementInteractable(By locator) {
-        waitForElementVisible(locator);
-        if (config.isWaitForClickability()) {
-            waitForCondition(
-                    () -> conditions.isEditable(locator),
-                    "Element not editable: " + locator);
-        }
+        waitForActionability(locator,
+                config.isWaitForClickability() ? Requirement.EDITABLE
+                        : config.isWaitForVisibility() ? Requirement.VISIBLE : Requirement.PRESENT,
+                Actionability::describeInputFailure);
         if (config.isWaitForNetworkIdle()) {
             waitForNetworkIdle();
         }
@@ -114,48 +120,107 @@ public class AutoWaitEngine {
         if (networkMonitor == null) {
             return;
         }
-        waitForCondition(
-                () -> networkMonitor.isNetworkIdle(
-                        config.getNetworkIdleMaxConnections(),
-                        config.getNetworkIdleDurationMillis()),
-                "Network did not become idle");
+        CompletableFuture<Void> idle = networkMonitor.whenIdle(
+                config.getNetworkIdleMaxConnections(),
+                config.getNetworkIdleDurationMillis());
+        boolean idleReached = false;
+        try {
+            idle.get(config.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            idleReached = true;
+        } catch (java.util.concurrent.TimeoutException e) {
+            throw new TimeoutException(
+                    "Network did not become idle (timeout: " + config.getTimeoutMillis() + " ms)");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Wait interrupted: Network did not become idle");
+        } catch (ExecutionException e) {
+            throw new TimeoutException("Network idle wait failed: " + e.getCause().getMessage());
+        } finally {
+            idle.cancel(false);
+            config.getStatistics().recordNetworkIdle(!idleReached);
+        }
     }
 
-    // ── Core polling loop ─────────────────────────────────────────────────────
+    // ── Element waits ─────────────────────────────────────────────────────────
 
     /**
-     * Polls {@code condition} every {@link WaitConfig#getPollingIntervalMillis()} ms
-     * until it returns {@code true} or the timeout expires.
-     *
-     * <p>Uses {@link Thread#sleep} — never a busy-spin — to avoid CPU waste.
-     *
-     * @param condition      predicate to evaluate
-     * @param timeoutMessage message included in the {@link TimeoutException} if timed out
-     * @throws TimeoutException if the condition is not met within the configured timeout
+     * Waits for {@code requirement} with the configured {@link WaitMode}. In
+     * {@link WaitMode#EVENT_DRIVEN} mode the page-side waiter is tried first; if it
+     * cannot complete (navigation, closed target, a script error in the page) the
+     * remaining time is spent polling, and a poll that times out carries the waiter's
+     * failure as a suppressed exception.
      */
-    private void waitForCondition(Supplier<Boolean> condition, String timeoutMessage) {
+    private void waitForActionability(By locator, Requirement requirement,
+                                      Function<Actionability, String> describe) {
         long deadline = System.currentTimeMillis() + config.getTimeoutMillis();
+        Actionability[] last = {Actionability.ABSENT};
+        Exception waiterFailure = null;
 
-        while (System.currentTimeMillis() < deadline) {
+        if (config.getWaitMode() == WaitMode.EVENT_DRIVEN) {
             try {
-                if (Boolean.TRUE.equals(condition.get())) {
+                last[0] = conditions.awaitActionability(locator, requirement, config.getTimeoutMillis());
+                if (last[0].satisfies(requirement)) {
                     return;
                 }
+                throw new TimeoutException("Element " + describe.apply(last[0]) + ": " + locator
+                        + " (timeout: " + config.getTimeoutMillis() + " ms)");
+            } catch (TimeoutException | InvalidSelectorException e) {
+                throw e;
             } catch (Exception e) {
-                // Condition threw — treat as "not yet met" and keep polling.
-                log.trace("Condition check threw (will retry): {}", e.getMessage());
+                log.debug("Page-side wait for {} did not complete, polling instead: {}",
+                        locator, e.getMessage());
+                waiterFailure = e;
             }
+        }
 
-            try {
-                Thread.sleep(config.getPollingIntervalMillis());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new TimeoutException(
-                        "Wait interrupted while polling: " + timeoutMessage);
+        try {
+            waitForCondition(
+                    () -> {
+                        last[0] = conditions.checkActionability(locator);
+                        return last[0].satisfies(requirement);
+                    },
+                    () -> "Element " + describe.apply(last[0]) + ": " + locator,
+                    deadline);
+        } catch (TimeoutException e) {
+            if (waiterFailure != null) {
+                e.addSuppressed(waiterFailure);
+            }
+            throw e;
+        }
+    }
+
+    // ── Core polling loop ─────────────────────────────────────────────────────
+
+    /**
+     * Polls {@code condition} with the configured {@link PollingStrategy} until it
+     * returns {@code true} or the timeout expires.
+     *
+     * @param condition      predicate to evaluate
+     * @param timeoutMessage message included in the {@link TimeoutException} if timed out
+     * @throws TimeoutException if the condition is not met within the configured timeout
+     */
+    private void waitForCondition(BooleanSupplier condition, String timeoutMessage) {
+        waitForCondition(condition, () -> timeoutMessage,
+                System.currentTimeMillis() + config.getTimeoutMillis());
+    }
+
+    /**
+     * Variant of {@link #waitForCondition(BooleanSupplier, String)} with an explicit deadline
+     * and a message built only on timeout, so it can report the state seen by the last poll.
+     */
+    private void waitForCondition(BooleanSupplier condition, Supplier<String> timeoutMessage,
+                                  long deadline) {
+        try {
+            if (Poller.pollUntil(condition, deadline, config)) {
+                return;
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException(
+                    "Wait interrupted while polling: " + timeoutMessage.get());
         }
 
         throw new TimeoutException(
-                timeoutMessage + " (timeout: " + config.getTimeoutMillis() + " ms)");
+                timeoutMessage.get() + " (timeout: " + config.getTimeoutMillis() + " ms)");
     }
 }
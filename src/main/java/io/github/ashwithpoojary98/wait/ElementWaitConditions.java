@@ -1,229 +1,69 @@
 package io.github.ashwithpoojary98.wait;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import io.github.ashwithpoojary98.By;
-import io.github.ashwithpoojary98.cdp.domain.CSSDomain;
-import io.github.ashwithpoojary98.cdp.domain.DOMDomain;
-import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
+import io.github.ashwithpoojary98.chrome.LocatorEngine;
+import io.github.ashwithpoojary98.exception.InvalidSelectorException;
 
 public class ElementWaitConditions {
 
-    private final DOMDomain domDomain;
-    private final CSSDomain cssDomain;
-    private final RuntimeDomain runtimeDomain;
+    private final LocatorEngine locatorEngine;
 
-    public ElementWaitConditions(DOMDomain domDomain, CSSDomain cssDomain, RuntimeDomain runtimeDomain) {
-        this.domDomain = domDomain;
-        this.cssDomain = cssDomain;
-        this.runtimeDomain = runtimeDomain;
+    public ElementWaitConditions(LocatorEngine locatorEngine) {
+        this.locatorEngine = locatorEngine;
     }
 
-    public boolean isPresent(By locator) {
+    /**
+     * Evaluates every actionability state of the element in a single
+     * {@code Runtime.evaluate} round trip, in the locator engine's isolated world.
+     *
+     * @param locator element locator
+     * @return the verdict; {@link Actionability#ABSENT} if nothing matches or the check fails
+     * @throws InvalidSelectorException if the locator is malformed
+     */
+    public Actionability checkActionability(By locator) {
         try {
-            int nodeId = findNodeId(locator);
-            return nodeId != 0;
+            return locatorEngine.actionability(locator);
+        } catch (InvalidSelectorException e) {
+            throw e;
         } catch (Exception e) {
-            return false;
+            return Actionability.ABSENT;
         }
     }
 
-    public boolean isVisible(By locator) {
-        try {
-            int nodeId = findNodeId(locator);
-            if (nodeId == 0) return false;
-
-            JsonObject resolved = domDomain.resolveNode(nodeId).join();
-            String objectId = resolved.getAsJsonObject("object").get("objectId").getAsString();
-
-            String script = "!!(this.offsetWidth || this.offsetHeight || this.getClientRects().length)";
-            JsonObject result = runtimeDomain.callFunctionOn(objectId, "function() { return " + script + "; }", null).join();
-            runtimeDomain.releaseObject(objectId).join();
-
-            JsonObject resultObj = result.getAsJsonObject("result");
-            if (resultObj.has("value")) {
-                return resultObj.get("value").getAsBoolean();
-            }
-
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    public boolean isStable(By locator) {
-        try {
-            int nodeId = findNodeId(locator);
-            if (nodeId == 0) return false;
-
-            JsonObject resolved = domDomain.resolveNode(nodeId).join();
-            String objectId = resolved.getAsJsonObject("object").get("objectId").getAsString();
-
-            String script = """
-                const animations = this.getAnimations ? this.getAnimations({subtree: true}) : [];
-                const runningAnimations = animations.filter(a => a.playState === 'running');
-                return runningAnimations.length === 0;
-            """;
-
-            JsonObject result = runtimeDomain.callFunctionOn(objectId, "function() { " + script + " }", null).join();
-            runtimeDomain.releaseObject(objectId).join();
-
-            JsonObject resultObj = result.getAsJsonObject("result");
-            if (resultObj.has("value")) {
-                return resultObj.get("value").getAsBoolean();
-            }
-
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    public boolean isNotObscured(By locator) {
-        try {
-            int nodeId = findNodeId(locator);
-            if (nodeId == 0) return false;
-
-            JsonObject resolved = domDomain.resolveNode(nodeId).join();
-            String objectId = resolved.getAsJsonObject("object").get("objectId").getAsString();
-
-            String script = """
-                const rect = this.getBoundingClientRect();
-                if (rect.width === 0 || rect.height === 0) return false;
-
-                const x = rect.left + rect.width / 2;
-                const y = rect.top + rect.height / 2;
-
-                if (x < 0 || y < 0) return false;
-
-                const el = document.elementFromPoint(x, y);
-                return el === this || this.contains(el);
-            """;
-
-            JsonObject result = runtimeDomain.callFunctionOn(objectId, "function() { " + script + " }", null).join();
-            runtimeDomain.releaseObject(objectId).join();
-
-            JsonObject resultObj = result.getAsJsonObject("result");
-            if (resultObj.has("value")) {
-                return resultObj.get("value").getAsBoolean();
-            }
-
-            return false;
-        } catch (Exception e) {
-            return false;
-        }
+    /**
+     * Waits in the page until the element meets {@code requirement}, using a single
+     * {@code Runtime.evaluate} in the locator engine's isolated world that settles on DOM,
+     * layout and animation changes rather than being re-sent on an interval.
+     *
+     * @param locator       element locator
+     * @param requirement   state to wait for
+     * @param timeoutMillis how long the page-side waiter runs
+     * @return the first verdict meeting {@code requirement}, or the last verdict seen
+     *         when {@code timeoutMillis} elapsed ({@link Actionability#ABSENT} if the
+     *         element never appeared)
+     * @throws InvalidSelectorException if the locator is malformed
+     * @throws io.github.ashwithpoojary98.exception.CDPException if the waiter could not
+     *         complete or threw in the page
+     */
+    public Actionability awaitActionability(By locator, Actionability.Requirement requirement,
+                                            long timeoutMillis) {
+        return locatorEngine.awaitActionability(locator, requirement, timeoutMillis);
     }
 
     public boolean isClickable(By locator) {
-        try {
-            if (!isVisible(locator)) return false;
-            if (!isStable(locator)) return false;
-            if (!isNotObscured(locator)) return false;
-
-            int nodeId = findNodeId(locator);
-            JsonObject resolved = domDomain.resolveNode(nodeId).join();
-            String objectId = resolved.getAsJsonObject("object").get("objectId").getAsString();
-
-            String script = "!this.disabled && this.offsetParent !== null";
-            JsonObject result = runtimeDomain.callFunctionOn(objectId, "function() { return " + script + "; }", null).join();
-            runtimeDomain.releaseObject(objectId).join();
-
-            JsonObject resultObj = result.getAsJsonObject("result");
-            if (resultObj.has("value")) {
-                return resultObj.get("value").getAsBoolean();
-            }
-
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return checkActionability(locator).isClickable();
     }
 
     public boolean isEditable(By locator) {
-        try {
-            if (!isVisible(locator)) return false;
-
-            int nodeId = findNodeId(locator);
-            JsonObject resolved = domDomain.resolveNode(nodeId).join();
-            String objectId = resolved.getAsJsonObject("object").get("objectId").getAsString();
-
-            String script = """
-                const tagName = this.tagName.toLowerCase();
-                const isInput = tagName === 'input' || tagName === 'textarea';
-                const isContentEditable = this.isContentEditable;
-                const isNotReadonly = !this.readOnly;
-                const isNotDisabled = !this.disabled;
-
-                return (isInput || isContentEditable) && isNotReadonly && isNotDisabled;
-            """;
-
-            JsonObject result = runtimeDomain.callFunctionOn(objectId, "function() { " + script + " }", null).join();
-            runtimeDomain.releaseObject(objectId).join();
-
-            JsonObject resultObj = result.getAsJsonObject("result");
-            if (resultObj.has("value")) {
-                return resultObj.get("value").getAsBoolean();
-            }
-
-            return false;
-        } catch (Exception e) {
-            return false;
-        }
+        return checkActionability(locator).isInteractable();
     }
 
-    private int findNodeId(By locator) {
-        try {
-            JsonObject docResult = domDomain.getDocument().join();
-            JsonObject root = docResult.getAsJsonObject("root");
-            int documentNodeId = root.get("nodeId").getAsInt();
-
-            String cssSelector = locator.toCssSelector();
-
-            if (cssSelector != null) {
-                JsonObject result = domDomain.querySelector(documentNodeId, cssSelector).join();
-                return result.get("nodeId").getAsInt();
-            } else if (locator.isXPath()) {
-                return findNodeIdByXPath(locator.getSelector());
-            } else {
-                throw new UnsupportedOperationException("Unsupported locator type");
-            }
-        } catch (Exception e) {
-            return 0;
-        }
-    }
-
-    private int findNodeIdByXPath(String xpath) {
-        try {
-            String escapedXPath = xpath.replace("'", "\\'");
-            String script = String.format(
-                    "document.evaluate('%s', document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue",
-                    escapedXPath
-            );
-
-            JsonObject result = runtimeDomain.evaluate(script, false).join();
-            JsonObject resultObj = result.getAsJsonObject("result");
-
-            if (resultObj.get("type").getAsString().equals("object") && resultObj.has("objectId")) {
-                String objectId = resultObj.get("objectId").getAsString();
-                JsonObject nodeResult = domDomain.requestNode(objectId).join();
-                int nodeId = nodeResult.get("nodeId").getAsInt();
-                runtimeDomain.releaseObject(objectId).join();
-                return nodeId;
-            }
-            return 0;
-        } catch (Exception e) {
-            return 0;
-        }
-    }
-
-    private String getCssProperty(JsonArray computedStyle, String propertyName) {
-        for (JsonElement element : computedStyle) {
-            JsonObject prop = element.getAsJsonObject();
-            if (prop.get("name").getAsString().equals(propertyName)) {
-                return prop.get("value").getAsString();
-            }
-        }
-        return "";
+    /**
+     * Describes {@code locator} as the JSON object understood by the page-side check,
+     * see {@link LocatorPlan}.
+     */
+    static JsonObject toLocatorJson(By locator) {
+        return LocatorPlan.toJson(locator);
     }
 }
@@ -0,0 +1,42 @@
+package io.github.ashwithpoojary98.wait;
+
+/**
+ * Page-load milestone a navigation waits for, matching the {@code name} of CDP
+ * {@code Page.lifecycleEvent}s.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * WaitConfig config = WaitConfig.builder()
+ *     .loadState(LoadState.DOM_CONTENT_LOADED)
+ *     .build();
+ * }</pre>
+ */
+public enum LoadState {
+
+    /** The HTML document has been parsed; stylesheets, images and frames may still load. */
+    DOM_CONTENT_LOADED("DOMContentLoaded"),
+
+    /** The document and all of its sub-resources have loaded. */
+    LOAD("load"),
+
+    /** No more than two network connections for at least 500 ms. */
+    NETWORK_ALMOST_IDLE("networkAlmostIdle"),
+
+    /** No network connections for at least 500 ms. */
+    NETWORK_IDLE("networkIdle");
+
+    private final String eventName;
+
+    LoadState(String eventName) {
+        this.eventName = eventName;
+    }
+
+    /**
+     * Returns the {@code Page.lifecycleEvent} name of this milestone.
+     *
+     * @return e.g. {@code "DOMContentLoaded"}
+     */
+    public String getEventName() {
+        return eventName;
+    }
+}
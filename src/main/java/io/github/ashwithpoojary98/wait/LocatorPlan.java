@@ -0,0 +1,73 @@
+package io.github.ashwithpoojary98.wait;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.By;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Serialised form of a {@link By} understood by the page-side locator code: {@code {css}},
+ * {@code {xpath}}, {@code {chain: [...]}} or {@code {parent, index}}.
+ *
+ * <p>A locator is compiled once; the JSON text is remembered for as long as the
+ * {@code By} instance is reachable, so elements and waits that re-resolve the same locator
+ * on every call do not rebuild it.
+ */
+public final class LocatorPlan {
+
+    private static final String KEY_CSS    = "css";
+    private static final String KEY_XPATH  = "xpath";
+    private static final String KEY_CHAIN  = "chain";
+    private static final String KEY_PARENT = "parent";
+    private static final String KEY_INDEX  = "index";
+
+    /** Compiled plans keyed by locator identity. */
+    private static final Map<By, String> COMPILED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private LocatorPlan() {
+    }
+
+    /**
+     * Returns the plan of {@code locator} as JSON text, compiling it on first use.
+     *
+     * @param locator element locator
+     * @return JSON text of the plan
+     * @throws UnsupportedOperationException for locator types the page cannot evaluate
+     */
+    public static String of(By locator) {
+        return COMPILED.computeIfAbsent(locator, by -> toJson(by).toString());
+    }
+
+    /**
+     * Builds the plan of {@code locator}. CSS-combinable locators, chains included,
+     * collapse to a single {@code css} step.
+     *
+     * @param locator element locator
+     * @return a new plan object
+     */
+    static JsonObject toJson(By locator) {
+        JsonObject json = new JsonObject();
+        String css = locator.toCssSelector();
+        if (css != null) {
+            json.addProperty(KEY_CSS, css);
+        } else if (locator.isXPath()) {
+            json.addProperty(KEY_XPATH, locator.getSelector());
+        } else if (locator instanceof By.ByChained chained) {
+            JsonArray steps = new JsonArray();
+            for (By step : chained.getBys()) {
+                steps.add(toJson(step));
+            }
+            json.add(KEY_CHAIN, steps);
+        } else if (locator instanceof By.ByIndex indexed) {
+            json.add(KEY_PARENT, toJson(indexed.getParent()));
+            json.addProperty(KEY_INDEX, indexed.getIndex());
+        } else {
+            throw new UnsupportedOperationException(
+                    "Unsupported locator type: " + locator.getClass().getSimpleName());
+        }
+        return json;
+    }
+}
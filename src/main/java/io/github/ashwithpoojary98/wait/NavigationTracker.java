@@ -0,0 +1,225 @@
+package io.github.ashwithpoojary98.wait;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
+import io.github.ashwithpoojary98.cdp.CommandBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the load progress of a page's main frame from {@code Page.lifecycleEvent}s.
+ *
+ * <p>Milestones are recorded per {@code loaderId} — one loader per document — so events
+ * that arrive before the {@code Page.navigate} response are not lost, and a new document
+ * ({@code init}) makes the page "not ready" again without any polling. Once a milestone
+ * has fired, {@link #isReached(LoadState)} and {@link #awaitLoadState(LoadState, long)}
+ * answer from memory with zero CDP round trips.
+ *
+ * <p>Child-frame events are ignored; only the main frame decides page readiness.
+ */
+public class NavigationTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(NavigationTracker.class);
+
+    private static final String EVENT_LIFECYCLE       = "Page.lifecycleEvent";
+    private static final String EVENT_FRAME_NAVIGATED = "Page.frameNavigated";
+    private static final String LIFECYCLE_INIT        = "init";
+    private static final String READY_STATE_COMPLETE    = "complete";
+    private static final String READY_STATE_INTERACTIVE = "interactive";
+
+    private static final String KEY_FRAME_ID   = "frameId";
+    private static final String KEY_LOADER_ID  = "loaderId";
+    private static final String KEY_NAME       = "name";
+    private static final String KEY_FRAME      = "frame";
+    private static final String KEY_FRAME_TREE = "frameTree";
+    private static final String KEY_ID         = "id";
+    private static final String KEY_PARENT_ID  = "parentId";
+    private static final String KEY_RESULT     = "result";
+    private static final String KEY_VALUE      = "value";
+
+    /** Loaders remembered at once; older documents are of no interest. */
+    private static final int MAX_TRACKED_LOADERS = 8;
+
+    private final CDPTransport transport;
+    private final Object       lock = new Object();
+
+    /** Milestones seen per loader, oldest loader evicted first. Guarded by {@link #lock}. */
+    private final Map<String, Set<String>> milestonesByLoader =
+            new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+                    return size() > MAX_TRACKED_LOADERS;
+                }
+            };
+
+    private String mainFrameId;
+    private String currentLoaderId;
+
+    /**
+     * @param transport   session of the page target
+     * @param mainFrameId frame ID of the main frame — the target ID for page targets
+     */
+    public NavigationTracker(CDPTransport transport, String mainFrameId) {
+        this.transport   = transport;
+        this.mainFrameId = mainFrameId;
+    }
+
+    /**
+     * Subscribes to lifecycle events and queues the commands that turn them on on
+     * {@code batch}: the frame tree (for the current loader), lifecycle events, and one
+     * {@code document.readyState} read that seeds the state of the already-loaded document.
+     *
+     * @param batch batch of the page session, sent by the caller
+     * @return future completing once the tracker knows the current document's state
+     */
+    public CompletableFuture<Void> enable(CommandBatch batch) {
+        transport.subscribeToEvent(EVENT_LIFECYCLE, this::onLifecycleEvent);
+        transport.subscribeToEvent(EVENT_FRAME_NAVIGATED, this::onFrameNavigated);
+
+        CompletableFuture<JsonObject> frameTree = batch.add("Page.getFrameTree", null);
+        JsonObject lifecycleParams = new JsonObject();
+        lifecycleParams.addProperty("enabled", true);
+        CompletableFuture<JsonObject> lifecycle = batch.add("Page.setLifecycleEventsEnabled", lifecycleParams);
+        JsonObject readyStateParams = new JsonObject();
+        readyStateParams.addProperty("expression", "document.readyState");
+        readyStateParams.addProperty("returnByValue", true);
+        CompletableFuture<JsonObject> readyState = batch.add("Runtime.evaluate", readyStateParams);
+
+        return CompletableFuture.allOf(frameTree, lifecycle, readyState)
+                .thenRun(() -> seed(frameTree.join(), readyState.join()));
+    }
+
+    /**
+     * Records that a navigation to a new document was started, so readiness refers to
+     * {@code loaderId} from now on.
+     *
+     * @param loaderId {@code loaderId} returned by {@code Page.navigate}
+     */
+    public void expectNavigation(String loaderId) {
+        synchronized (lock) {
+            currentLoaderId = loaderId;
+            milestonesByLoader.computeIfAbsent(loaderId, id -> new HashSet<>());
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Returns {@code true} if the current document has reached {@code state}. No CDP call.
+     *
+     * @param state milestone to check
+     * @return whether the milestone fired for the current document
+     */
+    public boolean isReached(LoadState state) {
+        synchronized (lock) {
+            return reached(state);
+        }
+    }
+
+    /**
+     * Blocks until the current document reaches {@code state} or {@code timeoutMillis}
+     * elapses. Returns immediately, without a CDP call, if the milestone already fired.
+     *
+     * @param state         milestone to wait for
+     * @param timeoutMillis maximum time to wait
+     * @return {@code true} if reached, {@code false} on timeout
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean awaitLoadState(LoadState state, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (lock) {
+            while (!reached(state)) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                lock.wait(remainingMillis);
+            }
+            return true;
+        }
+    }
+
+    /** Returns the {@code loaderId} of the main frame's current document, if known. */
+    public String getCurrentLoaderId() {
+        synchronized (lock) {
+            return currentLoaderId;
+        }
+    }
+
+    // ── Event handlers ────────────────────────────────────────────────────────
+
+    private void onLifecycleEvent(JsonObject event) {
+        String frameId  = event.get(KEY_FRAME_ID).getAsString();
+        String loaderId = event.get(KEY_LOADER_ID).getAsString();
+        String name     = event.get(KEY_NAME).getAsString();
+        synchronized (lock) {
+            if (!frameId.equals(mainFrameId)) {
+                return;
+            }
+            Set<String> milestones = milestonesByLoader.computeIfAbsent(loaderId, id -> new HashSet<>());
+            if (LIFECYCLE_INIT.equals(name)) {
+                currentLoaderId = loaderId;
+            } else {
+                milestones.add(name);
+            }
+            lock.notifyAll();
+        }
+        log.trace("Lifecycle {} for loader {}", name, loaderId);
+    }
+
+    private void onFrameNavigated(JsonObject event) {
+        JsonObject frame = event.getAsJsonObject(KEY_FRAME);
+        if (frame == null || frame.has(KEY_PARENT_ID)) {
+            return;
+        }
+        synchronized (lock) {
+            mainFrameId     = frame.get(KEY_ID).getAsString();
+            currentLoaderId = frame.get(KEY_LOADER_ID).getAsString();
+            milestonesByLoader.computeIfAbsent(currentLoaderId, id -> new HashSet<>());
+            lock.notifyAll();
+        }
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    /**
+     * Adopts the main frame's loader from the frame tree (unless an event already named
+     * a newer one) and records the milestones implied by its {@code readyState}.
+     */
+    private void seed(JsonObject frameTree, JsonObject readyStateResult) {
+        JsonObject frame = frameTree.getAsJsonObject(KEY_FRAME_TREE).getAsJsonObject(KEY_FRAME);
+        String loaderId = frame.get(KEY_LOADER_ID).getAsString();
+        JsonElement value = readyStateResult.getAsJsonObject(KEY_RESULT).get(KEY_VALUE);
+        String readyState = value != null ? value.getAsString() : null;
+
+        synchronized (lock) {
+            mainFrameId = frame.get(KEY_ID).getAsString();
+            if (currentLoaderId == null) {
+                currentLoaderId = loaderId;
+            }
+            Set<String> milestones = milestonesByLoader.computeIfAbsent(loaderId, id -> new HashSet<>());
+            if (READY_STATE_COMPLETE.equals(readyState)) {
+                milestones.add(LoadState.DOM_CONTENT_LOADED.getEventName());
+                milestones.add(LoadState.LOAD.getEventName());
+            } else if (READY_STATE_INTERACTIVE.equals(readyState)) {
+                milestones.add(LoadState.DOM_CONTENT_LOADED.getEventName());
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private boolean reached(LoadState state) {
+        if (currentLoaderId == null) {
+            return false;
+        }
+        Set<String> milestones = milestonesByLoader.get(currentLoaderId);
+        return milestones != null && milestones.contains(state.getEventName());
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.ashwithpoojary98.wait;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Poll loop shared by every poll-based wait, driven by the config's
+ * {@link PollingStrategy} and recorded in its {@link WaitStatistics}.
+ *
+ * <p>Uses {@link Thread#sleep} — never a busy-spin — and never sleeps past the deadline.
+ */
+public final class Poller {
+
+    private static final Logger log = LoggerFactory.getLogger(Poller.class);
+
+    private Poller() {
+    }
+
+    /**
+     * Checks {@code condition} until it returns {@code true} or {@code deadline} passes.
+     * A check that throws counts as "not yet met".
+     *
+     * @param condition condition to check
+     * @param deadline  absolute {@link System#currentTimeMillis()} time to give up at
+     * @param config    supplies the polling strategy and statistics
+     * @return {@code true} if the condition was met, {@code false} on deadline
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public static boolean pollUntil(BooleanSupplier condition, long deadline, WaitConfig config)
+            throws InterruptedException {
+        PollingStrategy strategy = config.getPollingStrategy();
+        int polls = 0;
+        try {
+            while (true) {
+                polls++;
+                try {
+                    if (condition.getAsBoolean()) {
+                        config.getStatistics().record(polls, false);
+                        return true;
+                    }
+                } catch (Exception e) {
+                    log.trace("Condition check threw (will retry): {}", e.getMessage());
+                }
+
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    config.getStatistics().record(polls, true);
+                    return false;
+                }
+                long delay = Math.min(strategy.delayMillis(polls), remaining);
+                if (delay > 0) {
+                    Thread.sleep(delay);
+                }
+            }
+        } catch (InterruptedException e) {
+            config.getStatistics().record(polls, true);
+            throw e;
+        }
+    }
+}
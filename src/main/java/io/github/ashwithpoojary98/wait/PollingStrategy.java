@@ -0,0 +1,101 @@
+package io.github.ashwithpoojary98.wait;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how long a poll-based wait sleeps between two checks.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * WaitConfig config = WaitConfig.builder()
+ *     .pollingStrategy(PollingStrategy.exponential(10, 2.0, 500))
+ *     .build();
+ * }</pre>
+ *
+ * <p>Implementations must be thread-safe; one strategy is shared by every wait of a driver.
+ */
+@FunctionalInterface
+public interface PollingStrategy {
+
+    /**
+     * Playwright's retry schedule — an immediate retry, then 20, 50, 100, 100 ms, then
+     * every 500 ms. Fast for elements that appear almost at once, quiet for long waits.
+     */
+    PollingStrategy PLAYWRIGHT = schedule(0, 20, 50, 100, 100, 500);
+
+    /**
+     * Returns the delay before the next check.
+     *
+     * @param attempt number of checks already made in this wait (1 after the first check)
+     * @return milliseconds to sleep; {@code 0} re-checks immediately
+     */
+    long delayMillis(int attempt);
+
+    // ── Factory methods ───────────────────────────────────────────────────────
+
+    /**
+     * Same delay between every check — the behaviour of
+     * {@link WaitConfig.Builder#pollingInterval(long)}.
+     *
+     * @param intervalMillis delay between checks
+     * @return fixed strategy
+     */
+    static PollingStrategy fixed(long intervalMillis) {
+        return attempt -> intervalMillis;
+    }
+
+    /**
+     * Delay that starts at {@code initialMillis} and grows by {@code multiplier} after
+     * each check, up to {@code maxMillis}.
+     *
+     * @param initialMillis delay after the first check
+     * @param multiplier    growth factor per check (≥ 1)
+     * @param maxMillis     upper bound of the delay
+     * @return exponential backoff strategy
+     */
+    static PollingStrategy exponential(long initialMillis, double multiplier, long maxMillis) {
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier must be >= 1, got " + multiplier);
+        }
+        return attempt -> {
+            double delay = initialMillis * Math.pow(multiplier, Math.max(0, attempt - 1));
+            return (long) Math.min(delay, maxMillis);
+        };
+    }
+
+    /**
+     * Explicit list of delays; the last one repeats once the list is exhausted.
+     *
+     * @param delaysMillis delay after the first, second, … check
+     * @return schedule strategy
+     */
+    static PollingStrategy schedule(long... delaysMillis) {
+        if (delaysMillis.length == 0) {
+            throw new IllegalArgumentException("schedule needs at least one delay");
+        }
+        long[] delays = delaysMillis.clone();
+        return attempt -> delays[Math.min(Math.max(attempt, 1), delays.length) - 1];
+    }
+
+    /**
+     * Randomises the delays of {@code base} by up to ±{@code fraction}, so that many
+     * parallel waits do not poll the browser in lock-step.
+     *
+     * @param base     strategy whose delays are jittered
+     * @param fraction maximum relative deviation, between 0 and 1
+     * @return jittered strategy
+     */
+    static PollingStrategy jittered(PollingStrategy base, double fraction) {
+        if (fraction < 0.0 || fraction > 1.0) {
+            throw new IllegalArgumentException("fraction must be between 0 and 1, got " + fraction);
+        }
+        if (fraction == 0.0) {
+            return base;
+        }
+        return attempt -> {
+            long delay = base.delayMillis(attempt);
+            double factor = 1.0 + ThreadLocalRandom.current().nextDouble(-fraction, fraction);
+            return Math.max(0L, Math.round(delay * factor));
+        };
+    }
+}
@@ -1,5 +1,9 @@
 package io.github.ashwithpoojary98.wait;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
 /**
  * Immutable configuration for the auto-wait engine.
  *
@@ -29,6 +33,15 @@ public final class WaitConfig {
     /** Default consecutive idle duration before network is considered idle. */
     public static final long DEFAULT_NETWORK_IDLE_DURATION_MILLIS  = 500L;
 
+    /** Default time after which an unfinished request no longer blocks network idle. */
+    public static final long DEFAULT_NETWORK_REQUEST_TTL_MILLIS    = 30_000L;
+
+    /** Default strategy for element waits. */
+    public static final WaitMode DEFAULT_WAIT_MODE = WaitMode.EVENT_DRIVEN;
+
+    /** Default page-load milestone navigation and page reads wait for. */
+    public static final LoadState DEFAULT_LOAD_STATE = LoadState.LOAD;
+
     // ── Fields ────────────────────────────────────────────────────────────────
 
     private final long    timeoutMillis;
@@ -39,6 +52,14 @@ public final class WaitConfig {
     private final boolean waitForAnimations;
     private final int     networkIdleMaxConnections;
     private final long    networkIdleDurationMillis;
+    private final long    networkRequestTtlMillis;
+    private final List<Pattern> networkIdleExcludedUrls;
+    private final WaitMode waitMode;
+    private final PollingStrategy pollingStrategy;
+    private final WaitStatistics  statistics;
+    private final LoadState       loadState;
+    private final boolean         cacheElementHandles;
+    private final boolean         readFromDomSnapshot;
 
     private WaitConfig(Builder builder) {
         this.timeoutMillis            = builder.timeoutMillis;
@@ -49,6 +70,18 @@ public final class WaitConfig {
         this.waitForAnimations        = builder.waitForAnimations;
         this.networkIdleMaxConnections = builder.networkIdleMaxConnections;
         this.networkIdleDurationMillis = builder.networkIdleDurationMillis;
+        this.networkRequestTtlMillis   = builder.networkRequestTtlMillis;
+        this.networkIdleExcludedUrls   = List.copyOf(builder.networkIdleExcludedUrls);
+        this.waitMode                 = builder.waitMode;
+        this.pollingStrategy          = builder.pollingStrategy != null
+                ? builder.pollingStrategy
+                : PollingStrategy.fixed(builder.pollingIntervalMillis);
+        this.statistics               = builder.statistics != null
+                ? builder.statistics
+                : new WaitStatistics();
+        this.loadState                = builder.loadState;
+        this.cacheElementHandles      = builder.cacheElementHandles;
+        this.readFromDomSnapshot      = builder.readFromDomSnapshot;
     }
 
     // ── Factory methods ───────────────────────────────────────────────────────
@@ -72,6 +105,14 @@ public final class WaitConfig {
     public boolean isWaitForAnimations()          { return waitForAnimations; }
     public int     getNetworkIdleMaxConnections() { return networkIdleMaxConnections; }
     public long    getNetworkIdleDurationMillis() { return networkIdleDurationMillis; }
+    public long    getNetworkRequestTtlMillis()   { return networkRequestTtlMillis; }
+    public List<Pattern> getNetworkIdleExcludedUrls() { return networkIdleExcludedUrls; }
+    public WaitMode getWaitMode()                 { return waitMode; }
+    public PollingStrategy getPollingStrategy()   { return pollingStrategy; }
+    public WaitStatistics getStatistics()         { return statistics; }
+    public LoadState getLoadState()               { return loadState; }
+    public boolean isCacheElementHandles()        { return cacheElementHandles; }
+    public boolean isReadFromDomSnapshot()        { return readFromDomSnapshot; }
 
     // ── Builder ───────────────────────────────────────────────────────────────
 
@@ -85,6 +126,14 @@ public final class WaitConfig {
         private boolean waitForAnimations         = false;
         private int     networkIdleMaxConnections = DEFAULT_NETWORK_IDLE_MAX_CONNECTIONS;
         private long    networkIdleDurationMillis = DEFAULT_NETWORK_IDLE_DURATION_MILLIS;
+        private long    networkRequestTtlMillis   = DEFAULT_NETWORK_REQUEST_TTL_MILLIS;
+        private final List<Pattern> networkIdleExcludedUrls = new ArrayList<>();
+        private WaitMode waitMode                 = DEFAULT_WAIT_MODE;
+        private PollingStrategy pollingStrategy;
+        private WaitStatistics  statistics;
+        private LoadState       loadState        = DEFAULT_LOAD_STATE;
+        private boolean         cacheElementHandles = false;
+        private boolean         readFromDomSnapshot = false;
 
         /** Maximum time (ms) to wait before a {@link io.github.ashwithpoojary98.exception.TimeoutException} is thrown. */
         public Builder timeout(long millis) {
@@ -92,7 +141,10 @@ public final class WaitConfig {
             return this;
         }
 
-        /** Interval (ms) between successive condition checks. */
+        /**
+         * Interval (ms) between successive condition checks. Ignored when a
+         * {@link #pollingStrategy(PollingStrategy)} is set.
+         */
         public Builder pollingInterval(long millis) {
             this.pollingIntervalMillis = millis;
             return this;
@@ -134,6 +186,76 @@ public final class WaitConfig {
             return this;
         }
 
+        /**
+         * Time (ms) after which a request that has neither finished nor failed stops
+         * counting towards network idle — e.g. a long poll or a request lost to navigation.
+         */
+        public Builder networkRequestTtl(long millis) {
+            this.networkRequestTtlMillis = millis;
+            return this;
+        }
+
+        /**
+         * URL regular expressions (matched with {@code find}) of requests that never count
+         * towards network idle — long-lived connections such as long polls or streams.
+         * WebSocket and EventSource requests are always excluded.
+         */
+        public Builder networkIdleExcludedUrls(String... regexes) {
+            for (String regex : regexes) {
+                this.networkIdleExcludedUrls.add(Pattern.compile(regex));
+            }
+            return this;
+        }
+
+        /** How element waits are performed — page-side observers or fixed-interval polling. */
+        public Builder waitMode(WaitMode mode) {
+            this.waitMode = mode;
+            return this;
+        }
+
+        /**
+         * Strategy for the delay between checks of poll-based waits — e.g.
+         * {@link PollingStrategy#PLAYWRIGHT} or {@link PollingStrategy#exponential}.
+         * Defaults to {@link PollingStrategy#fixed fixed}({@link #pollingInterval(long)}).
+         */
+        public Builder pollingStrategy(PollingStrategy strategy) {
+            this.pollingStrategy = strategy;
+            return this;
+        }
+
+        /** Counters to record poll-based waits in; a fresh instance per config by default. */
+        public Builder statistics(WaitStatistics statistics) {
+            this.statistics = statistics;
+            return this;
+        }
+
+        /** Milestone {@code get()} and page reads ({@code getTitle()} etc.) wait for. */
+        public Builder loadState(LoadState state) {
+            this.loadState = state;
+            return this;
+        }
+
+        /**
+         * Whether elements bind to the DOM node they first resolve to and reuse it until it
+         * is detached or the document is replaced, instead of re-running their locator on
+         * every call. Auto-waits still evaluate the locator.
+         */
+        public Builder cacheElementHandles(boolean cache) {
+            this.cacheElementHandles = cache;
+            return this;
+        }
+
+        /**
+         * Whether {@code findElement(s)} and element reads are answered from a local snapshot
+         * of the document, captured once and kept until the page mutates, instead of a round
+         * trip per call. Suits read-heavy pages; elements missing from the snapshot, locators
+         * it cannot evaluate and interactions still go to the browser.
+         */
+        public Builder readFromDomSnapshot(boolean read) {
+            this.readFromDomSnapshot = read;
+            return this;
+        }
+
         public WaitConfig build() {
             return new WaitConfig(this);
         }
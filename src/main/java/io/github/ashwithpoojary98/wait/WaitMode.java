@@ -0,0 +1,29 @@
+package io.github.ashwithpoojary98.wait;
+
+/**
+ * How {@link AutoWaitEngine} waits for an element to become actionable.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * WaitConfig config = WaitConfig.builder()
+ *     .waitMode(WaitMode.POLLING)
+ *     .build();
+ * }</pre>
+ */
+public enum WaitMode {
+
+    /**
+     * Re-checks the element every {@link WaitConfig#getPollingIntervalMillis()} ms.
+     * One CDP command per check.
+     */
+    POLLING,
+
+    /**
+     * Installs a page-side waiter (MutationObserver, IntersectionObserver, animation
+     * frames, scroll and resize events) and awaits it with a single CDP command that
+     * resolves as soon as the element reaches the required state. Falls back to
+     * {@link #POLLING} when the waiter cannot complete — e.g. the page navigates away
+     * while waiting.
+     */
+    EVENT_DRIVEN
+}
@@ -0,0 +1,101 @@
+package io.github.ashwithpoojary98.wait;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters for poll-based waits and network-idle waits.
+ *
+ * <p>A network-idle wait completes on {@code Network} events rather than by polling, so
+ * it counts as a wait (and, if it gives up, a timeout) with no condition checks; it is
+ * also counted on its own in {@link #getNetworkIdleWaitCount()}.
+ *
+ * <p>Every {@link WaitConfig} carries one instance, shared by every wait that uses the
+ * config — so a driver's statistics cover all of its elements. Pass the same instance to
+ * several builders with {@link WaitConfig.Builder#statistics(WaitStatistics)} to aggregate
+ * across drivers.
+ */
+public final class WaitStatistics {
+
+    private final LongAdder     waits        = new LongAdder();
+    private final LongAdder     polls        = new LongAdder();
+    private final LongAdder     timeouts     = new LongAdder();
+    private final AtomicInteger maxPolls     = new AtomicInteger();
+    private final AtomicInteger lastWaitPolls = new AtomicInteger();
+    private final LongAdder     networkIdleWaits = new LongAdder();
+
+    /**
+     * Records one finished wait.
+     *
+     * @param pollCount number of condition checks the wait made
+     * @param timedOut  {@code true} if the wait ended without the condition being met
+     */
+    void record(int pollCount, boolean timedOut) {
+        waits.increment();
+        polls.add(pollCount);
+        if (timedOut) {
+            timeouts.increment();
+        }
+        maxPolls.accumulateAndGet(pollCount, Math::max);
+        lastWaitPolls.set(pollCount);
+    }
+
+    /**
+     * Records one finished network-idle wait.
+     *
+     * @param timedOut {@code true} if the network did not become idle in time
+     */
+    void recordNetworkIdle(boolean timedOut) {
+        networkIdleWaits.increment();
+        waits.increment();
+        if (timedOut) {
+            timeouts.increment();
+        }
+        lastWaitPolls.set(0);
+    }
+
+    /** Returns the number of waits finished so far, network-idle waits included. */
+    public long getWaitCount() {
+        return waits.sum();
+    }
+
+    /** Returns the total number of condition checks across all waits. */
+    public long getPollCount() {
+        return polls.sum();
+    }
+
+    /** Returns the number of waits that ended without their condition being met. */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /** Returns the largest number of checks a single wait needed. */
+    public int getMaxPollsPerWait() {
+        return maxPolls.get();
+    }
+
+    /** Returns the number of checks made by the most recently finished wait. */
+    public int getLastWaitPollCount() {
+        return lastWaitPolls.get();
+    }
+
+    /** Returns the number of network-idle waits finished so far. */
+    public long getNetworkIdleWaitCount() {
+        return networkIdleWaits.sum();
+    }
+
+    /** Returns the mean number of checks per wait, or {@code 0} before any wait. */
+    public double getAveragePollsPerWait() {
+        long count = waits.sum();
+        return count == 0 ? 0.0 : (double) polls.sum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitStatistics{waits=" + getWaitCount()
+                + ", polls=" + getPollCount()
+                + ", timeouts=" + getTimeoutCount()
+                + ", networkIdleWaits=" + getNetworkIdleWaitCount()
+                + ", maxPollsPerWait=" + getMaxPollsPerWait() + "}";
+    }
+}
@@ -1,22 +1,22 @@
 package io.github.ashwithpoojary98.websocket;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import io.github.ashwithpoojary98.cdp.CDPCommandManager;
+import io.github.ashwithpoojary98.cdp.CDPTransport;
 import io.github.ashwithpoojary98.exception.CDPException;
 import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.framing.Framedata;
 import org.java_websocket.handshake.ServerHandshake;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 
 /**
- * WebSocket client for Chrome DevTools Protocol (CDP) communication.
+ * WebSocket {@link CDPTransport} for Chrome DevTools Protocol (CDP) communication.
  *
  * <p>Manages the lifecycle of the WebSocket connection to Chrome/Chromium and
  * dispatches all incoming messages to {@link CDPCommandManager} for correlation
@@ -31,23 +31,16 @@ import java.util.function.Consumer;
  * CompletableFuture<JsonObject> result = client.sendCommand("Page.navigate", params);
  * }</pre>
  */
-public class NihoniumWebSocketClient extends WebSocketClient {
+public class NihoniumWebSocketClient extends WebSocketClient implements CDPTransport {
 
     private static final Logger log = LoggerFactory.getLogger(NihoniumWebSocketClient.class);
 
     private final CDPCommandManager commandManager;
-    private final Gson              gson;
     private final CountDownLatch    connectionLatch;
 
     private volatile boolean   connected;
     private volatile Exception connectionError;
 
-    // ── CDP message JSON keys ─────────────────────────────────────────────────
-
-    private static final String KEY_ID     = "id";
-    private static final String KEY_METHOD = "method";
-    private static final String KEY_PARAMS = "params";
-
     // ── Construction ──────────────────────────────────────────────────────────
 
     /**
@@ -69,7 +62,6 @@ public class NihoniumWebSocketClient extends WebSocketClient {
     public NihoniumWebSocketClient(URI serverUri, CDPCommandManager commandManager) {
         super(serverUri);
         this.commandManager  = commandManager;
-        this.gson            = new Gson();
         this.connectionLatch = new CountDownLatch(1);
         this.connected       = false;
     }
@@ -86,8 +78,7 @@ public class NihoniumWebSocketClient extends WebSocketClient {
     @Override
     public void onMessage(String message) {
         try {
-            JsonObject json = gson.fromJson(message, JsonObject.class);
-            commandManager.handleMessage(json);
+            commandManager.handleRawMessage(message);
         } catch (Exception e) {
             log.error("Failed to handle CDP message: {}", e.getMessage(), e);
         }
@@ -128,71 +119,23 @@ public class NihoniumWebSocketClient extends WebSocketClient {
     }
 
     /**
-     * Sends a CDP command and returns a {@link CompletableFuture} that completes
-     * with the {@code result} object from the response.
+     * Writes several pre-serialised CDP messages with a single socket write request.
+     * Callers are responsible for registering their command IDs first.
      *
-     * @param method CDP method name (e.g. {@code "Page.navigate"})
-     * @param params command parameters, or {@code null} if none
-     * @return future completing with the CDP response result
+     * @param messages JSON text of each message, in send order
      */
-    public CompletableFuture<JsonObject> sendCommand(String method, JsonObject params) {
-        if (!connected) {
-            return CompletableFuture.failedFuture(
-                    new CDPException("Cannot send command — WebSocket is not connected"));
-        }
-
-        long commandId = commandManager.nextCommandId();
-        CompletableFuture<JsonObject> future = commandManager.registerCommand(commandId);
-
-        JsonObject command = new JsonObject();
-        command.addProperty(KEY_ID,     commandId);
-        command.addProperty(KEY_METHOD, method);
-        if (params != null) {
-            command.add(KEY_PARAMS, params);
+    @Override
+    public void sendMessages(List<String> messages) {
+        List<Framedata> frames = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            frames.addAll(getDraft().createFrames(message, true));
         }
-
-        log.trace("→ CDP {} (id={})", method, commandId);
-        send(gson.toJson(command));
-        return future;
-    }
-
-    /**
-     * Sends a CDP command with no parameters.
-     *
-     * @param method CDP method name
-     * @return future completing with the CDP response result
-     */
-    public CompletableFuture<JsonObject> sendCommand(String method) {
-        return sendCommand(method, null);
-    }
-
-    /**
-     * Subscribes to a CDP event by method name.
-     *
-     * @param eventName fully-qualified event name (e.g. {@code "Page.frameNavigated"})
-     * @param handler   consumer invoked with the event {@code params} object
-     */
-    public void subscribeToEvent(String eventName, Consumer<JsonObject> handler) {
-        commandManager.subscribe(eventName, handler);
-    }
-
-    /**
-     * Removes a specific event handler.
-     *
-     * @param eventName CDP event name
-     * @param handler   the exact handler instance to remove
-     */
-    public void unsubscribeFromEvent(String eventName, Consumer<JsonObject> handler) {
-        commandManager.unsubscribe(eventName, handler);
+        sendFrame(frames);
     }
 
-    /**
-     * Removes all handlers for an event.
-     *
-     * @param eventName CDP event name
-     */
-    public void unsubscribeAllFromEvent(String eventName) {
-        commandManager.unsubscribeAll(eventName);
+    @Override
+    public void sendMessage(String message) {
+        send(message);
     }
 
     /**
@@ -200,6 +143,7 @@ public class NihoniumWebSocketClient extends WebSocketClient {
      *
      * @return connection state
      */
+    @Override
     public boolean isConnected() {
         return connected && !isClosed();
     }
@@ -209,6 +153,7 @@ public class NihoniumWebSocketClient extends WebSocketClient {
      *
      * @return command manager
      */
+    @Override
     public CDPCommandManager getCommandManager() {
         return commandManager;
     }
@@ -0,0 +1,51 @@
+package io.github.ashwithpoojary98.browser;
+
+import io.github.ashwithpoojary98.exception.BrowserLaunchException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BrowserLauncher}.
+ * No browser required — a shell script stands in for the binary.
+ */
+@DisabledOnOs(OS.WINDOWS)
+class BrowserLauncherTest {
+
+    @TempDir
+    Path dir;
+
+    /** Writes an executable script standing in for the browser binary. */
+    private Path fakeBrowser(String body) throws IOException {
+        Path script = dir.resolve("chrome");
+        Files.writeString(script, "#!/bin/sh\n" + body + "\n");
+        Files.setPosixFilePermissions(script, PosixFilePermissions.fromString("rwx------"));
+        return script;
+    }
+
+    @Test
+    void pipeLaunch_browserExits_reportsItsOutput() throws IOException {
+        Path binary = fakeBrowser("echo 'Missing X server or $DISPLAY' >&2\nexit 1");
+        BrowserLauncher launcher = new BrowserLauncher(BrowserOptions.builder()
+                .binaryPath(binary.toString())
+                .debuggingPipe(true)
+                .build());
+
+        try {
+            BrowserLaunchException thrown = assertThrows(BrowserLaunchException.class, launcher::launch);
+
+            assertTrue(thrown.getMessage().contains("exited with code 1"), thrown.getMessage());
+            assertTrue(thrown.getMessage().contains("Missing X server or $DISPLAY"), thrown.getMessage());
+        } finally {
+            launcher.shutdown();
+        }
+    }
+}
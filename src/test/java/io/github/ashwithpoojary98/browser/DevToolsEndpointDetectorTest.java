@@ -0,0 +1,94 @@
+package io.github.ashwithpoojary98.browser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DevToolsEndpointDetector}.
+ * No browser required — output and the profile directory are simulated.
+ */
+class DevToolsEndpointDetectorTest {
+
+    private static final String BROWSER_URL =
+            "ws://127.0.0.1:41234/devtools/browser/0c9d1f4e-6a37-4b8e-a0b1-2f3c4d5e6f70";
+
+    @TempDir
+    Path profileDir;
+
+    @Test
+    void parseListeningLine_extractsUrl() {
+        assertEquals(BROWSER_URL,
+                DevToolsEndpointDetector.parseListeningLine("DevTools listening on " + BROWSER_URL));
+        assertNull(DevToolsEndpointDetector.parseListeningLine("[1234:5678:ERROR] something else"));
+    }
+
+    @Test
+    void readActivePortFile_buildsUrl() throws IOException {
+        Files.writeString(profileDir.resolve("DevToolsActivePort"),
+                "41234\n/devtools/browser/0c9d1f4e-6a37-4b8e-a0b1-2f3c4d5e6f70\n");
+
+        assertEquals(BROWSER_URL, DevToolsEndpointDetector.readActivePortFile(profileDir));
+    }
+
+    @Test
+    void readActivePortFile_partiallyWritten_isIgnored() throws IOException {
+        Files.writeString(profileDir.resolve("DevToolsActivePort"), "41234\n");
+
+        assertNull(DevToolsEndpointDetector.readActivePortFile(profileDir));
+    }
+
+    @Test
+    void await_returnsUrlFromOutput() throws Exception {
+        String output = "[0101/000000.000:WARNING] noise\nDevTools listening on " + BROWSER_URL + "\n";
+        Process process = new ProcessBuilder("sleep", "5").start();
+        try {
+            String url = new DevToolsEndpointDetector(
+                    new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)), profileDir)
+                    .start()
+                    .await(process, 5_000);
+
+            assertEquals(BROWSER_URL, url);
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    void await_fallsBackToActivePortFile() throws Exception {
+        PipedOutputStream silentOutput = new PipedOutputStream();
+        Files.writeString(profileDir.resolve("DevToolsActivePort"),
+                "41234\n/devtools/browser/0c9d1f4e-6a37-4b8e-a0b1-2f3c4d5e6f70\n");
+        Process process = new ProcessBuilder("sleep", "5").start();
+        try {
+            String url = new DevToolsEndpointDetector(new PipedInputStream(silentOutput), profileDir)
+                    .start()
+                    .await(process, 5_000);
+
+            assertEquals(BROWSER_URL, url);
+        } finally {
+            process.destroyForcibly();
+            silentOutput.close();
+        }
+    }
+
+    @Test
+    void await_processExits_failsWithOutput() throws Exception {
+        Process process = new ProcessBuilder("true").start();
+        process.waitFor();
+
+        IOException thrown = assertThrows(IOException.class, () -> new DevToolsEndpointDetector(
+                new ByteArrayInputStream("fatal: no display\n".getBytes(StandardCharsets.UTF_8)),
+                profileDir).start().await(process, 5_000));
+        assertTrue(thrown.getMessage().contains("fatal: no display"));
+    }
+}
@@ -0,0 +1,253 @@
+package io.github.ashwithpoojary98.cdp;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.exception.CDPException;
+import io.github.ashwithpoojary98.exception.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CDPCommandManager} message routing.
+ * No browser required — messages are fed in as raw JSON strings.
+ */
+class CDPCommandManagerTest {
+
+    /** Runs event handlers on the calling thread so assertions need no waiting. */
+    private static CDPCommandManager newManager() {
+        return new CDPCommandManager(CDPCommandManager.DEFAULT_TIMEOUT_SECONDS,
+                new EventDispatcher(EventDispatcher.DEFAULT_LANE_CAPACITY,
+                        EventDispatcher.OverflowPolicy.DROP_NEWEST, Runnable::run));
+    }
+
+    // ── Events ────────────────────────────────────────────────────────────────
+
+    @Test
+    void rawEvent_withoutSubscriber_isSkipped() throws Exception {
+        CDPCommandManager manager = newManager();
+
+        manager.handleRawMessage(
+                "{\"method\":\"Network.dataReceived\",\"params\":{\"requestId\":\"1\"}}");
+
+        assertEquals(1, manager.getSkippedEventCount());
+        assertEquals(0, manager.getEventDispatcher().getDispatchedEventCount());
+    }
+
+    @Test
+    void rawEvent_withSubscriber_receivesParams() throws Exception {
+        CDPCommandManager manager = newManager();
+        List<JsonObject> received = new ArrayList<>();
+        manager.subscribe("Page.loadEventFired", received::add);
+
+        manager.handleRawMessage(
+                "{\"method\":\"Page.loadEventFired\",\"params\":{\"timestamp\":12.5}}");
+
+        assertEquals(1, received.size());
+        assertEquals(12.5, received.get(0).get("timestamp").getAsDouble());
+        assertEquals(0, manager.getSkippedEventCount());
+    }
+
+    @Test
+    void rawEvent_paramsBeforeMethod_stillDelivered() throws Exception {
+        CDPCommandManager manager = newManager();
+        List<JsonObject> received = new ArrayList<>();
+        manager.subscribe("DOM.documentUpdated", received::add);
+
+        manager.handleRawMessage(
+                "{\"params\":{\"a\":1},\"method\":\"DOM.documentUpdated\"}");
+
+        assertEquals(1, received.size());
+        assertEquals(1, received.get(0).get("a").getAsInt());
+    }
+
+    @Test
+    void rawEvent_withoutParams_deliversEmptyObject() throws Exception {
+        CDPCommandManager manager = newManager();
+        List<JsonObject> received = new ArrayList<>();
+        manager.subscribe("DOM.documentUpdated", received::add);
+
+        manager.handleRawMessage("{\"method\":\"DOM.documentUpdated\"}");
+
+        assertEquals(1, received.size());
+        assertEquals(0, received.get(0).size());
+    }
+
+    // ── Sessions ──────────────────────────────────────────────────────────────
+
+    @Test
+    void sessionEvent_deliveredOnlyToThatSession() throws Exception {
+        CDPCommandManager manager = newManager();
+        List<JsonObject> root = new ArrayList<>();
+        List<JsonObject> tabA = new ArrayList<>();
+        List<JsonObject> tabB = new ArrayList<>();
+        manager.subscribe("Page.loadEventFired", root::add);
+        manager.subscribe("A", "Page.loadEventFired", tabA::add);
+        manager.subscribe("B", "Page.loadEventFired", tabB::add);
+
+        manager.handleRawMessage("{\"method\":\"Page.loadEventFired\","
+                + "\"params\":{\"timestamp\":1},\"sessionId\":\"B\"}");
+
+        assertEquals(0, root.size());
+        assertEquals(0, tabA.size());
+        assertEquals(1, tabB.size());
+        assertEquals(1, tabB.get(0).get("timestamp").getAsInt());
+    }
+
+    @Test
+    void sessionEvent_withoutSessionSubscriber_isSkipped() throws Exception {
+        CDPCommandManager manager = newManager();
+        List<JsonObject> tabA = new ArrayList<>();
+        manager.subscribe("A", "DOM.documentUpdated", tabA::add);
+
+        manager.handleRawMessage("{\"method\":\"DOM.documentUpdated\",\"sessionId\":\"B\"}");
+
+        assertEquals(0, tabA.size());
+        assertEquals(1, manager.getSkippedEventCount());
+    }
+
+    @Test
+    void removeSession_dropsItsSubscriptionsOnly() throws Exception {
+        CDPCommandManager manager = newManager();
+        List<JsonObject> tabA = new ArrayList<>();
+        List<JsonObject> tabB = new ArrayList<>();
+        manager.subscribe("A", "Page.loadEventFired", tabA::add);
+        manager.subscribe("B", "Page.loadEventFired", tabB::add);
+
+        manager.removeSession("A");
+        manager.handleRawMessage("{\"method\":\"Page.loadEventFired\",\"sessionId\":\"A\"}");
+        manager.handleRawMessage("{\"method\":\"Page.loadEventFired\",\"sessionId\":\"B\"}");
+
+        assertEquals(0, tabA.size());
+        assertEquals(1, tabB.size());
+        assertEquals(1, manager.getEventSubscriptionCount());
+        assertEquals(1, manager.getSubscribedSessionCount());
+    }
+
+    // ── Responses ─────────────────────────────────────────────────────────────
+
+    @Test
+    void rawResponse_completesPendingFuture() throws Exception {
+        CDPCommandManager manager = newManager();
+        long id = manager.nextCommandId();
+        var future = manager.registerCommand(id);
+
+        manager.handleRawMessage("{\"id\":" + id + ",\"result\":{\"frameId\":\"F1\"}}");
+
+        assertEquals("F1", future.join().get("frameId").getAsString());
+        assertEquals(0, manager.getPendingCommandCount());
+    }
+
+    @Test
+    void rawResponse_withError_failsPendingFuture() throws Exception {
+        CDPCommandManager manager = newManager();
+        long id = manager.nextCommandId();
+        var future = manager.registerCommand(id);
+
+        manager.handleRawMessage("{\"id\":" + id
+                + ",\"error\":{\"code\":-32000,\"message\":\"No node\"}}");
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    void rawResponse_leavesResultUndecoded() throws Exception {
+        CDPCommandManager manager = newManager();
+        long id = manager.nextCommandId();
+        var future = manager.registerRawCommand(id);
+        String message = "{\"id\":" + id
+                + ",\"result\":{\"result\":{\"type\":\"string\",\"value\":\"<html/>\"}}}";
+
+        manager.handleRawMessage(message);
+
+        CDPResponse response = future.join();
+        assertSame(message, response.getRawMessage());
+        assertEquals("<html/>", response.decode(String.class, "result", "value"));
+        assertEquals("string", response.asJsonObject()
+                .getAsJsonObject("result").get("type").getAsString());
+    }
+
+    @Test
+    void rawResponse_resultBeforeId_fallsBackToFullParse() throws Exception {
+        CDPCommandManager manager = newManager();
+        long id = manager.nextCommandId();
+        var future = manager.registerCommand(id);
+
+        manager.handleRawMessage("{\"result\":{\"nodeId\":7},\"id\":" + id + "}");
+
+        assertEquals(7, future.join().get("nodeId").getAsInt());
+    }
+
+    @Test
+    void rawResponse_withoutResult_completesWithEmptyObject() throws Exception {
+        CDPCommandManager manager = newManager();
+        long id = manager.nextCommandId();
+        var future = manager.registerCommand(id);
+
+        manager.handleRawMessage("{\"id\":" + id + ",\"sessionId\":\"S\"}");
+
+        assertEquals(0, future.join().size());
+    }
+
+    @Test
+    void decode_missingPath_returnsNull() throws Exception {
+        CDPCommandManager manager = newManager();
+        long id = manager.nextCommandId();
+        var future = manager.registerRawCommand(id);
+
+        manager.handleRawMessage("{\"id\":" + id + ",\"result\":{\"a\":{\"b\":1}}}");
+
+        assertNull(future.join().decode(String.class, "a", "missing"));
+        assertEquals(1, future.join().decode(Integer.class, "a", "b"));
+    }
+
+    // ── Timeouts ──────────────────────────────────────────────────────────────
+
+    @Test
+    void command_withoutResponse_failsWithTimeoutException() {
+        TimeoutWheel wheel = new TimeoutWheel(5, 8);
+        CDPCommandManager manager = new CDPCommandManager(
+                CDPCommandManager.DEFAULT_TIMEOUT_SECONDS, new EventDispatcher(), wheel);
+        long id = manager.nextCommandId();
+
+        var future = manager.registerCommand(id, 20);
+
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(TimeoutException.class, thrown.getCause());
+        assertEquals(0, manager.getPendingCommandCount());
+    }
+
+    @Test
+    void failedWrite_removesPendingCommandAndItsTimeout() {
+        FakeTransport transport = new FakeTransport();
+        transport.failWrites(new IllegalStateException("pipe closed"));
+
+        var single = transport.sendCommandRaw("Page.enable", null);
+        CommandBatch batch = transport.batch();
+        var batched = batch.add("DOM.enable", null);
+        batch.sendAll();
+
+        assertInstanceOf(CDPException.class, assertThrows(CompletionException.class, single::join).getCause());
+        assertInstanceOf(CDPException.class, assertThrows(CompletionException.class, batched::join).getCause());
+        assertEquals(0, transport.getCommandManager().getPendingCommandCount());
+    }
+
+    @Test
+    void response_cancelsTimeout() throws Exception {
+        TimeoutWheel wheel = new TimeoutWheel(5, 8);
+        CDPCommandManager manager = new CDPCommandManager(
+                CDPCommandManager.DEFAULT_TIMEOUT_SECONDS, new EventDispatcher(), wheel);
+        long id = manager.nextCommandId();
+        var future = manager.registerCommand(id, 60_000);
+        assertEquals(1, wheel.getPendingCount());
+
+        manager.handleRawMessage("{\"id\":" + id + ",\"result\":{}}");
+
+        assertNotNull(future.join());
+        assertEquals(0, wheel.getPendingCount());
+        assertEquals(0, wheel.getExpiredCount());
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.ashwithpoojary98.cdp;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CommandBatch}.
+ * No browser required — a {@link FakeTransport} records outgoing messages instead of writing them.
+ */
+class CommandBatchTest {
+
+    @Test
+    void sendAll_writesQueuedCommandsInOneCall() {
+        FakeTransport client = new FakeTransport();
+        CommandBatch batch = client.batch();
+
+        CompletableFuture<JsonObject> page = batch.add("Page.enable", null);
+        CompletableFuture<JsonObject> dom  = batch.add("DOM.enable", null);
+        assertTrue(client.writes().isEmpty());
+
+        batch.sendAll();
+
+        assertEquals(1, client.writes().size());
+        List<String> burst = client.writes().get(0);
+        assertEquals(2, burst.size());
+        assertTrue(burst.get(0).contains("Page.enable"));
+        assertTrue(burst.get(1).contains("DOM.enable"));
+
+        client.respond(burst.get(1), "{\"ok\":true}");
+        client.respond(burst.get(0), "{}");
+        assertTrue(dom.join().get("ok").getAsBoolean());
+        assertNotNull(page.join());
+    }
+
+    @Test
+    void addAfter_sendsDependentWithParamsFromResult() {
+        FakeTransport client = new FakeTransport();
+        CommandBatch batch = client.batch();
+        JsonObject params = new JsonObject();
+        params.addProperty("nodeId", 5);
+
+        CompletableFuture<JsonObject> resolved = batch.add("DOM.resolveNode", params);
+        CompletableFuture<JsonObject> call = batch.addAfter(resolved, "Runtime.callFunctionOn", node -> {
+            JsonObject next = new JsonObject();
+            next.addProperty("objectId", node.getAsJsonObject("object").get("objectId").getAsString());
+            return next;
+        });
+        batch.sendAll();
+        assertEquals(1, client.writes().size());
+
+        client.respond(client.writes().get(0).get(0), "{\"object\":{\"objectId\":\"obj-1\"}}");
+
+        assertEquals(2, client.writes().size());
+        String dependent = client.writes().get(1).get(0);
+        assertTrue(dependent.contains("Runtime.callFunctionOn"));
+        assertTrue(dependent.contains("obj-1"));
+
+        client.respond(dependent, "{\"result\":{\"value\":true}}");
+        assertTrue(call.join().getAsJsonObject("result").get("value").getAsBoolean());
+    }
+
+    @Test
+    void addAfter_failedDependency_isNotSent() {
+        FakeTransport client = new FakeTransport();
+        CommandBatch batch = client.batch();
+        CompletableFuture<JsonObject> failed = CompletableFuture.failedFuture(new IllegalStateException("x"));
+
+        CompletableFuture<JsonObject> call = batch.addAfter(failed, "Runtime.callFunctionOn", r -> r);
+        batch.sendAll();
+
+        assertTrue(call.isCompletedExceptionally());
+        assertTrue(client.writes().isEmpty());
+    }
+
+    @Test
+    void sendAll_twice_throws() {
+        CommandBatch batch = new FakeTransport().batch();
+        batch.sendAll();
+
+        assertThrows(IllegalStateException.class, batch::sendAll);
+        assertThrows(IllegalStateException.class, () -> batch.add("Page.enable", null));
+    }
+
+    @Test
+    void sessionBatch_tagsEveryCommandWithSessionId() {
+        FakeTransport client = new FakeTransport();
+        CommandBatch batch = new CDPSession(client, "S1").batch();
+
+        batch.add("Page.enable", null);
+        batch.add("DOM.enable", null);
+        batch.sendAll();
+
+        assertTrue(client.writes().get(0).stream().allMatch(m -> m.contains("\"sessionId\":\"S1\"")));
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.ashwithpoojary98.cdp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link EventDispatcher}.
+ * No browser required — these are pure in-process tests.
+ */
+class EventDispatcherTest {
+
+    /** Collects lane tasks without running them, so queue contents can be inspected. */
+    private static final class ManualExecutor implements Executor {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    // ── Lane keys ─────────────────────────────────────────────────────────────
+
+    @Test
+    void laneKey_usesDomainOfMethod() {
+        assertEquals("Network", EventDispatcher.laneKey(null, "Network.loadingFinished"));
+    }
+
+    @Test
+    void laneKey_prefixesSessionId() {
+        assertEquals("ABC/Page", EventDispatcher.laneKey("ABC", "Page.lifecycleEvent"));
+    }
+
+    // ── Ordering ──────────────────────────────────────────────────────────────
+
+    @Test
+    void dispatch_preservesOrderWithinLane() throws InterruptedException {
+        EventDispatcher dispatcher = new EventDispatcher();
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        int events = 10_000;
+        CountDownLatch done = new CountDownLatch(events);
+
+        for (int i = 0; i < events; i++) {
+            int value = i;
+            dispatcher.dispatch(null, "Network.requestWillBeSent", () -> {
+                seen.add(value);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < events; i++) {
+            assertEquals(i, seen.get(i));
+        }
+        assertEquals(0, dispatcher.getDroppedEventCount());
+    }
+
+    @Test
+    void dispatch_handlerExceptionDoesNotStallLane() {
+        ManualExecutor executor = new ManualExecutor();
+        EventDispatcher dispatcher = new EventDispatcher(
+                8, EventDispatcher.OverflowPolicy.DROP_NEWEST, executor);
+        List<String> seen = new ArrayList<>();
+
+        dispatcher.dispatch(null, "Page.loadEventFired", () -> {
+            throw new IllegalStateException("boom");
+        });
+        dispatcher.dispatch(null, "Page.frameNavigated", () -> seen.add("after"));
+        executor.runAll();
+
+        assertEquals(List.of("after"), seen);
+        assertEquals(2, dispatcher.getDispatchedEventCount());
+    }
+
+    // ── Overflow ──────────────────────────────────────────────────────────────
+
+    @Test
+    void dropNewest_rejectsEventsBeyondCapacity() {
+        ManualExecutor executor = new ManualExecutor();
+        EventDispatcher dispatcher = new EventDispatcher(
+                2, EventDispatcher.OverflowPolicy.DROP_NEWEST, executor);
+        List<Integer> seen = new ArrayList<>();
+
+        assertTrue(dispatcher.dispatch(null, "DOM.a", () -> seen.add(1)));
+        assertTrue(dispatcher.dispatch(null, "DOM.b", () -> seen.add(2)));
+        assertFalse(dispatcher.dispatch(null, "DOM.c", () -> seen.add(3)));
+
+        assertEquals(2, dispatcher.getQueueDepth("DOM"));
+        executor.runAll();
+        assertEquals(List.of(1, 2), seen);
+        assertEquals(1, dispatcher.getDroppedEventCount());
+    }
+
+    @Test
+    void dropOldest_keepsMostRecentEvents() {
+        ManualExecutor executor = new ManualExecutor();
+        EventDispatcher dispatcher = new EventDispatcher(
+                2, EventDispatcher.OverflowPolicy.DROP_OLDEST, executor);
+        List<Integer> seen = new ArrayList<>();
+
+        dispatcher.dispatch(null, "DOM.a", () -> seen.add(1));
+        dispatcher.dispatch(null, "DOM.b", () -> seen.add(2));
+        dispatcher.dispatch(null, "DOM.c", () -> seen.add(3));
+
+        executor.runAll();
+        assertEquals(List.of(2, 3), seen);
+        assertEquals(1, dispatcher.getDroppedEventCount());
+    }
+
+    @Test
+    void losslessDomains_neverDropUnderABoundedPolicy() {
+        ManualExecutor executor = new ManualExecutor();
+        EventDispatcher dispatcher = new EventDispatcher(
+                2, EventDispatcher.OverflowPolicy.DROP_NEWEST, executor);
+        List<String> seen = new ArrayList<>();
+
+        for (String method : List.of("Network.a", "Network.b", "Network.c")) {
+            assertTrue(dispatcher.dispatch(null, method, () -> seen.add(method)));
+        }
+        assertTrue(dispatcher.dispatch("S1", "Fetch.requestPaused", () -> seen.add("fetch")));
+        assertTrue(dispatcher.dispatch("S1", "Fetch.requestPaused", () -> seen.add("fetch")));
+        assertTrue(dispatcher.dispatch("S1", "Fetch.requestPaused", () -> seen.add("fetch")));
+
+        executor.runAll();
+        assertEquals(6, seen.size());
+        assertEquals(0, dispatcher.getDroppedEventCount());
+    }
+
+    @Test
+    void defaultPolicy_isLossless() {
+        ManualExecutor executor = new ManualExecutor();
+        EventDispatcher dispatcher = new EventDispatcher(
+                2, EventDispatcher.DEFAULT_OVERFLOW_POLICY, executor);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(dispatcher.dispatch(null, "DOM.a", () -> { }));
+        }
+        assertEquals(10, dispatcher.getQueueDepth("DOM"));
+        assertEquals(0, dispatcher.getDroppedEventCount());
+    }
+
+    // ── Diagnostics ───────────────────────────────────────────────────────────
+
+    @Test
+    void queueDepths_reportedPerLane() {
+        ManualExecutor executor = new ManualExecutor();
+        EventDispatcher dispatcher = new EventDispatcher(
+                16, EventDispatcher.OverflowPolicy.DROP_NEWEST, executor);
+
+        dispatcher.dispatch(null, "Network.a", () -> { });
+        dispatcher.dispatch(null, "Network.b", () -> { });
+        dispatcher.dispatch("S1", "Page.a", () -> { });
+
+        assertEquals(3, dispatcher.getQueueDepth());
+        assertEquals(2, dispatcher.getQueueDepths().get("Network"));
+        assertEquals(1, dispatcher.getQueueDepths().get("S1/Page"));
+        assertEquals(2, dispatcher.getPeakQueueDepth());
+        assertEquals(2, dispatcher.getLaneCount());
+
+        executor.runAll();
+        assertEquals(0, dispatcher.getQueueDepth());
+    }
+}
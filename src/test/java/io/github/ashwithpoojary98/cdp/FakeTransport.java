@@ -0,0 +1,200 @@
+package io.github.ashwithpoojary98.cdp;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * In-process {@link CDPTransport} for unit tests: records every write and answers commands
+ * from a scripted reply function, or leaves them pending for the test to answer. Events are
+ * injected into the manager, whose handlers run on the injecting thread.
+ */
+public class FakeTransport implements CDPTransport {
+
+    /** Reply function that leaves every command pending. */
+    public static final Function<JsonObject, String> NO_REPLY = command -> null;
+
+    private final CDPCommandManager manager = new CDPCommandManager(
+            CDPCommandManager.DEFAULT_TIMEOUT_SECONDS,
+            new EventDispatcher(EventDispatcher.DEFAULT_LANE_CAPACITY,
+                    EventDispatcher.DEFAULT_OVERFLOW_POLICY, Runnable::run));
+
+    private final List<List<String>> writes   = new CopyOnWriteArrayList<>();
+    private final List<JsonObject>   commands = new CopyOnWriteArrayList<>();
+    private volatile Function<JsonObject, String> replies;
+    private volatile RuntimeException writeFailure;
+
+    /** Creates a transport that answers no command; reply with {@link #respond}. */
+    public FakeTransport() {
+        this(NO_REPLY);
+    }
+
+    /**
+     * Creates a transport that answers each command as it is written.
+     *
+     * @param replies reply body for a command — {@link #result(String)}, {@link #error(String)}
+     *                or {@code null} to leave it pending
+     */
+    public FakeTransport(Function<JsonObject, String> replies) {
+        this.replies = replies;
+    }
+
+    /** Creates a transport answering every command with the result {@code resultFor} returns. */
+    public static FakeTransport answering(Function<JsonObject, String> resultFor) {
+        return new FakeTransport(command -> result(resultFor.apply(command)));
+    }
+
+    // ── Reply bodies ──────────────────────────────────────────────────────────
+
+    /** Returns a reply body carrying {@code result}. */
+    public static String result(String result) {
+        return "{\"result\":" + result + "}";
+    }
+
+    /** Returns a reply body carrying a CDP server error. */
+    public static String error(String message) {
+        return "{\"error\":{\"code\":-32000,\"message\":\"" + message + "\"}}";
+    }
+
+    /** Returns the method of a recorded command. */
+    public static String method(JsonObject command) {
+        return command.get("method").getAsString();
+    }
+
+    /** Returns the params of a recorded command, empty if it has none. */
+    public static JsonObject params(JsonObject command) {
+        return command.has("params") ? command.getAsJsonObject("params") : new JsonObject();
+    }
+
+    // ── CDPTransport ──────────────────────────────────────────────────────────
+
+    @Override
+    public CDPCommandManager getCommandManager() {
+        return manager;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    @Override
+    public void sendMessages(List<String> messages) {
+        if (writeFailure != null) {
+            throw writeFailure;
+        }
+        writes.add(List.copyOf(messages));
+        for (String message : messages) {
+            JsonObject command = JsonParser.parseString(message).getAsJsonObject();
+            commands.add(command);
+            String reply = replies.apply(command);
+            if (reply != null) {
+                reply(command.get("id").getAsLong(), reply);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    // ── Scripting ─────────────────────────────────────────────────────────────
+
+    /** Replaces the reply function for commands written from now on. */
+    public void setReplies(Function<JsonObject, String> replies) {
+        this.replies = replies;
+    }
+
+    /**
+     * Makes every following write throw {@code failure}, as a broken connection would;
+     * {@code null} restores writing.
+     */
+    public void failWrites(RuntimeException failure) {
+        this.writeFailure = failure;
+    }
+
+    /** Answers a pending command with {@code result}. */
+    public void respond(String message, String result) {
+        reply(JsonParser.parseString(message).getAsJsonObject().get("id").getAsLong(), result(result));
+    }
+
+    /** Answers the last written command with {@code result}. */
+    public void respondToLast(String result) {
+        reply(commands.get(commands.size() - 1).get("id").getAsLong(), result(result));
+    }
+
+    /** Fails a pending command with a CDP server error. */
+    public void fail(String message, String error) {
+        reply(JsonParser.parseString(message).getAsJsonObject().get("id").getAsLong(), error(error));
+    }
+
+    /** Injects a CDP event. */
+    public void event(String method, String params) {
+        inject("{\"method\":\"" + method + "\",\"params\":" + params + "}");
+    }
+
+    /** Injects a raw message as if read from the connection. */
+    public void inject(String message) {
+        try {
+            manager.handleRawMessage(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void reply(long id, String body) {
+        inject("{\"id\":" + id + "," + body.substring(1));
+    }
+
+    // ── Recorded traffic ──────────────────────────────────────────────────────
+
+    /** Forgets the traffic recorded so far. */
+    public void clear() {
+        writes.clear();
+        commands.clear();
+    }
+
+    /** Returns every {@link #sendMessages} call in order, one list of raw messages each. */
+    public List<List<String>> writes() {
+        return writes;
+    }
+
+    /** Returns every command written, in order. */
+    public List<JsonObject> commands() {
+        return commands;
+    }
+
+    /** Returns the raw messages written, in order. */
+    public List<String> messages() {
+        return writes.stream().flatMap(List::stream).toList();
+    }
+
+    /** Returns the params of every command with {@code method}, in order. */
+    public List<JsonObject> sent(String method) {
+        return commands.stream()
+                .filter(command -> method(command).equals(method))
+                .map(FakeTransport::params)
+                .toList();
+    }
+
+    /** Returns the params of the last command with {@code method}, or {@code null}. */
+    public JsonObject last(String method) {
+        List<JsonObject> sent = sent(method);
+        return sent.isEmpty() ? null : sent.get(sent.size() - 1);
+    }
+
+    /** Returns the number of commands written with {@code method}. */
+    public int count(String method) {
+        return sent(method).size();
+    }
+
+    /** Returns the methods of every command written, in order. */
+    public List<String> methods() {
+        return commands.stream().map(FakeTransport::method).toList();
+    }
+}
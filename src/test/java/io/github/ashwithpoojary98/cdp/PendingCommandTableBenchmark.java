@@ -0,0 +1,124 @@
+package io.github.ashwithpoojary98.cdp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH comparison of {@link PendingCommandTable} against the boxed
+ * {@code ConcurrentHashMap<Long, V>} it replaced in {@link CDPCommandManager}.
+ *
+ * <p>Each operation models one command round trip: take the next ID from a shared
+ * counter, register it, then remove it as the response would. The plain benchmarks
+ * remove the command they just registered, so the table never holds more than one
+ * command per sender; the {@code Window} benchmarks keep {@link Window#outstanding}
+ * commands in flight per sender and retire the oldest one each time, as a busy session
+ * does. Beyond {@link PendingCommandTable#DEFAULT_CAPACITY} commands in flight in total,
+ * the table measures its overflow path. Not run by
+ * {@code mvn test}; run {@link #main} in its own JVM (JMH forks from the launching
+ * JVM's class path) to compare 1, 8 and 64 concurrent senders:
+ * <pre>
+ * mvn test-compile exec:exec -Djmh.benchmark=io.github.ashwithpoojary98.cdp.PendingCommandTableBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PendingCommandTableBenchmark {
+
+    private static final Object VALUE = new Object();
+
+    private static final int[] SENDER_COUNTS = {1, 8, 64};
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final ConcurrentHashMap<Long, Object> map   = new ConcurrentHashMap<>();
+    private final PendingCommandTable<Object>     table = new PendingCommandTable<>();
+
+    /** One sender's commands in flight, oldest first from {@link #next}. */
+    @State(Scope.Thread)
+    public static class Window {
+
+        @Param({"1", "64", "1024"})
+        int outstanding;
+
+        private long[] inFlight;
+        private int    next;
+
+        @Setup
+        public void fill(PendingCommandTableBenchmark shared) {
+            inFlight = new long[outstanding];
+            for (int i = 0; i < outstanding; i++) {
+                long id = shared.ids.incrementAndGet();
+                inFlight[i] = id;
+                shared.map.put(id, VALUE);
+                shared.table.put(id, VALUE);
+            }
+        }
+
+        /** Records {@code id} as in flight and returns the oldest command it displaces. */
+        long retire(long id) {
+            long oldest = inFlight[next];
+            inFlight[next] = id;
+            next = next + 1 == inFlight.length ? 0 : next + 1;
+            return oldest;
+        }
+    }
+
+    @Benchmark
+    public Object concurrentHashMap() {
+        long id = ids.incrementAndGet();
+        map.put(id, VALUE);
+        return map.remove(id);
+    }
+
+    @Benchmark
+    public Object pendingCommandTable() {
+        long id = ids.incrementAndGet();
+        table.put(id, VALUE);
+        return table.remove(id);
+    }
+
+    @Benchmark
+    public Object concurrentHashMapWindow(Window window) {
+        long id = ids.incrementAndGet();
+        map.put(id, VALUE);
+        return map.remove(window.retire(id));
+    }
+
+    @Benchmark
+    public Object pendingCommandTableWindow(Window window) {
+        long id = ids.incrementAndGet();
+        table.put(id, VALUE);
+        return table.remove(window.retire(id));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int senders : SENDER_COUNTS) {
+            Options options = new OptionsBuilder()
+                    .include(PendingCommandTableBenchmark.class.getSimpleName())
+                    .threads(senders)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.ashwithpoojary98.cdp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PendingCommandTable}.
+ * No browser required — these are pure in-process tests.
+ */
+class PendingCommandTableTest {
+
+    @Test
+    void putThenRemove_returnsValue() {
+        PendingCommandTable<String> table = new PendingCommandTable<>(8);
+
+        table.put(1, "a");
+        table.put(2, "b");
+
+        assertEquals(2, table.size());
+        assertEquals("b", table.remove(2));
+        assertEquals("a", table.remove(1));
+        assertNull(table.remove(1));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void collidingIds_spillToOverflow() {
+        PendingCommandTable<String> table = new PendingCommandTable<>(4);
+
+        table.put(1, "first");
+        table.put(5, "second");   // same slot as 1
+
+        assertEquals(1, table.getOverflowCount());
+        assertEquals("second", table.remove(5));
+        assertEquals("first", table.remove(1));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void conditionalRemove_requiresSameValue() {
+        PendingCommandTable<String> table = new PendingCommandTable<>(4);
+        String value = "v";
+        table.put(3, value);
+
+        assertFalse(table.remove(3, "other"));
+        assertTrue(table.remove(3, value));
+        assertFalse(table.remove(3, value));
+    }
+
+    @Test
+    void drain_visitsRingAndOverflowEntries() {
+        PendingCommandTable<Integer> table = new PendingCommandTable<>(2);
+        for (int id = 1; id <= 5; id++) {
+            table.put(id, id);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        table.drain(drained::add);
+
+        assertEquals(5, drained.size());
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void zeroId_isRejected() {
+        PendingCommandTable<String> table = new PendingCommandTable<>();
+
+        assertThrows(IllegalArgumentException.class, () -> table.put(0, "x"));
+    }
+
+    @Test
+    void concurrentSenders_neverLoseEntries() throws InterruptedException {
+        PendingCommandTable<Long> table = new PendingCommandTable<>(64);
+        AtomicLong ids = new AtomicLong();
+        AtomicInteger mismatches = new AtomicInteger();
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    long id = ids.incrementAndGet();
+                    table.put(id, id);
+                    Long value = table.remove(id);
+                    if (value == null || value != id) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertEquals(0, mismatches.get());
+        assertEquals(0, table.size());
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.ashwithpoojary98.cdp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TimeoutWheel}.
+ * No browser required — these are pure in-process tests.
+ */
+class TimeoutWheelTest {
+
+    private static final long TICK_MILLIS = 5L;
+
+    @Test
+    void schedule_runsTaskAfterDelay() throws InterruptedException {
+        TimeoutWheel wheel = new TimeoutWheel(TICK_MILLIS, 8);
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        TimeoutWheel.Timeout timeout = wheel.schedule(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(timeout.isExpired());
+        assertEquals(1, wheel.getExpiredCount());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void schedule_delayLongerThanOneTurn_waitsForLaterRound() throws InterruptedException {
+        // 4 buckets × 5 ms: a 100 ms delay wraps the wheel several times
+        TimeoutWheel wheel = new TimeoutWheel(TICK_MILLIS, 4);
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        wheel.schedule(fired::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void cancel_preventsTask() throws InterruptedException {
+        TimeoutWheel wheel = new TimeoutWheel(TICK_MILLIS, 8);
+        AtomicInteger runs = new AtomicInteger();
+
+        TimeoutWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.getPendingCount());
+        Thread.sleep(100);
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    void expiredTimeout_cannotBeCancelled() throws InterruptedException {
+        TimeoutWheel wheel = new TimeoutWheel(TICK_MILLIS, 8);
+        CountDownLatch fired = new CountDownLatch(1);
+
+        TimeoutWheel.Timeout timeout = wheel.schedule(fired::countDown, 0, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertFalse(timeout.cancel());
+    }
+}
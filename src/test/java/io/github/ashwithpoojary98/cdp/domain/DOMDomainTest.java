@@ -0,0 +1,80 @@
+package io.github.ashwithpoojary98.cdp.domain;
+
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the document root cache in {@link DOMDomain}.
+ * No browser required — a {@link FakeTransport} records outgoing messages and events are injected.
+ */
+class DOMDomainTest {
+
+    private static final String DOCUMENT_1 = "{\"root\":{\"nodeId\":1}}";
+    private static final String DOCUMENT_7 = "{\"root\":{\"nodeId\":7}}";
+
+    @Test
+    void getDocumentNodeId_fetchesOnceAndShares() {
+        FakeTransport transport = new FakeTransport();
+        DOMDomain dom = new DOMDomain(transport);
+
+        CompletableFuture<Integer> first  = dom.getDocumentNodeId();
+        CompletableFuture<Integer> second = dom.getDocumentNodeId();
+        transport.respondToLast(DOCUMENT_1);
+
+        assertEquals(1, first.join());
+        assertEquals(1, second.join());
+        assertEquals(1, dom.getDocumentNodeId().join());
+        assertEquals(1, transport.commands().size());
+    }
+
+    @Test
+    void documentUpdated_invalidatesCache() {
+        FakeTransport transport = new FakeTransport();
+        DOMDomain dom = new DOMDomain(transport);
+        CompletableFuture<Integer> first = dom.getDocumentNodeId();
+        transport.respondToLast(DOCUMENT_1);
+        first.join();
+
+        transport.event("DOM.documentUpdated", "{}");
+        CompletableFuture<Integer> refetched = dom.getDocumentNodeId();
+        transport.respondToLast(DOCUMENT_7);
+
+        assertEquals(7, refetched.join());
+        assertEquals(2, transport.commands().size());
+    }
+
+    @Test
+    void childFrameNavigation_keepsCache() {
+        FakeTransport transport = new FakeTransport();
+        DOMDomain dom = new DOMDomain(transport);
+        CompletableFuture<Integer> first = dom.getDocumentNodeId();
+        transport.respondToLast(DOCUMENT_1);
+        first.join();
+
+        transport.event("Page.frameNavigated", "{\"frame\":{\"id\":\"child\",\"parentId\":\"main\"}}");
+        assertEquals(1, dom.getDocumentNodeId().join());
+        assertEquals(1, transport.commands().size());
+
+        transport.event("Page.frameNavigated", "{\"frame\":{\"id\":\"main\"}}");
+        dom.getDocumentNodeId();
+        assertEquals(2, transport.commands().size());
+    }
+
+    @Test
+    void failedFetch_isRetried() {
+        FakeTransport transport = new FakeTransport();
+        DOMDomain dom = new DOMDomain(transport);
+        CompletableFuture<Integer> failed = dom.getDocumentNodeId();
+        transport.fail(transport.messages().get(0), "No document");
+        assertTrue(failed.isCompletedExceptionally());
+
+        CompletableFuture<Integer> retried = dom.getDocumentNodeId();
+        transport.respondToLast(DOCUMENT_7);
+
+        assertEquals(7, retried.join());
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.ashwithpoojary98.cdp.domain;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ObjectGroup} and the scoped release in {@link RuntimeDomain}.
+ * No browser required — commands are answered by a {@link FakeTransport}.
+ */
+class ObjectGroupTest {
+
+    private static final String NODE_RESULT   = "{\"object\":{\"type\":\"object\",\"objectId\":\"obj-1\"}}";
+    private static final String OBJECT_RESULT = "{\"result\":{\"type\":\"object\",\"objectId\":\"obj-2\"}}";
+    private static final String VALUE_RESULT  = "{\"result\":{\"type\":\"string\",\"value\":\"text\"}}";
+
+    /** Methods answered with an error. */
+    private final Set<String> failing = new HashSet<>();
+    private String callResult = VALUE_RESULT;
+    private FakeTransport transport;
+    private RuntimeDomain runtime;
+
+    @BeforeEach
+    void setUp() {
+        transport = new FakeTransport(this::reply);
+        runtime = new RuntimeDomain(transport);
+    }
+
+    private String reply(JsonObject command) {
+        String method = FakeTransport.method(command);
+        if (failing.contains(method)) {
+            return FakeTransport.error("Cannot find context");
+        }
+        return FakeTransport.result(switch (method) {
+            case "DOM.resolveNode" -> NODE_RESULT;
+            case "Runtime.callFunctionOn", "Runtime.evaluate" -> callResult;
+            default -> "{}";
+        });
+    }
+
+    @Test
+    void everyCommandIsTaggedAndReleasedWithOneCall() {
+        callResult = OBJECT_RESULT;
+        String name;
+        try (ObjectGroup group = runtime.openObjectGroup()) {
+            name = group.getName();
+            String objectId = group.resolveNode(5).join();
+            group.callFunctionOn(objectId, "function() { return this.parentNode; }").join();
+            group.evaluate("document.body").join();
+            assertEquals(3, group.getHandleCount());
+        }
+
+        assertEquals(name, transport.sent("DOM.resolveNode").get(0).get("objectGroup").getAsString());
+        assertEquals(name, transport.sent("Runtime.callFunctionOn").get(0).get("objectGroup").getAsString());
+        assertEquals(name, transport.sent("Runtime.evaluate").get(0).get("objectGroup").getAsString());
+        assertEquals(1, transport.sent("Runtime.releaseObjectGroup").size());
+        assertTrue(transport.sent("Runtime.releaseObject").isEmpty());
+
+        ObjectGroupStatistics stats = runtime.getObjectGroupStatistics();
+        assertEquals(3, stats.getHandlesReleased());
+        assertEquals(0, stats.getOutstandingHandleCount());
+        assertEquals(0, stats.getOpenGroupCount());
+    }
+
+    @Test
+    void groupIsReleasedWhenTheCallFails() {
+        failing.add("Runtime.callFunctionOn");
+
+        assertThrows(CompletionException.class,
+                () -> runtime.callFunctionOnNode(5, "function() { return 1; }").join());
+
+        assertEquals(1, transport.sent("Runtime.releaseObjectGroup").size());
+        assertEquals(0, runtime.getObjectGroupStatistics().getOutstandingHandleCount());
+        assertEquals(1, runtime.getObjectGroupStatistics().getHandlesReleased());
+    }
+
+    @Test
+    void unusedGroupClosesWithoutACommand() {
+        try (ObjectGroup ignored = runtime.openObjectGroup()) {
+            assertEquals(1, runtime.getObjectGroupStatistics().getOpenGroupCount());
+        }
+
+        assertTrue(transport.commands().isEmpty());
+        assertEquals(1, runtime.getObjectGroupStatistics().getGroupsReleased());
+    }
+
+    @Test
+    void failedReleaseIsCountedAsLeak() {
+        failing.add("Runtime.releaseObjectGroup");
+        ObjectGroup group = runtime.openObjectGroup();
+        group.resolveNode(5).join();
+        group.close();
+        group.close();
+
+        ObjectGroupStatistics stats = runtime.getObjectGroupStatistics();
+        assertEquals(1, transport.sent("Runtime.releaseObjectGroup").size());
+        assertEquals(1, stats.getReleaseFailureCount());
+        assertEquals(1, stats.getLeakedHandleCount());
+        assertEquals(0, stats.getOutstandingHandleCount());
+        assertThrows(IllegalStateException.class, () -> group.resolveNode(6));
+    }
+}
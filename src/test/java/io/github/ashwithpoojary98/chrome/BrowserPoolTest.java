@@ -0,0 +1,186 @@
+package io.github.ashwithpoojary98.chrome;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import io.github.ashwithpoojary98.exception.TimeoutException;
+import io.github.ashwithpoojary98.wait.WaitConfig;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for {@link BrowserPool}. No browser required — pooled browsers are
+ * {@link SharedBrowser}s over a {@link FakeTransport}.
+ */
+class BrowserPoolTest {
+
+    private static final String CREATE_CONTEXT  = "Target.createBrowserContext";
+    private static final String DISPOSE_CONTEXT = "Target.disposeBrowserContext";
+
+    private final List<FakeBrowser> launched = new CopyOnWriteArrayList<>();
+
+    /** Browser answering the commands a context driver sends while it opens its first window. */
+    private static final class FakeBrowser {
+        final AtomicInteger ids = new AtomicInteger();
+        volatile boolean connected = true;
+        volatile boolean failContexts;
+
+        final FakeTransport transport = new FakeTransport(this::reply) {
+            @Override
+            public boolean isConnected() {
+                return connected;
+            }
+        };
+        final SharedBrowser shared = new SharedBrowser(transport, WaitConfig.defaultConfig());
+
+        String reply(JsonObject command) {
+            String method = FakeTransport.method(command);
+            if (failContexts && method.equals(CREATE_CONTEXT)) {
+                return FakeTransport.error("Failed to create browser context");
+            }
+            return FakeTransport.result(switch (method) {
+                case CREATE_CONTEXT -> "{\"browserContextId\":\"C" + ids.incrementAndGet() + "\"}";
+                case "Target.createTarget" -> "{\"targetId\":\"T" + ids.incrementAndGet() + "\"}";
+                case "Target.attachToTarget" -> "{\"sessionId\":\"S" + ids.incrementAndGet() + "\"}";
+                case "Page.getFrameTree" -> "{\"frameTree\":{\"frame\":{\"id\":\"MAIN\",\"loaderId\":\"L1\"}}}";
+                case "Runtime.evaluate" -> "{\"result\":{\"type\":\"string\",\"value\":\"complete\"}}";
+                default -> "{}";
+            });
+        }
+    }
+
+    private BrowserPool pool(BrowserPool.Builder builder) {
+        return builder.browserFactory(() -> {
+            FakeBrowser browser = new FakeBrowser();
+            launched.add(browser);
+            return browser.shared;
+        }).build();
+    }
+
+    // ── Leasing ───────────────────────────────────────────────────────────────
+
+    @Test
+    void release_disposesTheLeaseContextAndOpensTheNextLeaseInAFreshOne() {
+        try (BrowserPool pool = pool(BrowserPool.builder().size(1))) {
+            BrowserLease first = pool.acquire();
+            ChromeDriver firstDriver = first.getDriver();
+            first.close();
+
+            try (BrowserLease second = pool.acquire()) {
+                assertNotSame(firstDriver, second.getDriver());
+                assertEquals(2, second.getBrowserLeaseCount());
+                FakeTransport transport = launched.get(0).transport;
+                assertEquals(List.of("C1"), transport.sent(DISPOSE_CONTEXT).stream()
+                        .map(params -> params.get("browserContextId").getAsString()).toList());
+                assertEquals(2, transport.count(CREATE_CONTEXT));
+            }
+            assertThrows(IllegalStateException.class, first::getDriver);
+            assertEquals(1, launched.size());
+            assertEquals(0, pool.getMetrics().recycleCount());
+            assertEquals(2, pool.getMetrics().leaseCount());
+        }
+    }
+
+    @Test
+    void acquire_timesOutWhileEveryBrowserIsLeased() {
+        try (BrowserPool pool = pool(BrowserPool.builder().size(1).acquireTimeout(50, TimeUnit.MILLISECONDS));
+             BrowserLease lease = pool.acquire()) {
+            assertThrows(TimeoutException.class, pool::acquire);
+            assertEquals(1, pool.getMetrics().leased());
+        }
+    }
+
+    // ── Recycling ─────────────────────────────────────────────────────────────
+
+    @Test
+    void browser_isRecycledAfterMaxLeases() {
+        try (BrowserPool pool = pool(BrowserPool.builder().size(1).maxLeasesPerBrowser(1))) {
+            pool.acquire().close();
+
+            try (BrowserLease lease = pool.acquire()) {
+                assertEquals(1, lease.getBrowserLeaseCount());
+                assertEquals(2, launched.size());
+                assertFalse(launched.get(0).shared.isRunning());
+                assertEquals(1, pool.getMetrics().recycleCount());
+            }
+        }
+    }
+
+    @Test
+    void failedReset_recyclesTheBrowser() {
+        try (BrowserPool pool = pool(BrowserPool.builder().size(1))) {
+            BrowserLease lease = pool.acquire();
+            launched.get(0).failContexts = true;
+            lease.close();
+
+            try (BrowserLease next = pool.acquire()) {
+                assertEquals(2, launched.size());
+                assertEquals(1, launched.get(1).shared.getOpenDriverCount());
+                assertEquals(1, pool.getMetrics().recycleCount());
+            }
+        }
+    }
+
+    @Test
+    void disconnectedIdleBrowser_isReplacedOnAcquire() {
+        try (BrowserPool pool = pool(BrowserPool.builder().size(1))) {
+            launched.get(0).connected = false;
+
+            try (BrowserLease lease = pool.acquire()) {
+                assertEquals(2, launched.size());
+                assertEquals(1, lease.getBrowserLeaseCount());
+                assertEquals(1, pool.getMetrics().recycleCount());
+            }
+        }
+    }
+
+    // ── Closing ───────────────────────────────────────────────────────────────
+
+    @Test
+    void close_quitsLeasedBrowsersAndLateReleaseIsHarmless() {
+        BrowserPool pool = pool(BrowserPool.builder().size(1));
+        BrowserLease lease = pool.acquire();
+
+        pool.close();
+
+        assertFalse(launched.get(0).shared.isRunning());
+        assertEquals(1, launched.get(0).transport.count(DISPOSE_CONTEXT));
+        assertDoesNotThrow(lease::close);
+        assertThrows(IllegalStateException.class, pool::acquire);
+        assertEquals(0, pool.getMetrics().browsers());
+        assertEquals(1, launched.size());
+    }
+
+    // ── Resident memory ───────────────────────────────────────────────────────
+
+    @Test
+    void residentMemory_ofRunningProcess_isPositive() throws Exception {
+        assumeTrue(Files.isDirectory(Paths.get("/proc/self")), "requires /proc");
+        Process process = new ProcessBuilder("sleep", "5").start();
+        try {
+            assertTrue(BrowserPool.residentMemoryBytes(process) > 0);
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    void residentMemory_withoutProcess_isUnknown() {
+        assertEquals(-1, BrowserPool.residentMemoryBytes(null));
+    }
+
+    @Test
+    void builder_rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> BrowserPool.builder().size(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> BrowserPool.builder().maxLeasesPerBrowser(0));
+    }
+}
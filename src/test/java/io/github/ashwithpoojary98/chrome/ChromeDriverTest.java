@@ -0,0 +1,248 @@
+package io.github.ashwithpoojary98.chrome;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.Rectangle;
+import io.github.ashwithpoojary98.WebElement;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import io.github.ashwithpoojary98.exception.InvalidSelectorException;
+import io.github.ashwithpoojary98.wait.WaitConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ChromeDriver}'s element lookup and DOM snapshot upkeep.
+ * No browser required — commands are answered by a {@link FakeTransport}.
+ */
+class ChromeDriverTest {
+
+    private static final String CAPTURE = "DOMSnapshot.captureSnapshot";
+    private static final String BINDING = "Runtime.addBinding";
+
+    /** {@code <ul><li>One</li></ul>}, the item laid out at (8, 36.4) with size 100 x 19.6. */
+    private static final String DOCUMENT = """
+            {"documents":[{"documentURL":7,
+              "nodes":{"parentIndex":[-1,0,1,2,3,4],
+                       "nodeType":[9,1,1,1,1,3],
+                       "nodeName":[0,1,2,3,4,5],
+                       "nodeValue":[-1,-1,-1,-1,-1,6],
+                       "backendNodeId":[1,2,3,4,5,6],
+                       "attributes":[[],[],[],[],[],[]]},
+              "layout":{"nodeIndex":[4],"bounds":[[8,36.4,100,19.6]],"styles":[[]]}}],
+             "strings":["#document","HTML","BODY","UL","LI","#text","One","https://example.test/"]}""";
+
+    /** Verdict of the page-side actionability wait: ready to click. */
+    private static final String CLICKABLE = "{\"result\":{\"type\":\"object\",\"value\":"
+            + "{\"present\":true,\"visible\":true,\"stable\":true,\"unobscured\":true,"
+            + "\"enabled\":true,\"editable\":false}}}";
+    private static final String BOX_MODEL = "{\"model\":{\"content\":[0,0,100,0,100,20,0,20],"
+            + "\"border\":[0,0,100,0,100,20,0,20],\"width\":100,\"height\":20}}";
+
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    private volatile boolean failCapture;
+    private volatile boolean failBinding;
+    private volatile boolean rejectQueries;
+    private FakeTransport transport;
+    private ChromeDriver driver;
+
+    @BeforeEach
+    void setUp() {
+        transport = new FakeTransport(this::reply);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    private String reply(JsonObject command) {
+        String method = FakeTransport.method(command);
+        if (failCapture && method.equals(CAPTURE)) {
+            return FakeTransport.error("DOMSnapshot.captureSnapshot wasn't found");
+        }
+        if (failBinding && method.equals(BINDING)) {
+            return FakeTransport.error("Runtime.addBinding wasn't found");
+        }
+        if (rejectQueries && method.equals("Runtime.evaluate")
+                && FakeTransport.params(command).get("expression").getAsString().contains("__nihoniumLocator?.")) {
+            return FakeTransport.result("{\"result\":{\"type\":\"object\",\"subtype\":\"error\"},"
+                    + "\"exceptionDetails\":{\"text\":\"Uncaught\",\"exception\":{\"description\":"
+                    + "\"SyntaxError: The string '//li[' is not a valid XPath expression.\"}}}");
+        }
+        if (method.equals("Runtime.evaluate")
+                && FakeTransport.params(command).get("expression").getAsString().contains("?.await(")) {
+            return FakeTransport.result(CLICKABLE);
+        }
+        if (method.equals("Runtime.evaluate")
+                && FakeTransport.params(command).get("expression").getAsString().contains("?.count(")) {
+            return FakeTransport.result("{\"result\":{\"type\":\"number\",\"value\":3}}");
+        }
+        return FakeTransport.result(switch (method) {
+            case "Target.createTarget" -> "{\"targetId\":\"T1\"}";
+            case "Target.attachToTarget" -> "{\"sessionId\":\"S" + sessions.incrementAndGet() + "\"}";
+            case "Page.getFrameTree" -> "{\"frameTree\":{\"frame\":{\"id\":\"MAIN\",\"loaderId\":\"L1\"}}}";
+            case "Runtime.evaluate" -> "{\"result\":{\"type\":\"string\",\"value\":\"complete\"}}";
+            case "Page.createIsolatedWorld" -> "{\"executionContextId\":9}";
+            case "DOM.getDocument" -> "{\"root\":{\"nodeId\":1}}";
+            case "DOM.querySelectorAll" -> "{\"nodeIds\":[5,6]}";
+            case "DOM.querySelector" -> "{\"nodeId\":5}";
+            case "DOM.resolveNode" -> "{\"object\":{\"type\":\"object\",\"objectId\":\"O5\"}}";
+            case "DOM.getBoxModel" -> BOX_MODEL;
+            case "Runtime.callFunctionOn" -> "{\"result\":{\"type\":\"string\",\"value\":\"[8,36.4,100,19.6]\"}}";
+            case CAPTURE -> DOCUMENT;
+            default -> "{}";
+        });
+    }
+
+    private ChromeDriver driver() {
+        driver = new ChromeDriver(transport, "C1",
+                WaitConfig.builder().readFromDomSnapshot(true).build());
+        return driver;
+    }
+
+    // ── Element finding ───────────────────────────────────────────────────────
+
+    @Test
+    void findElements_invalidXPath_throwsInvalidSelector() {
+        rejectQueries = true;
+        ChromeDriver driver = driver();
+
+        assertThrows(InvalidSelectorException.class, () -> driver.findElements(By.xpath("//li[")));
+    }
+
+    @Test
+    void childFindElements_invalidXPath_throwsInvalidSelector() {
+        rejectQueries = true;
+        WebElement parent = driver().findElement(By.cssSelector("ul:hover"));
+
+        assertThrows(InvalidSelectorException.class, () -> parent.findElements(By.xpath("./li[")));
+    }
+
+    @Test
+    void childFindElements_chainedAndIndexedLocators_countInThePage() {
+        WebElement parent = driver().findElement(By.cssSelector("ul:hover"));
+
+        assertEquals(3, parent.findElements(By.chained(By.tagName("li"), By.xpath("./span"))).size());
+        assertEquals(3, parent.findElements(By.index(By.xpath("./li"), 0)).size());
+        assertEquals(2, transport.sent("Runtime.evaluate").stream()
+                .filter(params -> params.get("expression").getAsString().contains("?.count("))
+                .count());
+    }
+
+    // ── DOM snapshot fallback ─────────────────────────────────────────────────
+
+    @Test
+    void failedCapture_resolvesLive() {
+        failCapture = true;
+        ChromeDriver driver = driver();
+
+        WebElement element = driver.findElement(By.cssSelector("li"));
+        List<WebElement> elements = driver.findElements(By.cssSelector("li"));
+
+        assertInstanceOf(ChromeElement.class, element);
+        assertEquals(2, elements.size());
+        assertInstanceOf(ChromeElement.class, elements.get(0));
+        assertEquals(2, transport.count(CAPTURE));
+        assertEquals(1, transport.count("DOM.querySelectorAll"));
+    }
+
+    @Test
+    void withoutMutationBinding_snapshotIsNeverCaptured() {
+        failBinding = true;
+        ChromeDriver driver = driver();
+
+        driver.findElement(By.cssSelector("li"));
+        assertEquals(2, driver.findElements(By.cssSelector("li")).size());
+
+        assertEquals(0, transport.count(CAPTURE));
+    }
+
+    // ── DOM snapshot invalidation ─────────────────────────────────────────────
+
+    @Test
+    void navigation_dropsTheSnapshot() {
+        ChromeDriver driver = driver();
+        driver.findElement(By.tagName("li"));
+        driver.findElement(By.tagName("li"));
+        assertEquals(1, transport.count(CAPTURE));
+
+        driver.navigate().refresh();
+        driver.findElement(By.tagName("li"));
+        driver.navigate().back();
+        driver.findElement(By.tagName("li"));
+        driver.navigate().forward();
+        driver.findElement(By.tagName("li"));
+
+        assertEquals(4, transport.count(CAPTURE));
+    }
+
+    @Test
+    void liveElementInteraction_dropsTheSnapshot() {
+        ChromeDriver driver = driver();
+        WebElement live = driver.findElement(By.cssSelector("li:hover"));
+        assertInstanceOf(ChromeElement.class, live);
+        driver.findElement(By.tagName("li"));
+
+        live.submit();
+        driver.findElement(By.tagName("li"));
+
+        assertEquals(2, transport.count(CAPTURE));
+    }
+
+    @Test
+    void switchingBackToAWindow_dropsItsSnapshot() {
+        ChromeDriver driver = driver();
+        String first = driver.getWindowHandle();
+        driver.findElement(By.tagName("li"));
+
+        driver.switchTo().window("T2");
+        driver.findElement(By.tagName("li"));
+        driver.switchTo().window(first);
+        driver.findElement(By.tagName("li"));
+
+        assertEquals(3, transport.count(CAPTURE));
+    }
+
+    @Test
+    void liveChildOfSnapshotElement_dropsTheSnapshotWhenClicked() {
+        ChromeDriver driver = driver();
+        WebElement list = driver.findElement(By.tagName("ul"));
+        assertInstanceOf(SnapshotElement.class, list);
+        WebElement child = list.findElement(By.cssSelector("li:hover"));
+        assertInstanceOf(ChromeElement.class, child);
+
+        child.click();
+        driver.findElement(By.tagName("li"));
+
+        assertEquals(2, transport.count(CAPTURE));
+    }
+
+    // ── Geometry ──────────────────────────────────────────────────────────────
+
+    @Test
+    void snapshotAndLiveElementsReportTheSameGeometry() {
+        ChromeDriver driver = driver();
+        WebElement local = driver.findElement(By.tagName("li"));
+        WebElement live = driver.findElement(By.cssSelector("li:hover"));
+        assertInstanceOf(SnapshotElement.class, local);
+        assertInstanceOf(ChromeElement.class, live);
+
+        Rectangle expected = local.getRect();
+        Rectangle actual = live.getRect();
+
+        assertEquals(List.of(8, 36, 20, 100), List.of(expected.x, expected.y, expected.height, expected.width));
+        assertEquals(List.of(expected.x, expected.y, expected.height, expected.width),
+                List.of(actual.x, actual.y, actual.height, actual.width));
+        assertEquals(local.getLocation().getX(), live.getLocation().getX());
+        assertEquals(local.getSize().getHeight(), live.getSize().getHeight());
+    }
+}
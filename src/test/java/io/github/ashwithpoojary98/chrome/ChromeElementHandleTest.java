@@ -0,0 +1,167 @@
+package io.github.ashwithpoojary98.chrome;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import io.github.ashwithpoojary98.cdp.domain.CSSDomain;
+import io.github.ashwithpoojary98.cdp.domain.DOMDomain;
+import io.github.ashwithpoojary98.cdp.domain.InputDomain;
+import io.github.ashwithpoojary98.cdp.domain.PageDomain;
+import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
+import io.github.ashwithpoojary98.wait.WaitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the node binding of {@link ChromeElement} in handle mode.
+ * No browser required — commands are answered by a {@link FakeTransport}.
+ */
+class ChromeElementHandleTest {
+
+    private static final int LOCATED_NODE = 5;
+    private static final int PUSHED_NODE  = 9;
+
+    /** Nodes {@code DOM.getAttributes} was called on. */
+    private final List<Integer> attributeNodes = new ArrayList<>();
+    /** Value the fake node's {@code isConnected} reports. */
+    private boolean connected = true;
+    /** Number of upcoming {@code DOM.getAttributes} calls to fail. */
+    private int attributeFailures;
+    /** Number of upcoming {@code DOM.querySelector} calls to fail as if the root were stale. */
+    private int querySelectorFailures;
+    /** Error the failing {@code DOM.getAttributes} calls report. */
+    private String attributeError = "Could not find node with given id";
+    private FakeTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        transport = new FakeTransport(this::reply);
+    }
+
+    /** Answers from a small fake DOM holding one input. */
+    private String reply(JsonObject command) {
+        String method = FakeTransport.method(command);
+        if (method.equals("DOM.getAttributes")) {
+            attributeNodes.add(FakeTransport.params(command).get("nodeId").getAsInt());
+            if (attributeFailures > 0) {
+                attributeFailures--;
+                return FakeTransport.error(attributeError);
+            }
+        }
+        if (method.equals("DOM.querySelector") && querySelectorFailures > 0) {
+            querySelectorFailures--;
+            return FakeTransport.error("Could not find node with given id");
+        }
+        return FakeTransport.result(switch (method) {
+            case "DOM.getDocument" -> "{\"root\":{\"nodeId\":1}}";
+            case "DOM.querySelector" -> "{\"nodeId\":" + LOCATED_NODE + "}";
+            case "DOM.describeNode" -> "{\"node\":{\"nodeName\":\"INPUT\",\"backendNodeId\":50}}";
+            case "DOM.getAttributes" -> "{\"attributes\":[\"name\",\"q\"]}";
+            case "DOM.resolveNode" -> "{\"object\":{\"type\":\"object\",\"objectId\":\"obj\"}}";
+            case "Runtime.callFunctionOn" -> "{\"result\":{\"type\":\"boolean\",\"value\":" + connected + "}}";
+            case "DOM.pushNodesByBackendIdsToFrontend" -> "{\"nodeIds\":[" + PUSHED_NODE + "]}";
+            default -> "{}";
+        });
+    }
+
+    private ChromeElement element(boolean cacheHandles) {
+        RuntimeDomain runtimeDomain = new RuntimeDomain(transport);
+        return new ChromeElement(By.cssSelector("input[name=q]"), new DOMDomain(transport),
+                runtimeDomain, new InputDomain(transport), new CSSDomain(transport),
+                WaitConfig.builder().cacheElementHandles(cacheHandles).build(), null,
+                new LocatorEngine(transport, new PageDomain(transport), runtimeDomain, "MAIN"));
+    }
+
+    @Test
+    void boundElementReusesItsNodeWithOneCommandPerCall() {
+        ChromeElement element = element(true);
+        assertEquals("q", element.getAttribute("name"));
+        transport.clear();
+
+        assertEquals("q", element.getAttribute("name"));
+        assertEquals("q", element.getAttribute("name"));
+
+        assertEquals(List.of("DOM.getAttributes", "DOM.getAttributes"), transport.methods());
+    }
+
+    @Test
+    void withoutHandleModeTheLocatorRunsEveryTime() {
+        ChromeElement element = element(false);
+        element.getAttribute("name");
+        element.getAttribute("name");
+
+        assertEquals(2, transport.count("DOM.querySelector"));
+        assertEquals(0, transport.count("DOM.describeNode"));
+    }
+
+    @Test
+    void nodeRemovalRevalidatesWithIsConnected() {
+        ChromeElement element = element(true);
+        element.getAttribute("name");
+        transport.clear();
+
+        transport.event("DOM.childNodeRemoved", "{\"parentNodeId\":3,\"nodeId\":4}");
+        element.getAttribute("name");
+        assertEquals(1, transport.count("Runtime.callFunctionOn"));
+        assertEquals(0, transport.count("DOM.querySelector"));
+
+        // A detached node falls back to the locator
+        connected = false;
+        transport.event("DOM.childNodeRemoved", "{\"parentNodeId\":3,\"nodeId\":5}");
+        element.getAttribute("name");
+        assertEquals(1, transport.count("DOM.querySelector"));
+    }
+
+    @Test
+    void documentResetRebindsThroughBackendNodeId() {
+        ChromeElement element = element(true);
+        element.getAttribute("name");
+
+        transport.event("DOM.documentUpdated", "{}");
+        element.getAttribute("name");
+
+        assertEquals(1, transport.count("DOM.pushNodesByBackendIdsToFrontend"));
+        assertEquals(1, transport.count("DOM.querySelector"));
+        assertEquals(PUSHED_NODE, attributeNodes.get(attributeNodes.size() - 1));
+    }
+
+    @Test
+    void failureOnCachedNodeIsRetriedThroughTheLocator() {
+        ChromeElement element = element(true);
+        element.getAttribute("name");
+
+        attributeFailures = 1;
+        assertEquals("q", element.getAttribute("name"));
+
+        assertEquals(2, transport.count("DOM.querySelector"));
+    }
+
+    @Test
+    void otherFailureOnCachedNodeIsNotRetried() {
+        ChromeElement element = element(true);
+        element.getAttribute("name");
+
+        attributeFailures = 1;
+        attributeError = "Internal error";
+        assertThrows(RuntimeException.class, () -> element.getAttribute("name"));
+
+        assertEquals(1, transport.count("DOM.querySelector"));
+        assertEquals(2, attributeNodes.size());
+    }
+
+    @Test
+    void staleDocumentRootIsFetchedAgain() {
+        ChromeElement element = element(false);
+        element.getAttribute("name");
+
+        querySelectorFailures = 1;
+        assertEquals("q", element.getAttribute("name"));
+
+        assertEquals(2, transport.count("DOM.getDocument"));
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.ashwithpoojary98.chrome;
+
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.WebElement;
+import io.github.ashwithpoojary98.cdp.CommandBatch;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import io.github.ashwithpoojary98.cdp.domain.DOMSnapshotDomain;
+import io.github.ashwithpoojary98.cdp.domain.PageDomain;
+import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DomSnapshotBackend}'s capture reuse, mutation invalidation and live
+ * fallback. No browser required — commands are answered by a {@link FakeTransport}.
+ */
+class DomSnapshotBackendTest {
+
+    private static final String MAIN_FRAME = "MAIN";
+
+    /** {@code <ul><li class="item">One</li><li class="item">Two</li></ul>}, both items laid out. */
+    private static final String CAPTURE = """
+            {"documents":[{"documentURL":13,
+              "nodes":{"parentIndex":[-1,0,1,2,3,4,3,6],
+                       "nodeType":[9,1,1,1,1,3,1,3],
+                       "nodeName":[0,1,2,3,4,5,4,5],
+                       "nodeValue":[-1,-1,-1,-1,-1,6,-1,7],
+                       "backendNodeId":[1,2,3,4,5,6,7,8],
+                       "attributes":[[],[],[],[],[8,9],[],[8,9],[]]},
+              "layout":{"nodeIndex":[4,6],
+                        "bounds":[[0,0,100,20],[0,20,100,20]],
+                        "styles":[[10,11,12,12,12,12,12],[10,11,12,12,12,12,12]]}}],
+             "strings":["#document","HTML","BODY","UL","LI","#text","One","Two","class","item",
+                        "list-item","visible","1","https://example.test/"]}""";
+
+    private FakeTransport transport;
+    private DomSnapshotBackend backend;
+    private final List<String> liveCalls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transport = FakeTransport.answering(command -> switch (FakeTransport.method(command)) {
+            case "DOMSnapshot.captureSnapshot" -> CAPTURE;
+            case "Runtime.evaluate" -> "{\"result\":{\"type\":\"boolean\",\"value\":true}}";
+            default -> "{}";
+        });
+        LocatorEngine engine = new LocatorEngine(
+                transport, new PageDomain(transport), new RuntimeDomain(transport), MAIN_FRAME);
+        CommandBatch batch = transport.batch();
+        engine.install(batch);
+        batch.sendAll();
+        transport.event("Runtime.executionContextCreated", "{\"context\":{\"id\":9,\"name\":\""
+                + LocatorEngine.WORLD_NAME + "\",\"auxData\":{\"frameId\":\"" + MAIN_FRAME
+                + "\",\"isDefault\":false}}}");
+        backend = new DomSnapshotBackend(new DOMSnapshotDomain(transport), engine, this::liveElement);
+    }
+
+    /** Live element stub recording "locator method" for every call. */
+    private WebElement liveElement(By locator) {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {WebElement.class},
+                (proxy, method, args) -> {
+                    liveCalls.add(locator + " " + method.getName());
+                    return method.getReturnType() == String.class ? "live" : null;
+                });
+    }
+
+    @Test
+    void oneCaptureAnswersRepeatedLookupsAndReads() {
+        List<WebElement> items = backend.findElements(By.className("item"));
+        int commands = transport.commands().size();
+
+        assertEquals(2, items.size());
+        assertEquals("Two", items.get(1).getText());
+        assertEquals("item", items.get(0).getAttribute("class"));
+        assertEquals(20, items.get(1).getRect().y);
+        assertEquals("One", backend.findElement(By.xpath("//li[1]")).getText());
+
+        assertEquals(1, backend.getCaptureCount());
+        assertEquals(commands, transport.commands().size());
+        assertTrue(liveCalls.isEmpty());
+    }
+
+    @Test
+    void mutationSendsReadsLiveAndRecaptures() {
+        WebElement first = backend.findElement(By.tagName("li"));
+        transport.event("Runtime.bindingCalled",
+                "{\"name\":\"__nihoniumDomMutated\",\"payload\":\"\",\"executionContextId\":9}");
+
+        assertEquals("live", first.getText());
+        assertEquals(1, liveCalls.size());
+        assertNotNull(backend.findElement(By.tagName("li")));
+        assertEquals(2, backend.getCaptureCount());
+        assertEquals(2, transport.count("Runtime.evaluate"));
+    }
+
+    @Test
+    void interactionsGoLiveAndDropTheSnapshot() {
+        List<WebElement> items = backend.findElements(By.cssSelector("ul > li"));
+
+        items.get(1).click();
+
+        assertEquals(List.of(By.index(By.cssSelector("ul > li"), 1) + " click"), liveCalls);
+        assertEquals("live", items.get(0).getTagName());
+        backend.findElements(By.cssSelector("ul > li"));
+        assertEquals(2, backend.getCaptureCount());
+    }
+
+    @Test
+    void unsupportedLocatorsAndMissesAreLeftToLiveResolution() {
+        assertNull(backend.findElements(By.cssSelector("li:hover")));
+        assertNull(backend.findElement(By.id("missing")));
+        assertEquals(List.of(), backend.findElements(By.id("missing")));
+        assertEquals(1, backend.getCaptureCount());
+    }
+}
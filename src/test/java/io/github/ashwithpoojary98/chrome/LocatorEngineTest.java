@@ -0,0 +1,195 @@
+package io.github.ashwithpoojary98.chrome;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.ElementSnapshot;
+import io.github.ashwithpoojary98.Rectangle;
+import io.github.ashwithpoojary98.cdp.CommandBatch;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import io.github.ashwithpoojary98.cdp.domain.PageDomain;
+import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
+import io.github.ashwithpoojary98.exception.CDPException;
+import io.github.ashwithpoojary98.exception.ElementNotFoundException;
+import io.github.ashwithpoojary98.exception.InvalidSelectorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LocatorEngine}'s context tracking and query round trips.
+ * No browser required — commands are answered by a {@link FakeTransport}.
+ */
+class LocatorEngineTest {
+
+    private static final String MAIN_FRAME = "MAIN";
+    private static final String NODE       = "{\"result\":{\"type\":\"object\",\"subtype\":\"node\",\"objectId\":\"el\"}}";
+    private static final String MISSING    = "{\"result\":{\"type\":\"undefined\"}}";
+
+    /** Results of upcoming {@code Runtime.evaluate} queries, in order. */
+    private final Deque<String> evaluations = new ArrayDeque<>();
+    private FakeTransport transport;
+    private LocatorEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        transport = FakeTransport.answering(command -> switch (FakeTransport.method(command)) {
+            case "Page.createIsolatedWorld" -> "{\"executionContextId\":42}";
+            case "DOM.requestNode" -> "{\"nodeId\":7}";
+            case "Runtime.evaluate" -> isInstall(command) ? MISSING : evaluations.removeFirst();
+            default -> "{}";
+        });
+        engine = new LocatorEngine(transport, new PageDomain(transport), new RuntimeDomain(transport), MAIN_FRAME);
+        CommandBatch batch = transport.batch();
+        engine.install(batch);
+        batch.sendAll();
+    }
+
+    private static boolean isInstall(JsonObject command) {
+        return FakeTransport.params(command).get("expression").getAsString().startsWith("(() =>");
+    }
+
+    private void contextCreated(int id, String frameId) {
+        transport.event("Runtime.executionContextCreated", "{\"context\":{\"id\":" + id + ",\"name\":\""
+                + LocatorEngine.WORLD_NAME + "\",\"auxData\":{\"frameId\":\"" + frameId
+                + "\",\"isDefault\":false}}}");
+    }
+
+    /** Result of a {@code Runtime.evaluate} whose expression threw {@code description}. */
+    private static String thrown(String description) {
+        return "{\"result\":{\"type\":\"object\",\"subtype\":\"error\"},\"exceptionDetails\":"
+                + "{\"text\":\"Uncaught\",\"exception\":{\"description\":\"" + description + "\"}}}";
+    }
+
+    @Test
+    void scriptIsRegisteredInAnIsolatedWorld() {
+        JsonObject registered = transport.sent("Page.addScriptToEvaluateOnNewDocument").get(0);
+        assertEquals(LocatorEngine.WORLD_NAME, registered.get("worldName").getAsString());
+        assertTrue(registered.get("source").getAsString().contains("__nihoniumLocator"));
+    }
+
+    @Test
+    void queryRunsInTheWorldOfTheMainFrame() {
+        contextCreated(5, "CHILD");
+        contextCreated(9, MAIN_FRAME);
+        evaluations.add(NODE);
+
+        assertEquals(7, engine.queryNodeId(By.index(By.xpath("//li"), 3)));
+
+        JsonObject evaluate = transport.sent("Runtime.evaluate").get(0);
+        assertEquals(9, evaluate.get("contextId").getAsInt());
+        assertTrue(evaluate.get("expression").getAsString().contains("\"xpath\":\"//li\""));
+        assertTrue(evaluate.has("objectGroup"));
+        assertEquals("el", transport.sent("DOM.requestNode").get(0).get("objectId").getAsString());
+        assertEquals(1, transport.sent("Runtime.releaseObjectGroup").size());
+        assertTrue(transport.sent("Page.createIsolatedWorld").isEmpty());
+    }
+
+    @Test
+    void documentWithoutTheWorldGetsItOnFirstUse() {
+        evaluations.add("{\"result\":{\"type\":\"number\",\"value\":4}}");
+
+        assertEquals(4, engine.count(By.linkText("Next")));
+
+        assertEquals(MAIN_FRAME, transport.sent("Page.createIsolatedWorld").get(0).get("frameId").getAsString());
+        assertEquals(1, engine.getInstallCount());
+        assertEquals(42, transport.sent("Runtime.evaluate").get(1).get("contextId").getAsInt());
+    }
+
+    @Test
+    void destroyedContextIsNotReused() {
+        contextCreated(9, MAIN_FRAME);
+        transport.event("Runtime.executionContextDestroyed", "{\"executionContextId\":9}");
+        evaluations.add("{\"result\":{\"type\":\"number\",\"value\":0}}");
+
+        engine.count(By.xpath("//li"));
+
+        assertEquals(1, transport.sent("Page.createIsolatedWorld").size());
+    }
+
+    @Test
+    void missingRuntimeIsInstalledAndTheQueryRetried() {
+        contextCreated(9, MAIN_FRAME);
+        evaluations.add(MISSING);
+        evaluations.add("{\"result\":{\"type\":\"number\",\"value\":2}}");
+
+        assertEquals(2, engine.count(By.xpath("//li")));
+        assertEquals(1, engine.getInstallCount());
+    }
+
+    @Test
+    void noMatchIsElementNotFound() {
+        contextCreated(9, MAIN_FRAME);
+        evaluations.add("{\"result\":{\"type\":\"object\",\"subtype\":\"null\",\"value\":null}}");
+
+        assertThrows(ElementNotFoundException.class, () -> engine.queryNodeId(By.xpath("//missing")));
+        assertTrue(transport.sent("DOM.requestNode").isEmpty());
+    }
+
+    @Test
+    void malformedXPathIsInvalidSelectorAndNotRetried() {
+        contextCreated(9, MAIN_FRAME);
+        evaluations.add(thrown("SyntaxError: Failed to execute 'createExpression' on 'Document': "
+                + "The string '//li[' is not a valid XPath expression."));
+
+        assertThrows(InvalidSelectorException.class, () -> engine.queryNodeId(By.xpath("//li[")));
+        assertEquals(1, transport.count("Runtime.evaluate"));
+        assertEquals(0, transport.count("Page.createIsolatedWorld"));
+    }
+
+    @Test
+    void pageSideErrorIsCDPExceptionNotElementNotFound() {
+        contextCreated(9, MAIN_FRAME);
+        evaluations.add(thrown("TypeError: Cannot read properties of null (reading 'querySelectorAll')"));
+
+        CDPException error = assertThrows(CDPException.class, () -> engine.count(By.xpath("//li")));
+        assertTrue(error.getMessage().contains("TypeError"));
+        assertEquals(1, transport.count("Runtime.evaluate"));
+    }
+
+    @Test
+    void snapshotReadsAllColumnsInOneEvaluate() {
+        contextCreated(9, MAIN_FRAME);
+        evaluations.add("{\"result\":{\"type\":\"object\",\"value\":{\"size\":2,"
+                + "\"text\":[\"Alice\",\"Bob\"],\"rect\":[10,20,100,30,10,50,100,30],"
+                + "\"visible\":[true,false],\"attributes\":{\"data-id\":[\"1\",null]}}}}");
+        ElementSnapshot.Field dataId = ElementSnapshot.Field.attribute("data-id");
+
+        ElementSnapshot snapshot = engine.snapshot(By.cssSelector("tr"), Set.of(
+                ElementSnapshot.Field.TEXT, ElementSnapshot.Field.RECT, ElementSnapshot.Field.VISIBLE, dataId));
+
+        assertEquals(1, transport.sent("Runtime.evaluate").size());
+        String expression = transport.sent("Runtime.evaluate").get(0).get("expression").getAsString();
+        assertTrue(expression.contains("\"attributes\":[\"data-id\"]"));
+        assertFalse(expression.contains("\"tag\""));
+
+        assertEquals(2, snapshot.size());
+        assertEquals(List.of("Alice", "Bob"), snapshot.stream().map(ElementSnapshot.Row::getText).toList());
+        Rectangle rect = snapshot.getRect(1);
+        assertEquals(50, rect.y);
+        assertEquals(100, rect.width);
+        assertEquals(30, rect.height);
+        assertFalse(snapshot.get(1).isVisible());
+        assertEquals("1", snapshot.getAttribute(0, "data-id"));
+        assertNull(snapshot.get(1).getAttribute("data-id"));
+        assertThrows(IllegalStateException.class, () -> snapshot.getTag(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(2));
+    }
+
+    @Test
+    void emptySnapshotHasNoRows() {
+        contextCreated(9, MAIN_FRAME);
+        evaluations.add("{\"result\":{\"type\":\"object\",\"value\":{\"size\":0,"
+                + "\"tag\":[],\"attributes\":{}}}}");
+
+        ElementSnapshot snapshot = engine.snapshot(By.xpath("//tr"), Set.of(ElementSnapshot.Field.TAG));
+
+        assertTrue(snapshot.isEmpty());
+        assertFalse(snapshot.iterator().hasNext());
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.ashwithpoojary98.network;
+
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import io.github.ashwithpoojary98.cdp.domain.NetworkDomain;
+import io.github.ashwithpoojary98.cdp.domain.PageDomain;
+import io.github.ashwithpoojary98.wait.WaitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NetworkMonitor}'s request table and idle waiters.
+ * No browser required — {@code Network} events are injected through a {@link FakeTransport}.
+ */
+class NetworkMonitorTest {
+
+    private static final long   QUIET_MILLIS = 50;
+    private static final String LOADER       = "L1";
+
+    private FakeTransport transport;
+    private NetworkMonitor monitor;
+    /** CDP monotonic clock (seconds) stamped on injected events. */
+    private double now = 1_000.0;
+
+    @BeforeEach
+    void setUp() {
+        transport = FakeTransport.answering(command -> "{}");
+        monitor = monitor(WaitConfig.defaultConfig());
+    }
+
+    private NetworkMonitor monitor(WaitConfig config) {
+        NetworkMonitor monitor = new NetworkMonitor(new NetworkDomain(transport), new PageDomain(transport), config);
+        monitor.enable();
+        return monitor;
+    }
+
+    private void request(String requestId) {
+        request(requestId, "https://app.test/" + requestId, "XHR", LOADER);
+    }
+
+    private void request(String requestId, String url, String type, String loaderId) {
+        transport.event("Network.requestWillBeSent", "{\"requestId\":\"" + requestId + "\",\"loaderId\":\""
+                + loaderId + "\",\"type\":\"" + type + "\",\"timestamp\":" + now
+                + ",\"request\":{\"url\":\"" + url + "\"}}");
+    }
+
+    private void finish(String requestId) {
+        transport.event("Network.loadingFinished", "{\"requestId\":\"" + requestId + "\",\"timestamp\":" + now + "}");
+    }
+
+    private void failed(String requestId) {
+        transport.event("Network.loadingFailed", "{\"requestId\":\"" + requestId + "\",\"timestamp\":" + now + "}");
+    }
+
+    @Test
+    void whenIdleCompletesAfterQuietWindow() throws Exception {
+        monitor.whenIdle(0, QUIET_MILLIS).get(5, TimeUnit.SECONDS);
+
+        assertTrue(monitor.isNetworkIdle(0, QUIET_MILLIS));
+        assertEquals(0, monitor.getIdleWaiterCount());
+    }
+
+    @Test
+    void whenIdleWaitsForInFlightRequest() throws Exception {
+        request("r1");
+        CompletableFuture<Void> idle = monitor.whenIdle(0, QUIET_MILLIS);
+
+        Thread.sleep(QUIET_MILLIS * 4);
+        assertFalse(idle.isDone(), "must not complete while a request is in flight");
+
+        finish("r1");
+        idle.get(5, TimeUnit.SECONDS);
+        assertEquals(0, monitor.getActiveRequestCount());
+    }
+
+    @Test
+    void whenIdleToleratesMaxConnections() throws Exception {
+        request("r1");
+        request("r2");
+        CompletableFuture<Void> idle = monitor.whenIdle(1, QUIET_MILLIS);
+
+        failed("r2");
+        idle.get(5, TimeUnit.SECONDS);
+        assertEquals(1, monitor.getActiveRequestCount());
+    }
+
+    @Test
+    void whenIdleCompletesImmediatelyWhenDisabled() {
+        NetworkMonitor disabled = new NetworkMonitor(new NetworkDomain(transport));
+
+        assertTrue(disabled.whenIdle(0, 60_000).isDone());
+    }
+
+    @Test
+    void disableAndCancelReleaseWaiters() {
+        request("r1");
+        CompletableFuture<Void> cancelled = monitor.whenIdle(0, QUIET_MILLIS);
+        CompletableFuture<Void> pending = monitor.whenIdle(0, QUIET_MILLIS);
+        assertEquals(2, monitor.getIdleWaiterCount());
+
+        cancelled.cancel(false);
+        assertEquals(1, monitor.getIdleWaiterCount());
+
+        monitor.disable();
+        assertTrue(pending.isDone());
+        assertEquals(0, monitor.getIdleWaiterCount());
+    }
+
+    @Test
+    void longLivedAndExcludedRequestsAreNotTracked() {
+        NetworkMonitor excluding = monitor(WaitConfig.builder()
+                .networkIdleExcludedUrls("/poll\\b")
+                .build());
+
+        request("es", "https://app.test/events", "EventSource", LOADER);
+        request("lp", "https://app.test/poll?since=1", "XHR", LOADER);
+        request("r1");
+
+        assertEquals(1, excluding.getActiveRequestCount());
+    }
+
+    @Test
+    void expiredRequestStopsBlockingIdle() throws Exception {
+        NetworkMonitor ttl = monitor(WaitConfig.builder().networkRequestTtl(100).build());
+        request("hanging");
+
+        ttl.whenIdle(0, QUIET_MILLIS).get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, ttl.getActiveRequestCount());
+        assertEquals(1, ttl.getEvictedRequestCount());
+    }
+
+    @Test
+    void mainFrameNavigationDropsPreviousDocumentRequests() {
+        request("old", "https://app.test/old", "XHR", LOADER);
+        request("doc", "https://app.test/next", "Document", "L2");
+
+        transport.event("Page.frameNavigated",
+                "{\"frame\":{\"id\":\"MAIN\",\"loaderId\":\"L2\",\"url\":\"https://app.test/next\"}}");
+        assertEquals(1, monitor.getActiveRequestCount());
+
+        // Child frames do not reset the page
+        transport.event("Page.frameNavigated",
+                "{\"frame\":{\"id\":\"CHILD\",\"parentId\":\"MAIN\",\"loaderId\":\"L3\"}}");
+        assertEquals(1, monitor.getActiveRequestCount());
+    }
+
+    @Test
+    void tableIsBoundedToMaxTrackedRequests() {
+        for (int i = 0; i <= NetworkMonitor.MAX_TRACKED_REQUESTS; i++) {
+            request("r" + i);
+        }
+
+        assertEquals(NetworkMonitor.MAX_TRACKED_REQUESTS, monitor.getActiveRequestCount());
+        assertEquals(1, monitor.getEvictedRequestCount());
+    }
+
+    @Test
+    void finishedRequestsAreTimedByPhase() {
+        request("r1");
+        // Sent 20 ms after issue, headers 30 ms after sending, body 50 ms after the headers
+        now += 0.05;
+        transport.event("Network.responseReceived", "{\"requestId\":\"r1\",\"timestamp\":" + now
+                + ",\"response\":{\"url\":\"https://app.test/r1\",\"timing\":{\"requestTime\":1000.0,"
+                + "\"sendStart\":20.0,\"receiveHeadersEnd\":50.0}}}");
+        now += 0.05;
+        finish("r1");
+
+        RequestTimings timings = monitor.getRequestTimings();
+        assertEquals(1, timings.size());
+        assertEquals(20.0, timings.values(RequestTimings.Phase.QUEUED)[0], 0.001);
+        assertEquals(30.0, timings.values(RequestTimings.Phase.TTFB)[0], 0.001);
+        assertEquals(50.0, timings.values(RequestTimings.Phase.DOWNLOAD)[0], 0.001);
+    }
+}
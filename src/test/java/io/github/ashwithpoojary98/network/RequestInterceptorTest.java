@@ -0,0 +1,160 @@
+package io.github.ashwithpoojary98.network;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import io.github.ashwithpoojary98.cdp.domain.FetchDomain;
+import io.github.ashwithpoojary98.cdp.domain.NetworkDomain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RequestInterceptor} and its {@link CompiledRuleSet}.
+ * No browser required — commands are answered with empty results and events are injected.
+ */
+class RequestInterceptorTest {
+
+    private static final String BODY = "body { color: red }";
+
+    private FakeTransport transport;
+    private RequestInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        transport = FakeTransport.answering(command -> FakeTransport.method(command).equals("Fetch.getResponseBody")
+                ? "{\"body\":\"" + Base64.getEncoder().encodeToString(BODY.getBytes()) + "\",\"base64Encoded\":true}"
+                : "{}");
+        NetworkDomain network = new NetworkDomain(transport);
+        interceptor = new RequestInterceptor(new FetchDomain(transport), network);
+    }
+
+    private void paused(String requestId, String url, String resourceType) {
+        transport.event("Fetch.requestPaused", "{\"requestId\":\"" + requestId + "\",\"request\":{\"url\":\""
+                + url + "\"},\"resourceType\":\"" + resourceType + "\"}");
+    }
+
+    @Test
+    void compiledRuleSetPicksFirstMatchingRule() {
+        InterceptRule allowCdn = InterceptRule.allow(RequestMatcher.glob("https://cdn.test/*"));
+        InterceptRule blockImages = InterceptRule.block(RequestMatcher.resourceTypes(ResourceType.IMAGE));
+        InterceptRule blockJson = InterceptRule.block(RequestMatcher.regex("\\.json(\\?|$)"));
+        CompiledRuleSet rules = new CompiledRuleSet(List.of(allowCdn, blockImages, blockJson));
+
+        assertSame(allowCdn, rules.match("https://cdn.test/logo.png", ResourceType.IMAGE));
+        assertSame(blockImages, rules.match("https://app.test/logo.png", ResourceType.IMAGE));
+        assertSame(blockJson, rules.match("https://app.test/data.json?v=2", ResourceType.FETCH));
+        assertNull(rules.match("https://app.test/app.js", ResourceType.SCRIPT));
+        // Globs match the whole URL
+        assertNull(rules.match("http://proxy.test/?u=https://cdn.test/x", ResourceType.SCRIPT));
+    }
+
+    @Test
+    void leadingUrlBlocksGoToTheBrowserAndTheRestToFetch() {
+        interceptor.block(RequestMatcher.glob("*://*.analytics.test/*"))
+                .block(RequestMatcher.resourceTypes(ResourceType.FONT, ResourceType.MEDIA))
+                .allow(RequestMatcher.glob("https://cdn.test/*"))
+                .block(RequestMatcher.glob("*.png"))
+                .enable();
+
+        JsonObject blocked = transport.last("Network.setBlockedURLs");
+        assertEquals(1, blocked.getAsJsonArray("urls").size());
+        assertEquals("*://*.analytics.test/*", blocked.getAsJsonArray("urls").get(0).getAsString());
+
+        // The png block follows an allow rule, so the browser must not apply it on its own
+        JsonObject fetch = transport.last("Fetch.enable");
+        assertEquals(4, fetch.getAsJsonArray("patterns").size());
+        assertEquals("Media", fetch.getAsJsonArray("patterns").get(0).getAsJsonObject()
+                .get("resourceType").getAsString());
+    }
+
+    @Test
+    void pausedRequestsAreBlockedFulfilledOrContinued() {
+        interceptor.block(RequestMatcher.resourceTypes(ResourceType.IMAGE))
+                .fulfill(RequestMatcher.regex("/flags$"), FulfillResponse.of(200, "application/json", "{}"))
+                .enable();
+
+        paused("p1", "https://app.test/a.png", "Image");
+        assertEquals(FetchDomain.ERROR_BLOCKED_BY_CLIENT,
+                transport.last("Fetch.failRequest").get("errorReason").getAsString());
+
+        paused("p2", "https://app.test/api/flags", "Fetch");
+        JsonObject fulfilled = transport.last("Fetch.fulfillRequest");
+        assertEquals(200, fulfilled.get("responseCode").getAsInt());
+        assertEquals("{}", new String(Base64.getDecoder().decode(fulfilled.get("body").getAsString())));
+
+        paused("p3", "https://app.test/app.js", "Script");
+        assertEquals("p3", transport.last("Fetch.continueRequest").get("requestId").getAsString());
+
+        InterceptionStats stats = interceptor.getStats();
+        assertEquals(1, stats.getBlockedCount(ResourceType.IMAGE));
+        assertEquals(1, stats.getFulfilledCount());
+        assertEquals(2, stats.getFulfilledBytes());
+        assertEquals(1, stats.getContinuedCount());
+    }
+
+    @Test
+    void savingsAreEstimatedFromLoadsOfTheSameType() {
+        interceptor.block(RequestMatcher.glob("*/ads/*")).enable();
+
+        transport.event("Network.requestWillBeSent",
+                "{\"requestId\":\"r1\",\"type\":\"Image\",\"timestamp\":10.0,\"request\":{\"url\":\"https://app.test/a.png\"}}");
+        transport.event("Network.loadingFinished",
+                "{\"requestId\":\"r1\",\"timestamp\":10.2,\"encodedDataLength\":4000}");
+        transport.event("Network.requestWillBeSent",
+                "{\"requestId\":\"r2\",\"type\":\"Image\",\"timestamp\":11.0,\"request\":{\"url\":\"https://app.test/ads/b.png\"}}");
+        transport.event("Network.loadingFailed",
+                "{\"requestId\":\"r2\",\"timestamp\":11.0,\"blockedReason\":\"inspector\"}");
+
+        InterceptionStats stats = interceptor.getStats();
+        assertEquals(1, stats.getBlockedCount());
+        assertEquals(4000, stats.getEstimatedBytesSaved());
+        assertEquals(200.0, stats.getEstimatedMillisSaved(), 0.5);
+    }
+
+    @Test
+    void disableClearsBrowserBlocksAndFetch() {
+        interceptor.block(RequestMatcher.resourceTypes(ResourceType.IMAGE)).enable();
+        interceptor.disable();
+
+        assertEquals(0, transport.last("Network.setBlockedURLs").getAsJsonArray("urls").size());
+        assertNotNull(transport.last("Fetch.disable"));
+        assertFalse(interceptor.isEnabled());
+    }
+
+    @Test
+    void recordedResponsesAreReplayedWithoutTheNetwork(@TempDir Path dir) {
+        ResponseCache cache = ResponseCache.open(dir, Runnable::run);
+        interceptor.useResponseCache(cache, CacheMode.RECORD).enable();
+        assertEquals("Response", transport.last("Fetch.enable").getAsJsonArray("patterns").get(0)
+                .getAsJsonObject().get("requestStage").getAsString());
+
+        transport.event("Fetch.requestPaused", "{\"requestId\":\"p1\",\"resourceType\":\"Stylesheet\","
+                + "\"request\":{\"method\":\"GET\",\"url\":\"https://app.test/site.css\"},"
+                + "\"responseStatusCode\":200,\"responseHeaders\":[{\"name\":\"Content-Type\",\"value\":\"text/css\"},"
+                + "{\"name\":\"Content-Encoding\",\"value\":\"gzip\"}]}");
+        assertEquals("p1", transport.last("Fetch.continueRequest").get("requestId").getAsString());
+        assertEquals(1, cache.getRecordedCount());
+
+        interceptor.useResponseCache(cache, CacheMode.REPLAY);
+        transport.event("Fetch.requestPaused", "{\"requestId\":\"p3\",\"resourceType\":\"Stylesheet\","
+                + "\"request\":{\"method\":\"GET\",\"url\":\"https://app.test/site.css\"}}");
+
+        JsonObject fulfilled = transport.last("Fetch.fulfillRequest");
+        assertEquals("p3", fulfilled.get("requestId").getAsString());
+        assertEquals(BODY, new String(Base64.getDecoder().decode(fulfilled.get("body").getAsString())));
+        assertEquals(1, fulfilled.getAsJsonArray("responseHeaders").size(), "transfer headers are not replayed");
+
+        transport.event("Fetch.requestPaused", "{\"requestId\":\"p4\",\"resourceType\":\"Script\","
+                + "\"request\":{\"method\":\"GET\",\"url\":\"https://app.test/uncached.js\"}}");
+        assertEquals(FetchDomain.ERROR_INTERNET_DISCONNECTED,
+                transport.last("Fetch.failRequest").get("errorReason").getAsString());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.ashwithpoojary98.network;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ResponseCache}. Writes run on the calling thread.
+ */
+class ResponseCacheTest {
+
+    private static final List<ResponseCache.Header> HEADERS = List.of(
+            new ResponseCache.Header("Content-Type", "application/javascript"),
+            new ResponseCache.Header("Content-Length", "12"),
+            new ResponseCache.Header("Set-Cookie", "a=1"),
+            new ResponseCache.Header("Set-Cookie", "b=2"));
+
+    @Test
+    void storedResponseSurvivesReopening(@TempDir Path dir) {
+        ResponseCache cache = ResponseCache.open(dir, Runnable::run);
+        cache.store("GET", "https://app.test/app.js", null, 200, HEADERS, bytes("console.log()")).join();
+
+        ResponseCache reopened = ResponseCache.open(dir, Runnable::run);
+        ResponseCache.Hit hit = reopened.lookup("GET", "https://app.test/app.js", null).orElseThrow();
+
+        assertEquals(200, hit.status());
+        assertEquals("console.log()", new String(Base64.getDecoder().decode(hit.base64Body()), StandardCharsets.UTF_8));
+        // Content-Length describes the transfer, repeated headers are kept
+        assertEquals(List.of(HEADERS.get(0), HEADERS.get(2), HEADERS.get(3)), hit.headers());
+        assertEquals(13, reopened.getBytesServed());
+    }
+
+    @Test
+    void requestBodyIsPartOfTheKey(@TempDir Path dir) {
+        ResponseCache cache = ResponseCache.open(dir, Runnable::run);
+        cache.store("POST", "https://app.test/api", "{\"q\":1}", 200, List.of(), bytes("one")).join();
+
+        assertTrue(cache.lookup("POST", "https://app.test/api", "{\"q\":1}").isPresent());
+        assertTrue(cache.lookup("POST", "https://app.test/api", "{\"q\":2}").isEmpty());
+        assertTrue(cache.lookup("GET", "https://app.test/api", null).isEmpty());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void identicalBodiesAreStoredOnce(@TempDir Path dir) throws IOException {
+        ResponseCache cache = ResponseCache.open(dir, Runnable::run);
+        cache.store("GET", "https://a.test/lib.js", null, 200, List.of(), bytes("same")).join();
+        cache.store("GET", "https://b.test/lib.js", null, 200, List.of(), bytes("same")).join();
+
+        assertEquals(2, cache.size());
+        try (Stream<Path> bodies = Files.list(dir.resolve("bodies"))) {
+            assertEquals(1, bodies.count());
+        }
+    }
+
+    @Test
+    void emptyBodyIsServed(@TempDir Path dir) {
+        ResponseCache cache = ResponseCache.open(dir, Runnable::run);
+        cache.store("GET", "https://app.test/beacon", null, 204, List.of(), new byte[0]).join();
+
+        assertEquals("", cache.lookup("GET", "https://app.test/beacon", null).orElseThrow().base64Body());
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
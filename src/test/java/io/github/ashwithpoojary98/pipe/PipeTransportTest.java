@@ -0,0 +1,131 @@
+package io.github.ashwithpoojary98.pipe;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.cdp.CDPSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PipeTransport}.
+ * No browser required — the browser's descriptors 3/4 are simulated with piped streams.
+ */
+class PipeTransportTest {
+
+    private PipedOutputStream browserOut;   // what the "browser" writes (its fd 4)
+    private PipedInputStream  browserIn;    // what the "browser" reads (its fd 3)
+    private PipeTransport     transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        browserOut = new PipedOutputStream();
+        PipedInputStream fromBrowser = new PipedInputStream(browserOut, 1 << 16);
+
+        PipedOutputStream toBrowser = new PipedOutputStream();
+        browserIn = new PipedInputStream(toBrowser, 1 << 16);
+
+        transport = new PipeTransport(fromBrowser, toBrowser).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+    }
+
+    @Test
+    void sendCommand_writesNulTerminatedJson() throws IOException {
+        transport.sendCommand("Browser.getVersion");
+
+        String message = readMessage(browserIn);
+        assertTrue(message.contains("\"method\":\"Browser.getVersion\""));
+        assertFalse(message.contains("sessionId"));
+    }
+
+    @Test
+    void response_completesPendingCommand() throws IOException {
+        CompletableFuture<JsonObject> future = transport.sendCommand("Browser.getVersion");
+        String message = readMessage(browserIn);
+        long id = Long.parseLong(message.replaceAll(".*\"id\":(\\d+).*", "$1"));
+
+        writeMessage("{\"id\":" + id + ",\"result\":{\"product\":\"HeadlessChrome/131\"}}");
+
+        assertEquals("HeadlessChrome/131",
+                future.orTimeout(5, TimeUnit.SECONDS).join().get("product").getAsString());
+    }
+
+    @Test
+    void messagesSplitAcrossReads_areReassembled() throws Exception {
+        List<JsonObject> events = new ArrayList<>();
+        CountDownLatch received = new CountDownLatch(2);
+        transport.subscribeToEvent("Target.targetCreated", params -> {
+            synchronized (events) {
+                events.add(params);
+            }
+            received.countDown();
+        });
+
+        byte[] bytes = ("{\"method\":\"Target.targetCreated\",\"params\":{\"n\":1}}\0"
+                + "{\"method\":\"Target.targetCreated\",\"params\":{\"n\":2}}\0")
+                .getBytes(StandardCharsets.UTF_8);
+        browserOut.write(bytes, 0, 17);
+        browserOut.flush();
+        browserOut.write(bytes, 17, bytes.length - 17);
+        browserOut.flush();
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertEquals(1, events.get(0).get("n").getAsInt());
+        assertEquals(2, events.get(1).get("n").getAsInt());
+    }
+
+    @Test
+    void session_addsSessionIdToCommands() throws IOException {
+        CDPSession session = new CDPSession(transport, "SESSION-1");
+
+        session.sendCommand("Page.enable");
+
+        String message = readMessage(browserIn);
+        assertTrue(message.contains("\"sessionId\":\"SESSION-1\""));
+        assertTrue(message.contains("\"method\":\"Page.enable\""));
+    }
+
+    @Test
+    void browserExit_failsPendingCommands() throws IOException {
+        CompletableFuture<JsonObject> future = transport.sendCommand("Browser.getVersion");
+
+        browserOut.close();
+
+        assertThrows(Exception.class, () -> future.orTimeout(5, TimeUnit.SECONDS).join());
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void writeMessage(String json) throws IOException {
+        browserOut.write(json.getBytes(StandardCharsets.UTF_8));
+        browserOut.write(0);
+        browserOut.flush();
+    }
+
+    private static String readMessage(InputStream in) throws IOException {
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) > 0) {
+            message.write(b);
+        }
+        assertEquals(0, b, "message must be NUL-terminated");
+        return message.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,385 @@
+package io.github.ashwithpoojary98.snapshot;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.Rectangle;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DomSnapshot} and its local CSS and XPath engines, against a
+ * hand-built {@code DOMSnapshot.captureSnapshot} response.
+ */
+class DomSnapshotTest {
+
+    private static final List<String> STYLES = List.of("display", "visibility", "opacity");
+
+    // Node indices of the fixture document
+    private static final int UL = 3, HOME = 4, ABOUT = 6, LINK = 7, SECRET = 9, HOST = 11, SHADOW_SPAN = 13, TAIL = 14;
+
+    // Node indices of the selector table document
+    private static final int HTML = 1, BODY = 2, MAIN = 3, H1 = 4, LIST = 6, I1 = 7, I2 = 9, I3 = 11, I4 = 13,
+            I5 = 15, NOTE = 16, SPAN = 18, FOOTER = 20;
+
+    private static DomSnapshot snapshot;
+    /** Document the selector tables run against, see {@link #tableDocument()}. */
+    private static DomSnapshot table;
+
+    /** One row of a selector table: the locator and the node indices it must select. */
+    private record Case(By locator, List<Integer> expected) {
+    }
+
+    /** Builds the node arrays and string table of a captureSnapshot response. */
+    private static final class Fixture {
+        final List<String> strings = new ArrayList<>();
+        final JsonArray parents = new JsonArray(), types = new JsonArray(), names = new JsonArray();
+        final JsonArray values = new JsonArray(), backendIds = new JsonArray(), attributes = new JsonArray();
+        final JsonArray pseudo = new JsonArray();
+        final JsonArray layoutNodes = new JsonArray(), bounds = new JsonArray(), styles = new JsonArray();
+
+        int node(int parent, int type, String name, String value, String... attrs) {
+            parents.add(parent);
+            types.add(type);
+            names.add(index(name));
+            values.add(value == null ? -1 : index(value));
+            backendIds.add(100 + backendIds.size());
+            JsonArray pairs = new JsonArray();
+            for (String attr : attrs) {
+                pairs.add(index(attr));
+            }
+            attributes.add(pairs);
+            return parents.size() - 1;
+        }
+
+        int element(int parent, String tag, String... attrs) {
+            return node(parent, DomSnapshot.ELEMENT_NODE, tag.toUpperCase(), null, attrs);
+        }
+
+        void text(int parent, String text) {
+            node(parent, DomSnapshot.TEXT_NODE, "#text", text);
+        }
+
+        void layout(int node, double x, double y, double width, double height, String... styleValues) {
+            layoutNodes.add(node);
+            JsonArray box = new JsonArray();
+            box.add(x);
+            box.add(y);
+            box.add(width);
+            box.add(height);
+            bounds.add(box);
+            JsonArray row = new JsonArray();
+            for (String value : styleValues) {
+                row.add(index(value));
+            }
+            styles.add(row);
+        }
+
+        int index(String s) {
+            int at = strings.indexOf(s);
+            if (at < 0) {
+                strings.add(s);
+                at = strings.size() - 1;
+            }
+            return at;
+        }
+
+        JsonObject response() {
+            JsonObject nodes = new JsonObject();
+            nodes.add("parentIndex", parents);
+            nodes.add("nodeType", types);
+            nodes.add("nodeName", names);
+            nodes.add("nodeValue", values);
+            nodes.add("backendNodeId", backendIds);
+            nodes.add("attributes", attributes);
+            JsonObject rare = new JsonObject();
+            rare.add("index", pseudo);
+            rare.add("value", new JsonArray());
+            nodes.add("pseudoType", rare);
+            JsonObject layout = new JsonObject();
+            layout.add("nodeIndex", layoutNodes);
+            layout.add("bounds", bounds);
+            layout.add("styles", styles);
+            JsonObject document = new JsonObject();
+            document.addProperty("documentURL", index("https://example.test/"));
+            document.add("nodes", nodes);
+            document.add("layout", layout);
+            JsonArray documents = new JsonArray();
+            documents.add(document);
+            JsonArray table = new JsonArray();
+            strings.forEach(table::add);
+            JsonObject response = new JsonObject();
+            response.add("documents", documents);
+            response.add("strings", table);
+            return response;
+        }
+    }
+
+    @BeforeAll
+    static void capture() {
+        Fixture f = new Fixture();
+        int doc = f.node(-1, DomSnapshot.DOCUMENT_NODE, "#document", null);
+        int html = f.element(doc, "html");
+        int body = f.element(html, "body");
+        int ul = f.element(body, "ul", "id", "list", "class", "menu main");
+        int home = f.element(ul, "li", "class", "item");
+        f.text(home, "Home");
+        int about = f.element(ul, "li", "class", "item active", "data-id", "2");
+        int link = f.element(about, "a", "href", "/about");
+        f.text(link, " About \n us ");
+        int secret = f.element(ul, "li", "class", "item", "disabled", "");
+        f.text(secret, "Secret");
+        int host = f.element(body, "div", "id", "host");
+        int shadow = f.node(host, DomSnapshot.FRAGMENT_NODE, "#document-fragment", null);
+        int span = f.element(shadow, "span", "class", "item");
+        int tail = f.element(body, "p");
+        f.text(tail, "Tail");
+        f.pseudo.add(f.node(tail, DomSnapshot.ELEMENT_NODE, "::before", null));
+        assertEquals(List.of(UL, HOME, ABOUT, LINK, SECRET, HOST, SHADOW_SPAN, TAIL),
+                List.of(ul, home, about, link, secret, host, span, tail));
+
+        f.layout(ul, 8, 16, 300, 60, "block", "visible", "1");
+        f.layout(home, 8, 16, 300, 20, "list-item", "hidden", "1");
+        f.layout(about, 8, 36.4, 300, 19.6, "list-item", "visible", "1");
+        snapshot = DomSnapshot.parse(f.response(), STYLES);
+        table = tableDocument();
+    }
+
+    /** Builds the document the selector tables run against. */
+    private static DomSnapshot tableDocument() {
+        // <html><body>
+        //   <div id="main" class="content wide" lang="en-US" data-role="nav main">
+        //     <h1>Title</h1>
+        //     <ul class="list"><li id="i1" data-n="1">one</li> … <li id="i5"></li></ul>
+        //     <p class="note" title="Hello World">See <span>here</span></p>
+        //   </div>
+        //   <footer></footer>
+        // </body></html>
+        Fixture f = new Fixture();
+        int document = f.node(-1, DomSnapshot.DOCUMENT_NODE, "#document", null);
+        int html = f.element(document, "html");
+        int body = f.element(html, "body");
+        int main = f.element(body, "div", "id", "main", "class", "content wide", "lang", "en-US", "data-role", "nav main");
+        int h1 = f.element(main, "h1");
+        f.text(h1, "Title");
+        int list = f.element(main, "ul", "class", "list");
+        int i1 = f.element(list, "li", "id", "i1", "data-n", "1");
+        f.text(i1, "one");
+        int i2 = f.element(list, "li", "id", "i2", "class", "x", "data-n", "2");
+        f.text(i2, "two");
+        int i3 = f.element(list, "li", "id", "i3", "data-n", "3");
+        f.text(i3, "three");
+        int i4 = f.element(list, "li", "id", "i4", "class", "x", "data-n", "4");
+        f.text(i4, "four");
+        int i5 = f.element(list, "li", "id", "i5");
+        int note = f.element(main, "p", "class", "note", "title", "Hello World");
+        f.text(note, "See ");
+        int span = f.element(note, "span");
+        f.text(span, "here");
+        int footer = f.element(body, "footer");
+        assertEquals(List.of(HTML, BODY, MAIN, H1, LIST, I1, I2, I3, I4, I5, NOTE, SPAN, FOOTER),
+                List.of(html, body, main, h1, list, i1, i2, i3, i4, i5, note, span, footer));
+        return DomSnapshot.parse(f.response(), STYLES);
+    }
+
+    private static Stream<DynamicTest> rows(Case... cases) {
+        return Arrays.stream(cases).map(row -> DynamicTest.dynamicTest(row.locator().toString(),
+                () -> assertEquals(row.expected(),
+                        Arrays.stream(table.findAll(row.locator())).boxed().toList())));
+    }
+
+    private static Case css(String selector, Integer... expected) {
+        return new Case(By.cssSelector(selector), List.of(expected));
+    }
+
+    private static Case xpath(String expression, Integer... expected) {
+        return new Case(By.xpath(expression), List.of(expected));
+    }
+
+    private static List<Integer> find(By locator) {
+        return Arrays.stream(snapshot.findAll(locator)).boxed().toList();
+    }
+
+    @Test
+    void cssSelectorsMatchLikeQuerySelectorAll() {
+        assertEquals(List.of(HOME, ABOUT, SECRET), find(By.className("item")));
+        assertEquals(List.of(ABOUT), find(By.cssSelector("#list > li:nth-child(2)")));
+        assertEquals(List.of(ABOUT, SECRET), find(By.cssSelector("ul li + li")));
+        assertEquals(List.of(HOME, SECRET), find(By.cssSelector("li:not(.active)")));
+        assertEquals(List.of(LINK), find(By.cssSelector("a[href^='/ab']")));
+        assertEquals(List.of(UL), find(By.cssSelector("[class~=MAIN i]")));
+        assertEquals(List.of(HOME, TAIL), find(By.cssSelector("li:first-child, body > p")));
+        assertEquals(List.of(SECRET), find(By.cssSelector("li:nth-last-child(1)[disabled]")));
+        assertEquals(List.of(), find(By.tagName("span")));
+    }
+
+    @Test
+    void xpathLocatorsMatchLikeDocumentEvaluate() {
+        assertEquals(List.of(LINK), find(By.linkText("About us")));
+        assertEquals(List.of(LINK), find(By.partialLinkText("Abou")));
+        assertEquals(List.of(ABOUT), find(By.xpath("//li[2]")));
+        assertEquals(List.of(SECRET), find(By.xpath("(//li)[last()]")));
+        assertEquals(List.of(LINK), find(By.xpath("//li[@data-id='2']/a")));
+        assertEquals(List.of(SECRET), find(By.xpath("//li[contains(@class,'active')]/following-sibling::li")));
+        assertEquals(List.of(HOME), find(By.xpath("//LI[text()='Home']")));
+        assertEquals(List.of(UL), find(By.xpath("//a/ancestor::ul[@id='list']")));
+        assertEquals(List.of(HOME, TAIL), find(By.xpath("//li[not(@data-id) and position() < 3] | //p")));
+        assertEquals(List.of(), find(By.xpath("//span")));
+    }
+
+    @Test
+    void chainsAndIndexesFollowThePageSideEngine() {
+        assertEquals(List.of(LINK), find(By.chained(By.id("list"), By.xpath(".//a"))));
+        assertEquals(List.of(ABOUT), find(By.index(By.cssSelector("li"), 1)));
+        assertEquals(List.of(), find(By.index(By.cssSelector("li"), 5)));
+        assertEquals(List.of(LINK), Arrays.stream(snapshot.findAll(By.tagName("a"), ABOUT)).boxed().toList());
+    }
+
+    @Test
+    void textSkipsShadowTreesAndPseudoElements() {
+        assertEquals("Home About \n us Secret", snapshot.getText(UL));
+        assertEquals("Tail", snapshot.getText(TAIL));
+        assertEquals("", snapshot.getText(HOST));
+        assertEquals("li", snapshot.getTagName(ABOUT));
+        assertEquals("item active", snapshot.getAttribute(ABOUT, "class"));
+        assertNull(snapshot.getAttribute(HOME, "data-id"));
+        assertEquals("https://example.test/", snapshot.getDocumentUrl());
+    }
+
+    @Test
+    void layoutBoundsAndCapturedStyles() {
+        Rectangle rect = snapshot.getBounds(ABOUT);
+        assertEquals(8, rect.x);
+        assertEquals(36, rect.y);
+        assertEquals(300, rect.width);
+        assertEquals(20, rect.height);
+        assertEquals("hidden", snapshot.getComputedStyle(HOME, "visibility"));
+        assertNull(snapshot.getComputedStyle(HOME, "color"));
+        assertFalse(snapshot.hasLayout(SECRET));
+        assertNull(snapshot.getBounds(SECRET));
+    }
+
+    @Test
+    void unsupportedSyntaxIsRejected() {
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.findAll(By.cssSelector("input:checked")));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.findAll(By.cssSelector("li::before")));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.findAll(By.xpath("//a/following::p")));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.findAll(By.xpath("//li/text()")));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.findAll(By.xpath("//li[")));
+    }
+
+    // ── Selector tables ───────────────────────────────────────────────────────
+
+    @TestFactory
+    Stream<DynamicTest> cssCombinators() {
+        return rows(
+                css("div li", I1, I2, I3, I4, I5),
+                css("ul > li", I1, I2, I3, I4, I5),
+                css("div > li"),
+                css("h1 + ul", LIST),
+                css("h1 + p"),
+                css("h1 ~ p", NOTE),
+                css("li.x + li", I3, I5),
+                css("li.x ~ li", I3, I4, I5),
+                css("#main > * > span", SPAN),
+                css("body > div ~ footer", FOOTER),
+                css("body div p span", SPAN),
+                css("span, h1", H1, SPAN));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> cssAttributeOperators() {
+        return rows(
+                css("[lang]", MAIN),
+                css("[data-n='2']", I2),
+                css("[data-n=\"3\"]", I3),
+                css("[data-role~=main]", MAIN),
+                css("[data-role~=mai]"),
+                css("[lang|=en]", MAIN),
+                css("[lang|=en-U]"),
+                css("[title^=Hello]", NOTE),
+                css("[title$=World]", NOTE),
+                css("[title*='o W']", NOTE),
+                css("[title*='']"),
+                css("[title='hello world']"),
+                css("[title='hello world' i]", NOTE),
+                css("li[id^=i][data-n]", I1, I2, I3, I4));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> cssStructuralPseudoClasses() {
+        return rows(
+                css("li:nth-child(odd)", I1, I3, I5),
+                css("li:nth-child(even)", I2, I4),
+                css("li:nth-child(2n+1)", I1, I3, I5),
+                css("li:nth-child( 2n - 1 )", I1, I3, I5),
+                css("li:nth-child(3n)", I3),
+                css("li:nth-child(-n+2)", I1, I2),
+                css("li:nth-child(n+4)", I4, I5),
+                css("li:nth-child(3)", I3),
+                css("li:nth-last-child(2)", I4),
+                css("li:nth-last-child(-n+2)", I4, I5),
+                css("li:first-child", I1),
+                css("li:last-child", I5),
+                css("span:only-child", SPAN),
+                css("li:empty", I5),
+                css(":root", HTML),
+                css("li:not(.x):not(#i5)", I1, I3),
+                css("li:not(.x, [data-n='1'])", I3, I5));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> xpathAxes() {
+        return rows(
+                xpath("/html/body/footer", FOOTER),
+                xpath("//*[@id='main']/*", H1, LIST, NOTE),
+                xpath("//h1/..", MAIN),
+                xpath("//li[@id='i3']/parent::ul", LIST),
+                xpath("//span/ancestor::*", HTML, BODY, MAIN, NOTE),
+                xpath("//span/ancestor-or-self::p", NOTE),
+                xpath("//li[@id='i2']/following-sibling::li", I3, I4, I5),
+                xpath("//li[@id='i2']/preceding-sibling::li", I1),
+                xpath("//li[@id='i4']/preceding-sibling::li[1]", I3),
+                xpath("//div/descendant::span", SPAN),
+                xpath("//ul/descendant-or-self::ul", LIST),
+                xpath("//li/self::li[@class='x']", I2, I4));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> xpathPredicates() {
+        return rows(
+                xpath("//li[2]", I2),
+                xpath("//li[last()]", I5),
+                xpath("//li[position() > 3]", I4, I5),
+                xpath("//li[@data-n >= 3]", I3, I4),
+                xpath("//li[@class][2]", I4),
+                xpath("(//li[@class='x'])[1]", I2),
+                xpath("//li[text()='three']", I3),
+                xpath("//li[not(text())]", I5),
+                xpath("//li[contains(., 'o')]", I1, I2, I4),
+                xpath("//li[starts-with(@id, 'i') and string-length(.) = 3]", I1, I2),
+                xpath("//li[@data-n='1' or @data-n='4']", I1, I4),
+                xpath("//p[normalize-space(.)='See here']", NOTE),
+                xpath("//li[count(preceding-sibling::li) = 2]", I3),
+                xpath("//ul[li[@id='i5']]", LIST),
+                xpath("//*[@title='Hello World']", NOTE));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> xpathUnions() {
+        return rows(
+                xpath("//footer | //h1", H1, FOOTER),
+                xpath("//li[1] | //li[1]", I1),
+                xpath("//span | //span/.. | //h1", H1, NOTE, SPAN),
+                xpath("(//li | //h1)[last()]", I5));
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.ashwithpoojary98.wait;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import io.github.ashwithpoojary98.cdp.domain.NetworkDomain;
+import io.github.ashwithpoojary98.cdp.domain.PageDomain;
+import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
+import io.github.ashwithpoojary98.chrome.LocatorEngine;
+import io.github.ashwithpoojary98.exception.InvalidSelectorException;
+import io.github.ashwithpoojary98.exception.TimeoutException;
+import io.github.ashwithpoojary98.network.NetworkMonitor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AutoWaitEngine} wait modes.
+ * No browser required — a {@link FakeTransport} answers each command with a scripted message.
+ */
+class AutoWaitEngineTest {
+
+    private static final String CLICKABLE = "{\"result\":{\"result\":{\"type\":\"object\",\"value\":"
+            + "{\"present\":true,\"visible\":true,\"stable\":true,\"unobscured\":true,"
+            + "\"enabled\":true,\"editable\":false}}}";
+    private static final String HIDDEN = "{\"result\":{\"result\":{\"type\":\"object\",\"value\":"
+            + "{\"present\":true,\"visible\":false,\"stable\":false,\"unobscured\":false,"
+            + "\"enabled\":true,\"editable\":false}}}";
+    private static final String WAITER_THREW = "{\"result\":{\"result\":{\"type\":\"object\",\"subtype\":\"error\"},"
+            + "\"exceptionDetails\":{\"text\":\"Uncaught\",\"exception\":{\"description\":"
+            + "\"TypeError: el.getAnimations is not a function\"}}}}";
+    private static final String INVALID_XPATH = "{\"result\":{\"result\":{\"type\":\"object\",\"subtype\":\"error\"},"
+            + "\"exceptionDetails\":{\"text\":\"Uncaught\",\"exception\":{\"description\":"
+            + "\"SyntaxError: Failed to execute 'evaluate' on 'Document'\"}}}}";
+    private static final String CONTEXT_DESTROYED = FakeTransport.error("Execution context was destroyed.");
+    /** Reply to the locator engine's world creation and runtime install. */
+    private static final String WORLD_SETUP = FakeTransport.result(
+            "{\"executionContextId\":9,\"result\":{\"type\":\"undefined\"}}");
+
+    private static AutoWaitEngine engine(FakeTransport transport, WaitConfig config) {
+        return engine(transport, config, null);
+    }
+
+    private static AutoWaitEngine engine(FakeTransport transport, WaitConfig config, NetworkMonitor monitor) {
+        LocatorEngine locatorEngine = new LocatorEngine(
+                transport, new PageDomain(transport), new RuntimeDomain(transport), "MAIN");
+        ElementWaitConditions conditions = new ElementWaitConditions(locatorEngine);
+        return new AutoWaitEngine(conditions, config, monitor);
+    }
+
+    private static NetworkMonitor networkMonitor(FakeTransport transport, WaitConfig config) {
+        NetworkMonitor monitor = new NetworkMonitor(new NetworkDomain(transport), new PageDomain(transport), config);
+        monitor.enable();
+        return monitor;
+    }
+
+    /** Page answering the locator engine's world setup, and its checks with {@code checks}. */
+    private static FakeTransport page(Function<JsonObject, String> checks) {
+        return new FakeTransport(command -> isCheck(command) ? checks.apply(command) : WORLD_SETUP);
+    }
+
+    private static boolean isCheck(JsonObject command) {
+        return FakeTransport.method(command).equals("Runtime.evaluate")
+                && expression(command).contains("__nihoniumLocator?.");
+    }
+
+    private static boolean isPageSideWaiter(JsonObject command) {
+        return expression(command).contains("?.await(") && expression(command).contains("'clickable', ");
+    }
+
+    private static String expression(JsonObject command) {
+        return FakeTransport.params(command).get("expression").getAsString();
+    }
+
+    private static List<JsonObject> checks(FakeTransport transport) {
+        return transport.commands().stream().filter(AutoWaitEngineTest::isCheck).toList();
+    }
+
+    @Test
+    void eventDriven_waitsWithOneCommand() {
+        FakeTransport transport = page(command -> CLICKABLE);
+        WaitConfig config = WaitConfig.builder().timeout(2_000).build();
+
+        engine(transport, config).waitForElementClickable(By.id("go"));
+
+        assertEquals(1, checks(transport).size());
+        assertTrue(isPageSideWaiter(checks(transport).get(0)));
+    }
+
+    @Test
+    void eventDriven_unmetVerdict_timesOutWithState() {
+        FakeTransport transport = page(command -> HIDDEN);
+        WaitConfig config = WaitConfig.builder().timeout(2_000).build();
+
+        TimeoutException thrown = assertThrows(TimeoutException.class,
+                () -> engine(transport, config).waitForElementClickable(By.id("go")));
+
+        assertTrue(thrown.getMessage().contains("not visible"));
+        assertEquals(1, checks(transport).size());
+    }
+
+    @Test
+    void eventDriven_waiterFails_fallsBackToPolling() {
+        FakeTransport transport = page(
+                command -> isPageSideWaiter(command) ? CONTEXT_DESTROYED : CLICKABLE);
+        WaitConfig config = WaitConfig.builder().timeout(2_000).build();
+
+        engine(transport, config).waitForElementClickable(By.id("go"));
+
+        List<JsonObject> checks = checks(transport);
+        assertEquals(3, checks.size());
+        assertTrue(isPageSideWaiter(checks.get(1)), "waiter is retried once in a fresh world");
+        assertFalse(isPageSideWaiter(checks.get(2)));
+    }
+
+    @Test
+    void eventDriven_waiterThrows_fallsBackToPollingInsteadOfTimingOut() {
+        FakeTransport transport = page(
+                command -> isPageSideWaiter(command) ? WAITER_THREW : CLICKABLE);
+        WaitConfig config = WaitConfig.builder().timeout(2_000).build();
+
+        engine(transport, config).waitForElementClickable(By.id("go"));
+
+        assertEquals(2, checks(transport).size());
+        assertFalse(isPageSideWaiter(checks(transport).get(1)));
+    }
+
+    @Test
+    void eventDriven_waiterThrows_pollTimeoutCarriesTheScriptError() {
+        FakeTransport transport = page(
+                command -> isPageSideWaiter(command) ? WAITER_THREW : HIDDEN);
+        WaitConfig config = WaitConfig.builder().timeout(2_000).build();
+
+        TimeoutException thrown = assertThrows(TimeoutException.class,
+                () -> engine(transport, config).waitForElementClickable(By.id("go")));
+
+        assertEquals(1, thrown.getSuppressed().length);
+        assertTrue(thrown.getSuppressed()[0].getMessage().contains("getAnimations is not a function"));
+    }
+
+    @Test
+    void eventDriven_invalidSelector_failsWithoutPolling() {
+        FakeTransport transport = page(command -> INVALID_XPATH);
+        WaitConfig config = WaitConfig.builder().timeout(2_000).build();
+
+        assertThrows(InvalidSelectorException.class,
+                () -> engine(transport, config).waitForElementClickable(By.xpath("//li[")));
+
+        assertEquals(1, checks(transport).size());
+    }
+
+    @Test
+    void polling_neverInstallsWaiter() {
+        FakeTransport transport = page(command -> CLICKABLE);
+        WaitConfig config = WaitConfig.builder().timeout(2_000).waitMode(WaitMode.POLLING).build();
+
+        engine(transport, config).waitForElementClickable(By.id("go"));
+
+        assertEquals(1, checks(transport).size());
+        assertFalse(isPageSideWaiter(checks(transport).get(0)));
+    }
+
+    @Test
+    void networkIdleWaits_areCountedInStatistics() {
+        FakeTransport transport = FakeTransport.answering(command -> "{}");
+        WaitConfig config = WaitConfig.builder().timeout(200).networkIdleDuration(10).build();
+        AutoWaitEngine engine = engine(transport, config, networkMonitor(transport, config));
+
+        engine.waitForNetworkIdle();
+        transport.event("Network.requestWillBeSent", "{\"requestId\":\"r1\",\"loaderId\":\"L1\","
+                + "\"type\":\"XHR\",\"timestamp\":1000,\"request\":{\"url\":\"https://app.test/r1\"}}");
+        assertThrows(TimeoutException.class, engine::waitForNetworkIdle);
+
+        WaitStatistics statistics = config.getStatistics();
+        assertEquals(2, statistics.getNetworkIdleWaitCount());
+        assertEquals(2, statistics.getWaitCount());
+        assertEquals(1, statistics.getTimeoutCount());
+        assertEquals(0, statistics.getPollCount());
+    }
+}
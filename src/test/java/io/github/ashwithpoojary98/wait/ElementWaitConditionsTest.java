@@ -0,0 +1,76 @@
+package io.github.ashwithpoojary98.wait;
+
+import com.google.gson.JsonObject;
+import io.github.ashwithpoojary98.By;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import io.github.ashwithpoojary98.cdp.domain.PageDomain;
+import io.github.ashwithpoojary98.cdp.domain.RuntimeDomain;
+import io.github.ashwithpoojary98.chrome.LocatorEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the single-round-trip actionability check in {@link ElementWaitConditions}.
+ * No browser required — a {@link FakeTransport} answers {@code Runtime.evaluate} with a canned value.
+ */
+class ElementWaitConditionsTest {
+
+    private static final int WORLD = 9;
+
+    /** Page whose locator engine world is context {@link #WORLD}, answering checks with {@code verdict}. */
+    private static FakeTransport page(String verdict) {
+        return FakeTransport.answering(command -> FakeTransport.method(command).equals("Page.createIsolatedWorld")
+                ? "{\"executionContextId\":" + WORLD + "}" : verdict);
+    }
+
+    private static ElementWaitConditions conditions(FakeTransport transport) {
+        return new ElementWaitConditions(new LocatorEngine(
+                transport, new PageDomain(transport), new RuntimeDomain(transport), "MAIN"));
+    }
+
+    @Test
+    void checkActionability_isOneCommand() {
+        FakeTransport transport = page("{\"result\":{\"type\":\"object\","
+                + "\"value\":{\"present\":true,\"visible\":true,\"stable\":true,"
+                + "\"unobscured\":false,\"enabled\":true,\"editable\":false}}}");
+        ElementWaitConditions conditions = conditions(transport);
+        conditions.checkActionability(By.id("warm-up"));
+        transport.clear();
+
+        Actionability verdict = conditions.checkActionability(By.id("submit"));
+
+        assertEquals(List.of("Runtime.evaluate"), transport.methods());
+        JsonObject params = transport.last("Runtime.evaluate");
+        assertTrue(params.get("awaitPromise").getAsBoolean());
+        assertEquals(WORLD, params.get("contextId").getAsInt());
+        assertTrue(params.get("expression").getAsString()
+                .contains("__nihoniumLocator?.actionability({\"css\":\"#submit\"})"));
+        assertFalse(verdict.isClickable());
+        assertEquals("obscured by another element", verdict.describeClickFailure());
+    }
+
+    @Test
+    void checkActionability_noMatch_isAbsent() {
+        FakeTransport transport = page("{\"result\":{\"type\":\"object\",\"subtype\":\"null\",\"value\":null}}");
+
+        Actionability verdict = conditions(transport).checkActionability(By.cssSelector(".missing"));
+
+        assertSame(Actionability.ABSENT, verdict);
+        assertEquals("not present in DOM", verdict.describeClickFailure());
+    }
+
+    @Test
+    void toLocatorJson_describesNestedLocators() {
+        By locator = By.index(By.chained(By.id("form"), By.xpath(".//input")), 2);
+
+        JsonObject json = ElementWaitConditions.toLocatorJson(locator);
+
+        assertEquals(2, json.get("index").getAsInt());
+        JsonObject chain = json.getAsJsonObject("parent");
+        assertEquals("#form", chain.getAsJsonArray("chain").get(0).getAsJsonObject().get("css").getAsString());
+        assertEquals(".//input", chain.getAsJsonArray("chain").get(1).getAsJsonObject().get("xpath").getAsString());
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.ashwithpoojary98.wait;
+
+import io.github.ashwithpoojary98.cdp.CommandBatch;
+import io.github.ashwithpoojary98.cdp.FakeTransport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NavigationTracker}.
+ * No browser required — responses and lifecycle events are injected through a {@link FakeTransport}.
+ */
+class NavigationTrackerTest {
+
+    private static final String MAIN_FRAME = "MAIN";
+
+    private static void lifecycle(FakeTransport transport, String frameId, String loaderId, String name) {
+        transport.event("Page.lifecycleEvent", "{\"frameId\":\"" + frameId + "\",\"loaderId\":\""
+                + loaderId + "\",\"name\":\"" + name + "\",\"timestamp\":1.0}");
+    }
+
+    /** Enables a tracker whose current document (loader L1) has the given readyState. */
+    private static NavigationTracker enabled(FakeTransport transport, String readyState) {
+        NavigationTracker tracker = new NavigationTracker(transport, MAIN_FRAME);
+        CommandBatch batch = transport.batch();
+        CompletableFuture<Void> ready = tracker.enable(batch);
+        batch.sendAll();
+
+        List<String> burst = transport.writes().get(0);
+        transport.respond(burst.get(0), "{\"frameTree\":{\"frame\":{\"id\":\"MAIN\",\"loaderId\":\"L1\"}}}");
+        transport.respond(burst.get(1), "{}");
+        transport.respond(burst.get(2), "{\"result\":{\"type\":\"string\",\"value\":\"" + readyState + "\"}}");
+        ready.join();
+        return tracker;
+    }
+
+    @Test
+    void enable_seedsLoadedDocumentInOneWrite() throws Exception {
+        FakeTransport transport = new FakeTransport();
+        NavigationTracker tracker = enabled(transport, "complete");
+
+        assertEquals(1, transport.writes().size());
+        assertEquals(3, transport.writes().get(0).size());
+        assertTrue(tracker.isReached(LoadState.LOAD));
+        assertTrue(tracker.awaitLoadState(LoadState.DOM_CONTENT_LOADED, 0));
+        assertFalse(tracker.isReached(LoadState.NETWORK_IDLE));
+    }
+
+    @Test
+    void newDocument_resetsUntilMilestone() throws Exception {
+        FakeTransport transport = new FakeTransport();
+        NavigationTracker tracker = enabled(transport, "complete");
+
+        lifecycle(transport, MAIN_FRAME, "L2", "init");
+        assertFalse(tracker.isReached(LoadState.LOAD));
+
+        lifecycle(transport, "CHILD", "C1", "load");
+        assertFalse(tracker.isReached(LoadState.LOAD));
+
+        lifecycle(transport, MAIN_FRAME, "L2", "load");
+        assertTrue(tracker.isReached(LoadState.LOAD));
+        assertEquals("L2", tracker.getCurrentLoaderId());
+    }
+
+    @Test
+    void eventsBeforeNavigateResponse_areKept() throws Exception {
+        FakeTransport transport = new FakeTransport();
+        NavigationTracker tracker = enabled(transport, "loading");
+        lifecycle(transport, MAIN_FRAME, "L3", "DOMContentLoaded");
+
+        tracker.expectNavigation("L3");
+
+        assertTrue(tracker.isReached(LoadState.DOM_CONTENT_LOADED));
+        assertFalse(tracker.isReached(LoadState.LOAD));
+    }
+
+    @Test
+    void awaitLoadState_wakesOnEvent() throws Exception {
+        FakeTransport transport = new FakeTransport();
+        NavigationTracker tracker = enabled(transport, "interactive");
+
+        Thread loader = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                lifecycle(transport, MAIN_FRAME, "L1", "load");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        loader.start();
+
+        assertTrue(tracker.awaitLoadState(LoadState.LOAD, 5_000));
+        assertFalse(tracker.awaitLoadState(LoadState.NETWORK_IDLE, 20));
+        loader.join();
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.ashwithpoojary98.wait;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PollingStrategy} and the {@link Poller} loop that uses it.
+ */
+class PollingStrategyTest {
+
+    @Test
+    void exponential_growsUpToCap() {
+        PollingStrategy strategy = PollingStrategy.exponential(10, 2.0, 50);
+
+        assertEquals(10, strategy.delayMillis(1));
+        assertEquals(20, strategy.delayMillis(2));
+        assertEquals(40, strategy.delayMillis(3));
+        assertEquals(50, strategy.delayMillis(4));
+        assertEquals(50, strategy.delayMillis(30));
+    }
+
+    @Test
+    void schedule_repeatsLastDelay() {
+        PollingStrategy strategy = PollingStrategy.PLAYWRIGHT;
+
+        assertEquals(0, strategy.delayMillis(1));
+        assertEquals(20, strategy.delayMillis(2));
+        assertEquals(500, strategy.delayMillis(6));
+        assertEquals(500, strategy.delayMillis(100));
+    }
+
+    @Test
+    void jittered_staysWithinFraction() {
+        PollingStrategy strategy = PollingStrategy.jittered(PollingStrategy.fixed(100), 0.2);
+
+        for (int attempt = 1; attempt <= 200; attempt++) {
+            long delay = strategy.delayMillis(attempt);
+            assertTrue(delay >= 80 && delay <= 120, "delay " + delay);
+        }
+    }
+
+    @Test
+    void poller_recordsPollsPerWait() throws InterruptedException {
+        WaitConfig config = WaitConfig.builder().pollingStrategy(PollingStrategy.fixed(0)).build();
+        AtomicInteger checks = new AtomicInteger();
+
+        boolean met = Poller.pollUntil(() -> checks.incrementAndGet() == 3,
+                System.currentTimeMillis() + 5_000, config);
+
+        assertTrue(met);
+        assertEquals(3, config.getStatistics().getLastWaitPollCount());
+        assertEquals(1, config.getStatistics().getWaitCount());
+        assertEquals(0, config.getStatistics().getTimeoutCount());
+    }
+
+    @Test
+    void poller_deadline_countsTimeout() throws InterruptedException {
+        WaitConfig config = WaitConfig.builder().pollingStrategy(PollingStrategy.fixed(10)).build();
+
+        boolean met = Poller.pollUntil(() -> false, System.currentTimeMillis() + 50, config);
+
+        assertFalse(met);
+        assertEquals(1, config.getStatistics().getTimeoutCount());
+        assertTrue(config.getStatistics().getPollCount() >= 2);
+    }
+}